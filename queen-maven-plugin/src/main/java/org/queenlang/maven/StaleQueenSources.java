@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queen sources which changed or were deleted since the last build. The size and last modified
+ * time of every source are saved in a state file after each successful build and compared on the next one.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+final class StaleQueenSources {
+
+    /**
+     * File where the state of the sources is saved.
+     */
+    private final Path state;
+
+    /**
+     * Ctor.
+     * @param state File where the state of the sources is saved.
+     */
+    StaleQueenSources(final Path state) {
+        this.state = state;
+    }
+
+    /**
+     * The sources which changed or were added since the last build. If there was no
+     * (known) last build, all the sources are returned, since the whole project has to
+     * be transpiled.
+     * @param sources All the current sources.
+     * @return Set of Path, never null.
+     * @throws IOException If the state cannot be read.
+     */
+    Set<Path> changed(final List<Path> sources) throws IOException {
+        final Set<Path> all = new LinkedHashSet<>();
+        for(final Path source : sources) {
+            all.add(source.toAbsolutePath().normalize());
+        }
+        if(!Files.exists(this.state)) {
+            return all;
+        }
+        final Map<Path, String> previous = this.previous();
+        final Set<Path> changed = new LinkedHashSet<>();
+        for(final Path source : all) {
+            if(!stamp(source).equals(previous.get(source))) {
+                changed.add(source);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * The sources which were deleted since the last build.
+     * @param sources All the current sources.
+     * @return Set of Path, empty if there was no (known) last build.
+     * @throws IOException If the state cannot be read.
+     */
+    Set<Path> deleted(final List<Path> sources) throws IOException {
+        final Set<Path> deleted = new LinkedHashSet<>();
+        if(Files.exists(this.state)) {
+            deleted.addAll(this.previous().keySet());
+            for(final Path source : sources) {
+                deleted.remove(source.toAbsolutePath().normalize());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Save the state of the sources, after a successful build.
+     * @param sources All the current sources.
+     * @throws IOException If the state cannot be written.
+     */
+    void save(final List<Path> sources) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for(final Path source : sources) {
+            final Path absolute = source.toAbsolutePath().normalize();
+            lines.add(stamp(absolute) + " " + absolute);
+        }
+        if(this.state.getParent() != null) {
+            Files.createDirectories(this.state.getParent());
+        }
+        Files.write(this.state, lines);
+    }
+
+    /**
+     * State saved by the last build.
+     * @return Stamp of every source, by its absolute path.
+     * @throws IOException If the state cannot be read.
+     */
+    private Map<Path, String> previous() throws IOException {
+        final Map<Path, String> previous = new LinkedHashMap<>();
+        for(final String line : Files.readAllLines(this.state)) {
+            final int separator = line.indexOf(' ', line.indexOf(' ') + 1);
+            if(separator > 0) {
+                previous.put(Path.of(line.substring(separator + 1)), line.substring(0, separator));
+            }
+        }
+        return previous;
+    }
+
+    private static String stamp(final Path source) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        return attributes.lastModifiedTime().toMillis() + " " + attributes.size();
+    }
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.Scanner;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.classpath.SourceRootsClasspath;
+import org.queenlang.queen.CachingQueenASTParser;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.transpiler.QueenToJavaTranspiler;
+import org.queenlang.transpiler.QueenTranspiler;
+import org.queenlang.transpiler.SourceRoot;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Transpile the Queen sources of a Maven project to Java, inside the Maven JVM.
+ *
+ * The main sources (src/main/queen) are written to the output directory, which is added as a
+ * compile source root, and the test sources (src/test/queen) to the test output directory, which
+ * is added as a test compile source root. A project which has neither is transpiled as a whole,
+ * from its project directory, like queenc -p does.
+ *
+ * All the modules of a reactor share the same parser (the plugin's classes are loaded
+ * only once per build), so the JIT-compiled transpiler, the interned symbols and the
+ * parsed files are reused from one module to the next. Each module also keeps its transpiler,
+ * with its parsed project, for as long as the plugin's classes are loaded (e.g. in an IDE or
+ * in a Maven daemon). Only the sources which changed or were deleted since the last build
+ * (and the ones depending on them) are transpiled; in an IDE, the changes are taken from
+ * its incremental BuildContext.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+@Mojo(name = "transpile", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public final class TranspileMojo extends AbstractMojo {
+
+    /**
+     * Parser shared by all the modules of the build.
+     */
+    private static final QueenASTParser PARSER = new CachingQueenASTParser(new QueenASTParserANTLR());
+
+    /**
+     * Transpiler of each module, by its source roots.
+     */
+    private static final Map<List<String>, QueenTranspiler> TRANSPILERS = new ConcurrentHashMap<>();
+
+    /**
+     * Directory of the Queen project. Its src/main/queen and src/test/queen directories are transpiled
+     * or, if it has neither, the whole directory, like queenc's -p.
+     */
+    @Parameter(property = "queen.projectDirectory", defaultValue = "${project.basedir}", required = true)
+    private File projectDirectory;
+
+    /**
+     * Where the Java files of the main sources are written. It is added as a compile source root.
+     */
+    @Parameter(
+        property = "queen.outputDirectory",
+        defaultValue = "${project.build.directory}/generated-sources/queen/java",
+        required = true
+    )
+    private File outputDirectory;
+
+    /**
+     * Where the Java files of the test sources are written. It is added as a test compile source root.
+     */
+    @Parameter(
+        property = "queen.testOutputDirectory",
+        defaultValue = "${project.build.directory}/generated-test-sources/queen/java",
+        required = true
+    )
+    private File testOutputDirectory;
+
+    /**
+     * Where the state of the sources is saved, to find the changed ones on the next build.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/queenc/sources.lst", required = true)
+    private File state;
+
+    @Parameter(property = "queen.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    private final BuildContext buildContext;
+
+    /**
+     * Ctor.
+     * @param buildContext Maven's (or the IDE's) incremental build context.
+     */
+    @Inject
+    public TranspileMojo(final BuildContext buildContext) {
+        this.buildContext = buildContext;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if(this.skip) {
+            this.getLog().info("Skipping the Queen transpilation.");
+            return;
+        }
+        if(!this.projectDirectory.isDirectory()) {
+            this.getLog().info("No Queen project directory at " + this.projectDirectory + ".");
+            return;
+        }
+        final Path main = this.projectDirectory.toPath().resolve(Path.of("src", "main", "queen"));
+        final Path test = this.projectDirectory.toPath().resolve(Path.of("src", "test", "queen"));
+        final List<SourceRoot> roots = new ArrayList<>();
+        if(main.toFile().isDirectory()) {
+            roots.add(new SourceRoot(main, this.outputDirectory.toPath()));
+        }
+        if(test.toFile().isDirectory()) {
+            roots.add(new SourceRoot(test, this.testOutputDirectory.toPath()));
+        }
+        final Classpath classpath;
+        if(roots.isEmpty()) {
+            roots.add(new SourceRoot(this.projectDirectory.toPath(), this.outputDirectory.toPath()));
+            classpath = new ProjectClasspath(this.projectDirectory.toPath());
+        } else {
+            classpath = new SourceRootsClasspath(roots.stream().map(SourceRoot::directory).collect(Collectors.toList()));
+        }
+        for(final SourceRoot root : roots) {
+            if(root.directory().equals(test)) {
+                this.project.addTestCompileSourceRoot(root.output().toAbsolutePath().toString());
+            } else {
+                this.project.addCompileSourceRoot(root.output().toAbsolutePath().toString());
+            }
+        }
+        final QueenTranspiler transpiler = TRANSPILERS.computeIfAbsent(
+            roots.stream().map(SourceRoot::toString).collect(Collectors.toList()),
+            key -> new QueenToJavaTranspiler(PARSER, this.projectDirectory.toPath(), roots, classpath)
+        );
+        final List<Path> sources = classpath.findAll();
+        final StaleQueenSources stale = new StaleQueenSources(this.state.toPath());
+        try {
+            synchronized (transpiler) {
+                this.transpile(transpiler, roots, sources, stale);
+            }
+            stale.save(sources);
+        } catch (final QueenTranspilationException ex) {
+            throw new MojoFailureException(
+                "Queen transpilation failed in " + ex.file() + ":" + System.lineSeparator() + ex.getMessage(), ex
+            );
+        } catch (final IOException ex) {
+            throw new MojoExecutionException("IOException while transpiling the Queen sources.", ex);
+        }
+        for(final SourceRoot root : roots) {
+            this.buildContext.refresh(root.output().toFile());
+        }
+    }
+
+    /**
+     * Transpile the sources which changed or were deleted since the last build, or all of them if
+     * there was no (known) last build.
+     * @param transpiler Transpiler of the module.
+     * @param roots Source roots.
+     * @param sources All the sources.
+     * @param stale State of the previous build.
+     * @throws IOException If something goes wrong while reading or writing the files.
+     * @throws QueenTranspilationException If the sources contain errors.
+     */
+    private void transpile(
+        final QueenTranspiler transpiler,
+        final List<SourceRoot> roots,
+        final List<Path> sources,
+        final StaleQueenSources stale
+    ) throws IOException, QueenTranspilationException {
+        final Set<Path> changed = new LinkedHashSet<>();
+        final Set<Path> deleted = new LinkedHashSet<>();
+        this.changes(roots, sources, stale, changed, deleted);
+        if(changed.isEmpty() && deleted.isEmpty()) {
+            this.getLog().info("Queen sources are up to date.");
+        } else if(changed.size() == sources.size() && deleted.isEmpty()) {
+            this.getLog().info("Transpiling " + sources.size() + " Queen file(s) to " + roots + ".");
+            transpiler.transpile();
+        } else {
+            final Set<String> transpiled = transpiler.transpile(changed, deleted);
+            this.getLog().info(
+                "Transpiled " + transpiled.size() + " Queen file(s) (" + changed.size() + " changed, "
+                + deleted.size() + " deleted) to " + roots + "."
+            );
+        }
+    }
+
+    /**
+     * Changed and deleted sources. In an incremental IDE build they are given by the BuildContext,
+     * otherwise they are compared with the state saved by the previous build.
+     * @param roots Source roots.
+     * @param sources All the sources.
+     * @param stale State of the previous build.
+     * @param changed Where the changed sources are added; all of them, if the whole project has to be transpiled.
+     * @param deleted Where the deleted sources are added.
+     * @throws IOException If the state cannot be read.
+     */
+    private void changes(
+        final List<SourceRoot> roots,
+        final List<Path> sources,
+        final StaleQueenSources stale,
+        final Set<Path> changed,
+        final Set<Path> deleted
+    ) throws IOException {
+        if(!this.buildContext.isIncremental()) {
+            changed.addAll(stale.changed(sources));
+            deleted.addAll(stale.deleted(sources));
+            return;
+        }
+        for(final SourceRoot root : roots) {
+            final Scanner removed = this.buildContext.newDeleteScanner(root.directory().toFile());
+            removed.setIncludes(new String[] {"**/*.queen"});
+            removed.scan();
+            for(final String file : removed.getIncludedFiles()) {
+                deleted.add(root.directory().resolve(file));
+            }
+            final Scanner scanner = this.buildContext.newScanner(root.directory().toFile());
+            scanner.setIncludes(new String[] {"**/*.queen"});
+            scanner.scan();
+            for(final String file : scanner.getIncludedFiles()) {
+                changed.add(root.directory().resolve(file));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.maven;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * Unit tests for {@link StaleQueenSources}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class StaleQueenSourcesTestCase {
+
+    @Test
+    public void returnsAllSourcesOnFirstBuild() throws Exception {
+        final Path dir = Files.createTempDirectory("queen-stale");
+        final Path first = Files.writeString(dir.resolve("First.queen"), "class First {}");
+        final Path second = Files.writeString(dir.resolve("Second.queen"), "class Second {}");
+        final StaleQueenSources stale = new StaleQueenSources(dir.resolve("target/sources.lst"));
+        MatcherAssert.assertThat(stale.changed(List.of(first, second)), Matchers.hasSize(2));
+    }
+
+    @Test
+    public void returnsOnlyTheChangedSources() throws Exception {
+        final Path dir = Files.createTempDirectory("queen-stale");
+        final Path first = Files.writeString(dir.resolve("First.queen"), "class First {}");
+        final Path second = Files.writeString(dir.resolve("Second.queen"), "class Second {}");
+        final StaleQueenSources stale = new StaleQueenSources(dir.resolve("target/sources.lst"));
+        stale.save(List.of(first, second));
+        MatcherAssert.assertThat(stale.changed(List.of(first, second)), Matchers.emptyIterable());
+        Files.writeString(second, "class Second { }");
+        Files.setLastModifiedTime(second, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        final Path third = Files.writeString(dir.resolve("Third.queen"), "class Third {}");
+        MatcherAssert.assertThat(
+            stale.changed(List.of(first, second, third)),
+            Matchers.contains(second.toAbsolutePath().normalize(), third.toAbsolutePath().normalize())
+        );
+    }
+
+    @Test
+    public void returnsTheDeletedSources() throws Exception {
+        final Path dir = Files.createTempDirectory("queen-stale");
+        final Path first = Files.writeString(dir.resolve("First.queen"), "class First {}");
+        final Path second = Files.writeString(dir.resolve("Second.queen"), "class Second {}");
+        final StaleQueenSources stale = new StaleQueenSources(dir.resolve("target/sources.lst"));
+        MatcherAssert.assertThat(stale.deleted(List.of(first, second)), Matchers.emptyIterable());
+        stale.save(List.of(first, second));
+        Files.delete(second);
+        MatcherAssert.assertThat(stale.changed(List.of(first)), Matchers.emptyIterable());
+        MatcherAssert.assertThat(
+            stale.deleted(List.of(first)),
+            Matchers.contains(second.toAbsolutePath().normalize())
+        );
+    }
+}
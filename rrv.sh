@@ -23,7 +23,10 @@ sed -i "s/, version \`.*\`/, version \`${tag}\`/" README.md
 sed -i "s/(\`\`queen-of-java-[0-9]*\.[0-9]*\.[0-9]*.jar\`\`)/(\`\`queen-of-java-${tag}.jar\`\`)/" README.md
 mvn -ntp versions:set "-DnewVersion=${tag}"
 rm pom.xml.versionsBackup
+mvn -ntp -f queen-maven-plugin/pom.xml versions:set "-DnewVersion=${tag}"
+rm queen-maven-plugin/pom.xml.versionsBackup
 mvn clean deploy -Pitcases,signArtifactsGpg,releaseToGithubPackages --settings /home/r/settings.xml
+mvn -f queen-maven-plugin/pom.xml clean deploy -PreleaseToGithubPackages --settings /home/r/settings.xml
 
 git commit -am "${tag}" # release commit
 
@@ -36,6 +39,8 @@ NUMBERS=($(echo $tag | grep -o -E '[0-9]+'))
 NEXT_DEV_VERSION=${NUMBERS[0]}'.'${NUMBERS[1]}'.'$((${NUMBERS[2]}+1))'-SNAPSHOT'
 mvn -ntp versions:set "-DnewVersion=${NEXT_DEV_VERSION}"
 rm pom.xml.versionsBackup
+mvn -ntp -f queen-maven-plugin/pom.xml versions:set "-DnewVersion=${NEXT_DEV_VERSION}"
+rm queen-maven-plugin/pom.xml.versionsBackup
 
 git commit -am "${NEXT_DEV_VERSION}" # "next iteration commit", will not be part of the tag or release
 
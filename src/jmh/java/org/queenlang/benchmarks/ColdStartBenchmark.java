@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time of a whole queenc run (JVM startup included) over a small Queen project, with
+ * and without the AppCDS archive created by queenc --train. Each invocation starts a new JVM,
+ * so this measures what a user waits for, rather than the throughput of a warm transpiler.
+ *
+ * It needs the assembled jar, given with -Dqueenc.jar (defaults to target/queenc.jar).
+ * If there is no archive next to it, the archive is trained first.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ColdStartBenchmark {
+
+    /**
+     * Should queenc start with the AppCDS archive?
+     */
+    @Param({"false", "true"})
+    public boolean archive;
+
+    private String java;
+    private Path jar;
+    private Path jsa;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void train() throws IOException, InterruptedException {
+        this.java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        this.jar = Path.of(System.getProperty("queenc.jar", "target/queenc.jar")).toAbsolutePath();
+        if(!Files.exists(this.jar)) {
+            throw new IllegalStateException("Jar " + this.jar + " not found, run mvn package first.");
+        }
+        this.jsa = this.jar.resolveSibling("queenc.jsa");
+        if(this.archive && !Files.exists(this.jsa)) {
+            this.run("-jar", this.jar.toString(), "--train", this.jsa.toString());
+        }
+        this.output = Files.createTempDirectory("queen-benchmark-output");
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Corpus.deleteDirectory(this.output);
+    }
+
+    @Benchmark
+    public int queenc() throws IOException, InterruptedException {
+        final List<String> arguments = new ArrayList<>();
+        if(this.archive) {
+            arguments.add("-XX:SharedArchiveFile=" + this.jsa);
+        }
+        arguments.addAll(
+            Arrays.asList(
+                "-jar", this.jar.toString(),
+                "-p", Path.of("src/test/resources/queen-project").toAbsolutePath().toString(),
+                "-o", this.output.toString()
+            )
+        );
+        return this.run(arguments.toArray(new String[0]));
+    }
+
+    private int run(final String... arguments) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(this.java);
+        command.addAll(Arrays.asList(arguments));
+        final int exit = new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .start()
+            .waitFor();
+        if(exit != 0) {
+            throw new IllegalStateException("queenc exited with code " + exit + ": " + command);
+        }
+        return exit;
+    }
+}
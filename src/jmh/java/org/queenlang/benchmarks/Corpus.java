@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.nodes.project.QueenProject;
+import org.queenlang.queen.util.SyntheticQueenProject;
+import org.queenlang.transpiler.aspects.WeaveParentsAspect;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Queen project used as benchmark input. It is one of the queenToJava test corpora
+ * or a synthetic project, copied a number of times into a temporary directory, so the
+ * same code can be measured at different scales. Every copy has its own packages
+ * (copy0, copy1... are prepended to the corpus' packages), so the copies do not overwrite
+ * each other's output and each copy's references resolve within the copy.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+public class Corpus {
+
+    /**
+     * Prefix of the synthetic corpora.
+     */
+    private static final String SYNTHETIC = "synthetic-";
+
+    /**
+     * Package declaration of a Queen file.
+     */
+    private static final Pattern PACKAGE = Pattern.compile(
+        "^(\\s*package\\s+)([\\w.]+)(\\s*;)", Pattern.MULTILINE
+    );
+
+    /**
+     * Import declaration of a Queen file.
+     */
+    private static final Pattern IMPORT = Pattern.compile(
+        "^(\\s*import\\s+)([\\w.]+?)(\\.\\*)?(\\s*;)", Pattern.MULTILINE
+    );
+
+    /**
+     * Name of the test corpus, from src/test/resources/queenToJava, or synthetic-N,
+     * for a synthetic project with N files.
+     */
+    @Param({"random", "real", "synthetic-500"})
+    public String corpus;
+
+    /**
+     * How many times should the corpus be copied in the project?
+     */
+    @Param({"1", "20"})
+    public int copies;
+
+    /**
+     * Directory of the project.
+     */
+    private Path directory;
+
+    /**
+     * Queen files of the project.
+     */
+    private List<Path> files;
+
+    @Setup(Level.Trial)
+    public void copy() throws IOException, URISyntaxException {
+        this.directory = Files.createTempDirectory("queen-benchmark-" + this.corpus);
+        final Map<String, String> sources = this.sources();
+        final Set<String> packages = new HashSet<>();
+        for(final String source : sources.values()) {
+            final Matcher declaration = PACKAGE.matcher(source);
+            if(declaration.find()) {
+                packages.add(declaration.group(2));
+            }
+        }
+        for(int copy = 0; copy < this.copies; ++copy) {
+            for(final Map.Entry<String, String> source : sources.entrySet()) {
+                final String content = Corpus.prefixed(source.getValue(), "copy" + copy, packages);
+                final Matcher declaration = PACKAGE.matcher(content);
+                declaration.find();
+                final Path file = this.directory
+                    .resolve(declaration.group(2).replace('.', File.separatorChar))
+                    .resolve(source.getKey());
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, content);
+            }
+        }
+        this.files = new ProjectClasspath(this.directory).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Corpus.deleteDirectory(this.directory);
+    }
+
+    /**
+     * Directory of the project.
+     * @return Path.
+     */
+    public Path directory() {
+        return this.directory;
+    }
+
+    /**
+     * Queen files of the project.
+     * @return List of paths.
+     */
+    public List<Path> files() {
+        return this.files;
+    }
+
+    /**
+     * Parser to be used in the benchmarks.
+     * @return QueenASTParser.
+     */
+    public QueenASTParser parser() {
+        return new QueenASTParserANTLR();
+    }
+
+    /**
+     * Parse the project and weave the parents into its nodes, like
+     * QueenToJavaTranspiler does.
+     * @return QueenProject.
+     * @throws IOException If the files cannot be read.
+     * @throws QueenTranspilationException If the files contain syntax errors.
+     */
+    public QueenProject project() throws IOException, QueenTranspilationException {
+        final QueenProject project = new QueenProject(
+            this.parser(),
+            new ProjectClasspath(this.directory)
+        );
+        new WeaveParentsAspect().traverse(project);
+        return project;
+    }
+
+    /**
+     * The Queen files of the corpus.
+     * @return Content of each file, by file name.
+     * @throws IOException If the files cannot be read.
+     * @throws URISyntaxException If the test corpus cannot be found.
+     */
+    private Map<String, String> sources() throws IOException, URISyntaxException {
+        final Map<String, String> sources = new LinkedHashMap<>();
+        if(this.corpus.startsWith(SYNTHETIC)) {
+            final SyntheticQueenProject synthetic = new SyntheticQueenProject(
+                42L, Integer.parseInt(this.corpus.substring(SYNTHETIC.length()))
+            );
+            for(final Map.Entry<Path, String> file : synthetic.files().entrySet()) {
+                sources.put(file.getKey().getFileName().toString(), file.getValue());
+            }
+        } else {
+            final Path source = Paths.get(
+                Corpus.class.getClassLoader().getResource("queenToJava/" + this.corpus).toURI()
+            );
+            final List<Path> queenFiles;
+            try (Stream<Path> paths = Files.list(source)) {
+                queenFiles = paths
+                    .filter(p -> p.getFileName().toString().endsWith(".queen"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+            for(final Path queenFile : queenFiles) {
+                sources.put(queenFile.getFileName().toString(), Files.readString(queenFile));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Move the given file into its copy's own packages: the prefix is added to its package
+     * (a file in the default package goes into the prefix package) and to its imports of
+     * the corpus' packages. Other imports, e.g. of the JDK, are kept as they are.
+     * @param source Content of the file.
+     * @param prefix Prefix of the copy's packages.
+     * @param packages Packages declared in the corpus.
+     * @return Content of the copied file.
+     */
+    private static String prefixed(final String source, final String prefix, final Set<String> packages) {
+        final StringBuilder copied = new StringBuilder();
+        final Matcher declaration = PACKAGE.matcher(source);
+        if(declaration.find()) {
+            declaration.appendReplacement(copied, "$1" + prefix + ".$2$3");
+            declaration.appendTail(copied);
+        } else {
+            copied.append("package ").append(prefix).append(";\n\n").append(source);
+        }
+        final Matcher imports = IMPORT.matcher(copied.toString());
+        final StringBuilder result = new StringBuilder();
+        while (imports.find()) {
+            final String imported = imports.group(2);
+            final String pack;
+            if(imports.group(3) != null) {
+                pack = imported;
+            } else {
+                pack = imported.substring(0, Math.max(0, imported.lastIndexOf('.')));
+            }
+            if(packages.contains(pack)) {
+                imports.appendReplacement(result, "$1" + prefix + ".$2$3$4");
+            } else {
+                imports.appendReplacement(result, "$0");
+            }
+        }
+        imports.appendTail(result);
+        return result.toString();
+    }
+
+    /**
+     * Delete the given directory with all its content.
+     * @param directory Directory to delete.
+     * @throws IOException If something goes wrong.
+     */
+    static void deleteDirectory(final Path directory) throws IOException {
+        if(directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            final List<Path> all = paths
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+            for(final Path path : all) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -29,6 +29,8 @@
 package org.queenlang.classpath;
 
 import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
 
 import java.io.IOException;
 import java.nio.file.FileSystems;
@@ -81,5 +83,22 @@ public interface Classpath {
         return null;
     }
 
+    /**
+     * Called by the project once it parsed the files returned by {@link #findAll()}, before
+     * any reference of theirs is resolved.
+     * @param project The project.
+     */
+    default void loaded(final ProjectNode project) {
+    }
 
+    /**
+     * The declarations of a Queen file found by this classpath, if they are known without
+     * parsing the file (e.g. the file of another shard).
+     * @param project Project resolving a reference to the file.
+     * @param file Queen file, as found by {@link #find(NameNode)}.
+     * @return FileNode with the declarations of the file or null, if the file has to be parsed.
+     */
+    default FileNode declarations(final ProjectNode project, final Path file) {
+        return null;
+    }
 }
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.classpath;
+
+import org.queenlang.queen.nodes.names.NameNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Classpath made of a source root directory, which is not scanned: each class is looked up
+ * only when it is referenced, by resolving its path against the root.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class DirectoryClasspath implements Classpath {
+
+    /**
+     * Root of the package structure (e.g. src/main/queen).
+     */
+    private final Path root;
+
+    /**
+     * Ctor.
+     * @param root Root of the package structure (e.g. src/main/queen).
+     */
+    public DirectoryClasspath(final Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public Path find(final Path clazz) {
+        final Path path = this.root.resolve(clazz);
+        if(Files.exists(path)) {
+            return path;
+        }
+        return null;
+    }
+
+    /**
+     * Find the Queen file, Java file, class file or package represented by the given
+     * {@link NameNode}.
+     * @param name NameNode to be resolved.
+     * @return Path, resolved against the root, or null if it is not found.
+     */
+    @Override
+    public Path find(final NameNode name) {
+        final String path = name.name().replaceAll("\\.", FileSystems.getDefault().getSeparator());
+        for(final String suffix : new String[] {"", ".queen", ".java", ".class"}) {
+            final Path found = this.find(Path.of(path + suffix));
+            if(found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Path> findAll() {
+        try (Stream<Path> files = Files.walk(this.root)) {
+            return files.filter(
+                file -> file.getFileName().toString().endsWith(".queen")
+            ).collect(Collectors.toList());
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("IOException while traversing directory: " + this.root, ex);
+        }
+    }
+}
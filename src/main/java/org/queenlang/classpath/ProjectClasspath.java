@@ -32,30 +32,104 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
 import static java.nio.file.FileVisitResult.TERMINATE;
 
 /**
  * A queen's project classpath. The place where all the user-defined Queen files
  * are expected to be found.
+ *
+ * The globs are matched against the paths relative to the project directory. The excluded
+ * directories (by default the hidden ones, target and node_modules) are never opened, and
+ * the project is scanned in parallel, one ForkJoinTask per directory.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 0.0.1
  */
 public final class ProjectClasspath implements Classpath {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectClasspath.class);
+
+    /**
+     * Globs of the files which are searched by default.
+     */
+    public static final List<String> INCLUDES = List.of("**.queen");
+
+    /**
+     * Globs of the files and directories which are skipped by default.
+     */
+    public static final List<String> EXCLUDES = List.of(
+        ".*", "**/.*", "target", "**/target", "node_modules", "**/node_modules"
+    );
+
     private final Path projectDir;
 
+    /**
+     * Globs of the searched files.
+     */
+    private final List<PathMatcher> includes;
+
+    /**
+     * Globs of the skipped files and directories.
+     */
+    private final List<PathMatcher> excludes;
+
+    /**
+     * Pool in which the project directory is scanned.
+     */
+    private final ForkJoinPool pool;
+
     public ProjectClasspath(final Path projectDir) {
+        this(projectDir, INCLUDES, EXCLUDES);
+    }
+
+    /**
+     * Ctor.
+     * @param projectDir Project directory.
+     * @param includes Globs of the searched files (e.g. **.queen).
+     * @param excludes Globs of the skipped files and directories (e.g. target).
+     */
+    public ProjectClasspath(final Path projectDir, final List<String> includes, final List<String> excludes) {
+        this(projectDir, includes, excludes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ctor.
+     * @param projectDir Project directory.
+     * @param includes Globs of the searched files (e.g. **.queen).
+     * @param excludes Globs of the skipped files and directories (e.g. target).
+     * @param pool Pool in which the project directory is scanned.
+     */
+    public ProjectClasspath(
+        final Path projectDir,
+        final List<String> includes,
+        final List<String> excludes,
+        final ForkJoinPool pool
+    ) {
         this.projectDir = projectDir;
+        final FileSystem fileSystem = projectDir.getFileSystem();
+        this.includes = includes.stream()
+            .map(glob -> fileSystem.getPathMatcher("glob:" + glob))
+            .collect(Collectors.toList());
+        this.excludes = excludes.stream()
+            .map(glob -> fileSystem.getPathMatcher("glob:" + glob))
+            .collect(Collectors.toList());
+        this.pool = pool;
     }
 
     @Override
@@ -66,17 +140,14 @@ public final class ProjectClasspath implements Classpath {
             Files.walkFileTree(
                 this.projectDir,
                 new SimpleFileVisitor<>() {
-                    private Path root;
-
                     @Override
                     public FileVisitResult preVisitDirectory(
                         final Path dir, final BasicFileAttributes attrs
-                    ) throws IOException {
-                        if (this.root == null) {
-                            this.root = dir;
+                    ) {
+                        if(!dir.equals(ProjectClasspath.this.projectDir) && ProjectClasspath.this.excluded(dir)) {
+                            return SKIP_SUBTREE;
                         }
-                        LOG.debug("Visiting directory {}", dir);
-                        return super.preVisitDirectory(dir, attrs);
+                        return CONTINUE;
                     }
 
                     @Override
@@ -85,18 +156,18 @@ public final class ProjectClasspath implements Classpath {
                         final BasicFileAttributes attrs
                     ) {
                         if (path.toString().contains(queenFile.toString())) {
-                            LOG.info("Found Queen file {}", path);
+                            LOG.debug("Found Queen file {}", path);
                             found.add(path);
                             return TERMINATE;
-                        } else {
-                            LOG.debug("Visiting file {}", path);
                         }
                         return CONTINUE;
                     }
                 }
             );
         } catch (final IOException ex) {
-            throw new RuntimeException("IOException while searching for Queen file: " + queenFile, ex);
+            throw new UncheckedIOException(
+                "IOException while searching for Queen file " + queenFile + " in " + this.projectDir, ex
+            );
         }
 
         return found.size() == 1 ? found.get(0) : null;
@@ -105,43 +176,41 @@ public final class ProjectClasspath implements Classpath {
     @Override
     public List<Path> findAll() {
         LOG.debug("Searching all Queen files inside projectDirectory {}", this.projectDir);
-        final List<Path> queenFiles = new ArrayList<>();
+        if(!Files.isDirectory(this.projectDir)) {
+            throw new UncheckedIOException(
+                "Cannot search for Queen files in " + this.projectDir,
+                new NotDirectoryException(this.projectDir.toString())
+            );
+        }
+        final long start = System.nanoTime();
+        final ScanDirectoryTask.Counts counts = new ScanDirectoryTask.Counts();
+        final List<Path> queenFiles;
         try {
-            Files.walkFileTree(
-                this.projectDir,
-                new SimpleFileVisitor<>() {
-                    private Path root;
-
-                    @Override
-                    public FileVisitResult preVisitDirectory(
-                        final Path dir, final BasicFileAttributes attrs
-                    ) throws IOException {
-                        if (this.root == null) {
-                            this.root = dir;
-                        }
-                        LOG.debug("Visiting directory {}", dir);
-                        return super.preVisitDirectory(dir, attrs);
-                    }
-
-                    @Override
-                    public FileVisitResult visitFile(
-                        final Path path,
-                        final BasicFileAttributes attrs
-                    ) {
-                        if (path.getFileName().toString().endsWith(".queen")) {
-                            LOG.info("Found Queen file {}", path);
-                            queenFiles.add(path);
-                        } else {
-                            LOG.debug("Visiting file {}", path.getFileName());
-                        }
-                        return CONTINUE;
-                    }
-                }
+            queenFiles = this.pool.invoke(
+                new ScanDirectoryTask(this.projectDir, this.projectDir, this.includes, this.excludes, counts)
+            );
+        } catch (final UncheckedIOException ex) {
+            throw new UncheckedIOException(
+                "IOException while searching for Queen files in " + this.projectDir + ": " + ex.getMessage(),
+                ex.getCause()
             );
-        } catch (final IOException ex) {
-            throw new RuntimeException("IOException while traversing directory: " + this.projectDir, ex);
         }
+        Collections.sort(queenFiles);
+        LOG.info(
+            "Found {} Queen files in {}: visited {} files, skipped {} files and {} directories, in {} ms.",
+            queenFiles.size(), this.projectDir, counts.visitedFiles.sum(), counts.skippedFiles.sum(),
+            counts.skippedDirectories.sum(), (System.nanoTime() - start) / 1_000_000
+        );
         return queenFiles;
     }
 
+    private boolean excluded(final Path path) {
+        final Path relative = this.projectDir.relativize(path);
+        for(final PathMatcher glob : this.excludes) {
+            if(glob.matches(relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.classpath;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task scanning a directory for the included files. Each subdirectory is scanned by
+ * its own forked task, so the idle workers of the ForkJoinPool steal the big subtrees.
+ * The excluded directories are not opened at all. Symbolic links are not followed.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+final class ScanDirectoryTask extends RecursiveTask<List<Path>> {
+
+    private final Path root;
+    private final Path directory;
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+    private final Counts counts;
+
+    /**
+     * Ctor.
+     * @param root Scanned root, against which the globs are matched.
+     * @param directory Directory to scan.
+     * @param includes Globs of the files to find.
+     * @param excludes Globs of the files and directories to skip.
+     * @param counts Counts of the visited and skipped files, shared by all the tasks of a scan.
+     */
+    ScanDirectoryTask(
+        final Path root,
+        final Path directory,
+        final List<PathMatcher> includes,
+        final List<PathMatcher> excludes,
+        final Counts counts
+    ) {
+        this.root = root;
+        this.directory = directory;
+        this.includes = includes;
+        this.excludes = excludes;
+        this.counts = counts;
+    }
+
+    @Override
+    protected List<Path> compute() {
+        final List<Path> found = new ArrayList<>();
+        final List<ScanDirectoryTask> subdirectories = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory)) {
+            for(final Path entry : entries) {
+                final Path relative = this.root.relativize(entry);
+                final BasicFileAttributes attributes = Files.readAttributes(
+                    entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS
+                );
+                if(attributes.isDirectory()) {
+                    if(this.matches(this.excludes, relative)) {
+                        this.counts.skippedDirectories.increment();
+                    } else {
+                        subdirectories.add(
+                            new ScanDirectoryTask(this.root, entry, this.includes, this.excludes, this.counts)
+                        );
+                    }
+                } else {
+                    this.counts.visitedFiles.increment();
+                    if(this.matches(this.includes, relative) && !this.matches(this.excludes, relative)) {
+                        found.add(entry);
+                    } else {
+                        this.counts.skippedFiles.increment();
+                    }
+                }
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("IOException while traversing directory: " + this.directory, ex);
+        }
+        invokeAll(subdirectories);
+        for(final ScanDirectoryTask subdirectory : subdirectories) {
+            found.addAll(subdirectory.join());
+        }
+        return found;
+    }
+
+    private boolean matches(final List<PathMatcher> globs, final Path relative) {
+        for(final PathMatcher glob : globs) {
+            if(glob.matches(relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts of the files and directories visited and skipped by a scan.
+     */
+    static final class Counts {
+        final LongAdder visitedFiles = new LongAdder();
+        final LongAdder skippedFiles = new LongAdder();
+        final LongAdder skippedDirectories = new LongAdder();
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.classpath;
+
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Classpath of one shard of a project, transpiled by its own queenc process. It is read from
+ * two files, written by the coordinating process: the shard file, with the shard's Queen files
+ * (one per line), and the declarations file next to it, with the full name, the file
+ * and the shard file of every Queen type of the project (one per line, separated by tabs).
+ *
+ * Only the shard's files are returned by {@link #findAll()}. Once they are parsed, their declarations
+ * are written in the shard's summary (see {@link ShardSummary}). The types of the other shards
+ * are found in the declarations file, without walking the project directory, and they are
+ * resolved against the summaries of their shards, without parsing them. Anything which is not a Queen
+ * type of the project (e.g. a Java file) is looked up in the project's classpath, like in a single process.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ShardClasspath implements Classpath {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardClasspath.class);
+
+    /**
+     * Name of the declarations file, expected next to the shard files.
+     */
+    public static final String DECLARATIONS = "declarations.txt";
+
+    /**
+     * How long to wait before looking again for the summary of another shard, in milliseconds.
+     */
+    private static final long POLL = 50;
+
+    /**
+     * The shard file.
+     */
+    private final Path shard;
+
+    /**
+     * Classpath of the whole project, for the types which are not declared in Queen files.
+     */
+    private final Classpath project;
+
+    /**
+     * Queen files of the shard, read lazily.
+     */
+    private volatile List<Path> files;
+
+    /**
+     * Types and packages of the project, mapped to their files and directories, read lazily.
+     */
+    private volatile Map<String, Path> declarations;
+
+    /**
+     * Shard files of the project's Queen files, read lazily, with the declarations.
+     */
+    private volatile Map<Path, String> shards;
+
+    /**
+     * Summaries of the other shards which were read, by their shard file name.
+     */
+    private final Map<String, Map<Path, FileNode>> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Ctor.
+     * @param shard Shard file.
+     * @param project Classpath of the whole project, for the types which are not declared in Queen files.
+     */
+    public ShardClasspath(final Path shard, final Classpath project) {
+        this.shard = shard;
+        this.project = project;
+    }
+
+    @Override
+    public Path find(final Path clazz) {
+        final String name = clazz.toString()
+            .replaceAll("\\.queen$", "")
+            .replace(FileSystems.getDefault().getSeparator(), ".");
+        final Path found = this.declarations().get(name);
+        if(found == null) {
+            return this.project.find(clazz);
+        }
+        return found;
+    }
+
+    /**
+     * Find the Queen file or package represented by the given {@link NameNode}.
+     * @param name NameNode to be resolved.
+     * @return Path of the Queen file or package, the one found by the project's classpath if it
+     *  is not declared in the project's Queen files, or null.
+     */
+    @Override
+    public Path find(final NameNode name) {
+        final Path found = this.declarations().get(name.name());
+        if(found == null) {
+            return this.project.find(name);
+        }
+        return found;
+    }
+
+    @Override
+    public List<Path> findAll() {
+        List<Path> files = this.files;
+        if(files == null) {
+            try {
+                files = Files.readAllLines(this.shard).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(Path::of)
+                    .collect(Collectors.toList());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("IOException while reading the shard file " + this.shard, ex);
+            }
+            this.files = files;
+        }
+        return files;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Write the summary of the shard's parsed files, for the other shards.
+     */
+    @Override
+    public void loaded(final ProjectNode project) {
+        final Map<Path, FileNode> parsed = new LinkedHashMap<>();
+        for(final Path file : this.findAll()) {
+            final FileNode node = project.file(file);
+            if(node != null) {
+                parsed.put(file, node);
+            }
+        }
+        try {
+            new ShardSummary(summary(this.shard)).write(parsed);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("IOException while writing the summary of the shard " + this.shard, ex);
+        }
+        LOG.debug("Wrote the summary of the {} parsed files of the shard {}.", parsed.size(), this.shard);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The declarations are read from the summary of the file's shard, which is waited for
+     * if its worker did not write it yet. They are null if the file is not a Queen file of
+     * another shard or if it is missing from its summary (e.g. its Java file was restored
+     * from the cache, so its worker did not parse it).
+     */
+    @Override
+    public FileNode declarations(final ProjectNode project, final Path file) {
+        this.declarations();
+        final String other = this.shards.get(file);
+        if(other == null || other.equals(this.shard.getFileName().toString())) {
+            return null;
+        }
+        return this.summaries.computeIfAbsent(other, name -> this.summary(project, name)).get(file);
+    }
+
+    /**
+     * File where the worker of the given shard writes its summary.
+     * @param shard Shard file.
+     * @return Path.
+     */
+    public static Path summary(final Path shard) {
+        return shard.resolveSibling(shard.getFileName().toString().replaceAll("\\.txt$", "") + ".summary");
+    }
+
+    /**
+     * Read the summary of another shard, waiting for its worker to write it. If the worker stops
+     * without writing it, the coordinating process writes an empty one.
+     * @param project Project the summarized files belong to.
+     * @param name Shard file name.
+     * @return Summarized files, by their path.
+     */
+    private Map<Path, FileNode> summary(final ProjectNode project, final String name) {
+        final ShardSummary summary = new ShardSummary(summary(this.shard.resolveSibling(name)));
+        try {
+            while (!summary.exists()) {
+                Thread.sleep(POLL);
+            }
+            return summary.read(project);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the summary of the shard " + name, ex);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("IOException while reading the summary of the shard " + name, ex);
+        }
+    }
+
+    private Map<String, Path> declarations() {
+        Map<String, Path> declarations = this.declarations;
+        if(declarations == null) {
+            final Path file = this.shard.resolveSibling(DECLARATIONS);
+            declarations = new HashMap<>();
+            final Map<Path, String> shards = new HashMap<>();
+            try {
+                for(final String line : Files.readAllLines(file)) {
+                    final String[] parts = line.split("\t");
+                    if(parts.length == 3) {
+                        final String type = parts[0];
+                        final Path path = Path.of(parts[1]);
+                        declarations.put(type, path);
+                        shards.put(path, parts[2]);
+                        final int dot = type.lastIndexOf('.');
+                        if(dot > 0 && path.getParent() != null) {
+                            declarations.putIfAbsent(type.substring(0, dot), path.getParent());
+                        }
+                    }
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("IOException while reading the declarations file " + file, ex);
+            }
+            this.shards = shards;
+            this.declarations = declarations;
+        }
+        return declarations;
+    }
+}
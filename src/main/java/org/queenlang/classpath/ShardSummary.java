@@ -0,0 +1,423 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.classpath;
+
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.body.*;
+import org.queenlang.queen.nodes.expressions.ArrayDimensionNode;
+import org.queenlang.queen.nodes.expressions.QueenArrayDimensionNode;
+import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.project.QueenFileNode;
+import org.queenlang.queen.nodes.types.ArrayTypeNode;
+import org.queenlang.queen.nodes.types.ClassOrInterfaceTypeNode;
+import org.queenlang.queen.nodes.types.QueenArrayTypeNode;
+import org.queenlang.queen.nodes.types.QueenClassOrInterfaceTypeNode;
+import org.queenlang.queen.nodes.types.QueenPrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenVoidNode;
+import org.queenlang.queen.nodes.types.TypeNode;
+import org.queenlang.queen.nodes.types.VoidTypeNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Summary of the declarations of a shard's Queen files: their package, imports, the header of
+ * their type and the signatures of its methods, fields and constants, without any bodies. It is
+ * written by the shard's worker, once it parsed its files, and read by the other workers, which
+ * resolve the shard's types against it instead of parsing them.
+ *
+ * Every declaration is one line, with its parts separated by tabs, and every file starts with
+ * a "file" line. The types are written as they appear in the source (e.g. Car or com.example.Car).
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ShardSummary {
+
+    private static final Set<String> PRIMITIVES = Set.of(
+        "boolean", "byte", "char", "short", "int", "long", "float", "double"
+    );
+
+    /**
+     * The summary file.
+     */
+    private final Path path;
+
+    /**
+     * Ctor.
+     * @param path Summary file.
+     */
+    public ShardSummary(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Has the summary been written?
+     * @return True or false.
+     */
+    public boolean exists() {
+        return Files.exists(this.path);
+    }
+
+    /**
+     * Write the declarations of the given files. The summary is written next to its path, then
+     * moved in place, so it is never read while it is being written.
+     * @param files Parsed Queen files, by their path.
+     * @throws IOException If the summary cannot be written.
+     */
+    public void write(final Map<Path, FileNode> files) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for(final Map.Entry<Path, FileNode> file : files.entrySet()) {
+            summarize(file.getKey(), file.getValue().compilationUnit(), lines);
+        }
+        final Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        Files.write(temporary, lines);
+        Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the declarations of the summarized files.
+     * @param project Project the files belong to.
+     * @return FileNodes with the declarations, by the path of their Queen file.
+     * @throws IOException If the summary cannot be read.
+     */
+    public Map<Path, FileNode> read(final ProjectNode project) throws IOException {
+        final Map<Path, FileNode> files = new HashMap<>();
+        Declarations declarations = null;
+        for(final String line : Files.readAllLines(this.path)) {
+            final String[] parts = line.split("\t", -1);
+            if("file".equals(parts[0])) {
+                if(declarations != null) {
+                    files.put(declarations.path, declarations.file(project));
+                }
+                declarations = new Declarations(Path.of(parts[1]), parts[2]);
+            } else if(declarations != null) {
+                declarations.add(parts);
+            }
+        }
+        if(declarations != null) {
+            files.put(declarations.path, declarations.file(project));
+        }
+        return files;
+    }
+
+    /**
+     * Summarize the declarations of a compilation unit.
+     * @param path Path of the Queen file.
+     * @param unit Its compilation unit.
+     * @param lines Lines of the summary.
+     */
+    private static void summarize(final Path path, final CompilationUnitNode unit, final List<String> lines) {
+        final PackageDeclarationNode pack = unit.packageDeclaration();
+        lines.add(line("file", path.toString(), pack == null ? "" : pack.packageName().name()));
+        for(final ImportDeclarationNode imported : unit.importDeclarations()) {
+            lines.add(
+                line("import", imported.importDeclarationName().name(), imported.asteriskImport() ? "*" : "")
+            );
+        }
+        final TypeDeclarationNode type = unit.typeDeclaration();
+        if(type.asClassDeclarationNode() != null) {
+            final ClassDeclarationNode clazz = type.asClassDeclarationNode();
+            lines.add(
+                line(
+                    "class",
+                    modifiers(clazz.modifiers()),
+                    clazz.extensionModifier().modifier(),
+                    clazz.name(),
+                    clazz.extendsType() == null ? "" : clazz.extendsType().name(),
+                    types(clazz.of())
+                )
+            );
+            for(final FieldDeclarationNode field : clazz.body().fieldDeclarations()) {
+                lines.add(
+                    line("field", modifiers(field.modifiers()), type(field.type()), field.variable().variableDeclaratorId().name())
+                );
+            }
+            for(final MethodDeclarationNode method : clazz.body().methods()) {
+                lines.add(method(method));
+            }
+        } else if(type.asNormalInterfaceDeclaration() != null) {
+            final NormalInterfaceDeclarationNode inter = type.asNormalInterfaceDeclaration();
+            lines.add(line("interface", modifiers(inter.modifiers()), inter.name(), types(inter.extendsTypes())));
+            for(final ConstantDeclarationNode constant : inter.body().constantDeclarations()) {
+                lines.add(
+                    line("constant", modifiers(constant.modifiers()), type(constant.type()), constant.variable().variableDeclaratorId().name())
+                );
+            }
+            for(final MethodDeclarationNode method : inter.body().methods()) {
+                lines.add(method(method));
+            }
+        } else {
+            lines.add(line("annotation", modifiers(type.modifiers()), type.name()));
+        }
+    }
+
+    private static String method(final MethodDeclarationNode method) {
+        final List<String> parameters = new ArrayList<>();
+        for(final ParameterNode parameter : method.parameters().parameters()) {
+            parameters.add(type(parameter.type()) + (parameter.varArgs() ? "..." : ""));
+        }
+        return line(
+            "method",
+            modifiers(method.modifiers()),
+            type(method.returnType()),
+            method.name(),
+            String.join(",", parameters)
+        );
+    }
+
+    private static String modifiers(final List<ModifierNode> modifiers) {
+        return modifiers.stream().map(ModifierNode::modifier).collect(Collectors.joining(" "));
+    }
+
+    private static String types(final InterfaceTypeList types) {
+        if(types == null) {
+            return "";
+        }
+        return types.interfaceTypes().stream().map(TypeNode::name).collect(Collectors.joining(","));
+    }
+
+    private static String type(final TypeNode type) {
+        if(type instanceof ArrayTypeNode) {
+            return type(((ArrayTypeNode) type).type()) + "[]".repeat(((ArrayTypeNode) type).dims().size());
+        } else if(type instanceof VoidTypeNode) {
+            return "void";
+        }
+        return type.name();
+    }
+
+    private static String line(final String... parts) {
+        return String.join("\t", parts);
+    }
+
+    /**
+     * The declarations of one summarized file, read line by line.
+     */
+    private static final class Declarations {
+
+        /**
+         * Path of the Queen file.
+         */
+        private final Path path;
+
+        /**
+         * Its package, empty if it is in the default one.
+         */
+        private final String pack;
+
+        private final List<ImportDeclarationNode> imports = new ArrayList<>();
+
+        /**
+         * Header of the type, split in its parts.
+         */
+        private String[] header;
+
+        private final List<MethodDeclarationNode> methods = new ArrayList<>();
+
+        private final List<String[]> variables = new ArrayList<>();
+
+        Declarations(final Path path, final String pack) {
+            this.path = path;
+            this.pack = pack;
+        }
+
+        /**
+         * Add a declaration.
+         * @param parts Parts of its line.
+         */
+        void add(final String[] parts) {
+            if("import".equals(parts[0])) {
+                this.imports.add(new QueenImportDeclarationNode(missing(), name(parts[1]), "*".equals(parts[2])));
+            } else if("method".equals(parts[0])) {
+                final List<ParameterNode> parameters = new ArrayList<>();
+                if(!parts[4].isEmpty()) {
+                    int index = 0;
+                    for(final String parameter : parts[4].split(",")) {
+                        final boolean varArgs = parameter.endsWith("...");
+                        parameters.add(
+                            new QueenParameterNode(
+                                missing(),
+                                new ArrayList<>(),
+                                new ArrayList<>(),
+                                type(varArgs ? parameter.substring(0, parameter.length() - 3) : parameter),
+                                new QueenVariableDeclaratorId(missing(), "arg" + index++),
+                                new ArrayList<>(),
+                                varArgs
+                            )
+                        );
+                    }
+                }
+                this.methods.add(
+                    new QueenMethodDeclarationNode(
+                        missing(),
+                        new ArrayList<>(),
+                        modifiers(parts[1]),
+                        type(parts[2]),
+                        new ArrayList<>(),
+                        parts[3],
+                        new QueenParameterList(missing(), parameters),
+                        new ArrayList<>(),
+                        null,
+                        "interface".equals(this.header[0])
+                    )
+                );
+            } else if("field".equals(parts[0]) || "constant".equals(parts[0])) {
+                this.variables.add(parts);
+            } else {
+                this.header = parts;
+            }
+        }
+
+        /**
+         * The file with the read declarations.
+         * @param project Parent project.
+         * @return FileNode.
+         */
+        FileNode file(final ProjectNode project) {
+            final TypeDeclarationNode type;
+            if("class".equals(this.header[0])) {
+                final List<ClassBodyDeclarationNode> body = new ArrayList<>();
+                for(final String[] field : this.variables) {
+                    body.add(
+                        new QueenFieldDeclarationNode(
+                            missing(), new ArrayList<>(), modifiers(field[1]), type(field[2]), variable(field[3])
+                        )
+                    );
+                }
+                body.addAll(this.methods);
+                type = new QueenClassDeclarationNode(
+                    missing(),
+                    new ArrayList<>(),
+                    modifiers(this.header[1]),
+                    new QueenModifierNode(missing(), this.header[2]),
+                    this.header[3],
+                    new ArrayList<>(),
+                    this.header[4].isEmpty() ? null : new QueenClassOrInterfaceTypeNode(missing(), this.header[4]),
+                    this.header[5].isEmpty() ? null : types(this.header[5]),
+                    new QueenClassBodyNode(missing(), body)
+                );
+            } else if("interface".equals(this.header[0])) {
+                final List<InterfaceMemberDeclarationNode> body = new ArrayList<>();
+                for(final String[] constant : this.variables) {
+                    body.add(
+                        new QueenConstantDeclarationNode(
+                            missing(), new ArrayList<>(), modifiers(constant[1]), type(constant[2]), variable(constant[3])
+                        )
+                    );
+                }
+                body.addAll(this.methods);
+                type = new QueenNormalInterfaceDeclarationNode(
+                    missing(),
+                    new ArrayList<>(),
+                    modifiers(this.header[1]),
+                    this.header[2],
+                    new ArrayList<>(),
+                    this.header[3].isEmpty() ? null : types(this.header[3]),
+                    new QueenInterfaceBodyNode(missing(), body)
+                );
+            } else {
+                type = new QueenAnnotationTypeDeclarationNode(
+                    missing(),
+                    new ArrayList<>(),
+                    modifiers(this.header[1]),
+                    this.header[2],
+                    new QueenAnnotationTypeBodyNode(missing(), new ArrayList<>())
+                );
+            }
+            return new QueenFileNode(
+                project,
+                this.path.getFileName().toString(),
+                new QueenCompilationUnitNode(
+                    missing(),
+                    this.pack.isEmpty() ? null : new QueenPackageDeclarationNode(missing(), name(this.pack)),
+                    this.imports,
+                    type
+                )
+            );
+        }
+
+        private static List<ModifierNode> modifiers(final String modifiers) {
+            final List<ModifierNode> nodes = new ArrayList<>();
+            if(!modifiers.isEmpty()) {
+                for(final String modifier : modifiers.split(" ")) {
+                    nodes.add(new QueenModifierNode(missing(), modifier));
+                }
+            }
+            return nodes;
+        }
+
+        private static InterfaceTypeList types(final String types) {
+            final List<ClassOrInterfaceTypeNode> nodes = new ArrayList<>();
+            for(final String type : types.split(",")) {
+                nodes.add(new QueenClassOrInterfaceTypeNode(missing(), type));
+            }
+            return new QueenInterfaceTypeList(missing(), nodes);
+        }
+
+        private static TypeNode type(final String type) {
+            if(type.endsWith("[]")) {
+                String element = type;
+                final List<ArrayDimensionNode> dims = new ArrayList<>();
+                while (element.endsWith("[]")) {
+                    element = element.substring(0, element.length() - 2);
+                    dims.add(new QueenArrayDimensionNode(missing()));
+                }
+                return new QueenArrayTypeNode(missing(), type(element), dims);
+            } else if("void".equals(type)) {
+                return new QueenVoidNode(missing());
+            } else if(PRIMITIVES.contains(type)) {
+                return new QueenPrimitiveTypeNode(missing(), new ArrayList<>(), type);
+            }
+            return new QueenClassOrInterfaceTypeNode(missing(), type);
+        }
+
+        private static VariableDeclaratorNode variable(final String name) {
+            return new QueenVariableDeclaratorNode(missing(), new QueenVariableDeclaratorId(missing(), name), null);
+        }
+
+        private static QueenNameNode name(final String name) {
+            return new QueenNameNode(missing(), null, null, name);
+        }
+
+        private static Position missing() {
+            return new Position.Missing();
+        }
+    }
+}
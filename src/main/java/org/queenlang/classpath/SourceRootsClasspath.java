@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.classpath;
+
+import org.queenlang.queen.nodes.names.NameNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Classpath made of more source roots (e.g. src/main/queen and src/test/queen), which share one index.
+ * Only the roots are walked, by {@link #findAll()}: everything found in them (Queen files, Java files
+ * and packages) is indexed by its path relative to its root, so the references are resolved
+ * with a lookup, whichever root they are in. If a class is found in more roots, the first one wins.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SourceRootsClasspath implements Classpath {
+
+    /**
+     * Source roots, in the order in which they are searched.
+     */
+    private final List<Path> roots;
+
+    /**
+     * Paths relative to their root, mapped to the full paths, as they were found by the last findAll.
+     */
+    private volatile Map<Path, Path> index;
+
+    /**
+     * Ctor.
+     * @param roots Source roots, in the order in which they are searched. The ones
+     *  which do not exist are ignored.
+     */
+    public SourceRootsClasspath(final List<Path> roots) {
+        this.roots = new ArrayList<>(roots);
+    }
+
+    @Override
+    public Path find(final Path clazz) {
+        Map<Path, Path> index = this.index;
+        if(index == null) {
+            this.findAll();
+            index = this.index;
+        }
+        return index.get(clazz);
+    }
+
+    /**
+     * Find the Queen file, Java file, class file or package represented by the given
+     * {@link NameNode}.
+     * @param name NameNode to be resolved.
+     * @return Full path, or null if it is not found.
+     */
+    @Override
+    public Path find(final NameNode name) {
+        final String path = name.name().replaceAll("\\.", FileSystems.getDefault().getSeparator());
+        for(final String suffix : new String[] {"", ".queen", ".java", ".class"}) {
+            final Path found = this.find(Path.of(path + suffix));
+            if(found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walk the source roots and index everything found in them.
+     * @return The Queen files of all the roots.
+     */
+    @Override
+    public List<Path> findAll() {
+        final Map<Path, Path> index = new HashMap<>();
+        final List<Path> queenFiles = new ArrayList<>();
+        for(final Path root : this.roots) {
+            if(!Files.isDirectory(root)) {
+                continue;
+            }
+            final List<Path> found;
+            try (Stream<Path> paths = Files.walk(root)) {
+                found = paths.filter(path -> !path.equals(root)).collect(Collectors.toList());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("IOException while traversing directory: " + root, ex);
+            }
+            for(final Path path : found) {
+                index.putIfAbsent(root.relativize(path), path);
+                if(path.getFileName().toString().endsWith(".queen")) {
+                    queenFiles.add(path);
+                }
+            }
+        }
+        this.index = Collections.unmodifiableMap(index);
+        return queenFiles;
+    }
+}
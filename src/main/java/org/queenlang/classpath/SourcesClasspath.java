@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.classpath;
+
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Classpath of Queen sources which are not (necessarily) on disk, e.g. the sources
+ * given to the QueenCompiler by an IDE or a build tool. The given sources are not copied,
+ * so they may change (e.g. the files of the language server's workspace, as they are created).
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SourcesClasspath implements Classpath {
+
+    private final Collection<Path> sources;
+
+    /**
+     * Where the classes which are not among the sources are looked up. Null if there is none.
+     */
+    private final Classpath libraries;
+
+    /**
+     * Ctor.
+     * @param sources Paths of the sources, relative to the root of their package
+     *  structure (e.g. com/example/Car.queen).
+     */
+    public SourcesClasspath(final Collection<Path> sources) {
+        this(sources, null);
+    }
+
+    /**
+     * Ctor.
+     * @param sources Paths of the sources, relative to the root of their package
+     *  structure (e.g. com/example/Car.queen).
+     * @param libraries Where the classes which are not among the sources are looked up, only
+     *  when they are referenced (its findAll is never called). Null if there is none.
+     */
+    public SourcesClasspath(final Collection<Path> sources, final Classpath libraries) {
+        this.sources = sources;
+        this.libraries = libraries;
+    }
+
+    @Override
+    public Path find(final Path clazz) {
+        final Path source = this.source(clazz);
+        if(source == null && this.libraries != null) {
+            return this.libraries.find(clazz);
+        }
+        return source;
+    }
+
+    @Override
+    public Path find(final NameNode name) {
+        final Path found = Classpath.super.find(name);
+        if(found == null || this.libraries == null || this.source(found) != null) {
+            return found;
+        }
+        return this.libraries.find(name);
+    }
+
+    @Override
+    public List<Path> findAll() {
+        return new ArrayList<>(this.sources);
+    }
+
+    @Override
+    public void loaded(final ProjectNode project) {
+        if(this.libraries != null) {
+            this.libraries.loaded(project);
+        }
+    }
+
+    @Override
+    public FileNode declarations(final ProjectNode project, final Path file) {
+        if(this.libraries == null) {
+            return null;
+        }
+        return this.libraries.declarations(project, file);
+    }
+
+    /**
+     * Find the given class among the sources.
+     * @param clazz Path to class.
+     * @return Path of the source or null if it is not found.
+     */
+    private Path source(final Path clazz) {
+        for(final Path source : this.sources) {
+            if(source.endsWith(clazz)) {
+                return source;
+            }
+        }
+        return null;
+    }
+}
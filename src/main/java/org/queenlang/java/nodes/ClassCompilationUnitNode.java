@@ -33,6 +33,7 @@ import org.queenlang.queen.nodes.body.*;
 import org.queenlang.queen.nodes.names.NameNode;
 import org.queenlang.queen.nodes.names.QueenNameNode;
 import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.types.SharedTypes;
 
 import java.lang.reflect.Field;
 import java.util.List;
@@ -104,6 +105,16 @@ public final class ClassCompilationUnitNode implements CompilationUnitNode {
         }
     }
 
+    @Override
+    public NodeIndex index() {
+        return new NodeIndex.Empty();
+    }
+
+    @Override
+    public SharedTypes types() {
+        return new SharedTypes.None();
+    }
+
     @Override
     public QueenNode resolve(final QueenReferenceNode reference, boolean goUp) {
         if(reference instanceof NameNode) {
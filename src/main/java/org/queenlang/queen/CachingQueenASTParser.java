@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QueenASTParser which remembers the parsed files, so a long-lived queenc (e.g. the daemon)
+ * does not parse the unchanged files again on every build. A file is parsed again if its
+ * size or last modified time changed since it was cached. A source given in memory is
+ * parsed again if its content changed.
+ *
+ * The ASTs are kept through SoftReferences, so the garbage collector evicts them when
+ * the heap runs low, instead of failing with an OutOfMemoryError.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class CachingQueenASTParser implements QueenASTParser {
+
+    /**
+     * The parser doing the actual work.
+     */
+    private final QueenASTParser origin;
+
+    /**
+     * Parsed files, by absolute path.
+     */
+    private final Map<Path, SoftReference<Parsed>> parsed;
+
+    /**
+     * Ctor.
+     * @param origin The parser doing the actual work.
+     */
+    public CachingQueenASTParser(final QueenASTParser origin) {
+        this.origin = origin;
+        this.parsed = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompilationUnitNode parse(final Path file) throws IOException, QueenTranspilationException {
+        final Path key = file.toAbsolutePath().normalize();
+        final BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        final long modified = attributes.lastModifiedTime().toMillis();
+        final SoftReference<Parsed> reference = this.parsed.get(key);
+        if(reference != null) {
+            final Parsed cached = reference.get();
+            if(cached != null && cached.source == null
+                && cached.modified == modified && cached.size == attributes.size()) {
+                return cached.compilationUnit;
+            }
+        }
+        final CompilationUnitNode compilationUnit = this.origin.parse(file);
+        this.parsed.put(key, new SoftReference<>(new Parsed(modified, attributes.size(), null, compilationUnit)));
+        return compilationUnit;
+    }
+
+    @Override
+    public CompilationUnitNode parse(final Path file, final CharSequence source) throws QueenTranspilationException {
+        final Path key = file.toAbsolutePath().normalize();
+        final String content = source.toString();
+        final SoftReference<Parsed> reference = this.parsed.get(key);
+        if(reference != null) {
+            final Parsed cached = reference.get();
+            if(cached != null && content.equals(cached.source)) {
+                return cached.compilationUnit;
+            }
+        }
+        final CompilationUnitNode compilationUnit = this.origin.parse(file, content);
+        this.parsed.put(key, new SoftReference<>(new Parsed(-1, content.length(), content, compilationUnit)));
+        return compilationUnit;
+    }
+
+    /**
+     * How many parsed files are still cached (not evicted by the garbage collector)?
+     * @return Integer.
+     */
+    public int size() {
+        this.parsed.values().removeIf(reference -> reference.get() == null);
+        return this.parsed.size();
+    }
+
+    /**
+     * Forget all the parsed files.
+     */
+    public void clear() {
+        this.parsed.clear();
+    }
+
+    /**
+     * A parsed file and the attributes it had when it was parsed. The source
+     * is kept only if it was given in memory, null otherwise.
+     */
+    private static final class Parsed {
+        private final long modified;
+        private final long size;
+        private final String source;
+        private final CompilationUnitNode compilationUnit;
+
+        private Parsed(
+            final long modified,
+            final long size,
+            final String source,
+            final CompilationUnitNode compilationUnit
+        ) {
+            this.modified = modified;
+            this.size = size;
+            this.source = source;
+            this.compilationUnit = compilationUnit;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Limit of the errors reported by one transpilation. The errors are collected until the limit is reached,
+ * then the transpilation should stop: the tasks still running check {@link #reached()} between their files
+ * and stop cooperatively. A limit of 1 means fail-fast.
+ *
+ * It is thread-safe, so it can be shared by the tasks of a transpilation running in parallel.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ErrorLimit {
+
+    /**
+     * Default maximum number of errors (the same as javac's).
+     */
+    public static final int DEFAULT = 100;
+
+    /**
+     * Maximum number of errors.
+     */
+    private final int max;
+
+    /**
+     * The reported exceptions.
+     */
+    private final List<QueenTranspilationException> reported = new ArrayList<>();
+
+    /**
+     * Number of reported errors.
+     */
+    private volatile int count;
+
+    /**
+     * Ctor.
+     * @param max Maximum number of errors, greater than 0.
+     */
+    public ErrorLimit(final int max) {
+        if(max < 1) {
+            throw new IllegalArgumentException("The maximum number of errors should be greater than 0, but it is " + max + ".");
+        }
+        this.max = max;
+    }
+
+    /**
+     * Report the errors of a file.
+     * @param errors Errors of a file.
+     * @return True if the limit is reached, so the transpilation should stop.
+     */
+    public synchronized boolean report(final QueenTranspilationException errors) {
+        this.reported.add(errors);
+        this.count += Math.max(1, errors.errors().size());
+        return this.reached();
+    }
+
+    /**
+     * Is the limit reached?
+     * @return True if the transpilation should stop, false otherwise.
+     */
+    public boolean reached() {
+        return this.count >= this.max;
+    }
+
+    /**
+     * Throw the reported errors, if there are any. The errors of one file are thrown as they were reported,
+     * the ones of more files are thrown together, each prefixed by its file.
+     * @throws QueenTranspilationException If any errors were reported.
+     */
+    public synchronized void check() throws QueenTranspilationException {
+        if(this.reported.size() == 1) {
+            throw this.reported.get(0);
+        }
+        if(this.reported.size() > 1) {
+            final Set<String> files = new LinkedHashSet<>();
+            final List<String> errors = new ArrayList<>();
+            for(final QueenTranspilationException exception : this.reported) {
+                files.add(exception.file());
+                for(final String error : exception.errors()) {
+                    errors.add(exception.file() + ": " + error);
+                }
+            }
+            if(this.reached()) {
+                errors.add("Stopped after " + this.count + " errors, the maximum is " + this.max + ".");
+            }
+            throw new QueenTranspilationException(String.join(", ", files), errors);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.queenlang.generated.antlr4.QueenLexer;
+import org.queenlang.generated.antlr4.QueenParser;
+import org.queenlang.queen.nodes.LineShifts;
+import org.queenlang.queen.nodes.body.*;
+import org.queenlang.queen.nodes.names.QueenSymbols;
+import org.queenlang.queen.nodes.names.Symbols;
+import org.queenlang.queen.nodes.types.SharedTypes;
+import org.queenlang.queen.visitors.QueenParseTreeVisitor;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parser for files which are edited often, e.g. in an editor. After an edit, only the member of the
+ * top-level type which contains it (e.g. the method which is being written) is lexed and parsed again.
+ * Its new subtree is spliced into the previous AST, all the other nodes are reused.
+ *
+ * The positions of the nodes after the edited member are not recreated, they are shifted lazily
+ * (see {@link LineShifts}).
+ *
+ * The whole file is parsed again when the edit is not entirely inside a member (e.g. it is in the
+ * imports, between two members or it spans more of them), when the member does not parse on its own
+ * anymore or when a following member starts on the line where it ends, since the columns
+ * of that member would change. It is also parsed again after {@value #SHIFTS} edits which added or
+ * removed lines, so the positions are rebased and reading them does not replay all the edits of
+ * a long session.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class IncrementalQueenASTParser {
+
+    /**
+     * Maximum number of line shifts which the positions of a parsed file follow.
+     */
+    private static final int SHIFTS = 64;
+
+    /**
+     * Symbols shared by all the files parsed with this parser.
+     */
+    private final Symbols symbols;
+
+    /**
+     * Ctor.
+     */
+    public IncrementalQueenASTParser() {
+        this(new QueenSymbols());
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where identifiers and qualified names are interned.
+     */
+    public IncrementalQueenASTParser(final Symbols symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Parse a whole file.
+     * @param file Path of the file.
+     * @param source Source text.
+     * @return ParsedFile.
+     * @throws QueenTranspilationException If there are any parsing errors.
+     */
+    public ParsedFile parse(final Path file, final CharSequence source) throws QueenTranspilationException {
+        final String text = source.toString();
+        final QueenAntlrErrorListener errors = new QueenAntlrErrorListener(file.getFileName().toString());
+        final QueenParser.CompilationUnitContext compilationUnitContext = this.parser(
+            text, 1, 0, errors
+        ).compilationUnit();
+        if(errors.errors().size() > 0) {
+            throw new QueenTranspilationException(file.getFileName().toString(), errors.errors());
+        }
+        final LineShifts shifts = new LineShifts();
+        final CompilationUnitNode compilationUnit = new QueenParseTreeVisitor(
+            this.symbols, new SharedTypes.None(), shifts
+        ).visitCompilationUnit(compilationUnitContext);
+
+        final List<? extends ParserRuleContext> members;
+        if(text.length() == text.codePointCount(0, text.length())) {
+            members = this.members(compilationUnitContext);
+        } else {
+            members = Collections.emptyList();
+        }
+        final int[] starts = new int[members.size()];
+        final int[] ends = new int[members.size()];
+        for(int i = 0; i < members.size(); ++i) {
+            starts[i] = members.get(i).getStart().getStartIndex();
+            ends[i] = members.get(i).getStop().getStopIndex() + 1;
+        }
+        return new ParsedFile(file, text, compilationUnit, starts, ends, shifts);
+    }
+
+    /**
+     * Parse an edit of a file.
+     * @param previous The file, as it was parsed before the edit. It should not be used afterwards.
+     * @param edit TextEdit.
+     * @return ParsedFile.
+     * @throws QueenTranspilationException If there are any parsing errors in the edited file.
+     */
+    public ParsedFile reparse(final ParsedFile previous, final TextEdit edit) throws QueenTranspilationException {
+        final String text = edit.apply(previous.text());
+        final int member = previous.member(edit);
+        final String replacement = edit.replacement();
+        if(member >= 0
+            && previous.shifts().size() < SHIFTS
+            && replacement.length() == replacement.codePointCount(0, replacement.length())) {
+            final ParsedFile spliced = this.splice(previous, member, edit, text);
+            if(spliced != null) {
+                return spliced;
+            }
+        }
+        return this.parse(previous.file(), text);
+    }
+
+    /**
+     * Parse the edited member again and splice it into the previous AST.
+     * @param previous File parsed before the edit.
+     * @param member Index of the edited member.
+     * @param edit TextEdit.
+     * @param text Text after the edit.
+     * @return ParsedFile or null if the whole file has to be parsed again.
+     */
+    private ParsedFile splice(
+        final ParsedFile previous,
+        final int member,
+        final TextEdit edit,
+        final String text
+    ) {
+        final int[] starts = previous.starts().clone();
+        final int[] ends = previous.ends().clone();
+        final int start = starts[member];
+        final int end = ends[member] + edit.delta();
+        if(member + 1 < starts.length) {
+            final int newline = text.indexOf('\n', end);
+            if(newline < 0 || newline >= starts[member + 1] + edit.delta()) {
+                return null;
+            }
+        }
+        final int line = this.lines(text, 0, start) + 1;
+        final int column = start - text.lastIndexOf('\n', start - 1) - 1;
+        final QueenAntlrErrorListener errors = new QueenAntlrErrorListener(
+            previous.file().getFileName().toString()
+        );
+        final QueenParser parser = this.parser(text.substring(start, end), line, column, errors);
+        final CompilationUnitNode compilationUnit = previous.compilationUnit();
+        final ParserRuleContext context;
+        if(compilationUnit.typeDeclaration() instanceof ClassDeclarationNode) {
+            context = parser.classBodyDeclaration();
+        } else {
+            context = parser.interfaceMemberDeclaration();
+        }
+        if(errors.errors().size() > 0 || parser.getCurrentToken().getType() != Token.EOF) {
+            return null;
+        }
+
+        final LineShifts shifts = previous.shifts();
+        shifts.shift(
+            this.lines(previous.text(), 0, ends[member]) + 1,
+            this.lines(edit.replacement(), 0, edit.replacement().length())
+                - this.lines(previous.text(), edit.offset(), edit.end())
+        );
+        final QueenParseTreeVisitor visitor = new QueenParseTreeVisitor(
+            this.symbols, new SharedTypes.None(), shifts
+        );
+        final TypeDeclarationNode type;
+        if(compilationUnit.typeDeclaration() instanceof ClassDeclarationNode) {
+            final ClassDeclarationNode clazz = (ClassDeclarationNode) compilationUnit.typeDeclaration();
+            final List<ClassBodyDeclarationNode> declarations = new ArrayList<>(
+                clazz.body().classBodyDeclarations()
+            );
+            declarations.set(
+                member,
+                visitor.visitClassBodyDeclaration((QueenParser.ClassBodyDeclarationContext) context)
+            );
+            type = new QueenClassDeclarationNode(
+                clazz.position(),
+                clazz.annotations(),
+                clazz.modifiers(),
+                clazz.extensionModifier(),
+                clazz.name(),
+                clazz.typeParameters(),
+                clazz.extendsType(),
+                clazz.of(),
+                new QueenClassBodyNode(clazz.body().position(), declarations)
+            );
+        } else {
+            final NormalInterfaceDeclarationNode inter = (NormalInterfaceDeclarationNode) compilationUnit.typeDeclaration();
+            final List<InterfaceMemberDeclarationNode> declarations = new ArrayList<>(
+                inter.body().interfaceMemberDeclarations()
+            );
+            declarations.set(
+                member,
+                visitor.visitInterfaceMemberDeclaration((QueenParser.InterfaceMemberDeclarationContext) context)
+            );
+            type = new QueenNormalInterfaceDeclarationNode(
+                inter.position(),
+                inter.annotations(),
+                inter.modifiers(),
+                inter.name(),
+                inter.typeParameters(),
+                inter.extendsTypes(),
+                new QueenInterfaceBodyNode(inter.body().position(), declarations)
+            );
+        }
+
+        starts[member] = start + context.getStart().getStartIndex();
+        ends[member] = start + context.getStop().getStopIndex() + 1;
+        for(int i = member + 1; i < starts.length; ++i) {
+            starts[i] += edit.delta();
+            ends[i] += edit.delta();
+        }
+        return new ParsedFile(
+            previous.file(),
+            text,
+            new QueenCompilationUnitNode(
+                compilationUnit.position(),
+                compilationUnit.packageDeclaration(),
+                compilationUnit.importDeclarations(),
+                type,
+                compilationUnit.types()
+            ),
+            starts,
+            ends,
+            shifts
+        );
+    }
+
+    /**
+     * ANTLR parser for the given text.
+     * @param text Text to parse.
+     * @param line Line on which the text starts (1-based).
+     * @param column Column on which the text starts (0-based).
+     * @param errors Listener collecting the lexing and parsing errors.
+     * @return QueenParser.
+     */
+    private QueenParser parser(
+        final String text,
+        final int line,
+        final int column,
+        final QueenAntlrErrorListener errors
+    ) {
+        final QueenLexer lexer = new QueenLexer(CharStreams.fromString(text));
+        lexer.setLine(line);
+        lexer.setCharPositionInLine(column);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errors);
+        final QueenParser parser = new QueenParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(errors);
+        return parser;
+    }
+
+    /**
+     * Contexts of the members of the top-level type, if they can be parsed on their own.
+     * @param compilationUnit CompilationUnitContext.
+     * @return List of ClassBodyDeclarationContext or InterfaceMemberDeclarationContext.
+     */
+    private List<? extends ParserRuleContext> members(final QueenParser.CompilationUnitContext compilationUnit) {
+        final QueenParser.TypeDeclarationContext type = compilationUnit.typeDeclaration();
+        if(type != null) {
+            if(type.classDeclaration() != null) {
+                return type.classDeclaration().classBody().classBodyDeclaration();
+            } else if(type.interfaceDeclaration() != null
+                && type.interfaceDeclaration().normalInterfaceDeclaration() != null) {
+                return type.interfaceDeclaration().normalInterfaceDeclaration()
+                    .interfaceBody().interfaceMemberDeclaration();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Number of line breaks in a part of the text.
+     * @param text Text.
+     * @param from Offset of the first char (inclusive).
+     * @param to Offset of the last char (exclusive).
+     * @return Integer.
+     */
+    private int lines(final String text, final int from, final int to) {
+        int lines = 0;
+        for(int i = from; i < to; ++i) {
+            if(text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.queenlang.queen.nodes.LineShifts;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+
+import java.nio.file.Path;
+
+/**
+ * A Queen file parsed by the {@link IncrementalQueenASTParser}. Besides the AST, it remembers the
+ * source text and where each member of the top-level type starts and ends in it, so a later
+ * edit can be parsed again only for the member which contains it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ParsedFile {
+
+    /**
+     * Path of the file.
+     */
+    private final Path file;
+
+    /**
+     * Source text.
+     */
+    private final String text;
+
+    /**
+     * The AST.
+     */
+    private final CompilationUnitNode compilationUnit;
+
+    /**
+     * Offset of the first char of each member of the top-level type.
+     */
+    private final int[] starts;
+
+    /**
+     * Offset after the last char of each member of the top-level type.
+     */
+    private final int[] ends;
+
+    /**
+     * Lines shifted by the edits, followed by the positions of the AST.
+     */
+    private final LineShifts shifts;
+
+    /**
+     * Ctor.
+     * @param file Path of the file.
+     * @param text Source text.
+     * @param compilationUnit The AST.
+     * @param starts Offsets of the first char of each member of the top-level type.
+     * @param ends Offsets after the last char of each member of the top-level type.
+     * @param shifts Lines shifted by the edits.
+     */
+    ParsedFile(
+        final Path file,
+        final String text,
+        final CompilationUnitNode compilationUnit,
+        final int[] starts,
+        final int[] ends,
+        final LineShifts shifts
+    ) {
+        this.file = file;
+        this.text = text;
+        this.compilationUnit = compilationUnit;
+        this.starts = starts;
+        this.ends = ends;
+        this.shifts = shifts;
+    }
+
+    /**
+     * Path of the file.
+     * @return Path.
+     */
+    public Path file() {
+        return this.file;
+    }
+
+    /**
+     * Source text.
+     * @return String.
+     */
+    public String text() {
+        return this.text;
+    }
+
+    /**
+     * The AST. After an edit is parsed, the unchanged nodes are shared with the new AST,
+     * so this one should not be used anymore.
+     * @return CompilationUnitNode.
+     */
+    public CompilationUnitNode compilationUnit() {
+        return this.compilationUnit;
+    }
+
+    /**
+     * Index of the top-level type's member which contains the given edit.
+     * @param edit TextEdit.
+     * @return Index of the member or -1 if the edit is not (entirely) inside a member.
+     */
+    int member(final TextEdit edit) {
+        int low = 0;
+        int high = this.starts.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if(this.starts[middle] > edit.offset()) {
+                high = middle - 1;
+            } else if(this.ends[middle] < edit.offset()) {
+                low = middle + 1;
+            } else {
+                if(edit.end() <= this.ends[middle]) {
+                    return middle;
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Offsets of the first char of each member of the top-level type.
+     * @return Array of offsets, it should not be modified.
+     */
+    int[] starts() {
+        return this.starts;
+    }
+
+    /**
+     * Offsets after the last char of each member of the top-level type.
+     * @return Array of offsets, it should not be modified.
+     */
+    int[] ends() {
+        return this.ends;
+    }
+
+    /**
+     * Lines shifted by the edits.
+     * @return LineShifts.
+     */
+    LineShifts shifts() {
+        return this.shifts;
+    }
+}
@@ -49,4 +49,13 @@ public interface QueenASTParser {
      * @throws QueenTranspilationException If there are any parsing errors.
      */
     CompilationUnitNode parse(final Path file) throws IOException, QueenTranspilationException;
+
+    /**
+     * Parse the given Queen source, which may not be on disk (e.g. unsaved in an editor).
+     * @param file Path of the Queen file, used in the error messages.
+     * @param source Content of the Queen file.
+     * @return CompilationUnitNode.
+     * @throws QueenTranspilationException If there are any parsing errors.
+     */
+    CompilationUnitNode parse(final Path file, final CharSequence source) throws QueenTranspilationException;
 }
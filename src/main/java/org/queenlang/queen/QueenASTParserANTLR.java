@@ -30,13 +30,26 @@ package org.queenlang.queen;
 
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.DecisionInfo;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.Trees;
 import org.queenlang.generated.antlr4.QueenLexer;
 import org.queenlang.generated.antlr4.QueenParser;
 import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.names.QueenSymbols;
+import org.queenlang.queen.nodes.names.Symbols;
+import org.queenlang.queen.nodes.types.QueenSharedTypes;
+import org.queenlang.queen.nodes.types.SharedTypes;
 import org.queenlang.queen.visitors.QueenParseTreeVisitor;
+import org.queenlang.transpiler.events.ParseEvent;
+import org.queenlang.transpiler.profile.GrammarProfile;
 
 import java.io.*;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * QueenASTParser implemented with ANTLR.
@@ -46,30 +59,159 @@ import java.nio.file.Path;
  */
 public final class QueenASTParserANTLR implements QueenASTParser {
 
+    /**
+     * Symbols shared by all the files parsed with this parser.
+     */
+    private final Symbols symbols;
+
+    /**
+     * Should structurally identical type subtrees be shared within each parsed file?
+     */
+    private final boolean shareTypes;
+
+    /**
+     * Where to record the grammar's decision statistics. Null if the grammar should not be profiled.
+     */
+    private final GrammarProfile grammar;
+
+    /**
+     * Ctor.
+     */
+    public QueenASTParserANTLR() {
+        this(new QueenSymbols());
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where identifiers and qualified names are interned.
+     */
+    public QueenASTParserANTLR(final Symbols symbols) {
+        this(symbols, false);
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where identifiers and qualified names are interned.
+     * @param shareTypes Share the subtrees of structurally identical, scope-independent types
+     *  within each parsed file (see {@link CompilationUnitNode#types()}).
+     */
+    public QueenASTParserANTLR(final Symbols symbols, final boolean shareTypes) {
+        this(symbols, shareTypes, null);
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where identifiers and qualified names are interned.
+     * @param shareTypes Share the subtrees of structurally identical, scope-independent types
+     *  within each parsed file.
+     * @param grammar Profile in which the grammar's decisions are recorded, after each file is
+     *  parsed with ANTLR's ProfilingATNSimulator. Null, if the grammar should not be profiled, since
+     *  profiling makes the parsing considerably slower.
+     */
+    public QueenASTParserANTLR(final Symbols symbols, final boolean shareTypes, final GrammarProfile grammar) {
+        this.symbols = symbols;
+        this.shareTypes = shareTypes;
+        this.grammar = grammar;
+    }
+
     @Override
     public CompilationUnitNode parse(final Path file) throws IOException, QueenTranspilationException {
-        final String input = this.inputToString(new FileInputStream(file.toFile()));
+        return this.parse(file, this.inputToString(new FileInputStream(file.toFile())));
+    }
+
+    @Override
+    public CompilationUnitNode parse(final Path file, final CharSequence source) throws QueenTranspilationException {
+        final ParseEvent event = new ParseEvent();
+        event.begin();
+        event.file(file.toString());
+        try {
+            final CompilationUnitNode queenCompilationUnitNode = this.parseSource(file, source);
+            if(event.shouldCommit()) {
+                event.nodes(queenCompilationUnitNode.index().size());
+            }
+            return queenCompilationUnitNode;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private CompilationUnitNode parseSource(final Path file, final CharSequence source) throws QueenTranspilationException {
         final QueenParser parser = new QueenParser(
             new CommonTokenStream(
                 new QueenLexer(
-                    CharStreams.fromString(input)
+                    CharStreams.fromString(source.toString())
                 )
             )
         );
         final QueenAntlrErrorListener parsingErrorListener = new QueenAntlrErrorListener(file.getFileName().toString());
         parser.addErrorListener(parsingErrorListener);
+        if(this.grammar != null) {
+            parser.setProfile(true);
+        }
 
         final QueenParser.CompilationUnitContext compilationUnitContext = parser.compilationUnit();
+        if(this.grammar != null) {
+            final String[] rules = parser.getRuleNames();
+            for(final DecisionInfo decision : parser.getParseInfo().getDecisionInfo()) {
+                if(decision.invocations > 0) {
+                    this.grammar.record(
+                        file.toString(),
+                        rules[parser.getATN().getDecisionState(decision.decision).ruleIndex],
+                        decision
+                    );
+                }
+            }
+        }
         if (parsingErrorListener.errors().size() > 0) {
             throw new QueenTranspilationException(file.getFileName().toString(), parsingErrorListener.errors());
         }
 
-        final QueenParseTreeVisitor visitor = new QueenParseTreeVisitor();
+        final SharedTypes types;
+        if(this.shareTypes) {
+            types = this.sharedTypes(compilationUnitContext);
+        } else {
+            types = new SharedTypes.None();
+        }
+        final QueenParseTreeVisitor visitor = new QueenParseTreeVisitor(this.symbols, types);
         final CompilationUnitNode queenCompilationUnitNode = visitor.visitCompilationUnit(compilationUnitContext);
 
         return queenCompilationUnitNode;
     }
 
+    /**
+     * Types to be shared within the given compilation unit. The package, the single-type
+     * imports and the names declared anywhere in the unit are read from the parse tree,
+     * before the AST is built.
+     * @param ctx Parsed compilation unit.
+     * @return SharedTypes.
+     */
+    private SharedTypes sharedTypes(final QueenParser.CompilationUnitContext ctx) {
+        final List<String> imports = new ArrayList<>();
+        for(final QueenParser.ImportDeclarationContext imported : ctx.importDeclaration()) {
+            if(imported.singleTypeImportDeclaration() != null) {
+                imports.add(imported.singleTypeImportDeclaration().typeName().getText());
+            }
+        }
+        final Set<String> declared = new HashSet<>();
+        for(final ParseTree node : Trees.findAllRuleNodes(ctx, QueenParser.RULE_typeParameter)) {
+            declared.add(((QueenParser.TypeParameterContext) node).Identifier().getText());
+        }
+        for(final ParseTree node : Trees.findAllRuleNodes(ctx, QueenParser.RULE_classDeclaration)) {
+            declared.add(((QueenParser.ClassDeclarationContext) node).Identifier().getText());
+        }
+        for(final ParseTree node : Trees.findAllRuleNodes(ctx, QueenParser.RULE_normalInterfaceDeclaration)) {
+            declared.add(((QueenParser.NormalInterfaceDeclarationContext) node).Identifier().getText());
+        }
+        for(final ParseTree node : Trees.findAllRuleNodes(ctx, QueenParser.RULE_annotationTypeDeclaration)) {
+            declared.add(((QueenParser.AnnotationTypeDeclarationContext) node).Identifier().getText());
+        }
+        return new QueenSharedTypes(
+            ctx.packageDeclaration() != null ? ctx.packageDeclaration().packageName().getText() : null,
+            imports,
+            declared
+        );
+    }
+
     private String inputToString(final InputStream stream) throws IOException {
         final StringBuilder builder = new StringBuilder();
         try (
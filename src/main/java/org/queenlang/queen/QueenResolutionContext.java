@@ -31,11 +31,20 @@ package org.queenlang.queen;
 import org.queenlang.queen.nodes.QueenNode;
 import org.queenlang.queen.nodes.ResolutionContext;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Resolution context which remembers the visited nodes by identity, in constant time.
+ * The nodes' equals methods are never called, since some of them resolve references themselves.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenResolutionContext implements ResolutionContext {
+    private final Set<QueenNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
 
-public class QueenResolutionContext implements ResolutionContext {
-    private final List<QueenNode> visited = new ArrayList<>();
     @Override
     public void add(final QueenNode visited) {
         this.visited.add(visited);
@@ -45,4 +54,9 @@ public class QueenResolutionContext implements ResolutionContext {
     public boolean alreadyVisited(final QueenNode node) {
         return this.visited.contains(node);
     }
+
+    @Override
+    public boolean visit(final QueenNode node) {
+        return this.visited.add(node);
+    }
 }
@@ -48,8 +48,8 @@ public abstract class SemanticProblem {
     public String type() {
         return this.type;
     }
-    abstract String message();
-    abstract Position position();
+    public abstract String message();
+    public abstract Position position();
 
     @Override
     public String toString() {
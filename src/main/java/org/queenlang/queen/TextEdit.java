@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+/**
+ * Edit of a source text: the chars between offset and offset + length are replaced.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class TextEdit {
+
+    /**
+     * Offset of the first replaced char.
+     */
+    private final int offset;
+
+    /**
+     * Number of replaced chars.
+     */
+    private final int length;
+
+    /**
+     * Replacement text.
+     */
+    private final String replacement;
+
+    /**
+     * Ctor.
+     * @param offset Offset of the first replaced char (0-based).
+     * @param length Number of replaced chars (0, for an insertion).
+     * @param replacement Replacement text (empty, for a deletion).
+     */
+    public TextEdit(final int offset, final int length, final String replacement) {
+        if(offset < 0 || length < 0) {
+            throw new IllegalArgumentException(
+                "Offset and length of an edit cannot be negative (" + offset + ", " + length + ")."
+            );
+        }
+        this.offset = offset;
+        this.length = length;
+        this.replacement = replacement;
+    }
+
+    /**
+     * Offset of the first replaced char.
+     * @return Integer.
+     */
+    public int offset() {
+        return this.offset;
+    }
+
+    /**
+     * Offset after the last replaced char, in the text before the edit.
+     * @return Integer.
+     */
+    public int end() {
+        return this.offset + this.length;
+    }
+
+    /**
+     * Difference between the length of the text after and before the edit.
+     * @return Integer.
+     */
+    public int delta() {
+        return this.replacement.length() - this.length;
+    }
+
+    /**
+     * Replacement text.
+     * @return String.
+     */
+    public String replacement() {
+        return this.replacement;
+    }
+
+    /**
+     * Apply this edit.
+     * @param text Text before the edit.
+     * @return Text after the edit.
+     */
+    public String apply(final String text) {
+        if(this.end() > text.length()) {
+            throw new IllegalArgumentException(
+                "Edit [" + this.offset + ", " + this.end() + ") is outside of the text, which has "
+                + text.length() + " chars."
+            );
+        }
+        return text.substring(0, this.offset) + this.replacement + text.substring(this.end());
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import org.queenlang.queen.nodes.types.TypeNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nodes of one compilation unit, recorded by the parser as it creates them, so their
+ * index is built without walking the finished tree. Not thread-safe, a new instance
+ * should be used for every parsed file.
+ *
+ * The parser creates the nodes bottom-up, so the index puts the nodes of each class back
+ * in source order: by position and, at the same position, an enclosing node before the
+ * nodes it contains. A node which the parser replaced (e.g. a type replaced by its shared
+ * occurrence, see {@link org.queenlang.queen.nodes.types.SharedTypes}) is not indexed, nor
+ * is its subtree, unless the replacement kept parts of it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class IndexedNodes {
+
+    /**
+     * Source order of the nodes of one class, when they are given in reverse creation order.
+     */
+    private static final Comparator<QueenNode> SOURCE_ORDER = Comparator.comparing(
+        QueenNode::position,
+        Comparator.nullsFirst(
+            Comparator.comparingInt(Position::line).thenComparingInt(Position::column)
+        )
+    );
+
+    /**
+     * Recorded nodes, grouped by their class, in creation order.
+     */
+    private final Map<Class<?>, List<QueenNode>> byClass = new LinkedHashMap<>();
+
+    /**
+     * Recorded types. A shared type is recorded only once.
+     */
+    private final Set<QueenNode> types = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Recorded nodes which are not part of the tree anymore.
+     */
+    private final Set<QueenNode> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Record a node which was just created.
+     * @param node QueenNode, may be null.
+     */
+    public void add(final QueenNode node) {
+        if(node != null && (!(node instanceof TypeNode) || this.types.add(node))) {
+            this.byClass.computeIfAbsent(node.getClass(), c -> new ArrayList<>()).add(node);
+        }
+    }
+
+    /**
+     * Replace a recorded node, which will not be part of the tree, with another one.
+     * @param node Recorded node.
+     * @param replacement Node which takes its place in the tree, recorded or not.
+     */
+    public void replace(final QueenNode node, final QueenNode replacement) {
+        if(node != replacement) {
+            this.dropped.addAll(subtree(node));
+            this.dropped.removeAll(subtree(replacement));
+            this.add(replacement);
+        }
+    }
+
+    /**
+     * Index of the recorded nodes.
+     * @return NodeIndex.
+     */
+    public NodeIndex index() {
+        final Map<Class<?>, List<QueenNode>> classes = new LinkedHashMap<>();
+        int size = 0;
+        for(final Map.Entry<Class<?>, List<QueenNode>> entry : this.byClass.entrySet()) {
+            final List<QueenNode> created = entry.getValue();
+            final List<QueenNode> nodes = new ArrayList<>(created.size());
+            for(int i = created.size() - 1; i >= 0; i--) {
+                if(!this.dropped.contains(created.get(i))) {
+                    nodes.add(created.get(i));
+                }
+            }
+            if(!nodes.isEmpty()) {
+                nodes.sort(SOURCE_ORDER);
+                classes.put(entry.getKey(), nodes);
+                size += nodes.size();
+            }
+        }
+        return new QueenNodeIndex(classes, size);
+    }
+
+    /**
+     * The given node and all the nodes below it.
+     * @param root Root of the subtree, may be null.
+     * @return Set of nodes, by identity.
+     */
+    private static Set<QueenNode> subtree(final QueenNode root) {
+        final Set<QueenNode> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<QueenNode> stack = new ArrayDeque<>();
+        if(root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            final QueenNode node = stack.pop();
+            if(nodes.add(node)) {
+                for(final QueenNode child : node.children()) {
+                    if(child != null) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        return nodes;
+    }
+}
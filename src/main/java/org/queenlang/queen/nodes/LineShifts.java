@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lines inserted or removed in a source file since its nodes were created.
+ *
+ * When a part of a file is edited and parsed again, the nodes after it are not touched. Their
+ * positions are created by the parser with {@link #position(int, int)} and shifted lazily, every time
+ * their line is read, by the edits which happened above them after they were created. Reading
+ * a line therefore costs as many steps as shifts happened since, so the file should be parsed
+ * whole again (with new LineShifts) once there are too many of them (see {@link #size()}).
+ *
+ * It is not thread-safe, it should only be shared by the nodes of one file.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class LineShifts {
+
+    /**
+     * Shifts, in the order in which they happened. Each is a pair of
+     * {last line of the edit, number of added lines (negative if lines were removed)}.
+     */
+    private final List<int[]> shifts = new ArrayList<>();
+
+    /**
+     * Position of a node created now.
+     * @param line Line number (1-based) in the current source.
+     * @param column Column number (0-based).
+     * @return Position which will follow the next shifts.
+     */
+    public Position position(final int line, final int column) {
+        final int since = this.shifts.size();
+        return new Position() {
+            @Override
+            public int line() {
+                return LineShifts.this.line(line, since);
+            }
+
+            @Override
+            public int column() {
+                return column;
+            }
+
+            @Override
+            public String toString() {
+                return this.line() + ":" + this.column();
+            }
+        };
+    }
+
+    /**
+     * Lines were added or removed by an edit. The nodes starting on the
+     * edit's last line must have been created again.
+     * @param last Last line of the edited text, before the edit.
+     * @param lines Number of lines added by the edit (negative if lines were removed).
+     */
+    public void shift(final int last, final int lines) {
+        if(lines != 0) {
+            this.shifts.add(new int[] {last, lines});
+        }
+    }
+
+    /**
+     * Number of shifts which happened so far.
+     * @return Integer.
+     */
+    public int size() {
+        return this.shifts.size();
+    }
+
+    /**
+     * Current number of a line.
+     * @param line Line number when the node was created.
+     * @param since Number of shifts which happened before the node was created.
+     * @return Line number in the current source.
+     */
+    private int line(final int line, final int since) {
+        int current = line;
+        for(int i = since; i < this.shifts.size(); ++i) {
+            final int[] shift = this.shifts.get(i);
+            if(current > shift[0]) {
+                current += shift[1];
+            }
+        }
+        return current;
+    }
+}
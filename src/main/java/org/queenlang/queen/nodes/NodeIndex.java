@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index of the nodes in an AST, by kind. The AST is walked at most once per index,
+ * so looking up all the nodes of a kind (e.g. all the MethodInvocationExpressionNodes in a file)
+ * does not require walking the whole tree again.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public interface NodeIndex {
+
+    /**
+     * All the indexed nodes of the given kind. Nodes of the same class are in the order
+     * in which they appear in the source code.
+     * @param kind Kind of the nodes (interface or class), for example ImportDeclarationNode.class.
+     * @return List of nodes, never null.
+     * @param <T> Type of the nodes.
+     */
+    <T extends QueenNode> List<T> nodes(final Class<T> kind);
+
+    /**
+     * Number of indexed nodes.
+     * @return Integer.
+     */
+    int size();
+
+    class Empty implements NodeIndex {
+
+        @Override
+        public <T extends QueenNode> List<T> nodes(final Class<T> kind) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import org.queenlang.queen.nodes.types.TypeNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the nodes in an AST, grouped by their concrete class. Looking up a kind
+ * (interface or class) only goes through the node classes present in the tree and
+ * the matching nodes. The result is cached for each kind.
+ *
+ * The parser records the nodes as it creates them (see {@link IndexedNodes}), so the index
+ * of a parsed compilation unit is ready without walking its tree. Otherwise (e.g. a mock or
+ * a partially reparsed compilation unit), the tree is walked only once, the first time the
+ * index is used, so building the AST costs nothing until its nodes are actually looked up.
+ *
+ * Type subtrees shared by several occurrences (see {@link org.queenlang.queen.nodes.types.SharedTypes})
+ * are indexed only once, at their first occurrence.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenNodeIndex implements NodeIndex {
+
+    /**
+     * Root of the indexed tree.
+     */
+    private final QueenNode root;
+
+    /**
+     * Results of the lookups made so far.
+     */
+    private final Map<Class<?>, List<QueenNode>> byKind;
+
+    /**
+     * Indexed nodes, grouped by their class. Null until the index is first used.
+     */
+    private volatile Map<Class<?>, List<QueenNode>> byClass;
+
+    /**
+     * Number of indexed nodes.
+     */
+    private volatile int size;
+
+    /**
+     * Ctor.
+     * @param root Root of the tree to index.
+     */
+    public QueenNodeIndex(final QueenNode root) {
+        this.root = root;
+        this.byKind = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Ctor for nodes which are already grouped.
+     * @param byClass Nodes grouped by their class, in source order.
+     * @param size Number of nodes.
+     */
+    QueenNodeIndex(final Map<Class<?>, List<QueenNode>> byClass, final int size) {
+        this.root = null;
+        this.byKind = new ConcurrentHashMap<>();
+        this.byClass = byClass;
+        this.size = size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends QueenNode> List<T> nodes(final Class<T> kind) {
+        final Map<Class<?>, List<QueenNode>> classes = this.byClass();
+        return (List<T>) this.byKind.computeIfAbsent(
+            kind,
+            k -> {
+                final List<QueenNode> found = new ArrayList<>();
+                for(final Map.Entry<Class<?>, List<QueenNode>> entry : classes.entrySet()) {
+                    if(k.isAssignableFrom(entry.getKey())) {
+                        found.addAll(entry.getValue());
+                    }
+                }
+                return Collections.unmodifiableList(found);
+            }
+        );
+    }
+
+    @Override
+    public int size() {
+        this.byClass();
+        return this.size;
+    }
+
+    /**
+     * The nodes grouped by class, walking the tree if it has not been walked yet.
+     * @return Map, never null.
+     */
+    private Map<Class<?>, List<QueenNode>> byClass() {
+        Map<Class<?>, List<QueenNode>> classes = this.byClass;
+        if(classes == null) {
+            synchronized (this.byKind) {
+                classes = this.byClass;
+                if(classes == null) {
+                    classes = this.walk();
+                    this.byClass = classes;
+                }
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Walk the tree, depth-first, in source order.
+     * @return Nodes grouped by their class.
+     */
+    private Map<Class<?>, List<QueenNode>> walk() {
+        final Map<Class<?>, List<QueenNode>> classes = new LinkedHashMap<>();
+        final Set<QueenNode> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        int count = 0;
+        final Deque<QueenNode> stack = new ArrayDeque<>();
+        if(this.root != null) {
+            stack.push(this.root);
+        }
+        while (!stack.isEmpty()) {
+            final QueenNode node = stack.pop();
+            classes.computeIfAbsent(node.getClass(), c -> new ArrayList<>()).add(node);
+            count++;
+            final List<QueenNode> children = node.children();
+            for(int i = children.size() - 1; i >= 0; i--) {
+                final QueenNode child = children.get(i);
+                if(child != null && (!(child instanceof TypeNode) || types.add(child))) {
+                    stack.push(child);
+                }
+            }
+        }
+        this.size = count;
+        return classes;
+    }
+}
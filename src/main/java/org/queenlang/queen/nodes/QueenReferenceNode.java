@@ -28,6 +28,8 @@
  */
 package org.queenlang.queen.nodes;
 
+import org.queenlang.queen.QueenResolutionContext;
+
 /**
  * A Queen node which references another node, for example a variable name
  * which should reference a variable declaration.
@@ -42,6 +44,18 @@ public interface QueenReferenceNode extends QueenNode {
      * @return QueenNode, null if none found.
      */
     default QueenNode resolve() {
+        return this.resolve(new QueenResolutionContext());
+    }
+
+    /**
+     * Resolve this reference, as part of a bigger resolution query.
+     * @param context Context of the query.
+     * @return QueenNode, null if none found or if this reference was already visited by the query.
+     */
+    default QueenNode resolve(final ResolutionContext context) {
+        if(!context.visit(this)) {
+            return null;
+        }
         return this.parent() != null ? this.parent().resolve(this, true) : null;
     }
 }
@@ -28,7 +28,28 @@
  */
 package org.queenlang.queen.nodes;
 
+/**
+ * Context of one resolution query (e.g. resolving a name, collecting the inherited methods of a type
+ * or comparing two types). It remembers the nodes visited so far, so each one is walked at most once,
+ * even in deep or cyclic hierarchies.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
 public interface ResolutionContext {
     void add(final QueenNode visited);
     boolean alreadyVisited(final QueenNode node);
+
+    /**
+     * Mark the given node as visited.
+     * @param node QueenNode.
+     * @return True if it was not visited before, false otherwise.
+     */
+    default boolean visit(final QueenNode node) {
+        if(this.alreadyVisited(node)) {
+            return false;
+        }
+        this.add(node);
+        return true;
+    }
 }
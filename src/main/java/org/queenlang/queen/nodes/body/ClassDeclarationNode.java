@@ -28,8 +28,10 @@
  */
 package org.queenlang.queen.nodes.body;
 
+import org.queenlang.queen.QueenResolutionContext;
 import org.queenlang.queen.visitors.QueenASTVisitor;
 import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.ResolutionContext;
 import org.queenlang.queen.nodes.statements.StatementNode;
 import org.queenlang.queen.nodes.types.*;
 
@@ -66,24 +68,40 @@ public interface ClassDeclarationNode extends TypeDeclarationNode, StatementNode
     ClassBodyNode body();
 
     default List<MethodDeclarationNode> inheritedMethods() {
+        return this.inheritedMethods(new QueenResolutionContext());
+    }
+
+    /**
+     * The methods inherited from the super implementation and the interfaces, as part of a bigger
+     * resolution query. Every super type is walked once, even if it is inherited more times or if
+     * the hierarchy is cyclic.
+     * @param context Context of the query.
+     * @return List of methods, never null.
+     */
+    default List<MethodDeclarationNode> inheritedMethods(final ResolutionContext context) {
         final List<MethodDeclarationNode> inherited = new ArrayList<>();
+        context.visit(this);
         if(this.extendsType() != null) {
-            final QueenNode resolvedExtendsType = this.extendsType().resolve();
+            final QueenNode resolvedExtendsType = this.extendsType().resolve(context);
             if(resolvedExtendsType != null && resolvedExtendsType.asClassDeclarationNode() != null) {
                 final ClassDeclarationNode extendsClass = resolvedExtendsType.asClassDeclarationNode();
-                inherited.addAll(extendsClass.body().methods().stream().filter(
-                    m -> !m.isStatic() && !m.isPrivate()
-                ).collect(Collectors.toList()));
-                inherited.addAll(extendsClass.inheritedMethods());
+                if(context.visit(extendsClass)) {
+                    inherited.addAll(extendsClass.body().methods().stream().filter(
+                        m -> !m.isStatic() && !m.isPrivate()
+                    ).collect(Collectors.toList()));
+                    inherited.addAll(extendsClass.inheritedMethods(context));
+                }
             }
         }
         if(this.of() != null) {
             for(final ClassOrInterfaceTypeNode ofType : this.of()) {
-                final QueenNode resolvedOfType = ofType.resolve();
+                final QueenNode resolvedOfType = ofType.resolve(context);
                 if (resolvedOfType != null && resolvedOfType.asNormalInterfaceDeclaration() != null) {
                     final NormalInterfaceDeclarationNode ofInterface = resolvedOfType.asNormalInterfaceDeclaration();
-                    inherited.addAll(ofInterface.body().methods());
-                    inherited.addAll(ofInterface.inheritedMethods());
+                    if(context.visit(ofInterface)) {
+                        inherited.addAll(ofInterface.body().methods());
+                        inherited.addAll(ofInterface.inheritedMethods(context));
+                    }
                 }
             }
         }
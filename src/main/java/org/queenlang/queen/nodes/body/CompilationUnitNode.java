@@ -29,7 +29,9 @@
 package org.queenlang.queen.nodes.body;
 
 import org.queenlang.queen.visitors.QueenASTVisitor;
+import org.queenlang.queen.nodes.NodeIndex;
 import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.types.SharedTypes;
 
 import java.util.List;
 
@@ -45,6 +47,20 @@ public interface CompilationUnitNode extends QueenNode {
     List<ImportDeclarationNode> importDeclarations();
     TypeDeclarationNode typeDeclaration();
 
+    /**
+     * Index of all the nodes in this compilation unit (including itself), by kind.
+     * The tree is walked the first time the index is used.
+     * @return NodeIndex, never null.
+     */
+    NodeIndex index();
+
+    /**
+     * Type subtrees shared by this compilation unit, together with the positions
+     * of all their occurrences.
+     * @return SharedTypes, never null.
+     */
+    SharedTypes types();
+
     default <T> T accept(QueenASTVisitor<? extends T> visitor) {
         return visitor.visitCompilationUnit(this);
     }
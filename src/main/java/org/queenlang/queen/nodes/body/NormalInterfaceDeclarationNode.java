@@ -28,8 +28,10 @@
  */
 package org.queenlang.queen.nodes.body;
 
+import org.queenlang.queen.QueenResolutionContext;
 import org.queenlang.queen.visitors.QueenASTVisitor;
 import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.ResolutionContext;
 import org.queenlang.queen.nodes.types.ClassOrInterfaceTypeNode;
 import org.queenlang.queen.nodes.types.NodeWithTypeParameters;
 
@@ -55,14 +57,28 @@ public interface NormalInterfaceDeclarationNode extends InterfaceDeclarationNode
     InterfaceBodyNode body();
 
     default List<MethodDeclarationNode> inheritedMethods() {
+        return this.inheritedMethods(new QueenResolutionContext());
+    }
+
+    /**
+     * The methods inherited from the extended interfaces, as part of a bigger resolution query.
+     * Every extended interface is walked once, even if it is inherited more times or if
+     * the hierarchy is cyclic.
+     * @param context Context of the query.
+     * @return List of methods, never null.
+     */
+    default List<MethodDeclarationNode> inheritedMethods(final ResolutionContext context) {
         final List<MethodDeclarationNode> inherited = new ArrayList<>();
+        context.visit(this);
         if(this.extendsTypes() != null) {
             for(final ClassOrInterfaceTypeNode extendsType : this.extendsTypes()) {
-                final QueenNode resolvedExtendsType = extendsType.resolve();
+                final QueenNode resolvedExtendsType = extendsType.resolve(context);
                 if (resolvedExtendsType != null && resolvedExtendsType.asNormalInterfaceDeclaration() != null) {
                     final NormalInterfaceDeclarationNode extendedInterface = resolvedExtendsType.asNormalInterfaceDeclaration();
-                    inherited.addAll(extendedInterface.body().methods());
-                    inherited.addAll(extendedInterface.inheritedMethods());
+                    if(context.visit(extendedInterface)) {
+                        inherited.addAll(extendedInterface.body().methods());
+                        inherited.addAll(extendedInterface.inheritedMethods(context));
+                    }
                 }
             }
         }
@@ -30,6 +30,7 @@ package org.queenlang.queen.nodes.body;
 
 import org.queenlang.queen.nodes.*;
 import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.types.SharedTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +48,8 @@ public final class QueenCompilationUnitNode implements CompilationUnitNode {
     private final PackageDeclarationNode packageDeclaration;
     private final List<ImportDeclarationNode> importDeclarations;
     private final TypeDeclarationNode typeDeclaration;
+    private final NodeIndex index;
+    private final SharedTypes types;
 
     public QueenCompilationUnitNode(
         final Position position,
@@ -54,7 +57,38 @@ public final class QueenCompilationUnitNode implements CompilationUnitNode {
         final List<ImportDeclarationNode> importDeclarations,
         final TypeDeclarationNode typeDeclaration
     ) {
-        this(position, null, packageDeclaration, importDeclarations, typeDeclaration);
+        this(position, packageDeclaration, importDeclarations, typeDeclaration, new SharedTypes.None());
+    }
+
+    public QueenCompilationUnitNode(
+        final Position position,
+        final PackageDeclarationNode packageDeclaration,
+        final List<ImportDeclarationNode> importDeclarations,
+        final TypeDeclarationNode typeDeclaration,
+        final SharedTypes types
+    ) {
+        this(position, null, packageDeclaration, importDeclarations, typeDeclaration, types, null);
+    }
+
+    /**
+     * Ctor for a parsed compilation unit.
+     * @param position Position.
+     * @param packageDeclaration Package declaration, may be null.
+     * @param importDeclarations Import declarations.
+     * @param typeDeclaration Type declaration.
+     * @param types Shared type subtrees.
+     * @param nodes Nodes recorded by the parser, while creating the other arguments.
+     *  This unit is recorded as well and indexed with them.
+     */
+    public QueenCompilationUnitNode(
+        final Position position,
+        final PackageDeclarationNode packageDeclaration,
+        final List<ImportDeclarationNode> importDeclarations,
+        final TypeDeclarationNode typeDeclaration,
+        final SharedTypes types,
+        final IndexedNodes nodes
+    ) {
+        this(position, null, packageDeclaration, importDeclarations, typeDeclaration, types, nodes);
     }
 
     private QueenCompilationUnitNode(
@@ -62,13 +96,22 @@ public final class QueenCompilationUnitNode implements CompilationUnitNode {
         final QueenNode parent,
         final PackageDeclarationNode packageDeclaration,
         final List<ImportDeclarationNode> importDeclarations,
-        final TypeDeclarationNode typeDeclaration
+        final TypeDeclarationNode typeDeclaration,
+        final SharedTypes types,
+        final IndexedNodes nodes
     ) {
         this.position = position;
         this.parent = parent;
         this.packageDeclaration = packageDeclaration;
         this.importDeclarations = importDeclarations;
         this.typeDeclaration = typeDeclaration;
+        if(nodes == null) {
+            this.index = new QueenNodeIndex(this);
+        } else {
+            nodes.add(this);
+            this.index = nodes.index();
+        }
+        this.types = types;
     }
 
     @Override
@@ -86,6 +129,16 @@ public final class QueenCompilationUnitNode implements CompilationUnitNode {
         return this.typeDeclaration;
     }
 
+    @Override
+    public NodeIndex index() {
+        return this.index;
+    }
+
+    @Override
+    public SharedTypes types() {
+        return this.types;
+    }
+
     @Override
     public Position position() {
         return this.position;
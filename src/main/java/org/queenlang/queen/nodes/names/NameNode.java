@@ -30,6 +30,7 @@ package org.queenlang.queen.nodes.names;
 
 import org.queenlang.queen.nodes.QueenNode;
 import org.queenlang.queen.nodes.QueenReferenceNode;
+import org.queenlang.queen.nodes.ResolutionContext;
 import org.queenlang.queen.visitors.QueenASTVisitor;
 import org.queenlang.queen.nodes.expressions.ExpressionNode;
 
@@ -59,7 +60,10 @@ public interface NameNode extends ExpressionNode, Named, QueenReferenceNode {
     String identifier();
 
     @Override
-    default QueenNode resolve() {
+    default QueenNode resolve(final ResolutionContext context) {
+        if(!context.visit(this)) {
+            return null;
+        }
         final QueenNode definition;
         if(this.qualifier() == null) {
             if(this.parent() != null) {
@@ -68,7 +72,7 @@ public interface NameNode extends ExpressionNode, Named, QueenReferenceNode {
                 definition = null;
             }
         } else {
-            final QueenNode qualifierDefinition = this.qualifier().resolve();
+            final QueenNode qualifierDefinition = this.qualifier().resolve(context);
             if(qualifierDefinition != null) {
                 return qualifierDefinition.resolve(this, false);
             } else {
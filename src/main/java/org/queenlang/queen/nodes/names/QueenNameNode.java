@@ -49,11 +49,27 @@ public final class QueenNameNode implements NameNode {
     private final NameNode  qualifier;
     private final String identifier;
 
+    /**
+     * Full name, computed only once.
+     */
+    private String name;
+
     public QueenNameNode(final Position position, final QueenNode parent, final NameNode qualifier, final String identifier) {
+        this(position, parent, qualifier, identifier, null);
+    }
+
+    public QueenNameNode(
+        final Position position,
+        final QueenNode parent,
+        final NameNode qualifier,
+        final String identifier,
+        final String name
+    ) {
         this.parent = parent;
         this.position = position;
         this.qualifier = qualifier;
         this.identifier = identifier;
+        this.name = name;
     }
 
     @Override
@@ -78,13 +94,14 @@ public final class QueenNameNode implements NameNode {
 
     @Override
     public String name() {
-        final String fullName;
-        if(this.qualifier() != null) {
-            fullName = this.qualifier().name() + "." + this.identifier();
-        } else {
-            fullName = this.identifier();
+        if(this.name == null) {
+            if(this.qualifier() != null) {
+                this.name = this.qualifier().name() + "." + this.identifier();
+            } else {
+                this.name = this.identifier();
+            }
         }
-        return fullName;
+        return this.name;
     }
 
     @Override
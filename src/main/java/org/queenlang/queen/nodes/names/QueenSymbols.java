@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes.names;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe symbols table, meant to be shared by all the files of a Queen project.
+ * It is lock-free for the symbols which are already interned, so parsers running in
+ * parallel (e.g. the compiler's, the daemon's or the language server's) do not contend on it.
+ *
+ * Symbols are interned weakly: a symbol stays in the table only as long as something
+ * else (e.g. an AST node) still refers to it. A table kept by a long-lived parser
+ * (the daemon, the language server or an embedded compiler) therefore does not keep
+ * growing with every identifier it ever saw. The tables are keyed by copies of the symbols,
+ * which share their characters but not their instance, so the keys do not keep the
+ * interned instances alive. Collected symbols are removed by the next lookup.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenSymbols implements Symbols {
+
+    /**
+     * Interned identifiers and qualified names.
+     */
+    private final Map<String, Symbol> symbols = new ConcurrentHashMap<>();
+
+    /**
+     * Qualified names, by (interned) qualifier and identifier.
+     */
+    private final Map<String, Map<String, Symbol>> qualified = new ConcurrentHashMap<>();
+
+    /**
+     * Symbols which were collected and should be removed from the tables.
+     */
+    private final ReferenceQueue<String> collected = new ReferenceQueue<>();
+
+    @Override
+    public String identifier(final String identifier) {
+        if(identifier == null) {
+            return null;
+        }
+        this.expunge();
+        return this.intern(identifier);
+    }
+
+    @Override
+    public String qualified(final String qualifier, final String identifier) {
+        if(qualifier == null) {
+            return this.identifier(identifier);
+        }
+        this.expunge();
+        final String prefix = this.intern(qualifier);
+        final String name = this.intern(identifier);
+        Map<String, Symbol> names = this.qualified.get(prefix);
+        if(names == null) {
+            names = this.qualified.computeIfAbsent(
+                new String(prefix), q -> new ConcurrentHashMap<>()
+            );
+        }
+        final Symbol cached = names.get(name);
+        String result = null;
+        if(cached != null) {
+            result = cached.get();
+        }
+        if(result == null) {
+            result = this.intern(prefix + "." + name);
+            final String key = new String(name);
+            names.put(key, new Symbol(result, names, key, new String(prefix), this.collected));
+        }
+        return result;
+    }
+
+    /**
+     * Number of interned symbols which are still in use.
+     * @return Integer.
+     */
+    public int size() {
+        this.expunge();
+        return this.symbols.size();
+    }
+
+    /**
+     * Intern the given symbol.
+     * @param symbol Symbol, not null.
+     * @return Canonical instance.
+     */
+    private String intern(final String symbol) {
+        while (true) {
+            final Symbol existing = this.symbols.get(symbol);
+            if(existing == null) {
+                final String key = new String(symbol);
+                if(this.symbols.putIfAbsent(
+                    key, new Symbol(symbol, this.symbols, key, null, this.collected)
+                ) == null) {
+                    return symbol;
+                }
+            } else {
+                final String interned = existing.get();
+                if(interned != null) {
+                    return interned;
+                }
+                if(this.symbols.replace(
+                    existing.key,
+                    existing,
+                    new Symbol(symbol, this.symbols, existing.key, null, this.collected)
+                )) {
+                    return symbol;
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the collected symbols from the tables. A qualifier is forgotten once
+     * none of its qualified names is left. If a name is cached under a qualifier
+     * at the same time, it may be lost, which only means it will be concatenated again.
+     */
+    private void expunge() {
+        Reference<? extends String> reference;
+        while ((reference = this.collected.poll()) != null) {
+            final Symbol symbol = (Symbol) reference;
+            symbol.table.remove(symbol.key, symbol);
+            if(symbol.qualifier != null && symbol.table.isEmpty()) {
+                this.qualified.remove(symbol.qualifier, symbol.table);
+            }
+        }
+    }
+
+    /**
+     * Weak reference to an interned symbol, which knows where it is kept.
+     */
+    private static final class Symbol extends WeakReference<String> {
+
+        /**
+         * Table of the symbol.
+         */
+        private final Map<String, Symbol> table;
+
+        /**
+         * Key of the symbol in its table.
+         */
+        private final String key;
+
+        /**
+         * Qualifier of the table, if it is one of the qualified names' tables.
+         */
+        private final String qualifier;
+
+        /**
+         * Ctor.
+         * @param symbol Interned symbol.
+         * @param table Table of the symbol.
+         * @param key Key of the symbol in its table.
+         * @param qualifier Qualifier of the table, null if it is not a qualified names' table.
+         * @param collected Queue of the collected symbols.
+         */
+        Symbol(
+            final String symbol,
+            final Map<String, Symbol> table,
+            final String key,
+            final String qualifier,
+            final ReferenceQueue<String> collected
+        ) {
+            super(symbol, collected);
+            this.table = table;
+            this.key = key;
+            this.qualifier = qualifier;
+        }
+    }
+}
@@ -29,12 +29,19 @@
 package org.queenlang.queen.nodes.project;
 
 import org.queenlang.queen.visitors.QueenASTVisitor;
+import org.queenlang.queen.nodes.NodeIndex;
 import org.queenlang.queen.nodes.Position;
 import org.queenlang.queen.nodes.QueenNode;
 import org.queenlang.queen.nodes.body.AnnotationTypeDeclarationNode;
 import org.queenlang.queen.nodes.body.ClassDeclarationNode;
 import org.queenlang.queen.nodes.body.CompilationUnitNode;
 import org.queenlang.queen.nodes.body.NormalInterfaceDeclarationNode;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.types.ClassOrInterfaceTypeNode;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * A Queen file, AST Node.
@@ -62,6 +69,30 @@ public interface FileNode extends QueenNode {
      */
     String fullTypeName();
 
+    /**
+     * Index of all the nodes in this file, by kind.
+     * @return NodeIndex, never null.
+     */
+    default NodeIndex index() {
+        return this.compilationUnit().index();
+    }
+
+    /**
+     * Simple names mentioned by this file: the identifiers of its class or interface
+     * types and the parts of its names. A type which is not mentioned here is not used by this file.
+     * @return Set of simple names, never null.
+     */
+    default Set<String> mentions() {
+        final Set<String> names = new HashSet<>();
+        for(final ClassOrInterfaceTypeNode type : this.index().nodes(ClassOrInterfaceTypeNode.class)) {
+            names.add(type.identifier());
+        }
+        for(final NameNode name : this.index().nodes(NameNode.class)) {
+            names.addAll(Arrays.asList(name.name().split("\\.")));
+        }
+        return names;
+    }
+
     @Override
     default Position position() {
         return new Position.Missing();
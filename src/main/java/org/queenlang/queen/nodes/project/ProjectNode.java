@@ -36,6 +36,14 @@ import org.queenlang.queen.nodes.QueenNode;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A Queen project, AST Node.
@@ -53,5 +61,120 @@ public interface ProjectNode extends QueenNode {
         return visitor.visitProject(this);
     }
 
+    /**
+     * All the nodes of the given kind, from all the Queen files of this project.
+     * It is answered from the index of each file, the ASTs are not walked again.
+     * @param kind Kind of the nodes (interface or class), for example ImportDeclarationNode.class.
+     * @return List of nodes, never null.
+     * @param <T> Type of the nodes.
+     */
+    default <T extends QueenNode> List<T> nodes(final Class<T> kind) {
+        final List<T> nodes = new ArrayList<>();
+        for(final QueenNode child : this.children()) {
+            if(child instanceof FileNode) {
+                nodes.addAll(((FileNode) child).index().nodes(kind));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Simple names mentioned by each Queen file of this project: the identifiers of its
+     * class or interface types and the parts of its names.
+     * @return Map of the mentioned names, by the full name of each file's type. Never null.
+     */
+    default Map<String, Set<String>> mentions() {
+        final Map<String, Set<String>> mentions = new HashMap<>();
+        for(final QueenNode child : this.children()) {
+            if(child instanceof FileNode) {
+                final FileNode file = (FileNode) child;
+                mentions.put(file.fullTypeName(), file.mentions());
+            }
+        }
+        return mentions;
+    }
+
+    /**
+     * Full names of the types of this project which depend on the given types, directly or
+     * through other types. A type is considered dependent if it mentions the simple name of
+     * another type, so there may be false positives, but never false negatives.
+     * @param types Full names of types.
+     * @return Full names of the dependent types, without the given ones. Never null.
+     */
+    default Set<String> dependents(final Set<String> types) {
+        final Map<String, Set<String>> mentions = this.mentions();
+        final Set<String> dependents = new HashSet<>();
+        final Deque<String> changed = new ArrayDeque<>(types);
+        while (!changed.isEmpty()) {
+            final String type = changed.pop();
+            final String simpleName = type.substring(type.lastIndexOf('.') + 1);
+            for(final Map.Entry<String, Set<String>> file : mentions.entrySet()) {
+                final String dependent = file.getKey();
+                if(!types.contains(dependent) && !dependents.contains(dependent)
+                    && file.getValue().contains(simpleName)) {
+                    dependents.add(dependent);
+                    changed.push(dependent);
+                }
+            }
+        }
+        return dependents;
+    }
+
     void transpileTo(final Path outputDirectory) throws IOException, QueenTranspilationException;
+
+    /**
+     * Transpile only some of the files of this project.
+     * @param outputDirectory Where to write the Java files.
+     * @param types Full names of the types to transpile.
+     * @throws IOException If something goes wrong while writing.
+     * @throws QueenTranspilationException If the files cannot be transpiled.
+     */
+    void transpileTo(
+        final Path outputDirectory,
+        final Set<String> types
+    ) throws IOException, QueenTranspilationException;
+
+    /**
+     * Transpile only some of the files of this project, to the given Output.
+     * @param output Where to write the Java compilation units (e.g. files on disk or memory).
+     * @param types Full names of the types to transpile.
+     * @throws IOException If something goes wrong while writing.
+     * @throws QueenTranspilationException If the files cannot be transpiled.
+     */
+    void transpileTo(
+        final Output output,
+        final Set<String> types
+    ) throws IOException, QueenTranspilationException;
+
+    /**
+     * Parse the given input file again (e.g. after it was edited) and put it in place of
+     * its previous version, or add it, if it is new. The references to its type, resolved so far,
+     * are forgotten, so they are resolved again, to the new version.
+     * @param file Path of the Queen file.
+     * @return The new FileNode.
+     * @throws IOException If the file cannot be read.
+     * @throws QueenTranspilationException If the file cannot be parsed. The previous version is kept.
+     */
+    FileNode reload(final Path file) throws IOException, QueenTranspilationException;
+
+    /**
+     * Remove the given input file (e.g. it was deleted).
+     * @param file Path of the Queen file.
+     */
+    void remove(final Path file);
+
+    /**
+     * The input file with the given path.
+     * @param file Path of the Queen file.
+     * @return FileNode or null, if it is not an input file of this project.
+     */
+    FileNode file(final Path file);
+
+    /**
+     * Full names of the types of the input files which are under the given directory
+     * (e.g. one of the project's source roots).
+     * @param directory Directory.
+     * @return Set of full type names, never null.
+     */
+    Set<String> types(final Path directory);
 }
@@ -49,6 +49,11 @@ public final class QueenFileNode implements FileNode{
     private final String fileName;
     private final CompilationUnitNode compilationUnit;
 
+    /**
+     * Full name of the declared type, computed only once.
+     */
+    private String fullTypeName;
+
     public QueenFileNode(final QueenNode parent, final String fileName, final CompilationUnitNode compilationUnit) {
         this.parent = parent;
         this.fileName = fileName;
@@ -77,13 +82,16 @@ public final class QueenFileNode implements FileNode{
 
     @Override
     public String fullTypeName() {
-        String fullTypeName = "";
-        final PackageDeclarationNode packageDeclaration = this.compilationUnit.packageDeclaration();
-        if(packageDeclaration != null) {
-            fullTypeName += packageDeclaration.packageName().name() + ".";
+        if(this.fullTypeName == null) {
+            final PackageDeclarationNode packageDeclaration = this.compilationUnit.packageDeclaration();
+            if(packageDeclaration != null) {
+                this.fullTypeName = packageDeclaration.packageName().name() + "."
+                    + this.compilationUnit.typeDeclaration().name();
+            } else {
+                this.fullTypeName = this.compilationUnit.typeDeclaration().name();
+            }
         }
-        fullTypeName += this.compilationUnit.typeDeclaration().name();
-        return fullTypeName;
+        return this.fullTypeName;
     }
 
     @Override
@@ -39,10 +39,14 @@ import org.queenlang.queen.nodes.QueenNode;
 import org.queenlang.queen.nodes.QueenReferenceNode;
 import org.queenlang.java.nodes.ClassCompilationUnitNode;
 import org.queenlang.queen.nodes.body.ImportDeclarationNode;
+import org.queenlang.queen.visitors.ConstantExpressionVisitor;
 import org.queenlang.queen.visitors.QueenASTSemanticValidationVisitor;
 import org.queenlang.queen.visitors.QueenToJavaVisitor;
 import org.queenlang.transpiler.JavaFileOutput;
 import org.queenlang.transpiler.Output;
+import org.queenlang.transpiler.aspects.WeaveParents;
+import org.queenlang.transpiler.events.EmitEvent;
+import org.queenlang.transpiler.events.ResolveEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,7 +55,12 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -66,35 +75,93 @@ public final class QueenProject implements ProjectNode {
     private final QueenASTParser parser;
     private final Classpath classpath;
     /**
-     * Input queen files.
+     * Input queen files, by their path.
      */
-    private final List<FileNode> input = new ArrayList<>();
+    private final Map<Path, FileNode> input = new LinkedHashMap<>();
 
     /**
      * Referenced Queen files.
      */
     private final List<FileNode> references = new ArrayList<>();
 
+    /**
+     * Dependency map: the simple names mentioned by each input file, by its path.
+     * It is filled lazily and only the entries of the reloaded or removed files are dropped.
+     */
+    private final Map<Path, Set<String>> mentions = new HashMap<>();
+
+    /**
+     * Fold the constant expressions and eliminate the dead branches when transpiling?
+     */
+    private final boolean optimize;
 
     public QueenProject(final QueenASTParser parser, final Classpath classpath) throws QueenTranspilationException, IOException {
+        this(parser, classpath, new ErrorLimit(1));
+    }
+
+    /**
+     * Ctor. The input files are parsed until the given limit of errors is reached, then
+     * all the errors found so far are thrown.
+     * @param parser Parser.
+     * @param classpath Classpath of the input files.
+     * @param limit Limit of the errors (e.g. 1, to stop at the first file which cannot be parsed).
+     * @throws QueenTranspilationException If any of the input files cannot be parsed.
+     * @throws IOException If any of the input files cannot be read.
+     */
+    public QueenProject(
+        final QueenASTParser parser,
+        final Classpath classpath,
+        final ErrorLimit limit
+    ) throws QueenTranspilationException, IOException {
+        this(parser, classpath, limit, false);
+    }
+
+    /**
+     * Ctor. The input files are parsed until the given limit of errors is reached, then
+     * all the errors found so far are thrown.
+     * @param parser Parser.
+     * @param classpath Classpath of the input files.
+     * @param limit Limit of the errors (e.g. 1, to stop at the first file which cannot be parsed).
+     * @param optimize Fold the constant expressions and eliminate the dead if/while branches
+     *  of each file, when it is transpiled.
+     * @throws QueenTranspilationException If any of the input files cannot be parsed.
+     * @throws IOException If any of the input files cannot be read.
+     */
+    public QueenProject(
+        final QueenASTParser parser,
+        final Classpath classpath,
+        final ErrorLimit limit,
+        final boolean optimize
+    ) throws QueenTranspilationException, IOException {
         this.parser = parser;
         this.classpath = classpath;
+        this.optimize = optimize;
         for(final Path inputFile : classpath.findAll()) {
+            if(limit.reached()) {
+                break;
+            }
             LOG.info("Creating the AST for Queen file {}. Parent nodes need to be woven by AspectJ!", inputFile.getFileName());
-            this.input.add(
-                new QueenFileNode(
-                    this,
-                    inputFile.getFileName().toString(),
-                    this.parser.parse(inputFile)
-                )
-            );
+            try {
+                this.input.put(
+                    inputFile,
+                    new QueenFileNode(
+                        this,
+                        inputFile.getFileName().toString(),
+                        this.parser.parse(inputFile)
+                    )
+                );
+            } catch (final QueenTranspilationException ex) {
+                limit.report(ex);
+            }
         }
+        classpath.loaded(this);
+        limit.check();
     }
 
     @Override
     public List<QueenNode> children() {
         final List<QueenNode> children = new ArrayList<>();
-        children.addAll(this.input);
+        children.addAll(this.input.values());
         return children;
     }
 
@@ -106,14 +173,100 @@ public final class QueenProject implements ProjectNode {
     @Override
     public void transpileTo(final Path outputDirectory) throws IOException, QueenTranspilationException {
         final Output output = new JavaFileOutput(outputDirectory);
-        for(final FileNode queenFile : this.input) {
-            write(queenFile, output);
+        for(final FileNode queenFile : this.input.values()) {
+            write(queenFile, output, this.optimize);
         }
     }
 
-    private static void write(final FileNode queenFile, final Output output) throws IOException {
-        final CompilationUnit javaCompilationUnit  = new QueenToJavaVisitor().visitCompilationUnit(queenFile.compilationUnit());
+    @Override
+    public void transpileTo(final Path outputDirectory, final Set<String> types) throws IOException, QueenTranspilationException {
+        this.transpileTo(new JavaFileOutput(outputDirectory), types);
+    }
+
+    @Override
+    public void transpileTo(final Output output, final Set<String> types) throws IOException, QueenTranspilationException {
+        for(final FileNode queenFile : this.input.values()) {
+            if(types.contains(queenFile.fullTypeName())) {
+                write(queenFile, output, this.optimize);
+            }
+        }
+    }
+
+    @Override
+    @WeaveParents
+    public FileNode reload(final Path file) throws IOException, QueenTranspilationException {
+        final FileNode reloaded = new QueenFileNode(
+            this,
+            file.getFileName().toString(),
+            this.parser.parse(file)
+        );
+        final FileNode previous = this.input.put(file, reloaded);
+        this.mentions.remove(file);
+        this.forget(previous);
+        this.forget(reloaded);
+        return reloaded;
+    }
+
+    @Override
+    public void remove(final Path file) {
+        this.mentions.remove(file);
+        this.forget(this.input.remove(file));
+    }
+
+    @Override
+    public FileNode file(final Path file) {
+        return this.input.get(file);
+    }
+
+    @Override
+    public Map<String, Set<String>> mentions() {
+        final Map<String, Set<String>> mentions = new HashMap<>();
+        for(final Map.Entry<Path, FileNode> file : this.input.entrySet()) {
+            mentions.put(
+                file.getValue().fullTypeName(),
+                this.mentions.computeIfAbsent(file.getKey(), path -> file.getValue().mentions())
+            );
+        }
+        return mentions;
+    }
+
+    @Override
+    public Set<String> types(final Path directory) {
+        final Set<String> types = new HashSet<>();
+        for(final Map.Entry<Path, FileNode> file : this.input.entrySet()) {
+            if(file.getKey().startsWith(directory)) {
+                types.add(file.getValue().fullTypeName());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Forget the resolved references to the type of the given file.
+     * @param file FileNode, may be null.
+     */
+    private void forget(final FileNode file) {
+        if(file != null) {
+            this.references.removeIf(r -> r.fullTypeName().equals(file.fullTypeName()));
+        }
+    }
+
+    private static void write(final FileNode queenFile, final Output output, final boolean optimize) throws IOException {
+        final EmitEvent event = new EmitEvent();
+        event.begin();
+        final QueenToJavaVisitor emitter;
+        if(optimize) {
+            emitter = new QueenToJavaVisitor(new ConstantExpressionVisitor(queenFile.compilationUnit()));
+        } else {
+            emitter = new QueenToJavaVisitor();
+        }
+        final CompilationUnit javaCompilationUnit  = emitter.visitCompilationUnit(queenFile.compilationUnit());
         final String javaClass = javaCompilationUnit.toString(new DefaultPrinterConfiguration());
+        if(event.shouldCommit()) {
+            event.file(queenFile.fullTypeName());
+            event.characters(javaClass.length());
+            event.commit();
+        }
         reparseJavaClass(javaClass);
         LOG.info("Writing transpiled Queen file {} to its corresponding Java file, {}.", queenFile.fileName(), queenFile.fileName().toString().replaceAll("\\.queen", ".java"));
         output.write(javaCompilationUnit);
@@ -162,12 +315,30 @@ public final class QueenProject implements ProjectNode {
     }
 
     private QueenNode resolveName(final NameNode reference, boolean lookingOnlyForClass) {
+        final ResolveEvent event = new ResolveEvent();
+        event.begin();
+        final QueenNode resolved = this.resolveName(reference, lookingOnlyForClass, event);
+        if(event.shouldCommit()) {
+            event.name(reference.name());
+            event.resolved(resolved != null);
+            event.commit();
+        }
+        return resolved;
+    }
+
+    private QueenNode resolveName(
+        final NameNode reference,
+        boolean lookingOnlyForClass,
+        final ResolveEvent event
+    ) {
         QueenNode resolved = this.references.stream().filter(
             r -> r.fullTypeName().equals(reference.name())
         ).findFirst().orElse(null);
         if(resolved != null) {
+            event.cached();
             return resolved;
         }
+        event.disk();
         final Path foundPackageOrClass = this.classpath.find(reference);
         if(foundPackageOrClass != null) {
             boolean isDirectory = Files.isDirectory(foundPackageOrClass);
@@ -176,8 +347,16 @@ public final class QueenProject implements ProjectNode {
             }
             if(isDirectory) {
                 resolved = new QueenPackageNode(this, foundPackageOrClass);
+            } else if(this.input.containsKey(foundPackageOrClass)) {
+                resolved = this.input.get(foundPackageOrClass);
             } else {
-                resolved = this.parsePath(foundPackageOrClass);
+                final FileNode declarations = this.classpath.declarations(this, foundPackageOrClass);
+                if(declarations != null) {
+                    this.references.add(declarations);
+                    resolved = declarations;
+                } else {
+                    resolved = this.parsePath(foundPackageOrClass);
+                }
             }
         } else {
             try {
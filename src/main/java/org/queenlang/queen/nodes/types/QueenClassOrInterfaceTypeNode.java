@@ -28,8 +28,10 @@
  */
 package org.queenlang.queen.nodes.types;
 
+import org.queenlang.queen.QueenResolutionContext;
 import org.queenlang.queen.nodes.Position;
 import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.ResolutionContext;
 import org.queenlang.queen.nodes.body.TypeDeclarationNode;
 import org.queenlang.queen.nodes.expressions.AnnotationNode;
 
@@ -83,6 +85,11 @@ public final class QueenClassOrInterfaceTypeNode implements ClassOrInterfaceType
 
     private final boolean hasDiamondOperator;
 
+    /**
+     * Full name of this reference type, computed only once.
+     */
+    private String name;
+
     public QueenClassOrInterfaceTypeNode(
         final Position position,
         final String identifier
@@ -175,6 +182,14 @@ public final class QueenClassOrInterfaceTypeNode implements ClassOrInterfaceType
         return this.identifier;
     }
 
+    @Override
+    public String name() {
+        if(this.name == null) {
+            this.name = ClassOrInterfaceTypeNode.super.name();
+        }
+        return this.name;
+    }
+
     @Override
     public List<QueenNode> children() {
         final List<QueenNode> children = new ArrayList<>();
@@ -203,8 +218,9 @@ public final class QueenClassOrInterfaceTypeNode implements ClassOrInterfaceType
         }
         final QueenClassOrInterfaceTypeNode that = (QueenClassOrInterfaceTypeNode) o;
         if (!this.name().equals(that.name())) {
-            final QueenNode resolvedThis = this.resolve();
-            final QueenNode resolvedThat = that.resolve();
+            final ResolutionContext context = new QueenResolutionContext();
+            final QueenNode resolvedThis = this.resolve(context);
+            final QueenNode resolvedThat = that.resolve(context);
             if(resolvedThis == null || resolvedThat == null) {
                 return false;
             } else {
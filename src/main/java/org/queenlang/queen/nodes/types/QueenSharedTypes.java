@@ -0,0 +1,345 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes.types;
+
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.body.NodeWithAnnotations;
+import org.queenlang.queen.nodes.expressions.ArrayDimensionNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Type subtrees shared within one compilation unit. Not thread-safe, a new instance
+ * should be used for every parsed file.
+ *
+ * Only types which mean the same thing everywhere in the unit are shared: primitive types,
+ * class or interface types whose names are fully qualified or resolved through the unit's
+ * imports and package, whose type arguments are also shared, and arrays of them.
+ * Following the Java naming conventions, a qualifier made only of names starting with a
+ * lowercase letter (e.g. java.util) is considered a package.
+ *
+ * A simple name is keyed on the fully qualified name it resolves to: the one of its
+ * single-type import or, without one, the name in the unit's package. The latter is looked up
+ * in the package first and then in the on-demand imports (java.lang included), the same way
+ * for every occurrence, so the key is unambiguous within the unit. A name declared in the unit,
+ * as a type parameter or as a class or interface (e.g. a member type), may mean different things
+ * in different scopes, so it is never shared.
+ *
+ * Primitive types are singletons: every occurrence of int in the unit is the same node,
+ * positioned at the first one. Nothing is resolved or reported from a primitive type, so
+ * it needs neither its own position nor its own parent.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenSharedTypes implements SharedTypes {
+
+    /**
+     * Package of the unit, empty for the default package.
+     */
+    private final String packageName;
+
+    /**
+     * Fully qualified names of the single-type imports of the unit, by simple name.
+     */
+    private final Map<String, String> imports;
+
+    /**
+     * Names declared in the unit as type parameters, classes or interfaces. Null if they are
+     * not known, in which case no simple name is shared.
+     */
+    private final Set<String> declared;
+
+    /**
+     * First occurrence of each shared type, by structural key.
+     */
+    private final Map<String, TypeNode> types = new HashMap<>();
+
+    /**
+     * All the occurrences of each shared class, interface or array type, by structural key.
+     */
+    private final Map<String, List<TypeNode>> occurrences = new HashMap<>();
+
+    /**
+     * Ctor. Only fully qualified types (and primitive types) will be shared, since the
+     * scope of the unit is not known.
+     */
+    public QueenSharedTypes() {
+        this.packageName = "";
+        this.imports = new HashMap<>();
+        this.declared = null;
+    }
+
+    /**
+     * Ctor.
+     * @param packageName Package of the unit, null or empty for the default package.
+     * @param imports Names of the unit's single-type imports (e.g. java.util.List).
+     * @param declared Names declared in the unit as type parameters, classes or interfaces,
+     *  at any depth.
+     */
+    public QueenSharedTypes(
+        final String packageName,
+        final List<String> imports,
+        final Set<String> declared
+    ) {
+        this.packageName = packageName == null ? "" : packageName;
+        this.imports = new HashMap<>();
+        for(final String imported : imports) {
+            this.imports.put(imported.substring(imported.lastIndexOf('.') + 1), imported);
+        }
+        this.declared = new HashSet<>(declared);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends TypeNode> T share(final T type) {
+        final String key = this.key(type);
+        if(key == null) {
+            return type;
+        }
+        final TypeNode first = this.types.putIfAbsent(key, type);
+        if(type instanceof PrimitiveTypeNode) {
+            if(first == null) {
+                return type;
+            }
+            return (T) first;
+        }
+        final TypeNode occurrence;
+        if(first == null) {
+            occurrence = type;
+            this.occurrences.put(key, new ArrayList<>(1));
+        } else if(!first.getClass().equals(type.getClass())) {
+            return type;
+        } else {
+            occurrence = this.occurrence(first, type);
+        }
+        this.occurrences.get(key).add(occurrence);
+        return (T) occurrence;
+    }
+
+    @Override
+    public List<Position> positions(final TypeNode type) {
+        final String key = this.key(type);
+        final List<TypeNode> all;
+        if(key == null) {
+            all = null;
+        } else {
+            all = this.occurrences.get(key);
+        }
+        if(all == null || all.stream().noneMatch(occurrence -> occurrence == type)) {
+            return new None().positions(type);
+        }
+        final List<Position> positions = new ArrayList<>();
+        for(final TypeNode occurrence : all) {
+            positions.add(occurrence.position());
+        }
+        return positions;
+    }
+
+    @Override
+    public int size() {
+        return this.types.size();
+    }
+
+    /**
+     * Thin node for another occurrence of an already shared type. It has its own
+     * position (and, once woven, its own parent), but reuses the subtrees of the
+     * first occurrence.
+     * @param first First occurrence.
+     * @param type Type as it was parsed at this occurrence, structurally identical to first.
+     * @return TypeNode.
+     */
+    private TypeNode occurrence(final TypeNode first, final TypeNode type) {
+        final TypeNode occurrence;
+        if(first instanceof ClassOrInterfaceTypeNode) {
+            final ClassOrInterfaceTypeNode shared = (ClassOrInterfaceTypeNode) first;
+            occurrence = new QueenClassOrInterfaceTypeNode(
+                type.position(),
+                shared.interfaceType(),
+                shared.qualifier(),
+                shared.annotations(),
+                shared.identifier(),
+                shared.typeArguments(),
+                shared.hasDiamondOperator()
+            );
+        } else {
+            occurrence = new QueenArrayTypeNode(
+                type.position(),
+                ((ArrayTypeNode) first).type(),
+                ((ArrayTypeNode) type).dims()
+            );
+        }
+        return occurrence;
+    }
+
+    /**
+     * Structural, position-insensitive key of the given type.
+     * @param type TypeNode.
+     * @return Key or null if the type should not be shared.
+     */
+    private String key(final TypeNode type) {
+        if(type == null
+            || type instanceof NodeWithAnnotations && !this.unannotated((NodeWithAnnotations) type)) {
+            return null;
+        }
+        final String key;
+        if(type instanceof PrimitiveTypeNode) {
+            key = type.name();
+        } else if(type instanceof ClassOrInterfaceTypeNode) {
+            key = this.key((ClassOrInterfaceTypeNode) type);
+        } else if(type instanceof ArrayTypeNode) {
+            key = this.key((ArrayTypeNode) type);
+        } else if(type instanceof WildcardTypeNode) {
+            key = this.key((WildcardTypeNode) type);
+        } else {
+            key = null;
+        }
+        return key;
+    }
+
+    private String key(final ClassOrInterfaceTypeNode type) {
+        if(type.identifier() == null || type.identifier().isEmpty()) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder();
+        final ClassOrInterfaceTypeNode qualifier = type.qualifier();
+        if(qualifier == null) {
+            final String resolved = this.resolve(type.identifier());
+            if(resolved == null) {
+                return null;
+            }
+            key.append(type.identifier()).append('=').append(resolved);
+        } else if(this.isPackage(qualifier)) {
+            key.append(qualifier.name()).append('.').append(type.identifier());
+        } else {
+            final String qualifierKey = this.unannotated(qualifier) ? this.key(qualifier) : null;
+            if(qualifierKey == null) {
+                return null;
+            }
+            key.append(qualifierKey).append('.').append(type.identifier());
+        }
+        if(type.interfaceType()) {
+            key.append('!');
+        }
+        if(type.hasDiamondOperator()) {
+            key.append("<>");
+        } else if(type.typeArguments() != null && !type.typeArguments().isEmpty()) {
+            key.append('<');
+            for(final TypeNode argument : type.typeArguments()) {
+                final String argumentKey = this.key(argument);
+                if(argumentKey == null) {
+                    return null;
+                }
+                key.append(argumentKey).append(',');
+            }
+            key.append('>');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Fully qualified name to which the given simple name resolves in this unit.
+     * @param name Simple name.
+     * @return Name or null if it may resolve differently in different scopes of the unit.
+     */
+    private String resolve(final String name) {
+        final String resolved;
+        if(this.declared == null || this.declared.contains(name)) {
+            resolved = null;
+        } else if(this.imports.containsKey(name)) {
+            resolved = this.imports.get(name);
+        } else if(this.packageName.isEmpty()) {
+            resolved = name;
+        } else {
+            resolved = this.packageName + "." + name;
+        }
+        return resolved;
+    }
+
+    /**
+     * Is the given qualifier a package name?
+     * @param qualifier Qualifier of a class or interface type.
+     * @return True if all its parts are plain names starting with a lowercase letter.
+     */
+    private boolean isPackage(final ClassOrInterfaceTypeNode qualifier) {
+        for(ClassOrInterfaceTypeNode part = qualifier; part != null; part = part.qualifier()) {
+            if(!this.unannotated(part)
+                || part.interfaceType()
+                || part.hasDiamondOperator()
+                || part.typeArguments() != null && !part.typeArguments().isEmpty()
+                || part.identifier() == null
+                || part.identifier().isEmpty()
+                || !Character.isLowerCase(part.identifier().charAt(0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String key(final ArrayTypeNode type) {
+        final String element = this.key(type.type());
+        if(element == null) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder(element);
+        for(final ArrayDimensionNode dim : type.dims()) {
+            if(dim.expression() != null || !this.unannotated(dim)) {
+                return null;
+            }
+            key.append("[]");
+        }
+        return key.toString();
+    }
+    private String key(final WildcardTypeNode type) {
+        final StringBuilder key = new StringBuilder("?");
+        if(type.extendedType() != null) {
+            final String bound = this.key(type.extendedType());
+            if(bound == null) {
+                return null;
+            }
+            key.append(" extends ").append(bound);
+        } else if(type.superType() != null) {
+            final String bound = this.key(type.superType());
+            if(bound == null) {
+                return null;
+            }
+            key.append(" super ").append(bound);
+        }
+        return key.toString();
+    }
+
+    private boolean unannotated(final NodeWithAnnotations node) {
+        return node.annotations() == null || node.annotations().isEmpty();
+    }
+}
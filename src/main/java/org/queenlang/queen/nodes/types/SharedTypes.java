@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes.types;
+
+import org.queenlang.queen.nodes.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Type subtrees shared within a compilation unit (hash-consing). Structurally identical
+ * types which mean the same thing everywhere in the file, such as every List&lt;String&gt;
+ * or int[], keep their subtrees (qualifiers, type arguments and element types) only once.
+ *
+ * Every class, interface or array type occurrence is still a node of its own, with its own
+ * position and parent, so resolving names or reporting problems from it happens where it
+ * appears in the source. Only the nodes below it are shared; they belong to the first occurrence.
+ *
+ * Sharing is opt-in (see QueenASTParserANTLR). The parser still builds every occurrence before
+ * it is shared, so parsing allocates more, and the heap retained by the shared ASTs has not
+ * been measured yet.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public interface SharedTypes {
+
+    /**
+     * Share the given type. If a structurally identical type has been shared before,
+     * a node for this occurrence which reuses the subtrees of that one is returned,
+     * otherwise the given type is remembered and returned.
+     * Types which carry annotations or which depend on the scope are never shared.
+     * @param type Type just built by the parser.
+     * @return Shared TypeNode.
+     * @param <T> Type of the node.
+     */
+    <T extends TypeNode> T share(final T type);
+
+    /**
+     * Positions of all the occurrences of the same type as the given occurrence,
+     * in the order in which they were shared. A primitive type, which is shared as a
+     * single node, only has the position of its first occurrence.
+     * @param type TypeNode, as returned by {@link #share(TypeNode)}.
+     * @return List of positions, never null.
+     */
+    List<Position> positions(final TypeNode type);
+
+    /**
+     * Number of distinct shared types.
+     * @return Integer.
+     */
+    int size();
+
+    /**
+     * Default implementation, which shares nothing.
+     */
+    class None implements SharedTypes {
+
+        @Override
+        public <T extends TypeNode> T share(final T type) {
+            return type;
+        }
+
+        @Override
+        public List<Position> positions(final TypeNode type) {
+            final List<Position> positions = new ArrayList<>();
+            if(type != null) {
+                positions.add(type.position());
+            }
+            return positions;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
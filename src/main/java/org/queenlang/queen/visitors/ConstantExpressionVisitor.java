@@ -0,0 +1,694 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import com.github.javaparser.utils.StringEscapeUtils;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.body.*;
+import org.queenlang.queen.nodes.expressions.*;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.types.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Visitor computing the values of the constant expressions of a compilation unit, the way
+ * javac does (JLS 15.29): literals, operators and references to the interface constants
+ * declared in the same compilation unit. The value of a non-constant expression is null.
+ *
+ * Only integral, boolean, char and String values are computed, floating point ones are left
+ * to javac. A constant is referenced by its simple name from the interface declaring it, or
+ * qualified with the name of this interface from the interface itself or from the type
+ * which declares it as a member, as long as the name is not declared anywhere else in the
+ * compilation unit (e.g. by a local variable shadowing it). The constants of other files
+ * are not computed, so the transpilation of a file still depends only on the file itself.
+ *
+ * It is not thread-safe, the values are computed once and cached.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ConstantExpressionVisitor implements QueenASTVisitor<Object> {
+
+    /**
+     * Cached value of a non-constant expression.
+     */
+    private static final Object NOT_CONSTANT = new Object();
+
+    /**
+     * Names referencing a constant, mapped to the constant's declaration.
+     */
+    private final Map<NameNode, ConstantDeclarationNode> references = new IdentityHashMap<>();
+
+    /**
+     * Values of the visited expressions.
+     */
+    private final Map<ExpressionNode, Object> values = new IdentityHashMap<>();
+
+    /**
+     * Constants whose values are being computed, against cyclic initializers.
+     */
+    private final Set<ConstantDeclarationNode> computing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Ctor.
+     * @param unit Compilation unit containing the expressions.
+     */
+    public ConstantExpressionVisitor(final CompilationUnitNode unit) {
+        final Declarations declarations = new Declarations();
+        declarations.collect(unit);
+        new Scopes(declarations).walk(unit, null);
+    }
+
+    /**
+     * Value of the given expression.
+     * @param node Expression.
+     * @return Integer, Long, Short, Byte, Character, Boolean or String; null if the
+     *  expression is not constant.
+     */
+    public Object value(final ExpressionNode node) {
+        if(node == null) {
+            return null;
+        }
+        Object value = this.values.get(node);
+        if(value == null) {
+            value = node.accept(this);
+            if(value == null) {
+                value = NOT_CONSTANT;
+            }
+            this.values.put(node, value);
+        }
+        if(value == NOT_CONSTANT) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Value of the condition of an if statement. Besides constant expressions, it is
+     * known for a conditional-and whose left operand is false and for a conditional-or
+     * whose left operand is true (e.g. DEBUG &amp;&amp; this.verbose()), since their
+     * right operands are never evaluated.
+     * @param condition Condition.
+     * @return True, false or null if it is not known.
+     */
+    public Boolean condition(final ExpressionNode condition) {
+        final Object value = this.value(condition);
+        if(value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if(condition instanceof BracketedExpressionNode) {
+            return this.condition(((BracketedExpressionNode) condition).expression());
+        }
+        if(condition instanceof BinaryExpressionNode) {
+            final BinaryExpressionNode binary = (BinaryExpressionNode) condition;
+            final Boolean left = this.condition(binary.left());
+            if("&&".equals(binary.operator()) && Boolean.FALSE.equals(left)) {
+                return Boolean.FALSE;
+            }
+            if("||".equals(binary.operator()) && Boolean.TRUE.equals(left)) {
+                return Boolean.TRUE;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object visitBinaryExpressionNode(final BinaryExpressionNode node) {
+        final Object left = this.value(node.left());
+        if(left == null) {
+            return null;
+        }
+        final Object right = this.value(node.right());
+        if(right == null) {
+            return null;
+        }
+        return binary(left, node.operator(), right);
+    }
+
+    @Override
+    public Object visitUnaryExpressionNode(final UnaryExpressionNode node) {
+        if(!node.isPrefix()) {
+            return null;
+        }
+        final Object operand = this.value(node.expression());
+        if(operand instanceof Boolean) {
+            if("!".equals(node.operator())) {
+                return !((Boolean) operand);
+            }
+            return null;
+        }
+        if(operand == null || operand instanceof String) {
+            return null;
+        }
+        if(operand instanceof Long) {
+            final long value = (Long) operand;
+            switch (node.operator()) {
+                case "+": return value;
+                case "-": return -value;
+                case "~": return ~value;
+                default: return null;
+            }
+        }
+        final int value = integer(operand);
+        switch (node.operator()) {
+            case "+": return value;
+            case "-": return -value;
+            case "~": return ~value;
+            default: return null;
+        }
+    }
+
+    @Override
+    public Object visitBracketedExpressionNode(final BracketedExpressionNode node) {
+        return this.value(node.expression());
+    }
+
+    @Override
+    public Object visitConditionalExpressionNode(final ConditionalExpressionNode node) {
+        final Object condition = this.value(node.condition());
+        final Object then = this.value(node.thenExpr());
+        final Object otherwise = this.value(node.elseExpr());
+        if(!(condition instanceof Boolean) || then == null || otherwise == null
+            || then.getClass() != otherwise.getClass()) {
+            return null;
+        }
+        if((Boolean) condition) {
+            return then;
+        }
+        return otherwise;
+    }
+
+    @Override
+    public Object visitNameNode(final NameNode node) {
+        final ConstantDeclarationNode constant = this.references.get(node);
+        if(constant == null || !this.computing.add(constant)) {
+            return null;
+        }
+        try {
+            return assign(constant.type(), this.value(constant.variable().initializer()));
+        } finally {
+            this.computing.remove(constant);
+        }
+    }
+
+    @Override
+    public Object visitBooleanLiteralExpressionNode(final BooleanLiteralExpressionNode node) {
+        return node.value();
+    }
+
+    @Override
+    public Object visitIntegerLiteralExpressionNode(final IntegerLiteralExpressionNode node) {
+        final Long value = parse(node.value(), 32);
+        if(value == null) {
+            return null;
+        }
+        return value.intValue();
+    }
+
+    @Override
+    public Object visitLongLiteralExpressionNode(final LongLiteralExpressionNode node) {
+        final String literal = node.value();
+        return parse(literal.substring(0, literal.length() - 1), 64);
+    }
+
+    @Override
+    public Object visitCharLiteralExpressionNode(final CharLiteralExpressionNode node) {
+        String literal = node.value();
+        if(literal.length() > 1 && literal.startsWith("'") && literal.endsWith("'")) {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+        final String value = StringEscapeUtils.unescapeJava(literal);
+        if(value.length() != 1) {
+            return null;
+        }
+        return value.charAt(0);
+    }
+
+    @Override
+    public Object visitStringLiteralExpressionNode(final StringLiteralExpressionNode node) {
+        return StringEscapeUtils.unescapeJava(node.value());
+    }
+
+    @Override
+    public Object visitNodeWithParameters(final NodeWithParameters node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithTypeParameters(final NodeWithTypeParameters node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithTypeArguments(final NodeWithTypeArguments node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithFieldDeclarations(final NodeWithFieldDeclarations node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithTypeDeclarations(final NodeWithTypeDeclarations node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithConstructors(final NodeWithConstructors node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithConstantDeclarations(final NodeWithConstantDeclarations node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithMethodDeclarations(final NodeWithMethodDeclarations node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithThrows(final NodeWithThrows node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithModifiers(final NodeWithModifiers node) {
+        return null;
+    }
+
+    @Override
+    public Object visitNodeWithAnnotations(final NodeWithAnnotations node) {
+        return null;
+    }
+
+    @Override
+    public Object visitChildren(final QueenNode node) {
+        return null;
+    }
+
+    @Override
+    public Object defaultResult() {
+        return null;
+    }
+
+    @Override
+    public Object aggregateResult(final Object aggregate, final Object nextResult) {
+        return null;
+    }
+
+    /**
+     * Apply a binary operator to two constant values, with the binary numeric promotion.
+     * @param left Left operand.
+     * @param operator Operator.
+     * @param right Right operand.
+     * @return The value or null if the operator cannot be applied at compile time.
+     */
+    private static Object binary(final Object left, final String operator, final Object right) {
+        if("+".equals(operator) && (left instanceof String || right instanceof String)) {
+            return String.valueOf(left) + right;
+        }
+        if(left instanceof String || right instanceof String) {
+            return null;
+        }
+        if(left instanceof Boolean || right instanceof Boolean) {
+            if(!(left instanceof Boolean && right instanceof Boolean)) {
+                return null;
+            }
+            final boolean first = (Boolean) left;
+            final boolean second = (Boolean) right;
+            switch (operator) {
+                case "&&": case "&": return first & second;
+                case "||": case "|": return first | second;
+                case "^": case "!=": return first ^ second;
+                case "==": return first == second;
+                default: return null;
+            }
+        }
+        if("<<".equals(operator) || ">>".equals(operator) || ">>>".equals(operator)) {
+            final int distance = (int) integral(right);
+            if(left instanceof Long) {
+                final long value = (Long) left;
+                switch (operator) {
+                    case "<<": return value << distance;
+                    case ">>": return value >> distance;
+                    default: return value >>> distance;
+                }
+            }
+            final int value = integer(left);
+            switch (operator) {
+                case "<<": return value << distance;
+                case ">>": return value >> distance;
+                default: return value >>> distance;
+            }
+        }
+        if(left instanceof Long || right instanceof Long) {
+            final long first = integral(left);
+            final long second = integral(right);
+            switch (operator) {
+                case "+": return first + second;
+                case "-": return first - second;
+                case "*": return first * second;
+                case "/": return second == 0 ? null : first / second;
+                case "%": return second == 0 ? null : first % second;
+                case "&": return first & second;
+                case "|": return first | second;
+                case "^": return first ^ second;
+                case "<": return first < second;
+                case ">": return first > second;
+                case "<=": return first <= second;
+                case ">=": return first >= second;
+                case "==": return first == second;
+                case "!=": return first != second;
+                default: return null;
+            }
+        }
+        final int first = integer(left);
+        final int second = integer(right);
+        switch (operator) {
+            case "+": return first + second;
+            case "-": return first - second;
+            case "*": return first * second;
+            case "/": return second == 0 ? null : first / second;
+            case "%": return second == 0 ? null : first % second;
+            case "&": return first & second;
+            case "|": return first | second;
+            case "^": return first ^ second;
+            case "<": return first < second;
+            case ">": return first > second;
+            case "<=": return first <= second;
+            case ">=": return first >= second;
+            case "==": return first == second;
+            case "!=": return first != second;
+            default: return null;
+        }
+    }
+
+    /**
+     * Value of a constant, converted to the constant's declared type.
+     * @param type Declared type.
+     * @param value Value of the initializer.
+     * @return Converted value or null if the constant is not of a primitive type or String.
+     */
+    private static Object assign(final TypeNode type, final Object value) {
+        if(value == null) {
+            return null;
+        }
+        if(type instanceof ClassOrInterfaceTypeNode) {
+            final String name = type.name();
+            if(value instanceof String && ("String".equals(name) || "java.lang.String".equals(name))) {
+                return value;
+            }
+            return null;
+        }
+        if(!(type instanceof PrimitiveTypeNode)) {
+            return null;
+        }
+        if(value instanceof Boolean) {
+            return "boolean".equals(type.name()) ? value : null;
+        }
+        if(value instanceof String) {
+            return null;
+        }
+        final long integral = integral(value);
+        switch (type.name()) {
+            case "long":
+                return integral;
+            case "int":
+                return value instanceof Long ? null : (int) integral;
+            case "short":
+                return !(value instanceof Long) && integral == (short) integral ? (short) integral : null;
+            case "byte":
+                return !(value instanceof Long) && integral == (byte) integral ? (byte) integral : null;
+            case "char":
+                return !(value instanceof Long) && integral == (char) integral ? (char) integral : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Integral value, promoted to int.
+     * @param value Integer, Short, Byte or Character.
+     * @return Int.
+     */
+    private static int integer(final Object value) {
+        if(value instanceof Character) {
+            return (Character) value;
+        }
+        return ((Number) value).intValue();
+    }
+
+    /**
+     * Integral value, promoted to long.
+     * @param value Long, Integer, Short, Byte or Character.
+     * @return Long.
+     */
+    private static long integral(final Object value) {
+        if(value instanceof Character) {
+            return (Character) value;
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * Parse the digits of an integer literal, without its type suffix: decimal, hexadecimal,
+     * octal or binary, with underscores. Hexadecimal, octal and binary literals are two's
+     * complement, e.g. 0xFFFFFFFF is the int -1.
+     * @param literal Literal.
+     * @param bits Size of the literal's type, 32 or 64.
+     * @return Value or null if it is out of range.
+     */
+    private static Long parse(final String literal, final int bits) {
+        final String digits = literal.replace("_", "");
+        final int radix;
+        final int skip;
+        if(digits.startsWith("0x") || digits.startsWith("0X")) {
+            radix = 16;
+            skip = 2;
+        } else if(digits.startsWith("0b") || digits.startsWith("0B")) {
+            radix = 2;
+            skip = 2;
+        } else if(digits.length() > 1 && digits.startsWith("0")) {
+            radix = 8;
+            skip = 1;
+        } else {
+            radix = 10;
+            skip = 0;
+        }
+        try {
+            if(radix == 10) {
+                final long value = Long.parseLong(digits);
+                if(bits == 32 && value > Integer.MAX_VALUE) {
+                    return null;
+                }
+                return value;
+            }
+            final long value = Long.parseUnsignedLong(digits.substring(skip), radix);
+            if(bits == 32) {
+                if(value >>> 32 != 0) {
+                    return null;
+                }
+                return (long) (int) value;
+            }
+            return value;
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Names declared in a compilation unit: types, type parameters and variables
+     * (fields, constants, parameters and local variables).
+     */
+    private static final class Declarations {
+
+        private final Map<String, Integer> types = new HashMap<>();
+        private final Map<String, Integer> variables = new HashMap<>();
+        private final Set<String> typeParameters = new HashSet<>();
+
+        /**
+         * Collect the declarations of the given node and of its descendants.
+         * @param root Node.
+         */
+        void collect(final QueenNode root) {
+            final List<QueenNode> stack = new ArrayList<>();
+            stack.add(root);
+            while(!stack.isEmpty()) {
+                final QueenNode node = stack.remove(stack.size() - 1);
+                if(node instanceof TypeDeclarationNode) {
+                    this.types.merge(((TypeDeclarationNode) node).name(), 1, Integer::sum);
+                } else if(node instanceof TypeParameterNode) {
+                    this.typeParameters.add(((TypeParameterNode) node).name());
+                } else if(node instanceof VariableDeclaratorId) {
+                    this.variables.merge(((VariableDeclaratorId) node).name(), 1, Integer::sum);
+                }
+                for(final QueenNode child : node.children()) {
+                    if(child != null) {
+                        stack.add(child);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Is the given variable declared only once?
+         * @param name Variable name.
+         * @return True or false.
+         */
+        boolean isUniqueVariable(final String name) {
+            return this.variables.getOrDefault(name, 0) == 1;
+        }
+
+        /**
+         * Is the given type declared only once and not obscured by a variable or type parameter?
+         * @param name Simple name of the type.
+         * @return True or false.
+         */
+        boolean isUniqueType(final String name) {
+            return this.types.getOrDefault(name, 0) == 1
+                && !this.variables.containsKey(name)
+                && !this.typeParameters.contains(name);
+        }
+    }
+
+    /**
+     * Walks a compilation unit and maps the names referencing constants to their declarations,
+     * knowing the innermost type declaration of each name.
+     */
+    private final class Scopes {
+
+        private final Declarations declarations;
+
+        Scopes(final Declarations declarations) {
+            this.declarations = declarations;
+        }
+
+        /**
+         * Walk the given node.
+         * @param node Node.
+         * @param type Innermost type declaration enclosing the node, null if there is none or
+         *  if it is an anonymous class (which may inherit the names of its superclass).
+         */
+        void walk(final QueenNode node, final TypeDeclarationNode type) {
+            if(node instanceof NameNode) {
+                this.reference((NameNode) node, type);
+                return;
+            }
+            final List<QueenNode> outer;
+            final TypeDeclarationNode inner;
+            final QueenNode opaque;
+            if(node instanceof TypeDeclarationNode) {
+                outer = new ArrayList<>(((TypeDeclarationNode) node).annotations());
+                inner = (TypeDeclarationNode) node;
+                opaque = null;
+            } else if(node instanceof ObjectCreationExpressionNode) {
+                outer = Collections.emptyList();
+                inner = type;
+                opaque = ((ObjectCreationExpressionNode) node).anonymousBody();
+            } else {
+                outer = Collections.emptyList();
+                inner = type;
+                opaque = null;
+            }
+            for(final QueenNode child : node.children()) {
+                if(child == null) {
+                    continue;
+                }
+                if(child == opaque) {
+                    this.walk(child, null);
+                } else if(outer.stream().anyMatch(o -> o == child)) {
+                    this.walk(child, type);
+                } else {
+                    this.walk(child, inner);
+                }
+            }
+        }
+
+        /**
+         * Map the given name to the constant it references, if any.
+         * @param name Name.
+         * @param type Innermost type declaration enclosing the name.
+         */
+        private void reference(final NameNode name, final TypeDeclarationNode type) {
+            if(type == null) {
+                return;
+            }
+            final TypeDeclarationNode declaring;
+            if(name.qualifier() == null) {
+                declaring = type;
+            } else if(name.qualifier().qualifier() == null
+                && this.declarations.isUniqueType(name.qualifier().identifier())) {
+                declaring = this.member(type, name.qualifier().identifier());
+            } else {
+                declaring = null;
+            }
+            if(declaring instanceof NormalInterfaceDeclarationNode
+                && this.declarations.isUniqueVariable(name.identifier())) {
+                for(final ConstantDeclarationNode constant : ((NormalInterfaceDeclarationNode) declaring).body().constantDeclarations()) {
+                    if(constant.variable().variableDeclaratorId().name().equals(name.identifier())) {
+                        ConstantExpressionVisitor.this.references.put(name, constant);
+                    }
+                }
+            }
+        }
+
+        /**
+         * The given type or its member type with the given name.
+         * @param type Type declaration.
+         * @param name Simple name.
+         * @return TypeDeclarationNode or null if there is none.
+         */
+        private TypeDeclarationNode member(final TypeDeclarationNode type, final String name) {
+            if(type.name().equals(name)) {
+                return type;
+            }
+            for(final QueenNode child : type.children()) {
+                if(child instanceof NodeWithTypeDeclarations) {
+                    for(final TypeDeclarationNode member : ((NodeWithTypeDeclarations) child).typeDeclarations()) {
+                        if(member.name().equals(name)) {
+                            return member;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
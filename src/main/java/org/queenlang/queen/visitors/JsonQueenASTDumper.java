@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.names.Named;
+
+import java.io.IOException;
+
+/**
+ * Dumps the Queen AST as JSON. Each node is an object with its kind, position, name
+ * (if it has one) and children, for example:
+ * <pre>
+ * {"kind":"QueenNameNode","line":1,"column":8,"name":"org.queenlang","children":[]}
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class JsonQueenASTDumper implements QueenASTDumper {
+
+    /**
+     * Where the dump is written.
+     */
+    private final Appendable output;
+
+    /**
+     * Ctor.
+     * @param output Where to write the dump.
+     */
+    public JsonQueenASTDumper(final Appendable output) {
+        this.output = output;
+    }
+
+    @Override
+    public void dump(final QueenNode node) throws IOException {
+        this.output.append("{\"kind\":");
+        this.string(this.kind(node));
+        final Position position = node.position();
+        if(position != null) {
+            this.output.append(",\"line\":").append(String.valueOf(position.line()));
+            this.output.append(",\"column\":").append(String.valueOf(position.column()));
+        }
+        if(node instanceof Named) {
+            this.output.append(",\"name\":");
+            this.string(((Named) node).name());
+        }
+        this.output.append(",\"children\":[");
+        boolean first = true;
+        for(final QueenNode child : node.children()) {
+            if(child != null) {
+                if(!first) {
+                    this.output.append(',');
+                }
+                this.dump(child);
+                first = false;
+            }
+        }
+        this.output.append("]}");
+    }
+
+    /**
+     * Write the given value as an escaped JSON String.
+     * @param value Value, may be null.
+     * @throws IOException If the output cannot be written.
+     */
+    private void string(final String value) throws IOException {
+        if(value == null) {
+            this.output.append("null");
+            return;
+        }
+        this.output.append('"');
+        for(int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            switch (character) {
+                case '"':
+                    this.output.append("\\\"");
+                    break;
+                case '\\':
+                    this.output.append("\\\\");
+                    break;
+                case '\n':
+                    this.output.append("\\n");
+                    break;
+                case '\r':
+                    this.output.append("\\r");
+                    break;
+                case '\t':
+                    this.output.append("\\t");
+                    break;
+                default:
+                    if(character < 0x20) {
+                        this.output.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        this.output.append(character);
+                    }
+            }
+        }
+        this.output.append('"');
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.body.AnnotationTypeBodyNode;
+import org.queenlang.queen.nodes.body.ClassBodyNode;
+import org.queenlang.queen.nodes.body.InterfaceBodyNode;
+import org.queenlang.queen.nodes.project.PackageNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.statements.BlockStatements;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Queen abstract syntax tree visitor which visits independent subtrees in parallel.
+ *
+ * The children of a split point (the files of a project, the members of a type body or
+ * the statements of a block) are visited as ForkJoinTasks, if there are at least
+ * {@link #threshold()} of them. All the other nodes are visited sequentially, exactly
+ * like in {@link QueenASTVisitor}.
+ *
+ * Since the children are visited concurrently and their results are merged in any grouping,
+ * implementations have to be thread-safe, {@link #aggregateResult(Object, Object)} has to be
+ * associative and {@link #defaultResult()} has to be its identity (e.g. an empty list or 0).
+ *
+ * @param <T> Type param.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public interface ParallelQueenASTVisitor<T> extends QueenASTVisitor<T> {
+
+    /**
+     * Minimum number of children a split point should have, in order to be visited in parallel.
+     * Below it, the overhead of forking is bigger than the work itself.
+     * @return Integer, greater than 1.
+     */
+    default int threshold() {
+        return 4;
+    }
+
+    /**
+     * ForkJoinPool in which the subtrees are visited.
+     * @return ForkJoinPool.
+     */
+    default ForkJoinPool pool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Is the given node a split point? Its children are independent of each other, so
+     * they can be visited in parallel.
+     * @param node QueenNode.
+     * @return True or false.
+     */
+    default boolean isSplitPoint(final QueenNode node) {
+        return node instanceof ProjectNode
+            || node instanceof PackageNode
+            || node instanceof ClassBodyNode
+            || node instanceof InterfaceBodyNode
+            || node instanceof AnnotationTypeBodyNode
+            || node instanceof BlockStatements;
+    }
+
+    @Override
+    default T visitChildren(final QueenNode node) {
+        if(node == null || !this.isSplitPoint(node)) {
+            return QueenASTVisitor.super.visitChildren(node);
+        }
+        final List<QueenNode> children = node.children().stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if(children.size() < this.threshold()) {
+            return QueenASTVisitor.super.visitChildren(node);
+        }
+        final ForkJoinTask<T> task = new VisitChildrenTask<>(this, children, 0, children.size());
+        if(ForkJoinTask.getPool() == this.pool()) {
+            return task.invoke();
+        }
+        return this.pool().invoke(task);
+    }
+}
@@ -42,6 +42,7 @@ import org.queenlang.queen.nodes.project.FileNode;
 import org.queenlang.queen.nodes.statements.BlockStatements;
 import org.queenlang.queen.nodes.statements.StatementNode;
 import org.queenlang.queen.nodes.types.*;
+import org.queenlang.transpiler.events.ValidateEvent;
 
 import java.util.*;
 import java.util.List;
@@ -64,6 +65,8 @@ public final class QueenASTSemanticValidationVisitor implements QueenASTVisitor<
 
     @Override
     public List<SemanticProblem> visitFile(FileNode node) {
+        final ValidateEvent event = new ValidateEvent();
+        event.begin();
         final List<SemanticProblem> problems = new ArrayList<>();
         final String fileName = node.fileName();
         final TypeDeclarationNode typeDeclaration = node.compilationUnit().typeDeclaration();
@@ -77,6 +80,11 @@ public final class QueenASTSemanticValidationVisitor implements QueenASTVisitor<
             );
         }
         problems.addAll(this.visitCompilationUnit(node.compilationUnit()));
+        if(event.shouldCommit()) {
+            event.file(node.fullTypeName());
+            event.problems(problems.size());
+            event.commit();
+        }
         return problems;
     }
 
@@ -37,6 +37,8 @@ import org.queenlang.queen.nodes.body.*;
 import org.queenlang.queen.nodes.expressions.*;
 import org.queenlang.queen.nodes.names.NameNode;
 import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.names.QueenSymbols;
+import org.queenlang.queen.nodes.names.Symbols;
 import org.queenlang.queen.nodes.statements.*;
 import org.queenlang.queen.nodes.types.*;
 
@@ -57,20 +59,85 @@ import java.util.stream.Collectors;
  */
 public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNode> {
 
+    /**
+     * Interned identifiers and qualified names.
+     */
+    private final Symbols symbols;
+
+    /**
+     * Type subtrees shared within the visited compilation unit.
+     */
+    private final SharedTypes types;
+
+    /**
+     * Lines shifted by the later edits of the visited file, if it is parsed incrementally. Null otherwise.
+     */
+    private final LineShifts shifts;
+
+    /**
+     * Nodes created for the visited compilation unit, so far.
+     */
+    private IndexedNodes nodes;
+
+    /**
+     * Ctor.
+     */
+    public QueenParseTreeVisitor() {
+        this(new QueenSymbols());
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where the identifiers and qualified names are interned.
+     *  It should be shared by all the files of a project.
+     */
+    public QueenParseTreeVisitor(final Symbols symbols) {
+        this(symbols, new SharedTypes.None());
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where the identifiers and qualified names are interned.
+     *  It should be shared by all the files of a project.
+     * @param types Shared type subtrees. It should be used for one compilation unit only.
+     */
+    public QueenParseTreeVisitor(final Symbols symbols, final SharedTypes types) {
+        this(symbols, types, null);
+    }
+
+    /**
+     * Ctor.
+     * @param symbols Table where the identifiers and qualified names are interned.
+     *  It should be shared by all the files of a project.
+     * @param types Shared type subtrees. It should be used for one compilation unit only.
+     * @param shifts Lines shifted by the later edits of the visited file. The positions of the
+     *  nodes will follow them. Null, if the file will not be edited.
+     */
+    public QueenParseTreeVisitor(final Symbols symbols, final SharedTypes types, final LineShifts shifts) {
+        this.symbols = symbols;
+        this.types = types;
+        this.shifts = shifts;
+        this.nodes = new IndexedNodes();
+    }
+
     @Override    
     public CompilationUnitNode visitCompilationUnit(QueenParser.CompilationUnitContext ctx) {
-        return new QueenCompilationUnitNode(
+        final CompilationUnitNode compilationUnit = new QueenCompilationUnitNode(
             getPosition(ctx),
             ctx.packageDeclaration() != null ?
-                new QueenPackageDeclarationNode(
+                this.indexed(new QueenPackageDeclarationNode(
                     getPosition(ctx.packageDeclaration()),
                     this.visitPackageName(ctx.packageDeclaration().packageName())
-                ) : null,
+                )) : null,
             ctx.importDeclaration().stream().map(
                 this::visitImportDeclaration
             ).collect(Collectors.toList()),
-            this.visitTypeDeclaration(ctx.typeDeclaration())
+            this.visitTypeDeclaration(ctx.typeDeclaration()),
+            this.types,
+            this.nodes
         );
+        this.nodes = new IndexedNodes();
+        return compilationUnit;
     }
 
     @Override    
@@ -84,20 +151,20 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
 
     @Override    
     public ImportDeclarationNode visitSingleTypeImportDeclaration(QueenParser.SingleTypeImportDeclarationContext ctx) {
-        return new QueenImportDeclarationNode(
+        return this.indexed(new QueenImportDeclarationNode(
             getPosition(ctx),
             this.visitTypeName(ctx.typeName()),
             false
-        );
+        ));
     }
 
     @Override    
     public ImportDeclarationNode visitTypeImportOnDemandDeclaration(QueenParser.TypeImportOnDemandDeclarationContext ctx) {
-        return new QueenImportDeclarationNode(
+        return this.indexed(new QueenImportDeclarationNode(
             getPosition(ctx),
             this.visitPackageOrTypeName(ctx.packageOrTypeName()),
             true
-        );
+        ));
     }
 
     @Override    
@@ -116,7 +183,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final List<ModifierNode> accessModifiers = new ArrayList<>();
         final List<TypeParameterNode> typeParameters = new ArrayList<>();
 
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         if(ctx.typeParameters() != null && ctx.typeParameters().typeParameterList() != null) {
             ctx.typeParameters().typeParameterList().typeParameter().forEach(
                 tp -> typeParameters.add(this.visitTypeParameter(tp))
@@ -128,7 +195,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             ctx.superinterfaces().interfaceTypeList().interfaceType().forEach(
                 inter -> ofTypes.add(this.visitInterfaceType(inter))
             );
-            interfaceTypeList = new QueenInterfaceTypeList(getPosition(ctx.superinterfaces()), ofTypes);
+            interfaceTypeList = this.indexed(new QueenInterfaceTypeList(getPosition(ctx.superinterfaces()), ofTypes));
         } else {
             interfaceTypeList = null;
         }
@@ -142,7 +209,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.classModifier().forEach(
             m -> accessModifiers.add(this.visitClassModifier(m))
         );
-        return new QueenClassDeclarationNode(
+        return this.indexed(new QueenClassDeclarationNode(
             this.getPosition(ctx),
             annotations,
             accessModifiers,
@@ -151,13 +218,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             typeParameters,
             extendsType,
             interfaceTypeList,
-            new QueenClassBodyNode(
+            this.indexed(new QueenClassBodyNode(
                 getPosition(ctx),
                 ctx.classBody().classBodyDeclaration().stream().map(
                     this::visitClassBodyDeclaration
                 ).collect(Collectors.toList())
-            )
-        );
+            ))
+        ));
     }
 
     @Override    
@@ -181,14 +248,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             );
         }
 
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final InterfaceTypeList interfaceTypeList;
         if(ctx.extendsInterfaces() != null && ctx.extendsInterfaces().interfaceTypeList() != null) {
             final List<ClassOrInterfaceTypeNode> extendsTypes = new ArrayList<>();
             ctx.extendsInterfaces().interfaceTypeList().interfaceType().forEach(
                 inter -> extendsTypes.add(this.visitInterfaceType(inter))
             );
-            interfaceTypeList = new QueenInterfaceTypeList(getPosition(ctx.extendsInterfaces()), extendsTypes);
+            interfaceTypeList = this.indexed(new QueenInterfaceTypeList(getPosition(ctx.extendsInterfaces()), extendsTypes));
         } else {
             interfaceTypeList = null;
         }
@@ -198,7 +265,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.interfaceModifier().forEach(
             m -> modifiers.add(this.visitInterfaceModifier(m))
         );
-        return new QueenNormalInterfaceDeclarationNode(
+        return this.indexed(new QueenNormalInterfaceDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
@@ -206,7 +273,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             typeParams,
             interfaceTypeList,
             this.visitInterfaceBody(ctx.interfaceBody())
-        );
+        ));
     }
 
     @Override    
@@ -214,65 +281,65 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final List<AnnotationNode> annotations = new ArrayList<>();
         final List<ModifierNode> modifiers = new ArrayList<>();
 
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
         ctx.interfaceModifier().forEach(
             m -> modifiers.add(this.visitInterfaceModifier(m))
         );
-        return new QueenAnnotationTypeDeclarationNode(
+        return this.indexed(new QueenAnnotationTypeDeclarationNode(
             getPosition(ctx), annotations, modifiers, name, this.visitAnnotationTypeBody(ctx.annotationTypeBody())
-        );
+        ));
     }
 
     @Override    
     public ModifierNode visitClassModifier(QueenParser.ClassModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitMethodModifier(QueenParser.MethodModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitInterfaceMethodModifier(QueenParser.InterfaceMethodModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitAnnotationTypeElementModifier(QueenParser.AnnotationTypeElementModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitClassAbstractOrFinal(QueenParser.ClassAbstractOrFinalContext ctx) {
         if(ctx == null) {
-            return new QueenModifierNode(getPosition(ctx), "final");
+            return this.indexed(new QueenModifierNode(getPosition(ctx), "final"));
         }
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitInterfaceModifier(QueenParser.InterfaceModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitFieldModifier(QueenParser.FieldModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitConstantModifier(QueenParser.ConstantModifierContext ctx) {
-        return new QueenModifierNode(getPosition(ctx), asString(ctx));
+        return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
     }
 
     @Override    
     public ModifierNode visitConstructorModifier(QueenParser.ConstructorModifierContext ctx) {
         if(ctx != null) {
-            return new QueenModifierNode(getPosition(ctx), asString(ctx));
+            return this.indexed(new QueenModifierNode(getPosition(ctx), asString(ctx)));
         }
         return null;
     }
@@ -280,7 +347,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public AnnotationNode visitAnnotation(QueenParser.AnnotationContext ctx) {
         if(ctx.markerAnnotation() != null) {
-            return new QueenMarkerAnnotationNode(getPosition(ctx), this.visitTypeName(ctx.markerAnnotation().typeName()));
+            return this.indexed(new QueenMarkerAnnotationNode(getPosition(ctx), this.visitTypeName(ctx.markerAnnotation().typeName())));
         } else if(ctx.normalAnnotation() != null) {
             final List<ElementValuePairNode> pairs = new LinkedList<>();
             ctx.normalAnnotation()
@@ -291,17 +358,17 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                         this.visitElementValuePair(pair)
                     )
                 );
-            return new QueenNormalAnnotationNode(
+            return this.indexed(new QueenNormalAnnotationNode(
                 getPosition(ctx),
                 this.visitTypeName(ctx.normalAnnotation().typeName()),
                 pairs
-            );
+            ));
         } else if(ctx.singleElementAnnotation() != null) {
-            return new QueenSingleMemberAnnotationNode(
+            return this.indexed(new QueenSingleMemberAnnotationNode(
                 getPosition(ctx),
                 this.visitTypeName(ctx.singleElementAnnotation().typeName()),
                 this.visitElementValue(ctx.singleElementAnnotation().elementValue())
-            );
+            ));
         }
         return null;
     }
@@ -329,10 +396,10 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             values = null;
         }
-        return new QueenArrayInitializerExpressionNode(
+        return this.indexed(new QueenArrayInitializerExpressionNode(
             getPosition(ctx),
             values
-        );
+        ));
     }
 
     @Override    
@@ -369,23 +436,23 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                     }
                     if(vm.FINAL() != null) {
                         modifiers.add(
-                            new QueenModifierNode(
+                            this.indexed(new QueenModifierNode(
                                 this.getPosition(vm),
                                 vm.FINAL().getText()
-                            )
+                            ))
                         );
                     }
                 }
             );
         }
 
-        return new QueenLocalVariableDeclarationNode(
+        return this.indexed(new QueenLocalVariableDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             Arrays.asList(this.visitVariableDeclarator(ctx.variableDeclarator()))
-        );
+        ));
     }
 
     @Override    
@@ -401,10 +468,10 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                     }
                     if(vm.FINAL() != null) {
                         modifiers.add(
-                            new QueenModifierNode(
+                            this.indexed(new QueenModifierNode(
                                 this.getPosition(vm),
                                 vm.FINAL().getText()
-                            )
+                            ))
                         );
                     }
                 }
@@ -416,13 +483,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             vd -> variables.add(this.visitVariableDeclarator(vd))
         );
 
-        return new QueenLocalVariableDeclarationNode(
+        return this.indexed(new QueenLocalVariableDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             variables
-        );
+        ));
     }
 
     @Override    
@@ -437,13 +504,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             m -> modifiers.add(this.visitFieldModifier(m))
         );
 
-        return new QueenFieldDeclarationNode(
+        return this.indexed(new QueenFieldDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             this.visitVariableDeclarator(ctx.variableDeclarator())
-        );
+        ));
     }
 
     @Override    
@@ -458,13 +525,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             m -> modifiers.add(this.visitConstantModifier(m))
         );
 
-        return new QueenConstantDeclarationNode(
+        return this.indexed(new QueenConstantDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             this.visitVariableDeclarator(ctx.variableDeclarator())
-        );
+        ));
     }
 
     @Override    
@@ -475,22 +542,22 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             initializer = null;
         }
-        return new QueenVariableDeclaratorNode(
+        return this.indexed(new QueenVariableDeclaratorNode(
             getPosition(ctx),
             this.visitVariableDeclaratorId(
                 ctx.variableDeclaratorId()
             ),
             initializer
-        );
+        ));
     }
 
     @Override    
     public ElementValuePairNode visitElementValuePair(QueenParser.ElementValuePairContext ctx) {
-        return new QueenElementValuePairNode(
+        return this.indexed(new QueenElementValuePairNode(
             getPosition(ctx),
-            ctx.Identifier().getText(),
+            this.symbols.identifier(ctx.Identifier().getText()),
             this.visitElementValue(ctx.elementValue())
-        );
+        ));
     }
 
     @Override    
@@ -536,17 +603,17 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             queenBlockStatements = null;
         }
-        return new QueenConstructorDeclarationNode(
+        return this.indexed(new QueenConstructorDeclarationNode(
             getPosition(ctx),
             annotations,
             this.visitConstructorModifier(ctx.constructorModifier()),
             typeParams,
-            ctx.constructorDeclarator().simpleTypeName().Identifier().getText(),
-            new QueenParameterList(getPosition(ctx.constructorDeclarator().formalParameterList()), parameters),
+            this.symbols.identifier(ctx.constructorDeclarator().simpleTypeName().Identifier().getText()),
+            this.indexed(new QueenParameterList(getPosition(ctx.constructorDeclarator().formalParameterList()), parameters)),
             throwsList,
             explicitConstructorInvocationNode,
             queenBlockStatements
-        );
+        ));
     }
 
     @Override    
@@ -594,25 +661,25 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 a -> annotationsOnResult.add(this.visitAnnotation(a))
             );
         }
-        return new QueenMethodDeclarationNode(
+        return this.indexed(new QueenMethodDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitResult(annotationsOnResult, ctx.methodHeader().result()),
             typeParams,
-            methodDeclarator.Identifier().getText(),
-            new QueenParameterList(getPosition(methodDeclarator.formalParameterList()), parameters),
+            this.symbols.identifier(methodDeclarator.Identifier().getText()),
+            this.indexed(new QueenParameterList(getPosition(methodDeclarator.formalParameterList()), parameters)),
             throwsList,
             queenBlockStatements,
             false
-        );
+        ));
     }
 
     public TypeNode visitResult(List<AnnotationNode> annotations, QueenParser.ResultContext ctx) {
         if(ctx.unannType() != null) {
             return this.visitUnannType(annotations, ctx.unannType());
         } else {
-            return new QueenVoidNode(this.getPosition(ctx), annotations);
+            return this.indexed(new QueenVoidNode(this.getPosition(ctx), annotations));
         }
     }
 
@@ -663,18 +730,18 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             );
         }
 
-        return new QueenMethodDeclarationNode(
+        return this.indexed(new QueenMethodDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitResult(annotationsOnResult, ctx.methodHeader().result()),
             typeParams,
-            methodDeclarator.Identifier().getText(),
-            new QueenParameterList(getPosition(methodDeclarator.formalParameterList()), parameters),
+            this.symbols.identifier(methodDeclarator.Identifier().getText()),
+            this.indexed(new QueenParameterList(getPosition(methodDeclarator.formalParameterList()), parameters)),
             throwsList,
             queenBlockStatements,
             true
-        );
+        ));
     }
 
     @Override    
@@ -705,10 +772,10 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             values = null;
         }
-        return new QueenArrayInitializerExpressionNode(
+        return this.indexed(new QueenArrayInitializerExpressionNode(
             getPosition(ctx),
             values
-        );
+        ));
     }
 
     @Override    
@@ -747,47 +814,47 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             if(ctx.unannDim() != null) {
                 ctx.unannDim().forEach(
                     dim -> dims.add(
-                        new QueenArrayDimensionNode(getPosition(dim))
+                        this.indexed(new QueenArrayDimensionNode(getPosition(dim)))
                     )
                 );
             }
             final TypeNode typeNode;
             if(this.isTypeNamePrimitive(ctx.typeName())) {
-                typeNode = new QueenPrimitiveTypeNode(
+                typeNode = this.indexed(new QueenPrimitiveTypeNode(
                     getPosition(ctx.typeName()),
                     new ArrayList<>(),
-                    ctx.typeName().Identifier().getText()
-                );
+                    this.symbols.identifier(ctx.typeName().Identifier().getText())
+                ));
             } else {
                 typeNode = this.nameNodeToClassOrInterfaceType(this.visitTypeName(ctx.typeName()));
             }
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx.typeName()),
                 typeNode,
                 dims
-            );
+            ));
         } else if(ctx.VOID() != null && ctx.IMPLEMENTATION() != null) {
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx),
-                new QueenVoidNode(getPosition(ctx)),
+                this.indexed(new QueenVoidNode(getPosition(ctx))),
                 new ArrayList<>()
-            );
+            ));
         } else if(ctx.THIS() != null) {
             if(ctx.typeName() != null) {
-                return new QueenThisExpressionNode(
+                return this.indexed(new QueenThisExpressionNode(
                     getPosition(ctx),
                     this.visitTypeName(ctx.typeName())
-                );
+                ));
             } else {
-                return new QueenThisExpressionNode(
+                return this.indexed(new QueenThisExpressionNode(
                     getPosition(ctx)
-                );
+                ));
             }
         } else if(ctx.LPAREN() != null && ctx.expression() != null && ctx.RPAREN() != null) {
-            return new QueenBracketedExpressionNode(
+            return this.indexed(new QueenBracketedExpressionNode(
                 getPosition(ctx.expression()),
                 this.visitExpression(ctx.expression())
-            );
+            ));
         } else if(ctx.classInstanceCreationExpression() != null) {
             return this.visitClassInstanceCreationExpression(ctx.classInstanceCreationExpression());
         } else if(ctx.fieldAccess() != null) {
@@ -837,62 +904,62 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             if(ctx.unannDim() != null) {
                 ctx.unannDim().forEach(
                     dim -> dims.add(
-                        new QueenArrayDimensionNode(getPosition(dim))
+                        this.indexed(new QueenArrayDimensionNode(getPosition(dim)))
                     )
                 );
             }
             final TypeNode typeNode;
             if(this.isTypeNamePrimitive(ctx.typeName())) {
-                typeNode = new QueenPrimitiveTypeNode(
+                typeNode = this.indexed(new QueenPrimitiveTypeNode(
                     getPosition(ctx.typeName()),
                     new ArrayList<>(),
-                    ctx.typeName().Identifier().getText()
-                );
+                    this.symbols.identifier(ctx.typeName().Identifier().getText())
+                ));
             } else {
                 typeNode = this.nameNodeToClassOrInterfaceType(this.visitTypeName(ctx.typeName()));
             }
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx.typeName()),
                 typeNode,
                 dims
-            );
+            ));
         } else if(ctx.unannPrimitiveType() != null && ctx.IMPLEMENTATION() != null) {
             final PrimitiveTypeNode primitiveType = this.visitUnannPrimitiveType(ctx.unannPrimitiveType());
             final List<ArrayDimensionNode> dims = new ArrayList<>();
             if(ctx.unannDim() != null) {
                 ctx.unannDim().forEach(
                     dim -> dims.add(
-                        new QueenArrayDimensionNode(getPosition(dim))
+                        this.indexed(new QueenArrayDimensionNode(getPosition(dim)))
                     )
                 );
             }
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx.unannPrimitiveType()),
                 primitiveType,
                 dims
-            );
+            ));
         } else if(ctx.VOID() != null && ctx.IMPLEMENTATION() != null) {
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx),
-                new QueenVoidNode(getPosition(ctx)),
+                this.indexed(new QueenVoidNode(getPosition(ctx))),
                 new ArrayList<>()
-            );
+            ));
         } else if(ctx.THIS() != null) {
             if(ctx.typeName() != null) {
-                return new QueenThisExpressionNode(
+                return this.indexed(new QueenThisExpressionNode(
                     getPosition(ctx),
                     this.visitTypeName(ctx.typeName())
-                );
+                ));
             } else {
-                return new QueenThisExpressionNode(
+                return this.indexed(new QueenThisExpressionNode(
                     getPosition(ctx)
-                );
+                ));
             }
         } else if(ctx.LPAREN() != null && ctx.expression() != null && ctx.RPAREN() != null) {
-            return new QueenBracketedExpressionNode(
+            return this.indexed(new QueenBracketedExpressionNode(
                 getPosition(ctx.expression()),
                 this.visitExpression(ctx.expression())
-            );
+            ));
         } else if(ctx.classInstanceCreationExpression_lfno_primary() != null) {
             return this.visitClassInstanceCreationExpression_lfno_primary(ctx.classInstanceCreationExpression_lfno_primary());
         } else if(ctx.fieldAccess_lfno_primary() != null) {
@@ -909,17 +976,15 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public QueenNameNode visitTypeName(QueenParser.TypeNameContext ctx) {
         if(ctx.packageOrTypeName() == null) {
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
                 null,
-                null,
                 ctx.Identifier().getText()
             );
         } else {
             final QueenNameNode packageOrTypeName = this.visitPackageOrTypeName(ctx.packageOrTypeName());
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
-                null,
                 packageOrTypeName,
                 ctx.Identifier().getText()
             );
@@ -929,17 +994,15 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public QueenNameNode visitPackageOrTypeName(QueenParser.PackageOrTypeNameContext ctx) {
         if(ctx.packageOrTypeName() == null) {
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
                 null,
-                null,
                 ctx.Identifier().getText()
             );
         } else {
             final QueenNameNode packageOrTypeName = this.visitPackageOrTypeName(ctx.packageOrTypeName());
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
-                null,
                 packageOrTypeName,
                 ctx.Identifier().getText()
             );
@@ -949,17 +1012,15 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public QueenNameNode visitPackageName(QueenParser.PackageNameContext ctx) {
         if(ctx.packageName() == null) {
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
                 null,
-                null,
                 ctx.Identifier().getText()
             );
         } else {
             final QueenNameNode packageName = this.visitPackageName(ctx.packageName());
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
-                null,
                 packageName,
                 ctx.Identifier().getText()
             );
@@ -969,17 +1030,15 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public QueenNameNode visitExpressionName(QueenParser.ExpressionNameContext ctx) {
         if(ctx.ambiguousName() == null) {
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
                 null,
-                null,
                 ctx.Identifier().getText()
             );
         } else {
             final QueenNameNode ambiguousName = this.visitAmbiguousName(ctx.ambiguousName());
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
-                null,
                 ambiguousName,
                 ctx.Identifier().getText()
             );
@@ -989,17 +1048,15 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public QueenNameNode visitAmbiguousName(QueenParser.AmbiguousNameContext ctx) {
         if(ctx.ambiguousName() == null) {
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
                 null,
-                null,
                 ctx.Identifier().getText()
             );
         } else {
             final QueenNameNode ambiguousName = this.visitAmbiguousName(ctx.ambiguousName());
-            return new QueenNameNode(
+            return this.nameNode(
                 getPosition(ctx),
-                null,
                 ambiguousName,
                 ctx.Identifier().getText()
             );
@@ -1032,12 +1089,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             arrayInitExpr = null;
         }
-        return new QueenArrayCreationExpressionNode(
+        return this.indexed(new QueenArrayCreationExpressionNode(
             position,
             type,
             dims,
             arrayInitExpr
-        );
+        ));
     }
 
     @Override    
@@ -1050,11 +1107,11 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             );
         }
         final ExpressionNode expression = this.visitExpression(ctx.expression());
-        return new QueenArrayDimensionNode(
+        return this.indexed(new QueenArrayDimensionNode(
             position,
             annotations,
             expression
-        );
+        ));
     }
 
     @Override    
@@ -1066,51 +1123,51 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 a -> annotations.add(this.visitAnnotation(a))
             );
         }
-        return new QueenArrayDimensionNode(
+        return this.indexed(new QueenArrayDimensionNode(
             position,
             annotations
-        );
+        ));
     }
 
     @Override    
     public ExpressionNode visitLiteral(QueenParser.LiteralContext ctx) {
         if(ctx.BooleanLiteral() != null) {
-            return new QueenBooleanLiteralExpressionNode(
+            return this.indexed(new QueenBooleanLiteralExpressionNode(
                 getPosition(ctx),
                 Boolean.parseBoolean(ctx.BooleanLiteral().getText())
-            );
+            ));
         } else if(ctx.CharacterLiteral() != null) {
-            return new QueenCharLiteralExpressionNode(
+            return this.indexed(new QueenCharLiteralExpressionNode(
                 getPosition(ctx),
                 ctx.CharacterLiteral().getText()
-            );
+            ));
         } else if(ctx.StringLiteral() != null) {
             final String withoutQuotes = ctx.StringLiteral().getText()
                 .substring(1,  ctx.StringLiteral().getText().length() - 1);
-            return new QueenStringLiteralExpressionNode(
+            return this.indexed(new QueenStringLiteralExpressionNode(
                 getPosition(ctx),
                 withoutQuotes
-            );
+            ));
         } else if(ctx.FloatingPointLiteral() != null) {
-            return new QueenDoubleLiteralExpressionNode(
+            return this.indexed(new QueenDoubleLiteralExpressionNode(
                 getPosition(ctx),
                 ctx.FloatingPointLiteral().getText()
-            );
+            ));
         } else if(ctx.IntegerLiteral() != null) {
             final String literal = ctx.IntegerLiteral().getText();
             if(literal.endsWith("l") || literal.endsWith("L")) {
-                return new QueenLongLiteralExpressionNode(
+                return this.indexed(new QueenLongLiteralExpressionNode(
                     getPosition(ctx),
                     literal
-                );
+                ));
             } else {
-                return new QueenIntegerLiteralExpressionNode(
+                return this.indexed(new QueenIntegerLiteralExpressionNode(
                     getPosition(ctx),
                     literal
-                );
+                ));
             }
         } else {
-            return new QueenNullLiteralExpressionNode(getPosition(ctx));
+            return this.indexed(new QueenNullLiteralExpressionNode(getPosition(ctx)));
         }
     }
 
@@ -1135,21 +1192,21 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                         annotations.add(this.visitAnnotation(v.annotation()));
                     }
                     if(v.MUTABLE() != null) {
-                        modifiers.add(new QueenModifierNode(getPosition(v), v.MUTABLE().getText()));
+                        modifiers.add(this.indexed(new QueenModifierNode(getPosition(v), v.MUTABLE().getText())));
                     }
                 }
             );
         }
         if(modifiers.isEmpty()) {
-            modifiers.add(new QueenModifierNode(getPosition(ctx),"final"));
+            modifiers.add(this.indexed(new QueenModifierNode(getPosition(ctx),"final")));
         }
-        return new QueenParameterNode(
+        return this.indexed(new QueenParameterNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             this.visitVariableDeclaratorId(ctx.variableDeclaratorId())
-        );
+        ));
     }
 
     @Override    
@@ -1168,13 +1225,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                         annotations.add(this.visitAnnotation(v.annotation()));
                     }
                     if(v.MUTABLE() != null) {
-                        modifiers.add(new QueenModifierNode(getPosition(v), v.MUTABLE().getText()));
+                        modifiers.add(this.indexed(new QueenModifierNode(getPosition(v), v.MUTABLE().getText())));
                     }
                 }
             );
         }
         if(modifiers.isEmpty()) {
-            modifiers.add(new QueenModifierNode(getPosition(ctx),"final"));
+            modifiers.add(this.indexed(new QueenModifierNode(getPosition(ctx),"final")));
         }
 
         if(ctx.annotation() != null) {
@@ -1182,7 +1239,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 va -> varArgAnnotations.add(this.visitAnnotation(va))
             );
         }
-        return new QueenParameterNode(
+        return this.indexed(new QueenParameterNode(
             getPosition(ctx),
             annotations,
             modifiers,
@@ -1190,7 +1247,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             this.visitVariableDeclaratorId(ctx.variableDeclaratorId()),
             varArgAnnotations,
             true
-        );
+        ));
     }
 
     @Override    
@@ -1214,13 +1271,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 e -> arguments.add(this.visitExpression(e))
             );
         }
-        return new QueenExplicitConstructorInvocationNode(
+        return this.indexed(new QueenExplicitConstructorInvocationNode(
             position,
             isThis,
             scope,
             typeArguments,
             arguments
-        );
+        ));
     }
 
     @Override    
@@ -1228,7 +1285,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         if(ctx.blockStatements() != null) {
             return this.visitBlockStatements(ctx.blockStatements());
         }
-        return new QueenBlockStatements(getPosition(ctx));
+        return this.indexed(new QueenBlockStatements(getPosition(ctx)));
     }
 
     @Override    
@@ -1253,24 +1310,24 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 }
             }
         );
-        return new QueenBlockStatements(getPosition(ctx), blockStatements);
+        return this.indexed(new QueenBlockStatements(getPosition(ctx), blockStatements));
     }
 
     @Override    
     public InstanceInitializerNode visitInstanceInitializer(QueenParser.InstanceInitializerContext ctx) {
-        return new QueenInstanceInitializerNode(
+        return this.indexed(new QueenInstanceInitializerNode(
             getPosition(ctx),
             this.visitBlock(ctx.block())
-        );
+        ));
     }
 
     @Override    
     public InstanceInitializerNode visitStaticInitializer(QueenParser.StaticInitializerContext ctx) {
-        return new QueenInstanceInitializerNode(
+        return this.indexed(new QueenInstanceInitializerNode(
             getPosition(ctx),
             this.visitBlock(ctx.block()),
             true
-        );
+        ));
     }
 
     @Override    
@@ -1313,23 +1370,23 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     public IfStatementNode visitIfThenStatement(QueenParser.IfThenStatementContext ctx) {
         final Position position = this.getPosition(ctx);
         final ExpressionNode condition = this.visitExpression(ctx.expression());
-        return new QueenIfStatementNode(
+        return this.indexed(new QueenIfStatementNode(
             position,
             condition,
             this.visitStatement(ctx.statement())
-        );
+        ));
     }
 
     @Override    
     public IfStatementNode visitIfThenElseStatement(QueenParser.IfThenElseStatementContext ctx) {
         final Position position = this.getPosition(ctx);
         final ExpressionNode condition = this.visitExpression(ctx.expression());
-        return new QueenIfStatementNode(
+        return this.indexed(new QueenIfStatementNode(
             position,
             condition,
             this.visitStatementNoShortIf(ctx.statementNoShortIf()),
             this.visitStatement(ctx.statement())
-        );
+        ));
     }
 
     @Override    
@@ -1337,12 +1394,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final Position position = this.getPosition(ctx);
         final ExpressionNode condition = this.visitExpression(ctx.expression());
 
-        return new QueenIfStatementNode(
+        return this.indexed(new QueenIfStatementNode(
             position,
             condition,
             this.visitStatementNoShortIf(ctx.statementNoShortIf().get(0)),
             this.visitStatementNoShortIf(ctx.statementNoShortIf().get(1))
-        );
+        ));
     }
 
 
@@ -1378,13 +1435,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             }
         }
 
-        return new QueenForStatementNode(
+        return this.indexed(new QueenForStatementNode(
             position,
             init,
             condition,
             update,
             this.visitStatement(ctx.statement())
-        );
+        ));
     }
 
     @Override    
@@ -1419,13 +1476,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             }
         }
 
-        return new QueenForStatementNode(
+        return this.indexed(new QueenForStatementNode(
             position,
             init,
             condition,
             update,
             this.visitStatementNoShortIf(ctx.statementNoShortIf())
-        );
+        ));
     }
 
     @Override    
@@ -1443,46 +1500,46 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                     }
                     if(vm.FINAL() != null) {
                         modifiers.add(
-                            new QueenModifierNode(
+                            this.indexed(new QueenModifierNode(
                                 this.getPosition(vm),
                                 vm.FINAL().getText()
-                            )
+                            ))
                         );
                     }
                 }
             );
         }
 
-        variable = new QueenLocalVariableDeclarationNode(
+        variable = this.indexed(new QueenLocalVariableDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             Arrays.asList(
-                new QueenVariableDeclaratorNode(
+                this.indexed(new QueenVariableDeclaratorNode(
                     getPosition(ctx.variableDeclaratorId()),
                     this.visitVariableDeclaratorId(ctx.variableDeclaratorId()),
                     null
-                )
+                ))
             )
-        );
+        ));
 
 
         final ExpressionNode iterable = this.visitExpression(ctx.expression());
-        return new QueenForEachStatementNode(
+        return this.indexed(new QueenForEachStatementNode(
             position,
             variable,
             iterable,
             this.visitStatement(ctx.statement())
-        );
+        ));
     }
 
     @Override    
     public VariableDeclaratorId visitVariableDeclaratorId(QueenParser.VariableDeclaratorIdContext ctx) {
-        return new QueenVariableDeclaratorId(
+        return this.indexed(new QueenVariableDeclaratorId(
             getPosition(ctx),
-            ctx.Identifier().getText()
-        );
+            this.symbols.identifier(ctx.Identifier().getText())
+        ));
     }
 
     @Override    
@@ -1500,88 +1557,88 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                     }
                     if(vm.FINAL() != null) {
                         modifiers.add(
-                            new QueenModifierNode(
+                            this.indexed(new QueenModifierNode(
                                 this.getPosition(vm),
                                 vm.FINAL().getText()
-                            )
+                            ))
                         );
                     }
                 }
             );
         }
-        variable = new QueenLocalVariableDeclarationNode(
+        variable = this.indexed(new QueenLocalVariableDeclarationNode(
             getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             Arrays.asList(
-                new QueenVariableDeclaratorNode(
+                this.indexed(new QueenVariableDeclaratorNode(
                     getPosition(ctx.variableDeclaratorId()),
                     this.visitVariableDeclaratorId(ctx.variableDeclaratorId()),
                     null
-                )
+                ))
             )
-        );
+        ));
 
         final ExpressionNode iterable = this.visitExpression(ctx.expression());
 
-        return new QueenForEachStatementNode(
+        return this.indexed(new QueenForEachStatementNode(
             position,
             variable,
             iterable,
             this.visitStatementNoShortIf(ctx.statementNoShortIf())
-        );
+        ));
     }
 
     @Override    
     public WhileStatementNode visitWhileStatement(QueenParser.WhileStatementContext ctx) {
         final Position position = this.getPosition(ctx);
         final ExpressionNode expression = this.visitExpression(ctx.expression());
-        return new QueenWhileStatementNode(
+        return this.indexed(new QueenWhileStatementNode(
             position,
             expression,
             this.visitStatement(ctx.statement())
-        );
+        ));
     }
 
     @Override    
     public WhileStatementNode visitWhileStatementNoShortIf(QueenParser.WhileStatementNoShortIfContext ctx) {
         final Position position = this.getPosition(ctx);
         final ExpressionNode expression = this.visitExpression(ctx.expression());
-        return new QueenWhileStatementNode(
+        return this.indexed(new QueenWhileStatementNode(
             position,
             expression,
             this.visitStatementNoShortIf(ctx.statementNoShortIf())
-        );
+        ));
     }
 
     @Override    
     public DoStatementNode visitDoStatement(QueenParser.DoStatementContext ctx) {
         final Position position = this.getPosition(ctx);
         final ExpressionNode expression = this.visitExpression(ctx.expression());
-        return new QueenDoStatementNode(
+        return this.indexed(new QueenDoStatementNode(
             position,
             this.visitStatement(ctx.statement()),
             expression
-        );
+        ));
     }
 
     @Override    
     public LabeledStatementNode visitLabeledStatement(QueenParser.LabeledStatementContext ctx) {
-        return new QueenLabeledStatementNode(
+        return this.indexed(new QueenLabeledStatementNode(
             getPosition(ctx),
-            ctx.Identifier().getText(),
+            this.symbols.identifier(ctx.Identifier().getText()),
             this.visitStatement(ctx.statement())
-        );
+        ));
     }
 
     @Override    
     public LabeledStatementNode visitLabeledStatementNoShortIf(QueenParser.LabeledStatementNoShortIfContext ctx) {
-        return new QueenLabeledStatementNode(
+        return this.indexed(new QueenLabeledStatementNode(
             getPosition(ctx),
-            ctx.Identifier().getText(),
+            this.symbols.identifier(ctx.Identifier().getText()),
             this.visitStatementNoShortIf(ctx.statementNoShortIf())
-        );
+        ));
     }
 
     @Override    
@@ -1621,56 +1678,56 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
 
     @Override    
     public ThrowStatementNode visitThrowStatement(QueenParser.ThrowStatementContext ctx) {
-        return new QueenThrowStatementNode(
+        return this.indexed(new QueenThrowStatementNode(
             getPosition(ctx),
             this.visitExpression(ctx.expression())
-        );
+        ));
     }
 
     @Override    
     public ReturnStatementNode visitReturnStatement(QueenParser.ReturnStatementContext ctx) {
-        return new QueenReturnStatementNode(
+        return this.indexed(new QueenReturnStatementNode(
             getPosition(ctx),
             this.visitExpression(ctx.expression())
-        );
+        ));
     }
 
     @Override    
     public ContinueStatementNode visitContinueStatement(QueenParser.ContinueStatementContext ctx) {
-        return new QueenContinueStatementNode(
+        return this.indexed(new QueenContinueStatementNode(
             getPosition(ctx),
-            ctx.Identifier() != null ? ctx.Identifier().getText() : null
-        );
+            ctx.Identifier() != null ? this.symbols.identifier(ctx.Identifier().getText()) : null
+        ));
     }
 
     @Override    
     public BreakStatementNode visitBreakStatement(QueenParser.BreakStatementContext ctx) {
-        return new QueenBreakStatementNode(
+        return this.indexed(new QueenBreakStatementNode(
             getPosition(ctx),
-            ctx.Identifier() != null ? ctx.Identifier().getText() : null
-        );
+            ctx.Identifier() != null ? this.symbols.identifier(ctx.Identifier().getText()) : null
+        ));
     }
 
     @Override    
     public EmptyStatementNode visitEmptyStatement(QueenParser.EmptyStatementContext ctx) {
-        return new QueenEmptyStatementNode(
+        return this.indexed(new QueenEmptyStatementNode(
             getPosition(ctx)
-        );
+        ));
     }
 
     @Override    
     public AssertStatementNode visitAssertStatement(QueenParser.AssertStatementContext ctx) {
         if(ctx.expression().size() < 2) {
-            return new QueenAssertStatementNode(
+            return this.indexed(new QueenAssertStatementNode(
                 getPosition(ctx),
                 this.visitExpression(ctx.expression(0))
-            );
+            ));
         } else {
-            return new QueenAssertStatementNode(
+            return this.indexed(new QueenAssertStatementNode(
                 getPosition(ctx),
                 this.visitExpression(ctx.expression(0)),
                 this.visitExpression(ctx.expression(1))
-            );
+            ));
         }
     }
 
@@ -1678,11 +1735,11 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     public SynchronizedStatementNode visitSynchronizedStatement(QueenParser.SynchronizedStatementContext ctx) {
         final Position position = getPosition(ctx);
         final ExpressionNode expression = this.visitExpression(ctx.expression());
-        return new QueenSynchronizedStatementNode(
+        return this.indexed(new QueenSynchronizedStatementNode(
             position,
             expression,
             this.visitBlock(ctx.block())
-        );
+        ));
     }
 
     @Override    
@@ -1705,20 +1762,20 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                         }
                         sbsg.switchLabels().switchLabel().forEach(
                             (sl) -> labels.add(
-                                new QueenSwitchLabelNode(
+                                this.indexed(new QueenSwitchLabelNode(
                                     getPosition(sl),
                                     sl.DEFAULT() != null ? null :
                                         this.visitConstantExpression(sl.constantExpression()),
                                     sl.DEFAULT() != null
-                                )
+                                ))
                             )
                         );
                         entries.add(
-                            new QueenSwitchEntryNode(
+                            this.indexed(new QueenSwitchEntryNode(
                                 p,
                                 labels,
                                 blockStatements
-                            )
+                            ))
                         );
                     }
                 );
@@ -1726,29 +1783,29 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 final List<SwitchLabelNode> labels = new ArrayList<>();
                 ctx.switchBlock().switchLabel().forEach(
                     (sl) -> labels.add(
-                        new QueenSwitchLabelNode(
+                        this.indexed(new QueenSwitchLabelNode(
                             getPosition(sl),
                             sl.DEFAULT() != null ? null :
                                 this.visitConstantExpression(sl.constantExpression()),
                             sl.DEFAULT() != null
-                        )
+                        ))
                     )
                 );
                 entries.add(
-                    new QueenSwitchEntryNode(
+                    this.indexed(new QueenSwitchEntryNode(
                         getPosition(ctx.switchBlock()),
                         labels,
                         null
-                    )
+                    ))
                 );
             }
         }
 
-        return new QueenSwitchStatementNode(
+        return this.indexed(new QueenSwitchStatementNode(
             position,
             expression,
             entries
-        );
+        ));
     }
 
     @Override    
@@ -1763,13 +1820,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                     cc -> catchClauses.add(this.visitCatchClause(cc))
                 );
             }
-            return new QueenTryStatementNode(
+            return this.indexed(new QueenTryStatementNode(
                 position,
                 new ArrayList<>(),
                 this.visitBlock(ctx.block()),
                 catchClauses,
                 ctx.finally_() != null ? this.visitFinally_(ctx.finally_()) : null
-            );
+            ));
         }
     }
 
@@ -1786,13 +1843,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 cc -> catchClauses.add(this.visitCatchClause(cc))
             );
         }
-        return new QueenTryStatementNode(
+        return this.indexed(new QueenTryStatementNode(
             position,
             resources,
             this.visitBlock(ctx.block()),
             catchClauses,
             ctx.finally_() != null ? this.visitFinally_(ctx.finally_()) : null
-        );
+        ));
     }
 
     @Override    
@@ -1813,40 +1870,40 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                     }
                     if(vm.FINAL() != null) {
                         modifiers.add(
-                            new QueenModifierNode(
+                            this.indexed(new QueenModifierNode(
                                 this.getPosition(vm),
                                 vm.FINAL().getText()
-                            )
+                            ))
                         );
                     }
                 }
             );
         }
 
-        return new QueenLocalVariableDeclarationNode(
+        return this.indexed(new QueenLocalVariableDeclarationNode(
             position,
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
             Arrays.asList(
-                new QueenVariableDeclaratorNode(
+                this.indexed(new QueenVariableDeclaratorNode(
                     getPosition(ctx),
                     this.visitVariableDeclaratorId(ctx.variableDeclaratorId()),
                     this.visitExpression(ctx.expression())
-                )
+                ))
             )
-        );
+        ));
     }
 
     @Override    
     public CatchClauseNode visitCatchClause(QueenParser.CatchClauseContext ctx) {
         final Position position = getPosition(ctx);
         final CatchFormalParameterNode parameter = this.visitCatchFormalParameter(ctx.catchFormalParameter());
-        return new QueenCatchClauseNode(
+        return this.indexed(new QueenCatchClauseNode(
             position,
             parameter,
             this.visitBlock(ctx.block())
-        );
+        ));
     }
 
     @Override    
@@ -1862,7 +1919,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                    }
                    if (vm.FINAL() != null) {
                        modifiers.add(
-                           new QueenModifierNode(getPosition(vm), vm.FINAL().getText())
+                           this.indexed(new QueenModifierNode(getPosition(vm), vm.FINAL().getText()))
                        );
                    }
                }
@@ -1872,21 +1929,21 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.catchType().unannClassType().forEach(
             ct -> catchTypes.add(this.visitUnannClassType(ct))
         );
-        return new QueenCatchFormalParameterNode(
+        return this.indexed(new QueenCatchFormalParameterNode(
             position,
             annotations,
             modifiers,
             catchTypes,
             this.visitVariableDeclaratorId(ctx.variableDeclaratorId())
-        );
+        ));
     }
 
     @Override    
     public StatementNode visitExpressionStatement(QueenParser.ExpressionStatementContext ctx) {
-        return new QueenExpressionStatementNode(
+        return this.indexed(new QueenExpressionStatementNode(
             getPosition(ctx),
             this.visitStatementExpression(ctx.statementExpression())
-        );
+        ));
     }
 
     @Override    
@@ -1914,12 +1971,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final ExpressionNode target = this.visitLeftHandSide(ctx.leftHandSide());
         final String operator = asString(ctx.assignmentOperator()).trim().toUpperCase();
         final ExpressionNode value = this.visitExpression(ctx.expression());
-        return new QueenAssignmentExpressionNode(
+        return this.indexed(new QueenAssignmentExpressionNode(
             position,
             target,
             operator,
             value
-        );
+        ));
     }
 
     @Override    
@@ -1938,9 +1995,9 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final Position position = getPosition(ctx);
         final String name;
         if(ctx.methodName() != null) {
-            name = ctx.methodName().Identifier().getText();
+            name = this.symbols.identifier(ctx.methodName().Identifier().getText());
         } else {
-            name = ctx.Identifier().getText();
+            name = this.symbols.identifier(ctx.Identifier().getText());
         }
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
@@ -1955,14 +2012,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final ExpressionNode scope;
         if(ctx.SUPER() != null && ctx.typeName() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx.typeName()),
                 this.visitTypeName(ctx.typeName())
-            );
+            ));
         } else if(ctx.SUPER() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx)
-            );
+            ));
         } else if(ctx.primary() != null) {
             scope = this.visitPrimary(ctx.primary());
         } else if(ctx.expressionName() != null) {
@@ -1972,18 +2029,18 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             scope = null;
         }
-        return new QueenMethodInvocationExpressionNode(
+        return this.indexed(new QueenMethodInvocationExpressionNode(
             position,
             scope,
             typeArguments,
             name,
             arguments
-        );
+        ));
     }
 
     public ExpressionNode visitMethodInvocation_lf_primary(ExpressionNode scope, QueenParser.MethodInvocation_lf_primaryContext ctx) {
         final Position position = getPosition(ctx);
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
             ctx.typeArguments().typeArgumentList().typeArgument()
@@ -1995,13 +2052,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 e -> arguments.add(this.visitExpression(e))
             );
         }
-        return new QueenMethodInvocationExpressionNode(
+        return this.indexed(new QueenMethodInvocationExpressionNode(
             position,
             scope,
             typeArguments,
             name,
             arguments
-        );
+        ));
     }
 
     @Override    
@@ -2009,9 +2066,9 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final Position position = getPosition(ctx);
         final String name;
         if(ctx.methodName() != null) {
-            name = ctx.methodName().Identifier().getText();
+            name = this.symbols.identifier(ctx.methodName().Identifier().getText());
         } else {
-            name = ctx.Identifier().getText();
+            name = this.symbols.identifier(ctx.Identifier().getText());
         }
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
@@ -2026,14 +2083,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final ExpressionNode scope;
         if(ctx.SUPER() != null && ctx.typeName() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx.typeName()),
                 this.visitTypeName(ctx.typeName())
-            );
+            ));
         } else if(ctx.SUPER() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx)
-            );
+            ));
         } else if(ctx.expressionName() != null) {
             scope = this.visitExpressionName(ctx.expressionName());
         } else if(ctx.typeName() != null) {
@@ -2041,13 +2098,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             scope = null;
         }
-        return new QueenMethodInvocationExpressionNode(
+        return this.indexed(new QueenMethodInvocationExpressionNode(
             position,
             scope,
             typeArguments,
             name,
             arguments
-        );
+        ));
     }
 
     @Override    
@@ -2060,7 +2117,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final String identifier;
         if(ctx.Identifier() != null) {
-            identifier = ctx.Identifier().getText();
+            identifier = this.symbols.identifier(ctx.Identifier().getText());
         } else {
             identifier = ctx.NEW().getText();
         }
@@ -2070,14 +2127,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else if(ctx.primary() != null) {
             scope = this.visitPrimary(ctx.primary());
         } else if(ctx.typeName() != null && ctx.SUPER() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx.typeName()),
                 this.visitTypeName(ctx.typeName())
-            );
+            ));
         } else if(ctx.SUPER() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx)
-            );
+            ));
         } else {
             scope = null;
         }
@@ -2091,13 +2148,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             type = null;
         }
-        return new QueenMethodReferenceExpressionNode(
+        return this.indexed(new QueenMethodReferenceExpressionNode(
             position,
             type,
             scope,
             typeArguments,
             identifier
-        );
+        ));
     }
 
     public ExpressionNode visitMethodReference_lf_primary(ExpressionNode scope, QueenParser.MethodReference_lf_primaryContext ctx) {
@@ -2107,14 +2164,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             ctx.typeArguments().typeArgumentList().typeArgument()
                 .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
         }
-        final String identifier = ctx.Identifier().getText();
-        return new QueenMethodReferenceExpressionNode(
+        final String identifier = this.symbols.identifier(ctx.Identifier().getText());
+        return this.indexed(new QueenMethodReferenceExpressionNode(
             position,
             null,
             scope,
             typeArguments,
             identifier
-        );
+        ));
     }
 
     @Override    
@@ -2127,7 +2184,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final String identifier;
         if(ctx.Identifier() != null) {
-            identifier = ctx.Identifier().getText();
+            identifier = this.symbols.identifier(ctx.Identifier().getText());
         } else {
             identifier = ctx.NEW().getText();
         }
@@ -2135,14 +2192,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         if(ctx.expressionName() != null) {
             scope = this.visitExpressionName(ctx.expressionName());
         } else if(ctx.typeName() != null && ctx.SUPER() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx.typeName()),
                 this.visitTypeName(ctx.typeName())
-            );
+            ));
         } else if(ctx.SUPER() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx)
-            );
+            ));
         } else {
             scope = null;
         }
@@ -2156,13 +2213,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             type = null;
         }
-        return new QueenMethodReferenceExpressionNode(
+        return this.indexed(new QueenMethodReferenceExpressionNode(
             position,
             type,
             scope,
             typeArguments,
             identifier
-        );
+        ));
     }
 
     @Override    
@@ -2196,24 +2253,24 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final QueenClassBodyNode classBody;
         if(ctx.classBody() != null) {
-            classBody = new QueenClassBodyNode(
+            classBody = this.indexed(new QueenClassBodyNode(
                 getPosition(ctx.classBody()),
                 ctx.classBody().classBodyDeclaration().stream().map(
                     this::visitClassBodyDeclaration
                 ).collect(Collectors.toList())
-            );
+            ));
         } else {
             classBody = null;
         }
 
-        return new QueenObjectCreationExpressionNode(
+        return this.indexed(new QueenObjectCreationExpressionNode(
             position,
             scope,
             type,
             typeArguments,
             arguments,
             classBody
-        );
+        ));
     }
 
     public ExpressionNode visitClassInstanceCreationExpression_lf_primary(ExpressionNode scope, QueenParser.ClassInstanceCreationExpression_lf_primaryContext ctx) {
@@ -2237,24 +2294,24 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final QueenClassBodyNode classBody;
         if(ctx.classBody() != null) {
-            classBody = new QueenClassBodyNode(
+            classBody = this.indexed(new QueenClassBodyNode(
                 getPosition(ctx.classBody()),
                 ctx.classBody().classBodyDeclaration().stream().map(
                     this::visitClassBodyDeclaration
                 ).collect(Collectors.toList())
-            );
+            ));
         } else {
             classBody = null;
         }
 
-        return new QueenObjectCreationExpressionNode(
+        return this.indexed(new QueenObjectCreationExpressionNode(
             position,
             scope,
             type,
             typeArguments,
             arguments,
             classBody
-        );
+        ));
     }
 
     @Override    
@@ -2286,24 +2343,24 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         }
         final QueenClassBodyNode classBody;
         if(ctx.classBody() != null) {
-            classBody = new QueenClassBodyNode(
+            classBody = this.indexed(new QueenClassBodyNode(
                 getPosition(ctx.classBody()),
                 ctx.classBody().classBodyDeclaration().stream().map(
                     this::visitClassBodyDeclaration
                 ).collect(Collectors.toList())
-            );
+            ));
         } else {
             classBody = null;
         }
 
-        return new QueenObjectCreationExpressionNode(
+        return this.indexed(new QueenObjectCreationExpressionNode(
             position,
             scope,
             type,
             typeArguments,
             arguments,
             classBody
-        );
+        ));
     }
 
     public ClassOrInterfaceTypeNode visitConstructorIdentifier(
@@ -2316,7 +2373,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         final boolean isDiamondOperator;
         if(typeArgsOrDiamondCtx != null) {
@@ -2331,7 +2388,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             isDiamondOperator = false;
         }
-        return new QueenClassOrInterfaceTypeNode(
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             scope,
@@ -2339,7 +2396,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             name,
             typeArguments,
             isDiamondOperator
-        );
+        ));
     }
 
     @Override    
@@ -2353,17 +2410,17 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final List<ArrayDimensionNode> dims = new ArrayList<>();
         ctx.expression().forEach(
             e -> dims.add(
-                new QueenArrayDimensionNode(
+                this.indexed(new QueenArrayDimensionNode(
                     getPosition(e),
                     this.visitExpression(e)
-                )
+                ))
             )
         );
-        return new QueenArrayAccessExpressionNode(
+        return this.indexed(new QueenArrayAccessExpressionNode(
             getPosition(ctx),
             name,
             dims
-        );
+        ));
     }
 
     public ExpressionNode visitArrayAccess_lf_primary(ExpressionNode scope, QueenParser.ArrayAccess_lf_primaryContext ctx) {
@@ -2373,17 +2430,17 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final List<ArrayDimensionNode> dims = new ArrayList<>();
         ctx.expression().forEach(
             e -> dims.add(
-                new QueenArrayDimensionNode(
+                this.indexed(new QueenArrayDimensionNode(
                     getPosition(e),
                     this.visitExpression(e)
-                )
+                ))
             )
         );
-        return new QueenArrayAccessExpressionNode(
+        return this.indexed(new QueenArrayAccessExpressionNode(
             getPosition(ctx),
             name,
             dims
-        );
+        ));
     }
 
     @Override    
@@ -2399,17 +2456,17 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final List<ArrayDimensionNode> dims = new ArrayList<>();
         ctx.expression().forEach(
             e -> dims.add(
-                new QueenArrayDimensionNode(
+                this.indexed(new QueenArrayDimensionNode(
                     getPosition(e),
                     this.visitExpression(e)
-                )
+                ))
             )
         );
-        return new QueenArrayAccessExpressionNode(
+        return this.indexed(new QueenArrayAccessExpressionNode(
             getPosition(ctx),
             name,
             dims
-        );
+        ));
     }
 
     public ExpressionNode visitPrimaryNoNewArray_lf_primary_lfno_arrayAccess_lf_primary(ExpressionNode scope, QueenParser.PrimaryNoNewArray_lf_primary_lfno_arrayAccess_lf_primaryContext ctx) {
@@ -2445,62 +2502,62 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             if(ctx.unannDim() != null) {
                 ctx.unannDim().forEach(
                     dim -> dims.add(
-                        new QueenArrayDimensionNode(getPosition(dim))
+                        this.indexed(new QueenArrayDimensionNode(getPosition(dim)))
                     )
                 );
             }
             final TypeNode typeNode;
             if(this.isTypeNamePrimitive(ctx.typeName())) {
-                typeNode = new QueenPrimitiveTypeNode(
+                typeNode = this.indexed(new QueenPrimitiveTypeNode(
                     getPosition(ctx.typeName()),
                     new ArrayList<>(),
-                    ctx.typeName().Identifier().getText()
-                );
+                    this.symbols.identifier(ctx.typeName().Identifier().getText())
+                ));
             } else {
                 typeNode = this.nameNodeToClassOrInterfaceType(this.visitTypeName(ctx.typeName()));
             }
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx.typeName()),
                 typeNode,
                 dims
-            );
+            ));
         } else if(ctx.unannPrimitiveType() != null && ctx.IMPLEMENTATION() != null) {
             final PrimitiveTypeNode primitiveType = this.visitUnannPrimitiveType(ctx.unannPrimitiveType());
             final List<ArrayDimensionNode> dims = new ArrayList<>();
             if(ctx.unannDim() != null) {
                 ctx.unannDim().forEach(
                     dim -> dims.add(
-                        new QueenArrayDimensionNode(getPosition(dim))
+                        this.indexed(new QueenArrayDimensionNode(getPosition(dim)))
                     )
                 );
             }
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx.unannPrimitiveType()),
                 primitiveType,
                 dims
-            );
+            ));
         } else if(ctx.VOID() != null && ctx.IMPLEMENTATION() != null) {
-            return new QueenTypeImplementationExpressionNode(
+            return this.indexed(new QueenTypeImplementationExpressionNode(
                 getPosition(ctx),
-                new QueenVoidNode(getPosition(ctx)),
+                this.indexed(new QueenVoidNode(getPosition(ctx))),
                 new ArrayList<>()
-            );
+            ));
         } else if(ctx.THIS() != null) {
             if(ctx.typeName() != null) {
-                return new QueenThisExpressionNode(
+                return this.indexed(new QueenThisExpressionNode(
                     getPosition(ctx),
                     this.visitTypeName(ctx.typeName())
-                );
+                ));
             } else {
-                return new QueenThisExpressionNode(
+                return this.indexed(new QueenThisExpressionNode(
                     getPosition(ctx)
-                );
+                ));
             }
         } else if(ctx.LPAREN() != null && ctx.expression() != null && ctx.RPAREN() != null) {
-            return new QueenBracketedExpressionNode(
+            return this.indexed(new QueenBracketedExpressionNode(
                 getPosition(ctx.expression()),
                 this.visitExpression(ctx.expression())
-            );
+            ));
         } else if(ctx.classInstanceCreationExpression_lfno_primary() != null) {
             return this.visitClassInstanceCreationExpression_lfno_primary(ctx.classInstanceCreationExpression_lfno_primary());
         } else if(ctx.fieldAccess_lfno_primary() != null) {
@@ -2519,28 +2576,28 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         if(ctx.primary() != null) {
             scope = this.visitPrimary(ctx.primary());
         } else if(ctx.typeName() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx.typeName()),
                 this.visitTypeName(ctx.typeName())
-            );
+            ));
         } else {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx)
-            );
+            ));
         }
-        return new QueenFieldAccessExpressionNode(
+        return this.indexed(new QueenFieldAccessExpressionNode(
             position,
             scope,
-            ctx.Identifier().getText()
-        );
+            this.symbols.identifier(ctx.Identifier().getText())
+        ));
     }
 
     public ExpressionNode visitFieldAccess_lf_primary(ExpressionNode scope, QueenParser.FieldAccess_lf_primaryContext ctx) {
-        return new QueenFieldAccessExpressionNode(
+        return this.indexed(new QueenFieldAccessExpressionNode(
             getPosition(ctx),
             scope,
-            ctx.Identifier().getText()
-        );
+            this.symbols.identifier(ctx.Identifier().getText())
+        ));
     }
 
     @Override    
@@ -2548,20 +2605,20 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         final Position position = getPosition(ctx);
         final ExpressionNode scope;
         if(ctx.typeName() != null) {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx.typeName()),
                 this.visitTypeName(ctx.typeName())
-            );
+            ));
         } else {
-            scope = new QueenSuperExpressionNode(
+            scope = this.indexed(new QueenSuperExpressionNode(
                 getPosition(ctx)
-            );
+            ));
         }
-        return new QueenFieldAccessExpressionNode(
+        return this.indexed(new QueenFieldAccessExpressionNode(
             position,
             scope,
-            ctx.Identifier().getText()
-        );
+            this.symbols.identifier(ctx.Identifier().getText())
+        ));
     }
 
     @Override    
@@ -2571,19 +2628,19 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else if (ctx.preDecrementExpression() != null) {
             return this.visitPreDecrementExpression(ctx.preDecrementExpression());
         } else if(ctx.ADD() != null){
-            return new QueenUnaryExpressionNode(
+            return this.indexed(new QueenUnaryExpressionNode(
                 getPosition(ctx),
                 ctx.ADD().getText(),
                 true,
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else if(ctx.SUB() != null){
-            return new QueenUnaryExpressionNode(
+            return this.indexed(new QueenUnaryExpressionNode(
                 getPosition(ctx),
                 ctx.SUB().getText(),
                 true,
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else {
             return this.visitUnaryExpressionNotPlusMinus(ctx.unaryExpressionNotPlusMinus());
         }
@@ -2592,26 +2649,26 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitMultiplicativeExpression(QueenParser.MultiplicativeExpressionContext ctx) {
         if(ctx.MUL() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitMultiplicativeExpression(ctx.multiplicativeExpression()),
                 ctx.MUL().getText(),
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else if(ctx.DIV() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitMultiplicativeExpression(ctx.multiplicativeExpression()),
                 ctx.DIV().getText(),
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else if(ctx.MOD() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitMultiplicativeExpression(ctx.multiplicativeExpression()),
                 ctx.MOD().getText(),
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else {
             return this.visitUnaryExpression(ctx.unaryExpression());
         }
@@ -2620,19 +2677,19 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitAdditiveExpression(QueenParser.AdditiveExpressionContext ctx) {
         if(ctx.ADD() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitAdditiveExpression(ctx.additiveExpression()),
                 ctx.ADD().getText(),
                 this.visitMultiplicativeExpression(ctx.multiplicativeExpression())
-            );
+            ));
         } else if(ctx.SUB() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitAdditiveExpression(ctx.additiveExpression()),
                 ctx.SUB().getText(),
                 this.visitMultiplicativeExpression(ctx.multiplicativeExpression())
-            );
+            ));
         } else {
             return this.visitMultiplicativeExpression(ctx.multiplicativeExpression());
         }
@@ -2641,26 +2698,26 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitShiftExpression(QueenParser.ShiftExpressionContext ctx) {
         if(ctx.GT() != null && ctx.GT().size() == 3) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitShiftExpression(ctx.shiftExpression()),
                 ">>>",
                 this.visitAdditiveExpression(ctx.additiveExpression())
-            );
+            ));
         } else if(ctx.GT() != null && ctx.GT().size() == 2) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitShiftExpression(ctx.shiftExpression()),
                 ">>",
                 this.visitAdditiveExpression(ctx.additiveExpression())
-            );
+            ));
         } else if(ctx.LT() != null && ctx.LT().size() == 2) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitShiftExpression(ctx.shiftExpression()),
                 "<<",
                 this.visitAdditiveExpression(ctx.additiveExpression())
-            );
+            ));
         } else {
             return this.visitAdditiveExpression(ctx.additiveExpression());
         }
@@ -2669,39 +2726,39 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitRelationalExpression(QueenParser.RelationalExpressionContext ctx) {
         if(ctx.LT() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitRelationalExpression(ctx.relationalExpression()),
                 ctx.LT().getText(),
                 this.visitShiftExpression(ctx.shiftExpression())
-            );
+            ));
         } else if(ctx.GT() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitRelationalExpression(ctx.relationalExpression()),
                 ctx.GT().getText(),
                 this.visitShiftExpression(ctx.shiftExpression())
-            );
+            ));
         } else if(ctx.LE() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitRelationalExpression(ctx.relationalExpression()),
                 ctx.LE().getText(),
                 this.visitShiftExpression(ctx.shiftExpression())
-            );
+            ));
         } else if(ctx.GE() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitRelationalExpression(ctx.relationalExpression()),
                 ctx.GE().getText(),
                 this.visitShiftExpression(ctx.shiftExpression())
-            );
+            ));
         } else if(ctx.INSTANCEOF() != null) {
-            return new QueenInstanceOfExpressionNode(
+            return this.indexed(new QueenInstanceOfExpressionNode(
                 getPosition(ctx),
                 this.visitRelationalExpression(ctx.relationalExpression()),
                 this.visitReferenceType(ctx.referenceType())
-            );
+            ));
         } else {
             return this.visitShiftExpression(ctx.shiftExpression());
         }
@@ -2710,19 +2767,19 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitEqualityExpression(QueenParser.EqualityExpressionContext ctx) {
         if(ctx.EQUAL() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitEqualityExpression(ctx.equalityExpression()),
                 ctx.EQUAL().getText(),
                 this.visitRelationalExpression(ctx.relationalExpression())
-            );
+            ));
         } else if(ctx.NOTEQUAL() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitEqualityExpression(ctx.equalityExpression()),
                 ctx.NOTEQUAL().getText(),
                 this.visitRelationalExpression(ctx.relationalExpression())
-            );
+            ));
         } else {
             return this.visitRelationalExpression(ctx.relationalExpression());
         }
@@ -2731,12 +2788,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitAndExpression(QueenParser.AndExpressionContext ctx) {
         if(ctx.BITAND() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitAndExpression(ctx.andExpression()),
                 ctx.BITAND().getText(),
                 this.visitEqualityExpression(ctx.equalityExpression())
-            );
+            ));
         } else {
             return this.visitEqualityExpression(ctx.equalityExpression());
         }
@@ -2745,12 +2802,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitExclusiveOrExpression(final QueenParser.ExclusiveOrExpressionContext ctx) {
         if(ctx.CARET() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitExclusiveOrExpression(ctx.exclusiveOrExpression()),
                 ctx.CARET().getText(),
                 this.visitAndExpression(ctx.andExpression())
-            );
+            ));
         } else {
             return this.visitAndExpression(ctx.andExpression());
         }
@@ -2759,12 +2816,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitInclusiveOrExpression(final QueenParser.InclusiveOrExpressionContext ctx) {
         if(ctx.BITOR() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitInclusiveOrExpression(ctx.inclusiveOrExpression()),
                 ctx.BITOR().getText(),
                 this.visitExclusiveOrExpression(ctx.exclusiveOrExpression())
-            );
+            ));
         } else {
             return this.visitExclusiveOrExpression(ctx.exclusiveOrExpression());
         }
@@ -2773,12 +2830,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitConditionalAndExpression(final QueenParser.ConditionalAndExpressionContext ctx) {
         if(ctx.AND() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitConditionalAndExpression(ctx.conditionalAndExpression()),
                 ctx.AND().getText(),
                 this.visitInclusiveOrExpression(ctx.inclusiveOrExpression())
-            );
+            ));
         } else {
             return this.visitInclusiveOrExpression(ctx.inclusiveOrExpression());
         }
@@ -2787,12 +2844,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitConditionalOrExpression(final QueenParser.ConditionalOrExpressionContext ctx) {
         if(ctx.OR() != null) {
-            return new QueenBinaryExpressionNode(
+            return this.indexed(new QueenBinaryExpressionNode(
                 getPosition(ctx),
                 this.visitConditionalOrExpression(ctx.conditionalOrExpression()),
                 ctx.OR().getText(),
                 this.visitConditionalAndExpression(ctx.conditionalAndExpression())
-            );
+            ));
         } else {
             return this.visitConditionalAndExpression(ctx.conditionalAndExpression());
         }
@@ -2801,12 +2858,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitConditionalExpression(final QueenParser.ConditionalExpressionContext ctx) {
         if(ctx.QUESTION() != null) {
-            return new QueenConditionalExpressionNode(
+            return this.indexed(new QueenConditionalExpressionNode(
                 getPosition(ctx),
                 this.visitConditionalOrExpression(ctx.conditionalOrExpression()),
                 this.visitExpression(ctx.expression()),
                 this.visitConditionalExpression(ctx.conditionalExpression())
-            );
+            ));
         } else {
             return this.visitConditionalOrExpression(ctx.conditionalOrExpression());
         }
@@ -2814,42 +2871,42 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
 
     @Override    
     public ExpressionNode visitPreIncrementExpression(QueenParser.PreIncrementExpressionContext ctx) {
-        return new QueenUnaryExpressionNode(
+        return this.indexed(new QueenUnaryExpressionNode(
             getPosition(ctx),
             "++",
             true,
             this.visitUnaryExpression(ctx.unaryExpression())
-        );
+        ));
     }
 
     @Override    
     public ExpressionNode visitPreDecrementExpression(QueenParser.PreDecrementExpressionContext ctx) {
-        return new QueenUnaryExpressionNode(
+        return this.indexed(new QueenUnaryExpressionNode(
             getPosition(ctx),
             "--",
             true,
             this.visitUnaryExpression(ctx.unaryExpression())
-        );
+        ));
     }
 
     @Override    
     public ExpressionNode visitPostIncrementExpression(QueenParser.PostIncrementExpressionContext ctx) {
-        return new QueenUnaryExpressionNode(
+        return this.indexed(new QueenUnaryExpressionNode(
             getPosition(ctx),
             "++",
             false,
             this.visitPostfixExpression(ctx.postfixExpression())
-        );
+        ));
     }
 
     @Override    
     public ExpressionNode visitPostDecrementExpression(QueenParser.PostDecrementExpressionContext ctx) {
-        return new QueenUnaryExpressionNode(
+        return this.indexed(new QueenUnaryExpressionNode(
             getPosition(ctx),
             "--",
             false,
             this.visitPostfixExpression(ctx.postfixExpression())
-        );
+        ));
     }
 
     @Override    
@@ -2857,19 +2914,19 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         if(ctx.postfixExpression() != null) {
             return this.visitPostfixExpression(ctx.postfixExpression());
         } else if(ctx.TILDE() != null) {
-            return new QueenUnaryExpressionNode(
+            return this.indexed(new QueenUnaryExpressionNode(
                 getPosition(ctx),
                 ctx.TILDE().getText(),
                 true,
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else if(ctx.BANG() != null) {
-            return new QueenUnaryExpressionNode(
+            return this.indexed(new QueenUnaryExpressionNode(
                 getPosition(ctx),
                 ctx.BANG().getText(),
                 true,
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else {
             return this.visitCastExpression(ctx.castExpression());
         }
@@ -2878,12 +2935,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
     @Override    
     public ExpressionNode visitCastExpression(QueenParser.CastExpressionContext ctx) {
         if(ctx.primitiveType() != null) {
-            return new QueenCastExpressionNode(
+            return this.indexed(new QueenCastExpressionNode(
                 getPosition(ctx),
                 this.visitPrimitiveType(ctx.primitiveType()),
                 Arrays.asList(),
                 this.visitUnaryExpression(ctx.unaryExpression())
-            );
+            ));
         } else {
             final List<ReferenceTypeNode> referenceTypes = new ArrayList<>();
             referenceTypes.add(this.visitReferenceType(ctx.referenceType()));
@@ -2895,17 +2952,17 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 );
             }
             if(ctx.unaryExpressionNotPlusMinus() != null) {
-                return new QueenCastExpressionNode(
+                return this.indexed(new QueenCastExpressionNode(
                     getPosition(ctx),
                     referenceTypes,
                     this.visitUnaryExpressionNotPlusMinus(ctx.unaryExpressionNotPlusMinus())
-                );
+                ));
             } else {
-                return new QueenCastExpressionNode(
+                return this.indexed(new QueenCastExpressionNode(
                     getPosition(ctx),
                     referenceTypes,
                     this.visitLambdaExpression(ctx.lambdaExpression())
-                );
+                ));
             }
         }
     }
@@ -2921,24 +2978,24 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             }
             if(ctx.lambdaParameters().Identifier() != null) {
                 parameters.add(
-                    new QueenParameterNode(
+                    this.indexed(new QueenParameterNode(
                         getPosition(ctx.lambdaParameters()),
-                        new QueenVariableDeclaratorId(
+                        this.indexed(new QueenVariableDeclaratorId(
                             getPosition(ctx.lambdaParameters()),
-                            ctx.lambdaParameters().Identifier().getText()
-                        )
-                    )
+                            this.symbols.identifier(ctx.lambdaParameters().Identifier().getText())
+                        ))
+                    ))
                 );
             } else if(ctx.lambdaParameters().inferredFormalParameterList() != null) {
                 ctx.lambdaParameters().inferredFormalParameterList().Identifier().forEach(
                     inferred -> parameters.add(
-                        new QueenParameterNode(
+                        this.indexed(new QueenParameterNode(
                             getPosition(ctx.lambdaParameters().inferredFormalParameterList()),
-                            new QueenVariableDeclaratorId(
+                            this.indexed(new QueenVariableDeclaratorId(
                                 getPosition(ctx.lambdaParameters().inferredFormalParameterList()),
-                                inferred.getText()
-                            )
-                        )
+                                this.symbols.identifier(inferred.getText())
+                            ))
+                        ))
                     )
                 );
             } else {
@@ -2961,13 +3018,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             queenBlockStatements = null;
             expression = this.visitExpression(ctx.lambdaBody().expression());
         }
-        return new QueenLambdaExpressionNode(
+        return this.indexed(new QueenLambdaExpressionNode(
             position,
             enclosedParameters,
-            new QueenParameterList(getPosition(ctx.lambdaParameters()), parameters),
+            this.indexed(new QueenParameterList(getPosition(ctx.lambdaParameters()), parameters)),
             expression,
             queenBlockStatements
-        );
+        ));
     }
 
     @Override    
@@ -2979,20 +3036,20 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             postfixExpression=  this.visitExpressionName(ctx.expressionName());
         }
         for(int i=0; i<ctx.postIncrementExpression_lf_postfixExpression().size(); i++) {
-            postfixExpression = new QueenUnaryExpressionNode(
+            postfixExpression = this.indexed(new QueenUnaryExpressionNode(
                 getPosition(ctx),
                 "++",
                 false,
                 postfixExpression
-            );
+            ));
         }
         for(int i=0; i<ctx.postDecrementExpression_lf_postfixExpression().size(); i++) {
-            postfixExpression = new QueenUnaryExpressionNode(
+            postfixExpression = this.indexed(new QueenUnaryExpressionNode(
                 getPosition(ctx),
                 "--",
                 false,
                 postfixExpression
-            );
+            ));
         }
         return postfixExpression;
     }
@@ -3005,7 +3062,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 imd -> members.add(this.visitInterfaceMemberDeclaration(imd))
             );
         }
-        return new QueenInterfaceBodyNode(getPosition(ctx), members);
+        return this.indexed(new QueenInterfaceBodyNode(getPosition(ctx), members));
     }
 
     @Override    
@@ -3016,7 +3073,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 amd -> members.add(this.visitAnnotationTypeMemberDeclaration(amd))
             );
         }
-        return new QueenAnnotationTypeBodyNode(getPosition(ctx), members);
+        return this.indexed(new QueenAnnotationTypeBodyNode(getPosition(ctx), members));
     }
 
     @Override    
@@ -3053,14 +3110,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotationTypeElementModifier().forEach(
             m -> modifiers.add(this.visitAnnotationTypeElementModifier(m))
         );
-        return new QueenAnnotationElementDeclarationNode(
+        return this.indexed(new QueenAnnotationElementDeclarationNode(
             this.getPosition(ctx),
             annotations,
             modifiers,
             this.visitUnannType(ctx.unannType()),
-            ctx.Identifier().getText(),
+            this.symbols.identifier(ctx.Identifier().getText()),
             ctx.defaultValue() != null ? this.visitElementValue(ctx.defaultValue().elementValue()) : null
-        );
+        ));
     }
 
     @Override    
@@ -3070,7 +3127,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<ClassOrInterfaceTypeNode> typeBound = new ArrayList<>();
         if(ctx.typeBound() != null) {
             final QueenParser.TypeBoundContext typeBoundContext = ctx.typeBound();
@@ -3092,12 +3149,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 );
             }
         }
-        return new QueenTypeParameterNode(
+        return this.indexed(new QueenTypeParameterNode(
             position,
             annotations,
             name,
             typeBound
-        );
+        ));
     }
 
     @Override    
@@ -3112,13 +3169,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
             ctx.typeArguments().typeArgumentList().typeArgument()
                 .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
         }
-        return new QueenClassOrInterfaceTypeNode(
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             ctx.classOrInterfaceType() != null ?
@@ -3129,7 +3186,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             name,
             typeArguments,
             false
-        );
+        ));
     }
 
     @Override    
@@ -3139,13 +3196,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
             ctx.typeArguments().typeArgumentList().typeArgument()
                 .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
         }
-        return new QueenClassOrInterfaceTypeNode(
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             ctx.unannClassOrInterfaceType() != null ?
@@ -3156,7 +3213,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             name,
             typeArguments,
             false
-        );
+        ));
     }
 
     @Override    
@@ -3166,13 +3223,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.classType().annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.classType().Identifier().getText();
+        final String name = this.symbols.identifier(ctx.classType().Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.classType().typeArguments() != null) {
             ctx.classType().typeArguments().typeArgumentList().typeArgument()
                 .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
         }
-        return new QueenClassOrInterfaceTypeNode(
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             true,
             ctx.classType().classOrInterfaceType() != null ?
@@ -3183,7 +3240,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             name,
             typeArguments,
             false
-        );
+        ));
     }
 
     @Override    
@@ -3213,14 +3270,14 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.Identifier().getText();
-        return new QueenClassOrInterfaceTypeNode(
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             annotations,
             name,
             new ArrayList<>()
-        );
+        ));
     }
 
     @Override    
@@ -3230,22 +3287,22 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
 
     public ClassOrInterfaceTypeNode visitUnannTypeVariable(List<AnnotationNode> annotations, QueenParser.UnannTypeVariableContext ctx) {
         final Position position = this.getPosition(ctx);
-        final String name = ctx.Identifier().getText();
-        return new QueenClassOrInterfaceTypeNode(
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             annotations,
             name,
             new ArrayList<>()
-        );
+        ));
     }
 
     @Override    
     public ExceptionTypeNode visitExceptionType(QueenParser.ExceptionTypeContext ctx) {
         if(ctx.classType() != null) {
-            return new QueenExceptionTypeNode(this.visitClassType(ctx.classType()));
+            return this.indexed(new QueenExceptionTypeNode(this.visitClassType(ctx.classType())));
         } else {
-            return new QueenExceptionTypeNode(this.visitTypeVariable(ctx.typeVariable()));
+            return this.indexed(new QueenExceptionTypeNode(this.visitTypeVariable(ctx.typeVariable())));
         }
     }
 
@@ -3262,11 +3319,11 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             name = asString(ctx.numericType());
         }
-        return new QueenPrimitiveTypeNode(
+        return this.indexed(new QueenPrimitiveTypeNode(
             position,
             annotations,
             name
-        );
+        ));
     }
 
     @Override    
@@ -3295,13 +3352,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             part.annotation().forEach(
                 a -> annotations.add(this.visitAnnotation(a))
             );
-            final String name = part.Identifier().getText();
+            final String name = this.symbols.identifier(part.Identifier().getText());
             final List<TypeNode> typeArguments = new ArrayList<>();
             if(part.typeArguments() != null) {
                 part.typeArguments().typeArgumentList().typeArgument()
                     .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
             }
-            classOrInterfaceTypeNode = new QueenClassOrInterfaceTypeNode(
+            classOrInterfaceTypeNode = this.indexed(new QueenClassOrInterfaceTypeNode(
                 position,
                 false,
                 classOrInterfaceTypeNode,
@@ -3309,7 +3366,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 name,
                 typeArguments,
                 false
-            );
+            ));
         }
         return classOrInterfaceTypeNode;
     }
@@ -3321,19 +3378,19 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.annotation().forEach(
             a -> annotations.add(this.visitAnnotation(a))
         );
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
             ctx.typeArguments().typeArgumentList().typeArgument()
                 .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
         }
-        return new QueenClassOrInterfaceTypeNode(
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             annotations,
             name,
             typeArguments
-        );
+        ));
     }
 
     @Override    
@@ -3351,11 +3408,11 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.dims().dim().forEach(
             d -> dims.add(this.visitDim(d))
         );
-        return new QueenArrayTypeNode(
+        return this.indexed(new QueenArrayTypeNode(
             position,
             type,
             dims
-        );
+        ));
     }
 
     @Override    
@@ -3377,11 +3434,11 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         ctx.dims().dim().forEach(
             d -> dims.add(this.visitDim(d))
         );
-        return new QueenArrayTypeNode(
+        return this.indexed(new QueenArrayTypeNode(
             position,
             type,
             dims
-        );
+        ));
     }
 
     @Override    
@@ -3400,12 +3457,12 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 extendedType = this.visitReferenceType(ctx.wildcardBounds().referenceType());
             }
         }
-        return new QueenWildcardNode(
+        return this.indexed(new QueenWildcardNode(
             position,
             annotations,
             extendedType,
             superType
-        );
+        ));
     }
 
     @Override    
@@ -3419,9 +3476,9 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
      */
     public TypeNode visitUnannType(List<AnnotationNode> annotations, QueenParser.UnannTypeContext ctx) {
         if(ctx.unannPrimitiveType() != null) {
-            return this.visitUnannPrimitiveType(annotations, ctx.unannPrimitiveType());
+            return this.shared(this.visitUnannPrimitiveType(annotations, ctx.unannPrimitiveType()));
         } else {
-            return this.visitUnannReferenceType(annotations, ctx.unannReferenceType());
+            return this.shared(this.visitUnannReferenceType(annotations, ctx.unannReferenceType()));
         }
     }
 
@@ -3438,11 +3495,11 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             name = asString(ctx.numericType());
         }
-        return new QueenPrimitiveTypeNode(
+        return this.indexed(new QueenPrimitiveTypeNode(
             position,
             annotations,
             name
-        );
+        ));
     }
 
     @Override    
@@ -3491,13 +3548,13 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             part.annotation().forEach(
                 a -> lfAnnotations.add(this.visitAnnotation(a))
             );
-            final String name = part.Identifier().getText();
+            final String name = this.symbols.identifier(part.Identifier().getText());
             final List<TypeNode> typeArguments = new ArrayList<>();
             if(part.typeArguments() != null) {
                 part.typeArguments().typeArgumentList().typeArgument()
                     .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
             }
-            unannClassOrInterfaceTypeNode = new QueenClassOrInterfaceTypeNode(
+            unannClassOrInterfaceTypeNode = this.indexed(new QueenClassOrInterfaceTypeNode(
                 position,
                 false,
                 unannClassOrInterfaceTypeNode,
@@ -3505,7 +3562,7 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
                 name,
                 typeArguments,
                 false
-            );
+            ));
         }
         return unannClassOrInterfaceTypeNode;
     }
@@ -3515,19 +3572,19 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         QueenParser.UnannClassType_lfno_unannClassOrInterfaceTypeContext ctx
     ) {
         final Position position = this.getPosition(ctx);
-        final String name = ctx.Identifier().getText();
+        final String name = this.symbols.identifier(ctx.Identifier().getText());
         final List<TypeNode> typeArguments = new ArrayList<>();
         if(ctx.typeArguments() != null) {
             ctx.typeArguments().typeArgumentList().typeArgument()
                 .forEach(ta -> typeArguments.add(this.visitTypeArgument(ta)));
         }
-        return new QueenClassOrInterfaceTypeNode(
+        return this.indexed(new QueenClassOrInterfaceTypeNode(
             position,
             false,
             annotations,
             name,
             typeArguments
-        );
+        ));
     }
 
 
@@ -3546,13 +3603,15 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
      * @return String.
      */
     private String asString(final ParserRuleContext ctx) {
-        return ctx.start.getInputStream()
-            .getText(
-                new Interval(
-                    ctx.start.getStartIndex(),
-                    ctx.stop.getStopIndex()
+        return this.symbols.identifier(
+            ctx.start.getInputStream()
+                .getText(
+                    new Interval(
+                        ctx.start.getStartIndex(),
+                        ctx.stop.getStopIndex()
+                    )
                 )
-            );
+        );
     }
 
     /**
@@ -3569,6 +3628,9 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
         } else {
             line = ctx.getStart().getLine();
             column = ctx.getStart().getCharPositionInLine();
+            if(this.shifts != null) {
+                return this.shifts.position(line, column);
+            }
         }
         return new Position() {
             @Override
@@ -3594,19 +3656,69 @@ public final class QueenParseTreeVisitor extends QueenParserBaseVisitor<QueenNod
             || identifier.equals("short") || identifier.equals("double") || identifier.equals("float") || identifier.equals("long");
     }
 
+    /**
+     * Create a QueenNameNode with interned identifier and qualified name. The qualified
+     * name is computed here, once, since the qualifier's name is already known.
+     * @param position Position of the name.
+     * @param qualifier Qualifier, may be null.
+     * @param identifier Identifier, as read from the ParseTree.
+     * @return QueenNameNode.
+     */
+    private QueenNameNode nameNode(final Position position, final QueenNameNode qualifier, final String identifier) {
+        final String interned = this.symbols.identifier(identifier);
+        if(qualifier == null) {
+            return this.indexed(new QueenNameNode(position, null, null, interned, interned));
+        }
+        return this.indexed(new QueenNameNode(
+            position,
+            null,
+            qualifier,
+            interned,
+            this.symbols.qualified(qualifier.name(), interned)
+        ));
+    }
+
     private ClassOrInterfaceTypeNode nameNodeToClassOrInterfaceType(final NameNode node) {
+        final ClassOrInterfaceTypeNode type;
         if(node.qualifier() == null) {
-            return new QueenClassOrInterfaceTypeNode(
+            type = new QueenClassOrInterfaceTypeNode(
                 node.position(),
                 node.identifier()
             );
         } else {
             final ClassOrInterfaceTypeNode scope = this.nameNodeToClassOrInterfaceType(node.qualifier());
-            return new QueenClassOrInterfaceTypeNode(
+            type = new QueenClassOrInterfaceTypeNode(
                 node.position(),
                 scope,
                 node.identifier()
             );
         }
+        this.nodes.replace(node, type);
+        return type;
+    }
+
+    /**
+     * Record a node created for the visited compilation unit, so it is indexed without
+     * walking the tree once it is built.
+     * @param node Node just created.
+     * @return The same node.
+     * @param <T> Type of the node.
+     */
+    private <T extends QueenNode> T indexed(final T node) {
+        this.nodes.add(node);
+        return node;
+    }
+
+    /**
+     * Share a type just created. If it is replaced by a shared occurrence, the replaced
+     * nodes are not indexed.
+     * @param type TypeNode.
+     * @return Shared TypeNode.
+     * @param <T> Type of the node.
+     */
+    private <T extends TypeNode> T shared(final T type) {
+        final T shared = this.types.share(type);
+        this.nodes.replace(type, shared);
+        return shared;
     }
 }
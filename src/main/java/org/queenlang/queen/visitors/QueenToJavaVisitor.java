@@ -33,6 +33,7 @@ import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.stmt.*;
 import com.github.javaparser.ast.type.*;
+import org.queenlang.queen.nodes.QueenNode;
 import org.queenlang.queen.nodes.names.NameNode;
 import org.queenlang.queen.nodes.body.*;
 import org.queenlang.queen.nodes.expressions.*;
@@ -45,12 +46,37 @@ import java.util.stream.Collectors;
 
 /**
  * Turn a Queen AST into Java AST.
+ *
+ * Optionally, it folds the constant expressions (e.g. 60 * 60 * 1000 becomes 3600000) and
+ * eliminates the if and while branches guarded by constant conditions (e.g. if (DEBUG) when
+ * DEBUG is false), with the values computed by a {@link ConstantExpressionVisitor}.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 0.0.1
  */
 public final class QueenToJavaVisitor implements QueenASTVisitor<Node> {
 
+    /**
+     * Values of the constant expressions, null if they should not be folded.
+     */
+    private final ConstantExpressionVisitor constants;
+
+    /**
+     * Ctor. The Java AST mirrors the Queen AST.
+     */
+    public QueenToJavaVisitor() {
+        this(null);
+    }
+
+    /**
+     * Ctor.
+     * @param constants Values of the constant expressions of the visited compilation unit,
+     *  which are folded. Null if they should be transpiled literally.
+     */
+    public QueenToJavaVisitor(final ConstantExpressionVisitor constants) {
+        this.constants = constants;
+    }
+
     @Override
     public CompilationUnit visitCompilationUnit(final CompilationUnitNode node) {
         final CompilationUnit cu = new CompilationUnit();
@@ -398,7 +424,9 @@ public final class QueenToJavaVisitor implements QueenASTVisitor<Node> {
         }
         final BlockStmt blockStmt = new BlockStmt();
         for(final StatementNode stmt : node) {
-            blockStmt.addStatement(this.visitStatementNode(stmt));
+            if(!this.isDead(stmt)) {
+                blockStmt.addStatement(this.visitStatementNode(stmt));
+            }
         }
         return blockStmt;
     }
@@ -527,6 +555,12 @@ public final class QueenToJavaVisitor implements QueenASTVisitor<Node> {
 
     @Override
     public Expression visitExpressionNode(final ExpressionNode node) {
+        if(this.isFoldable(node)) {
+            final Object constant = this.constants.value(node);
+            if(constant != null) {
+                return this.literal(constant);
+            }
+        }
         if(node == null) {
             return null;
         }
@@ -946,6 +980,15 @@ public final class QueenToJavaVisitor implements QueenASTVisitor<Node> {
 
     @Override
     public Statement visitStatementNode(final StatementNode node) {
+        if(this.isDead(node)) {
+            return new EmptyStmt();
+        }
+        if(node instanceof IfStatementNode && this.constants != null) {
+            final Statement branch = this.constantBranch((IfStatementNode) node);
+            if(branch != null) {
+                return branch;
+            }
+        }
         if(node instanceof ClassDeclarationNode) {
             return new LocalClassDeclarationStmt(this.visitClassDeclarationNode((ClassDeclarationNode) node));
         } else if(node instanceof AssertStatementNode) {
@@ -1299,6 +1342,145 @@ public final class QueenToJavaVisitor implements QueenASTVisitor<Node> {
         return null;
     }
 
+    /**
+     * Should the given expression be folded? Only operations are, since the literals and
+     * the names of the constants are as small as their values.
+     * @param node Expression.
+     * @return True or false.
+     */
+    private boolean isFoldable(final ExpressionNode node) {
+        if(this.constants == null) {
+            return false;
+        }
+        if(node instanceof UnaryExpressionNode) {
+            final ExpressionNode operand = ((UnaryExpressionNode) node).expression();
+            return !(operand instanceof IntegerLiteralExpressionNode || operand instanceof LongLiteralExpressionNode);
+        }
+        return node instanceof BinaryExpressionNode
+            || node instanceof BracketedExpressionNode
+            || node instanceof ConditionalExpressionNode;
+    }
+
+    /**
+     * Java literal of a constant value. Negative numbers are enclosed in parentheses,
+     * so they can be used as operands of any operator (e.g. of a cast).
+     * @param value Value computed by the ConstantExpressionVisitor.
+     * @return Expression.
+     */
+    private Expression literal(final Object value) {
+        final Expression literal;
+        if(value instanceof Boolean) {
+            return new BooleanLiteralExpr((Boolean) value);
+        } else if(value instanceof String) {
+            return new StringLiteralExpr().setString((String) value);
+        } else if(value instanceof Character) {
+            if((Character) value == '\'') {
+                return new CharLiteralExpr("\\'");
+            }
+            return new CharLiteralExpr((Character) value);
+        } else if(value instanceof Long) {
+            literal = new LongLiteralExpr(value + "L");
+        } else if(value instanceof Byte) {
+            literal = new CastExpr(PrimitiveType.byteType(), new IntegerLiteralExpr(value.toString()));
+        } else if(value instanceof Short) {
+            literal = new CastExpr(PrimitiveType.shortType(), new IntegerLiteralExpr(value.toString()));
+        } else {
+            literal = new IntegerLiteralExpr(value.toString());
+        }
+        if(((Number) value).longValue() < 0) {
+            return new EnclosedExpr(literal);
+        }
+        return literal;
+    }
+
+    /**
+     * Is the given statement dead code? It is an if statement without else, or a while
+     * statement, whose condition is false. It is never dead if it contains a break
+     * statement, since removing it could make the statements after a loop unreachable.
+     * @param node Statement.
+     * @return True or false.
+     */
+    private boolean isDead(final StatementNode node) {
+        if(this.constants == null) {
+            return false;
+        }
+        if(node instanceof IfStatementNode) {
+            final IfStatementNode ifStatement = (IfStatementNode) node;
+            return ifStatement.elseBlockStatements() == null
+                && Boolean.FALSE.equals(this.constants.condition(ifStatement.condition()))
+                && !contains(ifStatement, BreakStatementNode.class);
+        } else if(node instanceof WhileStatementNode) {
+            final WhileStatementNode whileStatement = (WhileStatementNode) node;
+            return Boolean.FALSE.equals(this.constants.value(whileStatement.expression()))
+                && !contains(whileStatement, BreakStatementNode.class);
+        }
+        return false;
+    }
+
+    /**
+     * The Java statement of an if statement with a constant condition and two branches: the
+     * branch which is always taken. If that branch might not complete normally (e.g. it returns),
+     * the if statement is kept instead, without the other branch, since the statements after it
+     * would become unreachable.
+     * @param node If statement.
+     * @return Statement or null if the condition is not constant.
+     */
+    private Statement constantBranch(final IfStatementNode node) {
+        final Boolean condition = this.constants.condition(node.condition());
+        if(condition == null || node.elseBlockStatements() == null) {
+            return null;
+        }
+        final StatementNode taken;
+        final StatementNode skipped;
+        if(condition) {
+            taken = node.thenBlockStatements();
+            skipped = node.elseBlockStatements();
+        } else {
+            taken = node.elseBlockStatements();
+            skipped = node.thenBlockStatements();
+        }
+        if(contains(skipped, BreakStatementNode.class)) {
+            return null;
+        }
+        if(contains(taken, ReturnStatementNode.class, ThrowStatementNode.class, BreakStatementNode.class,
+            ContinueStatementNode.class, WhileStatementNode.class, DoStatementNode.class, ForStatementNode.class)) {
+            final IfStmt ifStmt = new IfStmt();
+            ifStmt.setCondition(this.visitExpressionNode(node.condition()));
+            if(condition) {
+                ifStmt.setThenStmt(this.visitStatementNode(taken));
+            } else {
+                ifStmt.setThenStmt(new BlockStmt());
+                ifStmt.setElseStmt(this.visitStatementNode(taken));
+            }
+            return ifStmt;
+        }
+        return this.visitStatementNode(taken);
+    }
+
+    /**
+     * Does the given node, or any of its descendants, have any of the given types?
+     * @param node Queen node.
+     * @param types Node types.
+     * @return True or false.
+     */
+    @SafeVarargs
+    private static boolean contains(final QueenNode node, final Class<? extends QueenNode>... types) {
+        if(node == null) {
+            return false;
+        }
+        for(final Class<? extends QueenNode> type : types) {
+            if(type.isInstance(node)) {
+                return true;
+            }
+        }
+        for(final QueenNode child : node.children()) {
+            if(contains(child, types)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Node defaultResult() {
         return null;
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.names.Named;
+
+import java.io.IOException;
+
+/**
+ * Dumps the Queen AST as indented text, one node per line, for example:
+ * <pre>
+ * QueenCompilationUnitNode at 1:0
+ *   QueenPackageDeclarationNode at 1:0
+ *     QueenNameNode "org.queenlang" at 1:8
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class TextQueenASTDumper implements QueenASTDumper {
+
+    /**
+     * Where the dump is written.
+     */
+    private final Appendable output;
+
+    /**
+     * Indentation of one level.
+     */
+    private final String indentation;
+
+    /**
+     * Ctor.
+     * @param output Where to write the dump.
+     */
+    public TextQueenASTDumper(final Appendable output) {
+        this(output, "  ");
+    }
+
+    /**
+     * Ctor.
+     * @param output Where to write the dump.
+     * @param indentation Indentation of one level.
+     */
+    public TextQueenASTDumper(final Appendable output, final String indentation) {
+        this.output = output;
+        this.indentation = indentation;
+    }
+
+    @Override
+    public void dump(final QueenNode node) throws IOException {
+        this.dump(node, 0);
+    }
+
+    private void dump(final QueenNode node, final int depth) throws IOException {
+        for(int i = 0; i < depth; i++) {
+            this.output.append(this.indentation);
+        }
+        this.output.append(this.kind(node));
+        if(node instanceof Named) {
+            this.output.append(" \"").append(((Named) node).name()).append('"');
+        }
+        final Position position = node.position();
+        if(position != null) {
+            this.output.append(" at ")
+                .append(String.valueOf(position.line()))
+                .append(':')
+                .append(String.valueOf(position.column()));
+        }
+        this.output.append('\n');
+        for(final QueenNode child : node.children()) {
+            if(child != null) {
+                this.dump(child, depth + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import org.queenlang.queen.nodes.QueenNode;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Task visiting a range of sibling nodes with a {@link ParallelQueenASTVisitor}.
+ * The range is split in halves until a single node is left, then the results are
+ * merged back with the visitor's aggregateResult.
+ * @param <T> Type of the visit result.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+final class VisitChildrenTask<T> extends RecursiveTask<T> {
+
+    private final ParallelQueenASTVisitor<T> visitor;
+    private final List<QueenNode> children;
+    private final int from;
+    private final int to;
+
+    VisitChildrenTask(
+        final ParallelQueenASTVisitor<T> visitor,
+        final List<QueenNode> children,
+        final int from,
+        final int to
+    ) {
+        this.visitor = visitor;
+        this.children = children;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected T compute() {
+        if(this.to - this.from == 1) {
+            final T childResult = this.children.get(this.from).accept(this.visitor);
+            return this.visitor.aggregateResult(this.visitor.defaultResult(), childResult);
+        }
+        final int middle = (this.from + this.to) >>> 1;
+        final VisitChildrenTask<T> left = new VisitChildrenTask<>(this.visitor, this.children, this.from, middle);
+        final VisitChildrenTask<T> right = new VisitChildrenTask<>(this.visitor, this.children, middle, this.to);
+        left.fork();
+        final T rightResult = right.compute();
+        return this.visitor.aggregateResult(left.join(), rightResult);
+    }
+}
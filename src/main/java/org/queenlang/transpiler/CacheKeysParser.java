@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.body.PackageDeclarationNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QueenASTParser which works with a {@link QueenOutputCache}: it remembers the cache key
+ * of the type of every parsed file, so its Java file can be cached once it is transpiled,
+ * and it caches the errors of the files which cannot be parsed.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+final class CacheKeysParser implements QueenASTParser {
+
+    private final QueenASTParser origin;
+    private final QueenOutputCache cache;
+
+    /**
+     * Cache keys of the files to parse.
+     */
+    private final Map<Path, String> keys;
+
+    /**
+     * Cache keys of the parsed types, by full type name.
+     */
+    private final Map<String, String> types = new ConcurrentHashMap<>();
+
+    /**
+     * Ctor.
+     * @param origin The parser doing the actual work.
+     * @param cache Cache.
+     * @param keys Cache keys of the files to parse.
+     */
+    CacheKeysParser(final QueenASTParser origin, final QueenOutputCache cache, final Map<Path, String> keys) {
+        this.origin = origin;
+        this.cache = cache;
+        this.keys = keys;
+    }
+
+    @Override
+    public CompilationUnitNode parse(final Path file) throws IOException, QueenTranspilationException {
+        final String key = this.keys.get(file);
+        final CompilationUnitNode parsed;
+        try {
+            parsed = this.origin.parse(file);
+        } catch (final QueenTranspilationException ex) {
+            if(key != null) {
+                this.cache.storeErrors(key, ex);
+            }
+            throw ex;
+        }
+        if(key != null && parsed.typeDeclaration() != null) {
+            final PackageDeclarationNode packageDeclaration = parsed.packageDeclaration();
+            if(packageDeclaration != null) {
+                this.types.put(packageDeclaration.packageName().name() + "." + parsed.typeDeclaration().name(), key);
+            } else {
+                this.types.put(parsed.typeDeclaration().name(), key);
+            }
+        }
+        return parsed;
+    }
+
+    @Override
+    public CompilationUnitNode parse(final Path file, final CharSequence source) throws QueenTranspilationException {
+        return this.origin.parse(file, source);
+    }
+
+    /**
+     * Cache keys of the parsed types.
+     * @return Map of full type names to cache keys.
+     */
+    Map<String, String> types() {
+        return this.types;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Output which also stores every Java compilation unit in a {@link QueenOutputCache},
+ * under the key of the Queen file it was transpiled from.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+final class CachingOutput implements Output {
+
+    private final Output origin;
+    private final QueenOutputCache cache;
+
+    /**
+     * Cache keys, by full type name.
+     */
+    private final Map<String, String> keys;
+
+    /**
+     * Ctor.
+     * @param origin Output doing the actual writing.
+     * @param cache Cache.
+     * @param keys Cache keys, by full type name.
+     */
+    CachingOutput(final Output origin, final QueenOutputCache cache, final Map<String, String> keys) {
+        this.origin = origin;
+        this.cache = cache;
+        this.keys = keys;
+    }
+
+    @Override
+    public void write(final CompilationUnit javaCompilationUnit) throws IOException {
+        this.origin.write(javaCompilationUnit);
+        final String type = javaCompilationUnit.getType(0).getNameAsString();
+        final String packageName = javaCompilationUnit.getPackageDeclaration()
+            .map(declaration -> declaration.getNameAsString())
+            .orElse("");
+        final String key;
+        final String relative;
+        if(packageName.isEmpty()) {
+            key = this.keys.get(type);
+            relative = type + ".java";
+        } else {
+            key = this.keys.get(packageName + "." + type);
+            relative = packageName.replace('.', '/') + "/" + type + ".java";
+        }
+        if(key != null) {
+            this.cache.storeJava(key, relative, javaCompilationUnit.toString());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.queenlang.queen.QueenTranspilationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local cache of the transpiled Java files, shared by all the checkouts of a project on the
+ * same machine (e.g. more worktrees or CI workspaces). An entry is addressed by the SHA-256 of the
+ * queenc version, the name and the content of the Queen file, so the same file is transpiled only once,
+ * wherever it is. Entries hold either the Java file or the errors of the Queen file.
+ *
+ * More processes may use the same cache at once: an entry is written in a temporary file,
+ * then moved in place atomically, so it is never read half-written. The least recently used entries
+ * are evicted when the cache grows bigger than its size, by one process at a time.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenOutputCache {
+    private static final Logger LOG = LoggerFactory.getLogger(QueenOutputCache.class);
+
+    /**
+     * Default size of the cache, in bytes.
+     */
+    public static final long DEFAULT_SIZE = 512L * 1024 * 1024;
+
+    private static final String JAVA = "java ";
+    private static final String ERRORS = "errors ";
+
+    private final Path directory;
+    private final long size;
+    private final String version;
+
+    /**
+     * Ctor.
+     * @param directory Directory of the cache (e.g. ~/.queenc/cache).
+     * @param size Maximum size of the cache, in bytes.
+     * @param version Version of queenc, since another version may transpile differently.
+     */
+    public QueenOutputCache(final Path directory, final long size, final String version) {
+        this.directory = directory;
+        this.size = size;
+        this.version = version;
+    }
+
+    /**
+     * Key of the given Queen file.
+     * @param file Queen file.
+     * @return Hex SHA-256 of the queenc version, the file's name and its content.
+     * @throws IOException If the file cannot be read.
+     */
+    public String key(final Path file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+        digest.update(String.valueOf(this.version).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Files.readAllBytes(file));
+        final StringBuilder key = new StringBuilder();
+        for(final byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Write the cached Java file of the given key in the output directory.
+     * @param key Key of the Queen file.
+     * @param output Output directory.
+     * @return True if the entry was found, false otherwise.
+     * @throws IOException If the Java file cannot be written.
+     * @throws QueenTranspilationException If the cached entry holds the errors of the Queen file.
+     */
+    public boolean restore(final String key, final Path output) throws IOException, QueenTranspilationException {
+        final Path entry = this.entry(key);
+        final String content;
+        try {
+            content = Files.readString(entry, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (final NoSuchFileException ex) {
+            return false;
+        }
+        final int newLine = content.indexOf('\n');
+        if(newLine < 0) {
+            return false;
+        }
+        final String header = content.substring(0, newLine);
+        final String body = content.substring(newLine + 1);
+        if(header.startsWith(ERRORS)) {
+            throw new QueenTranspilationException(
+                header.substring(ERRORS.length()), Arrays.asList(body.split("\n"))
+            );
+        }
+        final Path java = output.resolve(header.substring(JAVA.length()));
+        Files.createDirectories(java.getParent());
+        Files.writeString(java, body);
+        return true;
+    }
+
+    /**
+     * Cache the Java file transpiled from the Queen file with the given key.
+     * @param key Key of the Queen file.
+     * @param relative Path of the Java file, relative to the output directory (e.g. com/example/Car.java).
+     * @param java Content of the Java file.
+     */
+    public void storeJava(final String key, final String relative, final String java) {
+        this.store(key, JAVA + relative.replace('\\', '/') + "\n" + java);
+    }
+
+    /**
+     * Cache the errors of the Queen file with the given key.
+     * @param key Key of the Queen file.
+     * @param errors Errors.
+     */
+    public void storeErrors(final String key, final QueenTranspilationException errors) {
+        this.store(key, ERRORS + errors.file() + "\n" + String.join("\n", errors.errors()));
+    }
+
+    /**
+     * Evict the least recently used entries, if the cache is bigger than its size.
+     * Only one process evicts at a time, the others skip it.
+     */
+    public void evict() {
+        try {
+            Files.createDirectories(this.directory);
+            try (
+                FileChannel channel = FileChannel.open(
+                    this.directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE
+                );
+                FileLock lock = channel.tryLock()
+            ) {
+                if(lock == null) {
+                    LOG.debug("The cache [{}] is evicted by another process.", this.directory);
+                    return;
+                }
+                final List<Path> entries;
+                try (Stream<Path> files = Files.walk(this.directory, 2)) {
+                    entries = files.filter(
+                        file -> Files.isRegularFile(file)
+                            && file.getParent().getFileName().toString().length() == 2
+                            && !file.getFileName().toString().endsWith(".tmp")
+                    ).collect(Collectors.toList());
+                }
+                final Map<Path, FileTime> used = new HashMap<>();
+                final Map<Path, Long> sizes = new HashMap<>();
+                long total = 0;
+                for(final Path entry : entries) {
+                    try {
+                        used.put(entry, Files.getLastModifiedTime(entry));
+                        sizes.put(entry, Files.size(entry));
+                        total += sizes.get(entry);
+                    } catch (final NoSuchFileException ex) {
+                        LOG.debug("Entry {} was replaced during the eviction.", entry);
+                    }
+                }
+                if(total <= this.size) {
+                    return;
+                }
+                final List<Path> leastRecentlyUsed = new ArrayList<>(sizes.keySet());
+                leastRecentlyUsed.sort(Comparator.comparing(used::get));
+                final long target = this.size / 10 * 9;
+                int evicted = 0;
+                for(final Path entry : leastRecentlyUsed) {
+                    if(total <= target) {
+                        break;
+                    }
+                    Files.deleteIfExists(entry);
+                    total -= sizes.get(entry);
+                    ++evicted;
+                }
+                LOG.info("Evicted {} entries from the cache [{}], {} bytes are left.", evicted, this.directory, total);
+            } catch (final OverlappingFileLockException ex) {
+                LOG.debug("The cache [{}] is evicted by another thread.", this.directory);
+            }
+        } catch (final IOException ex) {
+            LOG.warn("Could not evict the cache [{}]: {}", this.directory, ex.getMessage());
+        }
+    }
+
+    private void store(final String key, final String content) {
+        final Path entry = this.entry(key);
+        try {
+            Files.createDirectories(entry.getParent());
+            final Path temporary = Files.createTempFile(entry.getParent(), key, ".tmp");
+            Files.writeString(temporary, content, StandardCharsets.UTF_8);
+            try {
+                Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException ex) {
+            LOG.warn("Could not cache {} in [{}]: {}", key, this.directory, ex.getMessage());
+        }
+    }
+
+    private Path entry(final String key) {
+        return this.directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
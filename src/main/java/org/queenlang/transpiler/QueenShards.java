@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Queen files of a project, split in shards along their import graph, so each shard
+ * can be transpiled by its own process. The files are not parsed: only their package and import
+ * declarations are read.
+ *
+ * The files of a package always stay together, since they reference each other without imports.
+ * Packages which import each other, directly or through other packages, stay in the same shard too,
+ * unless together they are bigger than one shard; then they are split between their packages.
+ * The shards are balanced by the size of their files.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenShards {
+
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;");
+    private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w.]+?)(\\.\\*)?\\s*;");
+
+    /**
+     * Files of every package, by the package name.
+     */
+    private final Map<String, List<Path>> packages = new TreeMap<>();
+
+    /**
+     * Full type names, mapped to their files.
+     */
+    private final Map<String, Path> declarations = new TreeMap<>();
+
+    /**
+     * Full type names, mapped to their packages.
+     */
+    private final Map<String, String> typePackages = new HashMap<>();
+
+    /**
+     * Imported names, by the importing package.
+     */
+    private final Map<String, List<String>> imports = new HashMap<>();
+
+    /**
+     * Size of every package, in bytes.
+     */
+    private final Map<String, Long> sizes = new HashMap<>();
+
+    /**
+     * Ctor.
+     * @param files Queen files of the project.
+     */
+    public QueenShards(final List<Path> files) {
+        for(final Path file : files) {
+            this.read(file);
+        }
+    }
+
+    /**
+     * Full names of all the types of the project, mapped to their Queen files.
+     * @return Map, sorted by type name.
+     */
+    public Map<String, Path> declarations() {
+        return Collections.unmodifiableMap(this.declarations);
+    }
+
+    /**
+     * Split the files in at most the given number of shards.
+     * @param count Number of shards, greater than 0.
+     * @return The shards, none of them empty, each with its files sorted.
+     */
+    public List<List<Path>> split(final int count) {
+        if(count < 1) {
+            throw new IllegalArgumentException("The number of shards should be greater than 0, but it is " + count + ".");
+        }
+        final Map<String, List<String>> components = this.components();
+        long total = 0;
+        for(final long size : this.sizes.values()) {
+            total += size;
+        }
+        final long budget = (total + count - 1) / count;
+        final List<List<String>> items = new ArrayList<>();
+        for(final List<String> component : components.values()) {
+            if(component.size() > 1 && this.size(component) > budget) {
+                for(final String pack : component) {
+                    items.add(List.of(pack));
+                }
+            } else {
+                items.add(component);
+            }
+        }
+        items.sort(
+            Comparator.comparingLong((List<String> item) -> this.size(item)).reversed()
+                .thenComparing(item -> item.get(0))
+        );
+        final List<List<Path>> shards = new ArrayList<>();
+        final long[] loads = new long[count];
+        for(int idx = 0; idx < count; ++idx) {
+            shards.add(new ArrayList<>());
+        }
+        for(final List<String> item : items) {
+            int lightest = 0;
+            for(int idx = 1; idx < count; ++idx) {
+                if(loads[idx] < loads[lightest]) {
+                    lightest = idx;
+                }
+            }
+            for(final String pack : item) {
+                shards.get(lightest).addAll(this.packages.get(pack));
+            }
+            loads[lightest] += this.size(item);
+        }
+        shards.removeIf(List::isEmpty);
+        for(final List<Path> shard : shards) {
+            Collections.sort(shard);
+        }
+        return shards;
+    }
+
+    /**
+     * The packages which import each other, directly or indirectly, grouped together: the strongly
+     * connected components of the package import graph, found with Tarjan's algorithm. A package
+     * which only imports another one, without being imported back, has its own component.
+     * @return Groups of packages, by their first package.
+     */
+    private Map<String, List<String>> components() {
+        final Map<String, Set<String>> graph = new HashMap<>();
+        for(final String pack : this.packages.keySet()) {
+            final Set<String> imported = new TreeSet<>();
+            for(final String name : this.imports.getOrDefault(pack, List.of())) {
+                final String other = this.packageOf(name);
+                if(other != null && !other.equals(pack)) {
+                    imported.add(other);
+                }
+            }
+            graph.put(pack, imported);
+        }
+        final Tarjan tarjan = new Tarjan(graph);
+        for(final String pack : this.packages.keySet()) {
+            if(!tarjan.indexes.containsKey(pack)) {
+                tarjan.connect(pack);
+            }
+        }
+        return tarjan.components;
+    }
+
+    /**
+     * The project package of an imported name: a package (asterisk import), a type
+     * or a member of a type (static import).
+     * @param name Imported name.
+     * @return Package name, or null if it is not from this project.
+     */
+    private String packageOf(final String name) {
+        if(this.packages.containsKey(name)) {
+            return name;
+        }
+        String prefix = name;
+        while (!prefix.isEmpty()) {
+            final String pack = this.typePackages.get(prefix);
+            if(pack != null) {
+                return pack;
+            }
+            final int dot = prefix.lastIndexOf('.');
+            prefix = dot < 0 ? "" : prefix.substring(0, dot);
+        }
+        return null;
+    }
+
+    private long size(final List<String> packages) {
+        long size = 0;
+        for(final String pack : packages) {
+            size += this.sizes.get(pack);
+        }
+        return size;
+    }
+
+    /**
+     * Read the package and import declarations of the given file, which come before its first brace.
+     * @param file Queen file.
+     */
+    private void read(final Path file) {
+        String pack = "";
+        final List<String> imported = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line = reader.readLine();
+            while (line != null && !line.contains("{")) {
+                final Matcher packageDeclaration = PACKAGE.matcher(line);
+                if(packageDeclaration.find()) {
+                    pack = packageDeclaration.group(1);
+                }
+                final Matcher importDeclaration = IMPORT.matcher(line);
+                if(importDeclaration.find()) {
+                    imported.add(importDeclaration.group(1));
+                }
+                line = reader.readLine();
+            }
+            this.sizes.merge(pack, Files.size(file), Long::sum);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("IOException while reading the declarations of " + file, ex);
+        }
+        final String simpleName = file.getFileName().toString().replaceAll("\\.queen$", "");
+        final String type = pack.isEmpty() ? simpleName : pack + "." + simpleName;
+        this.declarations.put(type, file);
+        this.typePackages.put(type, pack);
+        this.packages.computeIfAbsent(pack, p -> new ArrayList<>()).add(file);
+        this.imports.computeIfAbsent(pack, p -> new ArrayList<>()).addAll(imported);
+    }
+
+    /**
+     * Tarjan's algorithm, finding the strongly connected components of a graph.
+     */
+    private static final class Tarjan {
+
+        /**
+         * Graph: the neighbours of every node.
+         */
+        private final Map<String, Set<String>> graph;
+
+        /**
+         * Order in which the nodes were visited.
+         */
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * Smallest index reachable from every node.
+         */
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+
+        /**
+         * Visited nodes which are not in a component yet.
+         */
+        private final Deque<String> stack = new ArrayDeque<>();
+
+        /**
+         * The nodes on the stack, for a quick lookup.
+         */
+        private final Set<String> stacked = new HashSet<>();
+
+        /**
+         * Found components, each sorted, by their first node.
+         */
+        private final Map<String, List<String>> components = new TreeMap<>();
+
+        Tarjan(final Map<String, Set<String>> graph) {
+            this.graph = graph;
+        }
+
+        /**
+         * Visit the given node and, through it, the nodes it reaches.
+         * @param node Unvisited node.
+         */
+        void connect(final String node) {
+            final int index = this.indexes.size();
+            this.indexes.put(node, index);
+            this.lowLinks.put(node, index);
+            this.stack.push(node);
+            this.stacked.add(node);
+            for(final String next : this.graph.get(node)) {
+                if(!this.indexes.containsKey(next)) {
+                    this.connect(next);
+                    this.lowLinks.put(node, Math.min(this.lowLinks.get(node), this.lowLinks.get(next)));
+                } else if(this.stacked.contains(next)) {
+                    this.lowLinks.put(node, Math.min(this.lowLinks.get(node), this.indexes.get(next)));
+                }
+            }
+            if(this.lowLinks.get(node) == index) {
+                final List<String> component = new ArrayList<>();
+                String member;
+                do {
+                    member = this.stack.pop();
+                    this.stacked.remove(member);
+                    component.add(member);
+                } while (!member.equals(node));
+                Collections.sort(component);
+                this.components.put(component.get(0), component);
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import com.github.javaparser.ast.CompilationUnit;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.SourcesClasspath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.SemanticProblem;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.body.PackageDeclarationNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.project.QueenProject;
+import org.queenlang.queen.visitors.QueenASTSemanticValidationVisitor;
+import org.queenlang.transpiler.aspects.WeaveParents;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Queen to Java compiler. It is thread-safe and it should be reused: the parsed
+ * sources are kept between compilations (only the changed ones are parsed again) and the
+ * identifiers are interned in the same symbol table.
+ *
+ * The parents of the ASTs are woven into the project of each compilation, so an AST is
+ * used by only one compilation at a time: a compilation takes the kept ASTs of its sources
+ * and gives them back when it ends. Compilations of the same sources, running at the same
+ * time, parse their own ASTs.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenToJavaCompiler implements QueenCompiler {
+
+    /**
+     * Parser shared by all the compilations.
+     */
+    private final QueenASTParser parser;
+
+    /**
+     * Where the types which are not among the compiled sources are looked up. Null if there is none.
+     */
+    private final Classpath libraries;
+
+    /**
+     * ASTs which are not used by any running compilation, by the path of their source.
+     * They are kept through SoftReferences, so the garbage collector evicts them when
+     * the heap runs low.
+     */
+    private final Map<Path, Deque<SoftReference<Parsed>>> idle;
+
+    /**
+     * Ctor.
+     */
+    public QueenToJavaCompiler() {
+        this(new QueenASTParserANTLR());
+    }
+
+    /**
+     * Ctor.
+     * @param parser Parser shared by all the compilations. It should not be a
+     *  CachingQueenASTParser: the compiler keeps the parsed sources itself.
+     */
+    public QueenToJavaCompiler(final QueenASTParser parser) {
+        this(parser, null);
+    }
+
+    /**
+     * Ctor.
+     * @param parser Parser shared by all the compilations. It should not be a
+     *  CachingQueenASTParser: the compiler keeps the parsed sources itself.
+     * @param libraries Where the imported types which are not among the compiled sources are
+     *  looked up, lazily (e.g. the sources root of a project). Null if there is none.
+     */
+    public QueenToJavaCompiler(final QueenASTParser parser, final Classpath libraries) {
+        this.parser = parser;
+        this.libraries = libraries;
+        this.idle = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Compilation compile(final Map<Path, ? extends CharSequence> sources) {
+        final SourcesParser leases = new SourcesParser(sources);
+        try {
+            return this.compile(sources, leases);
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Compile the sources, parsing them with the given parser.
+     * @param sources Content of each Queen file, by its path.
+     * @param leases Parser of this compilation.
+     * @return Compilation.
+     */
+    private Compilation compile(final Map<Path, ? extends CharSequence> sources, final SourcesParser leases) {
+        final Map<Path, List<String>> diagnostics = new LinkedHashMap<>();
+        final Map<String, Path> parsed = new HashMap<>();
+        boolean successful = true;
+        for(final Path source : sources.keySet()) {
+            try {
+                parsed.put(QueenToJavaCompiler.type(leases.parse(source)), source);
+            } catch (final QueenTranspilationException ex) {
+                diagnostics.put(source, ex.errors());
+                successful = false;
+            } catch (final IOException ex) {
+                diagnostics.put(source, List.of("error: " + ex.getMessage()));
+                successful = false;
+            }
+        }
+        final Map<String, String> javaUnits = new LinkedHashMap<>();
+        if(parsed.isEmpty()) {
+            return new QueenCompilation(javaUnits, diagnostics, successful);
+        }
+        final ProjectNode project;
+        try {
+            project = this.project(leases, parsed.values());
+        } catch (final QueenTranspilationException | IOException | RuntimeException ex) {
+            for(final Path source : parsed.values()) {
+                diagnostics.put(source, List.of("error: " + ex.getMessage()));
+            }
+            return new QueenCompilation(javaUnits, diagnostics, false);
+        }
+        final Output output = new InMemoryOutput(javaUnits);
+        for(final QueenNode child : project.children()) {
+            final FileNode file = (FileNode) child;
+            final Path source = parsed.get(file.fullTypeName());
+            try {
+                final List<SemanticProblem> problems = new QueenASTSemanticValidationVisitor(project)
+                    .visitFile(file);
+                if(!problems.isEmpty()) {
+                    diagnostics.put(
+                        source,
+                        problems.stream().map(SemanticProblem::toString).collect(Collectors.toList())
+                    );
+                }
+                if(problems.stream().anyMatch(p -> p.type().equalsIgnoreCase("error"))) {
+                    successful = false;
+                } else {
+                    project.transpileTo(output, Set.of(file.fullTypeName()));
+                }
+            } catch (final QueenTranspilationException ex) {
+                diagnostics.computeIfAbsent(source, path -> new ArrayList<>()).addAll(ex.errors());
+                successful = false;
+            } catch (final IOException | RuntimeException ex) {
+                diagnostics.computeIfAbsent(source, path -> new ArrayList<>()).add("error: " + ex.getMessage());
+                successful = false;
+            }
+        }
+        return new QueenCompilation(javaUnits, diagnostics, successful);
+    }
+
+    @WeaveParents
+    private ProjectNode project(
+        final SourcesParser leases,
+        final Collection<Path> parsed
+    ) throws QueenTranspilationException, IOException {
+        return new QueenProject(leases, new SourcesClasspath(parsed, this.libraries));
+    }
+
+    /**
+     * Full name of the type declared in the given compilation unit.
+     * @param compilationUnit Compilation unit.
+     * @return String.
+     */
+    private static String type(final CompilationUnitNode compilationUnit) {
+        final PackageDeclarationNode packageDeclaration = compilationUnit.packageDeclaration();
+        if(packageDeclaration == null) {
+            return compilationUnit.typeDeclaration().name();
+        }
+        return packageDeclaration.packageName().name() + "." + compilationUnit.typeDeclaration().name();
+    }
+
+    /**
+     * Parser of one compilation. It takes the idle ASTs of the compiled sources, or parses them,
+     * and gives them back when the compilation ends. Any other file (e.g. resolved from
+     * the libraries) is read from disk.
+     */
+    private final class SourcesParser implements QueenASTParser {
+
+        /**
+         * Sources of the compilation, by their path.
+         */
+        private final Map<Path, ? extends CharSequence> sources;
+
+        /**
+         * ASTs used by this compilation, by path.
+         */
+        private final Map<Path, Parsed> leased;
+
+        private SourcesParser(final Map<Path, ? extends CharSequence> sources) {
+            this.sources = sources;
+            this.leased = new HashMap<>();
+        }
+
+        @Override
+        public CompilationUnitNode parse(final Path file) throws IOException, QueenTranspilationException {
+            final CharSequence source = this.sources.get(file);
+            if(source == null) {
+                return this.parse(file, Files.readString(file));
+            }
+            return this.parse(file, source);
+        }
+
+        @Override
+        public CompilationUnitNode parse(final Path file, final CharSequence source) throws QueenTranspilationException {
+            final String content = source.toString();
+            final Parsed used = this.leased.get(file);
+            if(used != null && used.source.equals(content)) {
+                return used.compilationUnit;
+            }
+            Parsed parsed = null;
+            final Deque<SoftReference<Parsed>> asts = QueenToJavaCompiler.this.idle.get(file);
+            if(asts != null) {
+                synchronized (asts) {
+                    for(final Iterator<SoftReference<Parsed>> it = asts.iterator(); it.hasNext() && parsed == null;) {
+                        final Parsed idle = it.next().get();
+                        if(idle == null || idle.source.equals(content)) {
+                            it.remove();
+                            parsed = idle;
+                        }
+                    }
+                }
+            }
+            if(parsed == null) {
+                parsed = new Parsed(content, QueenToJavaCompiler.this.parser.parse(file, content));
+            }
+            final Parsed previous = this.leased.put(file, parsed);
+            if(previous != null) {
+                this.giveBack(file, previous);
+            }
+            return parsed.compilationUnit;
+        }
+
+        /**
+         * Give back all the ASTs used by this compilation.
+         */
+        private void release() {
+            for(final Map.Entry<Path, Parsed> used : this.leased.entrySet()) {
+                this.giveBack(used.getKey(), used.getValue());
+            }
+            this.leased.clear();
+        }
+
+        /**
+         * Give back an AST. The idle ASTs of older versions of the same source are dropped.
+         * @param file Path of its source.
+         * @param parsed The AST.
+         */
+        private void giveBack(final Path file, final Parsed parsed) {
+            final Deque<SoftReference<Parsed>> asts = QueenToJavaCompiler.this.idle.computeIfAbsent(
+                file, path -> new ArrayDeque<>()
+            );
+            synchronized (asts) {
+                asts.removeIf(
+                    reference -> reference.get() == null || !reference.get().source.equals(parsed.source)
+                );
+                asts.push(new SoftReference<>(parsed));
+            }
+        }
+    }
+
+    /**
+     * A parsed source.
+     */
+    private static final class Parsed {
+        private final String source;
+        private final CompilationUnitNode compilationUnit;
+
+        private Parsed(final String source, final CompilationUnitNode compilationUnit) {
+            this.source = source;
+            this.compilationUnit = compilationUnit;
+        }
+    }
+
+    /**
+     * Output keeping the Java units in memory, by the full name of their type.
+     */
+    private static final class InMemoryOutput implements Output {
+
+        private final Map<String, String> javaUnits;
+
+        private InMemoryOutput(final Map<String, String> javaUnits) {
+            this.javaUnits = javaUnits;
+        }
+
+        @Override
+        public void write(final CompilationUnit javaCompilationUnit) {
+            final String type = javaCompilationUnit.getType(0).getNameAsString();
+            this.javaUnits.put(
+                javaCompilationUnit.getPackageDeclaration()
+                    .map(pkg -> pkg.getNameAsString() + "." + type)
+                    .orElse(type),
+                javaCompilationUnit.toString()
+            );
+        }
+    }
+
+    /**
+     * Result of a compilation.
+     */
+    private static final class QueenCompilation implements Compilation {
+
+        private final Map<String, String> javaUnits;
+        private final Map<Path, List<String>> diagnostics;
+        private final boolean successful;
+
+        private QueenCompilation(
+            final Map<String, String> javaUnits,
+            final Map<Path, List<String>> diagnostics,
+            final boolean successful
+        ) {
+            this.javaUnits = Collections.unmodifiableMap(javaUnits);
+            this.diagnostics = Collections.unmodifiableMap(diagnostics);
+            this.successful = successful;
+        }
+
+        @Override
+        public Map<String, String> javaUnits() {
+            return this.javaUnits;
+        }
+
+        @Override
+        public Map<Path, List<String>> diagnostics() {
+            return this.diagnostics;
+        }
+
+        @Override
+        public boolean successful() {
+            return this.successful;
+        }
+    }
+}
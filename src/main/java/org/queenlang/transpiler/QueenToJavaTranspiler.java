@@ -30,14 +30,33 @@ package org.queenlang.transpiler;
 
 import org.queenlang.classpath.Classpath;
 import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.classpath.SourceRootsClasspath;
+import org.queenlang.classpath.SourcesClasspath;
+import org.queenlang.queen.ErrorLimit;
 import org.queenlang.queen.QueenASTParser;
 import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.SemanticProblem;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.project.FileNode;
 import org.queenlang.queen.nodes.project.ProjectNode;
 import org.queenlang.queen.nodes.project.QueenProject;
+import org.queenlang.queen.visitors.QueenASTSemanticValidationVisitor;
 import org.queenlang.transpiler.aspects.WeaveParents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Queen to Java transpiler.
@@ -46,27 +65,291 @@ import java.nio.file.Path;
  * @since 0.0.1
  * @todo #64:60min Navigate the whole CU trees to find and transpile the imported and
  *  referenced Queen classes from within each CU.
- * @todo #64:60min Implement semantic validation visiting of each CU.g
  */
 public final class QueenToJavaTranspiler implements QueenTranspiler {
+    private static final Logger LOG = LoggerFactory.getLogger(QueenToJavaTranspiler.class);
 
     private final QueenASTParser parser;
     private final Path parentDirectory;
-    private final Path outputDirectory;
 
+    /**
+     * Source roots, each with its own output directory.
+     */
+    private final List<SourceRoot> roots;
+
+    /**
+     * Classpath shared by all the source roots.
+     */
+    private final Classpath classpath;
+
+    /**
+     * Cache of the transpiled Java files, null if there is none.
+     */
+    private final QueenOutputCache cache;
+
+    /**
+     * Maximum number of errors after which a transpilation stops.
+     */
+    private final int maxErrors;
+
+    /**
+     * Fold the constant expressions and eliminate the dead branches?
+     */
+    private final boolean optimize;
+
+    /**
+     * Project kept between the incremental transpilations, null until the first one.
+     */
+    private ProjectNode live;
+
+    /**
+     * Ctor. The whole parent directory is one source root.
+     * @param parser Parser.
+     * @param parentDirectory Directory searched for Queen files.
+     * @param outputDirectory Where the Java files are written.
+     */
     public QueenToJavaTranspiler(
         final QueenASTParser parser,
         final Path parentDirectory,
         final Path outputDirectory
+    ) {
+        this(parser, parentDirectory, outputDirectory, new ProjectClasspath(parentDirectory));
+    }
+
+    /**
+     * Ctor. The whole parent directory is one source root, searched with the given classpath
+     * (e.g. a ProjectClasspath with other include and exclude globs).
+     * @param parser Parser.
+     * @param parentDirectory Directory searched for Queen files.
+     * @param outputDirectory Where the Java files are written.
+     * @param classpath Classpath finding the Queen files of the parent directory.
+     */
+    public QueenToJavaTranspiler(
+        final QueenASTParser parser,
+        final Path parentDirectory,
+        final Path outputDirectory,
+        final Classpath classpath
+    ) {
+        this(parser, parentDirectory, List.of(new SourceRoot(parentDirectory, outputDirectory)), classpath);
+    }
+
+    /**
+     * Ctor. Only the source roots are searched for Queen files and they are transpiled together,
+     * as one project: e.g. the test sources resolve the main types, which are parsed only once.
+     * @param parser Parser.
+     * @param parentDirectory Project directory.
+     * @param roots Source roots, each with its own output directory (e.g. main, generated and test).
+     */
+    public QueenToJavaTranspiler(
+        final QueenASTParser parser,
+        final Path parentDirectory,
+        final List<SourceRoot> roots
+    ) {
+        this(
+            parser,
+            parentDirectory,
+            roots,
+            new SourceRootsClasspath(roots.stream().map(SourceRoot::directory).collect(Collectors.toList()))
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param parser Parser.
+     * @param parentDirectory Project directory.
+     * @param roots Source roots, each with its own output directory.
+     * @param classpath Classpath finding the Queen files of the source roots (e.g. only the ones of a shard).
+     */
+    public QueenToJavaTranspiler(
+        final QueenASTParser parser,
+        final Path parentDirectory,
+        final List<SourceRoot> roots,
+        final Classpath classpath
+    ) {
+        this(parser, parentDirectory, roots, classpath, null);
+    }
+
+    /**
+     * Ctor.
+     * @param parser Parser.
+     * @param parentDirectory Project directory.
+     * @param roots Source roots, each with its own output directory.
+     * @param classpath Classpath finding the Queen files of the source roots (e.g. only the ones of a shard).
+     * @param cache Cache of the transpiled Java files, shared with other checkouts. Null if there is none.
+     */
+    public QueenToJavaTranspiler(
+        final QueenASTParser parser,
+        final Path parentDirectory,
+        final List<SourceRoot> roots,
+        final Classpath classpath,
+        final QueenOutputCache cache
+    ) {
+        this(parser, parentDirectory, roots, classpath, cache, 1);
+    }
+
+    /**
+     * Ctor.
+     * @param parser Parser.
+     * @param parentDirectory Project directory.
+     * @param roots Source roots, each with its own output directory.
+     * @param classpath Classpath finding the Queen files of the source roots (e.g. only the ones of a shard).
+     * @param cache Cache of the transpiled Java files, shared with other checkouts. Null if there is none.
+     * @param maxErrors Maximum number of errors after which a transpilation stops (1 to fail fast).
+     */
+    public QueenToJavaTranspiler(
+        final QueenASTParser parser,
+        final Path parentDirectory,
+        final List<SourceRoot> roots,
+        final Classpath classpath,
+        final QueenOutputCache cache,
+        final int maxErrors
+    ) {
+        this(parser, parentDirectory, roots, classpath, cache, maxErrors, false);
+    }
+
+    /**
+     * Ctor.
+     * @param parser Parser.
+     * @param parentDirectory Project directory.
+     * @param roots Source roots, each with its own output directory.
+     * @param classpath Classpath finding the Queen files of the source roots (e.g. only the ones of a shard).
+     * @param cache Cache of the transpiled Java files, shared with other checkouts. Null if there is none.
+     *  Its version has to tell the optimized output apart from the literal one.
+     * @param maxErrors Maximum number of errors after which a transpilation stops (1 to fail fast).
+     * @param optimize Fold the constant expressions and eliminate the dead if/while branches.
+     */
+    public QueenToJavaTranspiler(
+        final QueenASTParser parser,
+        final Path parentDirectory,
+        final List<SourceRoot> roots,
+        final Classpath classpath,
+        final QueenOutputCache cache,
+        final int maxErrors,
+        final boolean optimize
     ) {
         this.parser = parser;
         this.parentDirectory = parentDirectory;
-        this.outputDirectory = outputDirectory;
+        this.roots = roots;
+        this.classpath = classpath;
+        this.cache = cache;
+        this.maxErrors = maxErrors;
+        this.optimize = optimize;
     }
 
+    /**
+     * {@inheritDoc}
+     * Every file is validated semantically, like in {@link #transpile(Collection, Collection)}, and only
+     * the valid ones are transpiled.
+     * If there is a cache, the Java files of the cached Queen files are restored from it and only
+     * the other Queen files are parsed, validated and transpiled (the cached ones are parsed only if they
+     * are referenced). A cached file was valid when it was cached.
+     */
     @Override
     public void transpile() throws QueenTranspilationException, IOException {
-        this.project(parentDirectory).transpileTo(this.outputDirectory);
+        final ErrorLimit limit = new ErrorLimit(this.maxErrors);
+        this.live = null;
+        if(this.cache == null) {
+            final ProjectNode project = this.project(this.parser, this.classpath, limit);
+            for(final SourceRoot root : this.roots) {
+                project.transpileTo(root.output(), this.validate(project, project.types(root.directory()), limit));
+            }
+            this.live = project;
+            limit.check();
+            return;
+        }
+        final List<Path> files = this.classpath.findAll();
+        final Map<Path, String> misses = new LinkedHashMap<>();
+        for(final Path file : files) {
+            final String key = this.cache.key(file);
+            try {
+                if(!this.cache.restore(key, this.root(file).output())) {
+                    misses.put(file, key);
+                }
+            } catch (final QueenTranspilationException ex) {
+                if(limit.report(ex)) {
+                    limit.check();
+                }
+            }
+        }
+        LOG.info("Restored {} of {} Java files from the cache.", files.size() - misses.size(), files.size());
+        if(!misses.isEmpty()) {
+            final CacheKeysParser keys = new CacheKeysParser(this.parser, this.cache, misses);
+            final ProjectNode project = this.project(
+                keys, new SourcesClasspath(misses.keySet(), this.classpath), limit
+            );
+            for(final SourceRoot root : this.roots) {
+                final Set<String> types = this.validate(project, project.types(root.directory()), limit);
+                if(!types.isEmpty()) {
+                    project.transpileTo(
+                        new CachingOutput(new JavaFileOutput(root.output()), this.cache, keys.types()),
+                        types
+                    );
+                }
+            }
+        }
+        this.cache.evict();
+        limit.check();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The project is parsed once, at the first call, then kept between calls: only the changed
+     * files are parsed again, put in place of their previous versions, and validated together
+     * with their dependents. It should be used with a caching parser (e.g. CachingQueenASTParser).
+     */
+    @Override
+    public Set<String> transpile(
+        final Collection<Path> changed,
+        final Collection<Path> deleted
+    ) throws QueenTranspilationException, IOException {
+        final ErrorLimit limit = new ErrorLimit(this.maxErrors);
+        if(this.live == null) {
+            this.live = this.project(this.parser, this.classpath, limit);
+        }
+        final ProjectNode project = this.live;
+        final Map<String, Path> removed = new HashMap<>();
+        for(final Path file : deleted) {
+            final FileNode previous = project.file(file);
+            if(previous != null) {
+                removed.put(previous.fullTypeName(), file);
+            }
+            project.remove(file);
+        }
+        final Set<String> types = new HashSet<>();
+        for(final Path file : changed) {
+            final FileNode previous = project.file(file);
+            try {
+                final FileNode reloaded = project.reload(file);
+                types.add(reloaded.fullTypeName());
+                if(previous != null && !previous.fullTypeName().equals(reloaded.fullTypeName())) {
+                    removed.put(previous.fullTypeName(), file);
+                }
+            } catch (final QueenTranspilationException ex) {
+                if(limit.report(ex)) {
+                    limit.check();
+                }
+            }
+        }
+        removed.keySet().removeAll(types);
+        final Set<String> affected = new HashSet<>(types);
+        affected.addAll(removed.keySet());
+        types.addAll(project.dependents(affected));
+        for(final Map.Entry<String, Path> type : removed.entrySet()) {
+            types.remove(type.getKey());
+            Files.deleteIfExists(
+                this.root(type.getValue()).output().resolve(type.getKey().replace('.', File.separatorChar) + ".java")
+            );
+        }
+        final Set<String> valid = this.validate(project, types, limit);
+        for(final SourceRoot root : this.roots) {
+            final Set<String> inRoot = project.types(root.directory());
+            inRoot.retainAll(valid);
+            if(!inRoot.isEmpty()) {
+                project.transpileTo(root.output(), inRoot);
+            }
+        }
+        limit.check();
+        return valid;
     }
 
     @Override
@@ -74,16 +357,71 @@ public final class QueenToJavaTranspiler implements QueenTranspiler {
         return this.parentDirectory;
     }
 
+    /**
+     * {@inheritDoc}
+     * If there are more source roots, it is the output directory of the first one.
+     */
     @Override
     public Path targetDirectory() {
-        return this.outputDirectory;
+        return this.roots.get(0).output();
+    }
+
+    /**
+     * Validate the files of the given types. The errors are reported to the limit.
+     * @param project Project.
+     * @param types Full names of the types to validate.
+     * @param limit Limit of the errors.
+     * @return Full names of the types without errors, which can be transpiled.
+     * @throws QueenTranspilationException If the limit of errors is reached.
+     */
+    private Set<String> validate(
+        final ProjectNode project,
+        final Set<String> types,
+        final ErrorLimit limit
+    ) throws QueenTranspilationException {
+        final Set<String> valid = new HashSet<>();
+        for(final QueenNode child : project.children()) {
+            final FileNode file = (FileNode) child;
+            if(types.contains(file.fullTypeName())) {
+                final List<SemanticProblem> problems = new QueenASTSemanticValidationVisitor(project).visitFile(file);
+                if(problems.stream().anyMatch(p -> p.type().equalsIgnoreCase("error"))) {
+                    final boolean reached = limit.report(
+                        new QueenTranspilationException(
+                            file.fullTypeName(),
+                            problems.stream().map(SemanticProblem::toString).collect(Collectors.toList())
+                        )
+                    );
+                    if(reached) {
+                        limit.check();
+                    }
+                } else {
+                    valid.add(file.fullTypeName());
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * The source root of the given Queen file.
+     * @param file Queen file.
+     * @return SourceRoot, the first one if none contains the file.
+     */
+    private SourceRoot root(final Path file) {
+        for(final SourceRoot root : this.roots) {
+            if(file.startsWith(root.directory())) {
+                return root;
+            }
+        }
+        return this.roots.get(0);
     }
 
     @WeaveParents
-    private ProjectNode project(final Path projectDir) throws QueenTranspilationException, IOException {
-        return new QueenProject(
-            this.parser,
-            new ProjectClasspath(projectDir)
-        );
+    private ProjectNode project(
+        final QueenASTParser parser,
+        final Classpath classpath,
+        final ErrorLimit limit
+    ) throws QueenTranspilationException, IOException {
+        return new QueenProject(parser, classpath, limit, this.optimize);
     }
 }
@@ -32,7 +32,8 @@ import org.queenlang.queen.QueenTranspilationException;
 
 import java.io.*;
 import java.nio.file.Path;
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
 
 /**
  * Queen transpiler.
@@ -48,6 +49,20 @@ public interface QueenTranspiler {
      */
     void transpile() throws QueenTranspilationException, IOException;
 
+    /**
+     * Transpile only the given Queen files and the files which depend on them. The Java files
+     * of the deleted files, and of the types which are no longer declared, are deleted.
+     * @param changed Changed or new Queen files.
+     * @param deleted Deleted Queen files.
+     * @return Full names of the transpiled types.
+     * @throws QueenTranspilationException If there is a transpilation problem (e.g. syntax errors, semantic errors).
+     * @throws IOException If something is wrong when reading/writing files from disk.
+     */
+    Set<String> transpile(
+        final Collection<Path> changed,
+        final Collection<Path> deleted
+    ) throws QueenTranspilationException, IOException;
+
     /**
      * Directory where the transpiler searches for .queen files.
      * @return Path.
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.ShardClasspath;
+import org.queenlang.classpath.ShardSummary;
+import org.queenlang.queen.ErrorLimit;
+import org.queenlang.queen.QueenTranspilationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Transpiler which splits the project in shards along its import graph (see {@link QueenShards})
+ * and transpiles each shard in its own queenc process, with a bounded heap. No process holds the
+ * ASTs of the whole project, so a huge project needs neither a huge heap nor long GC pauses.
+ *
+ * The shards are written in the work directory, along with the declarations of all the types
+ * of the project (see {@link ShardClasspath}), so the workers find the types of the other shards
+ * without scanning the project. Once a worker parsed its files, it writes the summary of their declarations
+ * (see {@link ShardSummary}) and the other workers resolve its types against it, without parsing them.
+ * If a worker stops without writing its summary, an empty one is written for it, so the others
+ * do not wait for it. Each worker writes the Java files of its shard in the output directories
+ * of their source roots, exactly like a single process would.
+ * If a worker fails, its errors are written in its errors file, next to its shard file. Once the
+ * maximum number of errors is reached, the workers still running are stopped.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ShardedQueenTranspiler implements QueenTranspiler {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedQueenTranspiler.class);
+
+    private final Path parentDirectory;
+
+    /**
+     * Source roots, each with its own output directory.
+     */
+    private final List<SourceRoot> roots;
+
+    /**
+     * Classpath finding the Queen files of the project. They are only read, not parsed.
+     */
+    private final Classpath classpath;
+
+    /**
+     * Maximum number of shards.
+     */
+    private final int shards;
+
+    /**
+     * Command starting a worker, to which the path of its shard file is appended.
+     */
+    private final List<String> worker;
+
+    /**
+     * Maximum number of errors, after which the workers still running are stopped.
+     */
+    private final int maxErrors;
+
+    /**
+     * Directory in which the workers are started.
+     */
+    private final Path workingDirectory;
+
+    /**
+     * Directory where the shards and the declarations are written.
+     */
+    private final Path workDirectory;
+
+    /**
+     * Ctor.
+     * @param parentDirectory Project directory.
+     * @param roots Source roots, each with its own output directory.
+     * @param classpath Classpath finding the Queen files of the project.
+     * @param shards Maximum number of shards (and worker processes), greater than 0.
+     * @param worker Command starting a worker, to which the path of its shard file is appended
+     *  (e.g. java -Xmx1g -cp queenc.jar org.queenlang.transpiler.cli.Queenc -p . --shard-file).
+     * @param maxErrors Maximum number of errors, after which the workers still running are stopped.
+     * @param workingDirectory Directory in which the workers are started.
+     * @param workDirectory Directory where the shards and the declarations are written.
+     */
+    public ShardedQueenTranspiler(
+        final Path parentDirectory,
+        final List<SourceRoot> roots,
+        final Classpath classpath,
+        final int shards,
+        final List<String> worker,
+        final int maxErrors,
+        final Path workingDirectory,
+        final Path workDirectory
+    ) {
+        this.parentDirectory = parentDirectory;
+        this.roots = roots;
+        this.classpath = classpath;
+        this.shards = shards;
+        this.worker = worker;
+        this.maxErrors = maxErrors;
+        this.workingDirectory = workingDirectory;
+        this.workDirectory = workDirectory;
+    }
+
+    @Override
+    public void transpile() throws QueenTranspilationException, IOException {
+        this.transpileShards();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The shards do not keep the ASTs between transpilations, so the whole project is transpiled again.
+     */
+    @Override
+    public Set<String> transpile(
+        final Collection<Path> changed,
+        final Collection<Path> deleted
+    ) throws QueenTranspilationException, IOException {
+        return this.transpileShards();
+    }
+
+    @Override
+    public Path sourceDirectory() {
+        return this.parentDirectory;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If there are more source roots, it is the output directory of the first one.
+     */
+    @Override
+    public Path targetDirectory() {
+        return this.roots.get(0).output();
+    }
+
+    /**
+     * Split the project, start one worker per shard and wait for all of them.
+     * @return Full names of all the transpiled types.
+     */
+    private Set<String> transpileShards() throws QueenTranspilationException, IOException {
+        final QueenShards project = new QueenShards(this.classpath.findAll());
+        final List<List<Path>> split = project.split(this.shards);
+        Files.createDirectories(this.workDirectory);
+        final Map<Path, String> shardOf = new HashMap<>();
+        for(int idx = 0; idx < split.size(); ++idx) {
+            for(final Path file : split.get(idx)) {
+                shardOf.put(file, shardFile(idx));
+            }
+        }
+        try (Writer declarations = Files.newBufferedWriter(this.workDirectory.resolve(ShardClasspath.DECLARATIONS))) {
+            for(final Map.Entry<String, Path> declaration : project.declarations().entrySet()) {
+                declarations.write(
+                    declaration.getKey() + '\t' + declaration.getValue() + '\t'
+                    + shardOf.get(declaration.getValue()) + System.lineSeparator()
+                );
+            }
+        }
+        LOG.info(
+            "Transpiling {} Queen files in {} shards, with the worker {}.",
+            project.declarations().size(), split.size(), this.worker
+        );
+        final List<Path> shardFiles = new ArrayList<>();
+        final List<Process> workers = new ArrayList<>();
+        for(int idx = 0; idx < split.size(); ++idx) {
+            final Path shardFile = this.workDirectory.resolve(shardFile(idx));
+            try (Writer shard = Files.newBufferedWriter(shardFile)) {
+                for(final Path file : split.get(idx)) {
+                    shard.write(file + System.lineSeparator());
+                }
+            }
+            Files.deleteIfExists(errors(shardFile));
+            Files.deleteIfExists(ShardClasspath.summary(shardFile));
+            final List<String> command = new ArrayList<>(this.worker);
+            command.add(shardFile.toString());
+            LOG.debug("Starting worker {} for {} files.", idx, split.get(idx).size());
+            shardFiles.add(shardFile);
+            workers.add(
+                new ProcessBuilder(command)
+                    .directory(this.workingDirectory.toFile())
+                    .inheritIO()
+                    .start()
+            );
+        }
+        final ErrorLimit limit = new ErrorLimit(this.maxErrors);
+        final List<Integer> running = new ArrayList<>();
+        for(int idx = 0; idx < workers.size(); ++idx) {
+            running.add(idx);
+        }
+        while (!running.isEmpty()) {
+            try {
+                CompletableFuture.anyOf(
+                    running.stream().map(idx -> workers.get(idx).onExit()).toArray(CompletableFuture[]::new)
+                ).get();
+            } catch (final InterruptedException ex) {
+                workers.forEach(Process::destroy);
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the shard workers.", ex);
+            } catch (final ExecutionException ex) {
+                workers.forEach(Process::destroy);
+                throw new IOException("Could not wait for the shard workers.", ex);
+            }
+            for(final Iterator<Integer> idx = running.iterator(); idx.hasNext();) {
+                final int shard = idx.next();
+                final Process worker = workers.get(shard);
+                if(!worker.isAlive()) {
+                    idx.remove();
+                    final Path shardFile = shardFiles.get(shard);
+                    final ShardSummary summary = new ShardSummary(ShardClasspath.summary(shardFile));
+                    if(!summary.exists()) {
+                        summary.write(Map.of());
+                    }
+                    if(Files.exists(errors(shardFile))) {
+                        limit.report(new QueenTranspilationException(shardFile.toString(), Files.readAllLines(errors(shardFile))));
+                    } else if(worker.exitValue() != 0) {
+                        limit.report(
+                            new QueenTranspilationException(
+                                shardFile.toString(), List.of("Worker exited with code " + worker.exitValue() + ".")
+                            )
+                        );
+                    }
+                }
+            }
+            if(limit.reached() && !running.isEmpty()) {
+                LOG.warn("The maximum number of errors was reached, stopping the other {} shard workers.", running.size());
+                for(final int shard : running) {
+                    workers.get(shard).destroy();
+                }
+                running.clear();
+            }
+        }
+        limit.check();
+        return new HashSet<>(project.declarations().keySet());
+    }
+
+    /**
+     * Name of the file of the shard with the given index.
+     * @param idx Index of the shard.
+     * @return File name.
+     */
+    private static String shardFile(final int idx) {
+        return "shard-" + idx + ".txt";
+    }
+
+    /**
+     * File where the worker of the given shard writes its errors, if it fails.
+     * @param shardFile Shard file.
+     * @return Path.
+     */
+    public static Path errors(final Path shardFile) {
+        return shardFile.resolveSibling(shardFile.getFileName().toString().replaceAll("\\.txt$", "") + ".errors");
+    }
+}
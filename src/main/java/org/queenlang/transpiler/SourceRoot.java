@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A directory of Queen sources (e.g. src/main/queen) and the directory where
+ * its Java files are written.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SourceRoot {
+
+    /**
+     * Directory of the Queen sources, the root of their package structure.
+     */
+    private final Path directory;
+
+    /**
+     * Directory where the Java files are written.
+     */
+    private final Path output;
+
+    /**
+     * Ctor.
+     * @param directory Directory of the Queen sources, the root of their package structure.
+     * @param output Directory where the Java files are written.
+     */
+    public SourceRoot(final Path directory, final Path output) {
+        this.directory = directory;
+        this.output = output;
+    }
+
+    /**
+     * The standard source roots of a Queen project, which exist:
+     * <pre>
+     *     src/main/queen          -> the given main output (e.g. target/generated-sources/queen/java)
+     *     target/generated-queen  -> target/generated-sources/queen/generated
+     *     src/test/queen          -> target/generated-test-sources/queen/java
+     * </pre>
+     * @param project Project directory.
+     * @param main Where the Java files of the main sources are written.
+     * @return List of SourceRoot, empty if the project does not have any of them.
+     */
+    public static List<SourceRoot> standard(final Path project, final Path main) {
+        final List<SourceRoot> roots = new ArrayList<>();
+        final SourceRoot[] standard = {
+            new SourceRoot(project.resolve(Path.of("src", "main", "queen")), main),
+            new SourceRoot(
+                project.resolve(Path.of("target", "generated-queen")),
+                project.resolve(Path.of("target", "generated-sources", "queen", "generated"))
+            ),
+            new SourceRoot(
+                project.resolve(Path.of("src", "test", "queen")),
+                project.resolve(Path.of("target", "generated-test-sources", "queen", "java"))
+            )
+        };
+        for(final SourceRoot root : standard) {
+            if(Files.isDirectory(root.directory())) {
+                roots.add(root);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Directory of the Queen sources.
+     * @return Path.
+     */
+    public Path directory() {
+        return this.directory;
+    }
+
+    /**
+     * Directory where the Java files are written.
+     * @return Path.
+     */
+    public Path output() {
+        return this.output;
+    }
+
+    @Override
+    public String toString() {
+        return this.directory + " -> " + this.output;
+    }
+}
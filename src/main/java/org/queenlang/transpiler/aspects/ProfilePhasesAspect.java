@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.aspects;
+
+import com.github.javaparser.ast.CompilationUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.body.PackageDeclarationNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.transpiler.profile.Phase;
+import org.queenlang.transpiler.profile.Profile;
+import org.queenlang.transpiler.profile.ProfiledTranspiler;
+import org.queenlang.transpiler.profile.Profiling;
+
+import java.nio.file.Path;
+
+/**
+ * Aspect recording the phases of a transpilation into the {@link Profile} of the
+ * {@link ProfiledTranspiler} which runs it. The phases are only recorded in the control flow
+ * of a ProfiledTranspiler (i.e. on the thread which called it), so other transpilations running
+ * in the same JVM are never mixed into its report. When nothing is profiled, each advised
+ * method costs one thread-local lookup.
+ *
+ * For the same reason, the CPU time and the allocated bytes are the ones of that thread: the work
+ * it hands to other threads, such as the ForkJoinPool workers of the parallel scan, only shows up
+ * in the wall time of the phase which waits for it. The report says so.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+@Aspect
+public class ProfilePhasesAspect {
+
+    /**
+     * File which is being written by the current thread. The Java reparse
+     * only gets the generated code, so it is attributed to this file.
+     */
+    private static final ThreadLocal<String> WRITING = new ThreadLocal<>();
+
+    @Pointcut(
+        "cflow(execution(* org.queenlang.transpiler.profile.ProfiledTranspiler.transpile(..)) && this(run))"
+    )
+    public void profiling(final ProfiledTranspiler run) {}
+
+    @Around("execution(* org.queenlang.classpath.ProjectClasspath.findAll()) && profiling(run)")
+    public Object scan(final ProceedingJoinPoint joinPoint, final ProfiledTranspiler run) throws Throwable {
+        return this.measure(joinPoint, run.profile(), Phase.SCAN, null);
+    }
+
+    @Around(
+        "execution(* org.queenlang.queen.QueenASTParser+.parse(java.nio.file.Path)) && args(path)"
+            + " && !within(org.queenlang.queen.CachingQueenASTParser) && profiling(run)"
+    )
+    public Object parse(
+        final ProceedingJoinPoint joinPoint,
+        final Path path,
+        final ProfiledTranspiler run
+    ) throws Throwable {
+        final Profile profile = run.profile();
+        String file = path.getFileName().toString();
+        final long wall = System.nanoTime();
+        final long cpu = Profiling.cpuTime();
+        final long allocated = Profiling.allocatedBytes();
+        try {
+            final Object parsed = joinPoint.proceed();
+            if(parsed instanceof CompilationUnitNode) {
+                final CompilationUnitNode compilationUnit = (CompilationUnitNode) parsed;
+                file = name(compilationUnit);
+                profile.nodes(file, compilationUnit.index().size());
+            }
+            return parsed;
+        } finally {
+            profile.record(
+                Phase.PARSE,
+                file,
+                System.nanoTime() - wall,
+                Profiling.cpuTime() - cpu,
+                Profiling.allocatedBytes() - allocated
+            );
+        }
+    }
+
+    @Around("execution(* org.queenlang.transpiler.aspects.WeaveParentsAspect.traverse(..)) && profiling(run)")
+    public Object weave(final ProceedingJoinPoint joinPoint, final ProfiledTranspiler run) throws Throwable {
+        return this.measure(joinPoint, run.profile(), Phase.WEAVE, null);
+    }
+
+    @Around("execution(* org.queenlang.queen.nodes.project.QueenProject.resolve(..)) && profiling(run)")
+    public Object resolve(final ProceedingJoinPoint joinPoint, final ProfiledTranspiler run) throws Throwable {
+        return this.measure(joinPoint, run.profile(), Phase.RESOLVE, null);
+    }
+
+    @Around(
+        "execution(* org.queenlang.queen.visitors.QueenASTSemanticValidationVisitor.visitFile(..))"
+            + " && args(file) && profiling(run)"
+    )
+    public Object validate(
+        final ProceedingJoinPoint joinPoint,
+        final FileNode file,
+        final ProfiledTranspiler run
+    ) throws Throwable {
+        return this.measure(joinPoint, run.profile(), Phase.VALIDATE, file.fullTypeName());
+    }
+
+    @Around(
+        "execution(* org.queenlang.queen.visitors.QueenToJavaVisitor.visitCompilationUnit(..))"
+            + " && args(compilationUnit) && profiling(run)"
+    )
+    public Object emit(
+        final ProceedingJoinPoint joinPoint,
+        final CompilationUnitNode compilationUnit,
+        final ProfiledTranspiler run
+    ) throws Throwable {
+        return this.measure(joinPoint, run.profile(), Phase.EMIT, name(compilationUnit));
+    }
+
+    @Before(
+        "execution(private static void org.queenlang.queen.nodes.project.QueenProject.write(..))"
+            + " && args(file, ..) && profiling(run)"
+    )
+    public void writing(final FileNode file, final ProfiledTranspiler run) {
+        WRITING.set(file.fullTypeName());
+    }
+
+    @Around("execution(* org.queenlang.queen.nodes.project.QueenProject.reparseJavaClass(..)) && profiling(run)")
+    public Object reparse(final ProceedingJoinPoint joinPoint, final ProfiledTranspiler run) throws Throwable {
+        return this.measure(joinPoint, run.profile(), Phase.REPARSE, WRITING.get());
+    }
+
+    @Around(
+        "execution(* org.queenlang.transpiler.Output+.write(..)) && args(javaCompilationUnit) && profiling(run)"
+    )
+    public Object write(
+        final ProceedingJoinPoint joinPoint,
+        final CompilationUnit javaCompilationUnit,
+        final ProfiledTranspiler run
+    ) throws Throwable {
+        try {
+            return this.measure(joinPoint, run.profile(), Phase.WRITE, name(javaCompilationUnit));
+        } finally {
+            WRITING.remove();
+        }
+    }
+
+    private Object measure(
+        final ProceedingJoinPoint joinPoint,
+        final Profile profile,
+        final Phase phase,
+        final String file
+    ) throws Throwable {
+        final long wall = System.nanoTime();
+        final long cpu = Profiling.cpuTime();
+        final long allocated = Profiling.allocatedBytes();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            profile.record(
+                phase,
+                file,
+                System.nanoTime() - wall,
+                Profiling.cpuTime() - cpu,
+                Profiling.allocatedBytes() - allocated
+            );
+        }
+    }
+
+    private static String name(final CompilationUnitNode compilationUnit) {
+        if(compilationUnit.parent() instanceof FileNode) {
+            return ((FileNode) compilationUnit.parent()).fullTypeName();
+        }
+        final String type;
+        if(compilationUnit.typeDeclaration() != null) {
+            type = compilationUnit.typeDeclaration().name();
+        } else {
+            type = "";
+        }
+        final PackageDeclarationNode packageDeclaration = compilationUnit.packageDeclaration();
+        if(packageDeclaration != null) {
+            return packageDeclaration.packageName().name() + "." + type;
+        }
+        return type;
+    }
+
+    private static String name(final CompilationUnit javaCompilationUnit) {
+        final String type = javaCompilationUnit.getType(0).getNameAsString();
+        return javaCompilationUnit.getPackageDeclaration()
+            .map(pack -> pack.getNameAsString() + "." + type)
+            .orElse(type);
+    }
+}
@@ -3,16 +3,22 @@ package org.queenlang.transpiler.aspects;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
 import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.project.FileNode;
 import org.queenlang.queen.nodes.project.QueenProject;
+import org.queenlang.queen.nodes.types.TypeNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -31,8 +37,23 @@ public class WeaveParentsAspect {
 
     private final Logger LOG = LoggerFactory.getLogger(WeaveParentsAspect.class);
 
+    /**
+     * The methods building a project (or reloading one of its files) whose parents have to be woven:
+     * only the ones annotated with WeaveParents, of the transpiler, the compiler, the language server
+     * and the project itself.
+     */
+    @Pointcut(
+        "@annotation(org.queenlang.transpiler.aspects.WeaveParents) && ("
+        + "execution(* org.queenlang.transpiler.QueenToJavaTranspiler.*(..))"
+        + " || execution(* org.queenlang.transpiler.QueenToJavaCompiler.*(..))"
+        + " || execution(* org.queenlang.transpiler.lsp.QueenWorkspace.*(..))"
+        + " || execution(* org.queenlang.queen.nodes.project.QueenProject.*(..)))"
+    )
+    public void weaving() {
+    }
+
     @AfterReturning(
-        value = "execution(@org.queenlang.transpiler.aspects.WeaveParents * org.queenlang.transpiler.QueenToJavaTranspiler.*(..))",
+        value = "weaving()",
         returning = "project"
     )
     public void weaveTheParents(final JoinPoint joinPoint, QueenProject project) {
@@ -41,29 +62,53 @@ public class WeaveParentsAspect {
         LOG.info("Finished weaving the QueenProject, containing {} Queen files.", project.children().size());
     }
 
+    /**
+     * Weave the parents into a single file, e.g. one which was parsed again after it was edited.
+     * Its own parent (the project) is given when it is created.
+     * @param joinPoint JoinPoint.
+     * @param file FileNode.
+     */
+    @AfterReturning(
+        value = "weaving()",
+        returning = "file"
+    )
+    public void weaveTheFile(final JoinPoint joinPoint, FileNode file) {
+        LOG.debug("Weaving parents into file: {} at {}", file.fileName(), joinPoint.getSignature());
+        this.traverse(file);
+    }
+
+    /**
+     * Weave the parents into the given tree. The nodes are visited depth-first, in source order.
+     * A type subtree shared by several occurrences (see SharedTypes) keeps its first occurrence
+     * as parent.
+     * @param project Root of the tree.
+     */
     public void traverse(final QueenNode project) {
+        final Set<QueenNode> types = Collections.newSetFromMap(new IdentityHashMap<>());
         Deque<QueenNode> stack = new ArrayDeque<>();
         stack.push(project);
 
         while (!stack.isEmpty()) {
             QueenNode parent = stack.pop();
-            final List<QueenNode> children = parent.children().stream().filter(Objects::nonNull).collect(Collectors.toList());
+            final List<QueenNode> children = parent.children().stream()
+                .filter(Objects::nonNull)
+                .filter(child -> !(child instanceof TypeNode) || types.add(child))
+                .collect(Collectors.toList());
             if(!children.isEmpty()) {
                 LOG.debug("Parent to weave inside its children: {}.", parent.getClass().getSimpleName());
             }
-            children.forEach(
-                child -> {
-                    try {
-                        Field field = child.getClass().getDeclaredField("parent");
-                        field.setAccessible(true);
-                        field.set(child, parent);
-                        LOG.debug("|----Parent woven into child: {}", child.getClass().getSimpleName());
-                    } catch (IllegalAccessException | NoSuchFieldException e) {
-                        throw new RuntimeException(e);
-                    }
-                    stack.push(child);
+            for(int i = children.size() - 1; i >= 0; i--) {
+                final QueenNode child = children.get(i);
+                try {
+                    Field field = child.getClass().getDeclaredField("parent");
+                    field.setAccessible(true);
+                    field.set(child, parent);
+                    LOG.debug("|----Parent woven into child: {}", child.getClass().getSimpleName());
+                } catch (IllegalAccessException | NoSuchFieldException e) {
+                    throw new RuntimeException(e);
                 }
-            );
+                stack.push(child);
+            }
         }
     }
 }
\ No newline at end of file
@@ -48,6 +48,22 @@ public interface Arguments {
 
     Optional<TranspileQueenProject> transpileProject();
 
+    Optional<TranspileStandardInput> standardInput();
+
+    Optional<TranspileShard> shard();
+
+    Optional<ProfileQueenGrammar> profileGrammar();
+
+    Optional<WatchQueenProject> watch();
+
+    Optional<TrainQueenc> train();
+
+    Optional<QueencLanguageServer> languageServer();
+
+    Optional<QueencDaemon> daemon();
+
+    Optional<QueencClient> client();
+
     Optional<Functionality> classpath();
 
     Optional<Functionality> output();
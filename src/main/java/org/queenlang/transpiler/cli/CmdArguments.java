@@ -34,13 +34,32 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.DirectoryClasspath;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.classpath.ShardClasspath;
+import org.queenlang.classpath.SourceRootsClasspath;
+import org.queenlang.queen.CachingQueenASTParser;
+import org.queenlang.queen.ErrorLimit;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.transpiler.QueenToJavaCompiler;
+import org.queenlang.transpiler.QueenOutputCache;
+import org.queenlang.transpiler.QueenToJavaTranspiler;
+import org.queenlang.transpiler.QueenTranspiler;
+import org.queenlang.transpiler.ShardedQueenTranspiler;
+import org.queenlang.transpiler.SourceRoot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public final class CmdArguments implements Arguments {
     private static final Logger LOG = LoggerFactory.getLogger(CmdArguments.class);
@@ -48,10 +67,43 @@ public final class CmdArguments implements Arguments {
 
     private final CommandLine commandLine;
 
+    /**
+     * Directory against which the relative paths are resolved.
+     */
+    private final Path workingDirectory;
+
+    /**
+     * Parser used for the transpilation.
+     */
+    private final QueenASTParser parser;
+
     public CmdArguments(final String[] args) throws ParseException {
+        this(args, Path.of(""), new QueenASTParserANTLR());
+    }
+
+    /**
+     * Ctor.
+     * @param args Command-line arguments.
+     * @param workingDirectory Directory against which the relative paths are resolved (the
+     *  daemon resolves them against the client's working directory).
+     * @param parser Parser used for the transpilation.
+     * @throws ParseException If the arguments are not valid.
+     */
+    public CmdArguments(
+        final String[] args,
+        final Path workingDirectory,
+        final QueenASTParser parser
+    ) throws ParseException {
         this.commandLine = new DefaultParser().parse(
             this.allPossitbleOptions(), args
         );
+        this.workingDirectory = workingDirectory;
+        this.parser = parser;
+        this.checkNumber("me", 1, Integer.MAX_VALUE);
+        this.checkNumber("cs", 0, Long.MAX_VALUE / 1024 / 1024);
+        this.checkNumber("sh", 1, Integer.MAX_VALUE);
+        this.checkNumber("d", 1, 65535);
+        this.checkNumber("c", 1, 65535);
     }
 
     @Override
@@ -89,7 +141,7 @@ public final class CmdArguments implements Arguments {
 
     @Override
     public Optional<Functionality> output() {
-        if (this.isOptionPresent("o") && !this.isOptionPresent("p")) {
+        if (this.isOptionPresent("o") && !this.isOptionPresent("p") && !this.isOptionPresent("si")) {
             final String out = this.commandLine.getOptionValue("o");
             return Optional.of(
                 () -> LOG.warn("queenc: Output {} specified without a project path (-p). Doing nothing.", out)
@@ -100,15 +152,164 @@ public final class CmdArguments implements Arguments {
 
     @Override
     public Optional<TranspileQueenProject> transpileProject() {
-        if(this.commandLine.getOptionValues('p') != null) {
-            final Path parentDir = Path.of(this.commandLine.getOptionValue('p'));
+        if(this.commandLine.getOptionValues('p') != null && !this.isOptionPresent("pg")
+            && !this.isOptionPresent("w") && !this.isOptionPresent("si") && !this.isOptionPresent("sf")) {
+            final Path parentDir = this.path("p");
+            final Path output;
+            if(commandLine.getOptionValue("o") == null) {
+                output = Path.of(parentDir.toString(), "target", "generated-sources", "queen", "java");
+            } else {
+                output = this.path("o");
+            }
+            final QueenTranspiler transpiler = this.transpiler(this.parser, parentDir, output);
+            if(this.isOptionPresent("pr")) {
+                final Path report;
+                if(this.commandLine.getOptionValue("pr") == null) {
+                    report = Path.of(parentDir.toString(), "target", "queenc-profile.json");
+                } else {
+                    report = this.path("pr");
+                }
+                return Optional.of(new TranspileQueenProject(transpiler, report));
+            }
+            return Optional.of(new TranspileQueenProject(transpiler, null));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TranspileShard> shard() {
+        if(this.commandLine.getOptionValues('p') != null && this.isOptionPresent("sf")) {
+            final Path parentDir = this.path("p");
             final Path output;
             if(commandLine.getOptionValue("o") == null) {
                 output = Path.of(parentDir.toString(), "target", "generated-sources", "queen", "java");
             } else {
-                output = Path.of(this.commandLine.getOptionValue('o'));
+                output = this.path("o");
+            }
+            return Optional.of(
+                new TranspileShard(this.transpiler(this.parser, parentDir, output), this.path("sf"))
+            );
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TranspileStandardInput> standardInput() {
+        if(this.isOptionPresent("si")) {
+            final Path path;
+            if(this.commandLine.getOptionValue("si") == null) {
+                path = TranspileStandardInput.DEFAULT_PATH;
+            } else {
+                path = Path.of(this.commandLine.getOptionValue("si"));
+            }
+            final Path output;
+            if(this.commandLine.getOptionValue("o") == null || this.isOptionPresent("so")) {
+                output = null;
+            } else {
+                output = this.path("o");
+            }
+            final Classpath libraries;
+            if(this.commandLine.getOptionValue("p") == null) {
+                libraries = null;
+            } else {
+                final Path project = this.path("p");
+                final Path sources = project.resolve(Path.of("src", "main", "queen"));
+                if(Files.isDirectory(sources)) {
+                    libraries = new DirectoryClasspath(sources);
+                } else {
+                    libraries = new DirectoryClasspath(project);
+                }
+            }
+            return Optional.of(
+                new TranspileStandardInput(
+                    new QueenToJavaCompiler(this.parser, libraries),
+                    path,
+                    output,
+                    this.isOptionPresent("b")
+                )
+            );
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<ProfileQueenGrammar> profileGrammar() {
+        if(this.commandLine.getOptionValues('p') != null && this.isOptionPresent("pg")) {
+            final Path parentDir = this.path("p");
+            final Path report;
+            if(this.commandLine.getOptionValue("pg") == null) {
+                report = Path.of(parentDir.toString(), "target", "queenc-grammar-profile.json");
+            } else {
+                report = this.path("pg");
+            }
+            return Optional.of(new ProfileQueenGrammar(parentDir, report));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<WatchQueenProject> watch() {
+        if(this.commandLine.getOptionValues('p') != null && this.isOptionPresent("w")) {
+            final Path parentDir = this.path("p");
+            final Path output;
+            if(commandLine.getOptionValue("o") == null) {
+                output = Path.of(parentDir.toString(), "target", "generated-sources", "queen", "java");
+            } else {
+                output = this.path("o");
+            }
+            final QueenASTParser caching;
+            if(this.parser instanceof CachingQueenASTParser) {
+                caching = this.parser;
+            } else {
+                caching = new CachingQueenASTParser(this.parser);
+            }
+            return Optional.of(
+                new WatchQueenProject(this.transpiler(caching, parentDir, output))
+            );
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TrainQueenc> train() {
+        if(this.isOptionPresent("t")) {
+            if(this.commandLine.getOptionValue("t") == null) {
+                return Optional.of(new TrainQueenc());
+            }
+            return Optional.of(new TrainQueenc(this.path("t")));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<QueencLanguageServer> languageServer() {
+        if(this.isOptionPresent("ls")) {
+            return Optional.of(new QueencLanguageServer());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<QueencDaemon> daemon() {
+        if(this.isOptionPresent("d")) {
+            return Optional.of(new QueencDaemon(this.port("d")));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<QueencClient> client() {
+        if(this.isOptionPresent("c")) {
+            final List<String> forwarded = new ArrayList<>();
+            for(final Option opt : this.commandLine.getOptions()) {
+                if(!"c".equals(opt.getOpt())) {
+                    forwarded.add("-" + opt.getOpt());
+                    if(opt.getValues() != null) {
+                        forwarded.addAll(Arrays.asList(opt.getValues()));
+                    }
+                }
             }
-            return Optional.of(new TranspileQueenProject(parentDir, output));
+            return Optional.of(new QueencClient(this.port("c"), forwarded.toArray(new String[0])));
         }
         return Optional.empty();
     }
@@ -119,6 +320,197 @@ public final class CmdArguments implements Arguments {
 
     }
 
+    /**
+     * Transpiler of the project. Its source roots are the ones given with --source-root or,
+     * by default, the standard ones which exist (src/main/queen, target/generated-queen and src/test/queen).
+     * If there are none, the whole project directory is the only source root.
+     * @param parser Parser.
+     * @param project Project directory.
+     * @param output Output directory of the main sources.
+     * @return QueenTranspiler.
+     */
+    private QueenTranspiler transpiler(final QueenASTParser parser, final Path project, final Path output) {
+        final List<SourceRoot> roots;
+        final String[] explicit = this.commandLine.getOptionValues("sr");
+        if(explicit == null) {
+            roots = new ArrayList<>(SourceRoot.standard(project, output));
+        } else {
+            roots = new ArrayList<>();
+            for(final String root : explicit) {
+                final int equals = root.indexOf('=');
+                if(equals < 0) {
+                    roots.add(new SourceRoot(project.resolve(root), output));
+                } else {
+                    roots.add(
+                        new SourceRoot(
+                            project.resolve(root.substring(0, equals)),
+                            project.resolve(root.substring(equals + 1))
+                        )
+                    );
+                }
+            }
+        }
+        final Classpath projectClasspath;
+        if(roots.isEmpty()) {
+            projectClasspath = new ProjectClasspath(
+                project,
+                this.globs("in", ProjectClasspath.INCLUDES),
+                this.globs("ex", ProjectClasspath.EXCLUDES)
+            );
+        } else {
+            projectClasspath = new SourceRootsClasspath(roots.stream().map(SourceRoot::directory).collect(Collectors.toList()));
+        }
+        final Classpath classpath;
+        if(this.isOptionPresent("sf")) {
+            classpath = new ShardClasspath(this.path("sf"), projectClasspath);
+        } else {
+            classpath = projectClasspath;
+        }
+        if(roots.isEmpty()) {
+            roots.add(new SourceRoot(project, output));
+        }
+        LOG.debug("Source roots: {}", roots);
+        if(this.isOptionPresent("sh")) {
+            return new ShardedQueenTranspiler(
+                project,
+                roots,
+                classpath,
+                Integer.parseInt(this.commandLine.getOptionValue("sh").trim()),
+                this.worker(),
+                this.maxErrors(),
+                this.workingDirectory.toAbsolutePath(),
+                project.resolve(Path.of("target", "queenc-shards"))
+            );
+        }
+        return new QueenToJavaTranspiler(
+            parser, project, roots, classpath, this.cache(), this.maxErrors(), this.isOptionPresent("op")
+        );
+    }
+
+    /**
+     * Maximum number of errors after which the transpilation stops: 1 with --fail-fast,
+     * the one given with --max-errors or, by default, {@link ErrorLimit#DEFAULT}.
+     * @return Integer.
+     */
+    private int maxErrors() {
+        if(this.isOptionPresent("ff")) {
+            return 1;
+        }
+        if(this.commandLine.getOptionValue("me") == null) {
+            return ErrorLimit.DEFAULT;
+        }
+        return Integer.parseInt(this.commandLine.getOptionValue("me").trim());
+    }
+
+    /**
+     * Cache of the transpiled Java files, given with --cache. The files transpiled with
+     * --optimize are cached apart from the literal ones.
+     * @return QueenOutputCache or null, if the option is missing.
+     */
+    private QueenOutputCache cache() {
+        if(!this.isOptionPresent("ca")) {
+            return null;
+        }
+        final Path directory;
+        if(this.commandLine.getOptionValue("ca") == null) {
+            directory = Path.of(System.getProperty("user.home"), ".queenc", "cache");
+        } else {
+            directory = this.path("ca");
+        }
+        final long size;
+        if(this.commandLine.getOptionValue("cs") == null) {
+            size = QueenOutputCache.DEFAULT_SIZE;
+        } else {
+            size = Long.parseLong(this.commandLine.getOptionValue("cs").trim()) * 1024 * 1024;
+        }
+        String version = config.version();
+        if(this.isOptionPresent("op")) {
+            version = version + "-optimize";
+        }
+        return new QueenOutputCache(directory, size, version);
+    }
+
+    /**
+     * Command starting a shard worker: a queenc process with a bounded heap and the same
+     * options, except the ones of the coordinator. The shard file is appended to it.
+     * @return Command.
+     */
+    private List<String> worker() {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + this.commandLine.getOptionValue("wh", "1g"));
+        command.add("-cp");
+        command.add(
+            Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(entry -> Path.of(entry).toAbsolutePath().toString())
+                .collect(Collectors.joining(File.pathSeparator))
+        );
+        command.add(Queenc.class.getName());
+        final List<String> coordinator = List.of("sh", "wh", "pr", "w", "c", "sf");
+        for(final Option opt : this.commandLine.getOptions()) {
+            if(!coordinator.contains(opt.getOpt())) {
+                command.add("-" + opt.getOpt());
+                if(opt.getValues() != null) {
+                    command.addAll(Arrays.asList(opt.getValues()));
+                }
+            }
+        }
+        command.add("--shard-file");
+        return command;
+    }
+
+    /**
+     * Check that the value of the given option, if it is present, is a whole number in the given range.
+     * @param option Option (e.g. cs).
+     * @param min Minimum value.
+     * @param max Maximum value.
+     * @throws ParseException If the value is not a number or if it is out of range.
+     */
+    private void checkNumber(final String option, final long min, final long max) throws ParseException {
+        final String value = this.commandLine.getOptionValue(option);
+        if(value != null) {
+            boolean valid;
+            try {
+                final long number = Long.parseLong(value.trim());
+                valid = number >= min && number <= max;
+            } catch (final NumberFormatException ex) {
+                valid = false;
+            }
+            if(!valid) {
+                final Option given = this.allPossitbleOptions().getOption(option);
+                throw new ParseException(
+                    "The value of --" + given.getLongOpt() + " should be a number from " + min + " to " + max
+                    + ", but it is " + value + "."
+                );
+            }
+        }
+    }
+
+    /**
+     * Globs given with the option or, if it is missing, the defaults.
+     * @param option Option (in or ex).
+     * @param defaults Default globs.
+     * @return List of globs.
+     */
+    private List<String> globs(final String option, final List<String> defaults) {
+        final String[] given = this.commandLine.getOptionValues(option);
+        if(given == null) {
+            return defaults;
+        }
+        return Arrays.asList(given);
+    }
+
+    private Path path(final String option) {
+        return this.workingDirectory.resolve(this.commandLine.getOptionValue(option));
+    }
+
+    private int port(final String option) {
+        if(this.commandLine.getOptionValue(option) == null) {
+            return QueencDaemon.DEFAULT_PORT;
+        }
+        return Integer.parseInt(this.commandLine.getOptionValue(option).trim());
+    }
+
     private boolean isOptionPresent(final String name) {
         final List<Option> options = Arrays.asList(this.commandLine.getOptions());
         if(options.size() == 0) {
@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -94,7 +95,7 @@ public final class CreateQueenMavenProject implements Functionality {
             Paths.get("/forMavenTemplate/JavaHello.java"),
             Path.of(this.parentDir.toString(), SRC_MAIN_JAVA, "com/example/javaqueen/JavaHello.java")
         );
-        this.copyFile(
+        this.copyPom(
             Paths.get("/forMavenTemplate/template-build.xml"),
             Path.of(this.parentDir.toString(), "pom.xml")
         );
@@ -117,6 +118,22 @@ public final class CreateQueenMavenProject implements Functionality {
         }
     }
 
+    /**
+     * Copy the template pom.xml, setting the version of the queen-maven-plugin to
+     * the version of this queenc.
+     * @param source Template pom.
+     * @param target Project pom.
+     */
+    private void copyPom(final Path source, final Path target) {
+        try (final InputStream src = getClass().getResourceAsStream(source.toString())){
+            final String pom = new String(src.readAllBytes(), StandardCharsets.UTF_8);
+            Files.writeString(target, pom.replace("@queen.version@", new Config().version()));
+        } catch (final IOException ex) {
+            LOG.error("IOException while creating the pom.xml {}. Message {}", target, ex.getMessage());
+            throw new IllegalStateException("IOException when creating the pom.xml.", ex);
+        }
+    }
+
     private void copyFile(Path source, Path target) {
         try (final InputStream src = getClass().getResourceAsStream(source.toString())){
             if(!Files.exists(target)) {
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.nodes.names.QueenSymbols;
+import org.queenlang.transpiler.profile.GrammarProfile;
+import org.queenlang.transpiler.profile.QueenGrammarProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Parse all the files of a Queen project with ANTLR's ProfilingATNSimulator and write a
+ * report with the grammar decisions which cost the most. Nothing is transpiled.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ProfileQueenGrammar implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(ProfileQueenGrammar.class);
+
+    private final Classpath classpath;
+    private final QueenASTParser parser;
+    private final GrammarProfile profile;
+    private final Path report;
+
+    public ProfileQueenGrammar(final Path queenProjectDirectory, final Path report) {
+        this(new ProjectClasspath(queenProjectDirectory), new QueenGrammarProfile(), report);
+    }
+
+    public ProfileQueenGrammar(final Classpath classpath, final GrammarProfile profile, final Path report) {
+        this(
+            classpath,
+            new QueenASTParserANTLR(new QueenSymbols(), false, profile),
+            profile,
+            report
+        );
+    }
+
+    public ProfileQueenGrammar(
+        final Classpath classpath,
+        final QueenASTParser parser,
+        final GrammarProfile profile,
+        final Path report
+    ) {
+        this.classpath = classpath;
+        this.parser = parser;
+        this.profile = profile;
+        this.report = report;
+    }
+
+    @Override
+    public void execute() {
+        for(final Path file : this.classpath.findAll()) {
+            try {
+                this.parser.parse(file);
+            } catch (final QueenTranspilationException | IOException ex) {
+                LOG.warn(
+                    "Caught {} while parsing [{}], its decisions are still profiled: {}",
+                    ex.getClass().getSimpleName(), file, ex.getMessage()
+                );
+            }
+        }
+        try {
+            if(this.report.getParent() != null) {
+                Files.createDirectories(this.report.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(this.report)) {
+                this.profile.report(writer);
+            }
+            LOG.info("Grammar profile report written to [{}].", this.report);
+        } catch (final IOException ex) {
+            LOG.error("Could not write the grammar profile report to [{}]: {}", this.report, ex.getMessage());
+        }
+    }
+}
@@ -27,7 +27,11 @@
  * SUCH DAMAGE.
  */
 package org.queenlang.transpiler.cli;
+
 import org.apache.commons.cli.*;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.queen.ErrorLimit;
+import org.queenlang.transpiler.QueenOutputCache;
 
 /**
  * Simple factory for the {@link Options} which are supported
@@ -53,6 +57,76 @@ public final class QueenCliOptions {
         Option output = new Option("o", "output", true, "Output path. Defaults to -p/target/generated-sources/queen/java.");
         options.addOption(output);
 
+        Option sourceRoot = new Option("sr", "source-root", true, "Source root of the project given with -p, relative to it, optionally followed by =output-directory (e.g. src/test/queen=target/generated-test-sources/queen/java). It can be given more times. All the source roots are transpiled together, each one to its own output directory (defaults to -o). By default, the source roots are those of src/main/queen (to -o), target/generated-queen and src/test/queen which exist; if none exists, the whole -p directory is searched for Queen files.");
+        options.addOption(sourceRoot);
+
+        Option include = new Option("in", "include", true, "Glob of the Queen files to transpile, relative to the project given with -p, used when the whole directory is searched (no source roots). It can be given more times. Defaults to " + String.join(", ", ProjectClasspath.INCLUDES) + ".");
+        options.addOption(include);
+
+        Option exclude = new Option("ex", "exclude", true, "Glob of the files and directories to skip, relative to the project given with -p, used when the whole directory is searched (no source roots). The skipped directories are not opened at all. It can be given more times. Defaults to " + String.join(", ", ProjectClasspath.EXCLUDES) + ".");
+        options.addOption(exclude);
+
+        Option maxErrors = new Option("me", "max-errors", true, "Stop the transpilation after this many errors and exit with a non-zero code. No more files are parsed and the shard workers still running are stopped. Defaults to " + ErrorLimit.DEFAULT + ".");
+        options.addOption(maxErrors);
+
+        Option failFast = new Option("ff", "fail-fast", false, "Stop the transpilation at the first error, the same as --max-errors 1.");
+        options.addOption(failFast);
+
+        Option optimize = new Option("op", "optimize", false, "Fold the constant expressions (literals, operators and the interface constants of the same file) and remove the if/while branches guarded by constant conditions (e.g. if (DEBUG)) from the generated Java.");
+        options.addOption(optimize);
+
+        Option cache = new Option("ca", "cache", true, "Cache the transpiled Java files in a local directory, shared by all the checkouts of the project given with -p on this machine. A Queen file is transpiled again only if its content or the queenc version changed. The optional argument is the cache directory. Defaults to ~/.queenc/cache.");
+        cache.setOptionalArg(true);
+        options.addOption(cache);
+
+        Option cacheSize = new Option("cs", "cache-size", true, "Maximum size of the cache given with --cache, in MB. The least recently used entries are evicted. Defaults to " + QueenOutputCache.DEFAULT_SIZE / 1024 / 1024 + ".");
+        options.addOption(cacheSize);
+
+        Option shards = new Option("sh", "shards", true, "Split the project given with -p in at most this many shards, along its import graph, and transpile each shard in its own queenc process, with a bounded heap. Every worker writes a summary of its shard's declarations in target/queenc-shards and the others resolve its types against it, instead of parsing them. The output is the same as the one of a single process.");
+        options.addOption(shards);
+
+        Option workerHeap = new Option("wh", "worker-heap", true, "Maximum heap of every shard worker, given with --shards, in the format of -Xmx (e.g. 512m). Defaults to 1g.");
+        options.addOption(workerHeap);
+
+        Option shardFile = new Option("sf", "shard-file", true, "Transpile only the Queen files listed in this shard file, written by queenc --shards. Used by the shard workers.");
+        options.addOption(shardFile);
+
+        Option profile = new Option("pr", "profile", true, "Record the time spent in every phase of the transpilation and write it as a JSON report. The optional argument is the path of the report. Defaults to -p/target/queenc-profile.json.");
+        profile.setOptionalArg(true);
+        options.addOption(profile);
+
+        Option profileGrammar = new Option("pg", "profile-grammar", true, "Only parse the project given with -p, using ANTLR's profiling simulator, and write a JSON report with the grammar rules and decisions which cost the most. The optional argument is the path of the report. Defaults to -p/target/queenc-grammar-profile.json.");
+        profileGrammar.setOptionalArg(true);
+        options.addOption(profileGrammar);
+
+        Option watch = new Option("w", "watch", false, "Transpile the project given with -p, then keep watching it and transpile again only the changed files and the files depending on them, after every save. Stop it with Ctrl+C.");
+        options.addOption(watch);
+
+        Option daemon = new Option("d", "daemon", true, "Start a long-lived queenc daemon, which keeps the JIT-compiled code and the parsed files warm between builds. It listens on the loopback interface and stops after 30 idle minutes. The optional argument is the port. Defaults to " + QueencDaemon.DEFAULT_PORT + ".");
+        daemon.setOptionalArg(true);
+        options.addOption(daemon);
+
+        Option client = new Option("c", "client", true, "Forward all the other arguments to a running queenc daemon and print its output. If no daemon is listening, queenc runs them itself. The optional argument is the daemon's port. Defaults to " + QueencDaemon.DEFAULT_PORT + ".");
+        client.setOptionalArg(true);
+        options.addOption(client);
+
+        Option languageServer = new Option("ls", "lsp", false, "Start the Queen language server, speaking LSP over the standard input and output. It keeps the ASTs of the project in memory and answers diagnostics, go-to-definition and document symbols.");
+        options.addOption(languageServer);
+
+        Option stdin = new Option("si", "stdin", true, "Transpile a single Queen compilation unit read from the standard input, without scanning any project. The imports are resolved only when they are referenced, against the project given with -p, if any. The Java code is written to the directory given with -o or, by default, to the standard output. The optional argument is the path of the unit, relative to its sources root (e.g. com/example/Car.queen). Defaults to " + TranspileStandardInput.DEFAULT_PATH + ".");
+        stdin.setOptionalArg(true);
+        options.addOption(stdin);
+
+        Option stdout = new Option("so", "stdout", false, "Write the Java code transpiled with --stdin to the standard output, even if -o is given.");
+        options.addOption(stdout);
+
+        Option batch = new Option("b", "batch", false, "With --stdin, read a stream of Queen units, each framed by a header line \"<length> [path]\", and write each result to the standard output, framed by a header line \"<length> ok|error\". Lengths are in UTF-8 bytes.");
+        options.addOption(batch);
+
+        Option train = new Option("t", "train", true, "Transpile a small Queen project in a new JVM and create an AppCDS archive of the classes it loads, so queenc starts faster. The queenc launchers use the archive automatically. The optional argument is the path of the archive. Defaults to queenc.jsa, next to queenc.jar.");
+        train.setOptionalArg(true);
+        options.addOption(train);
+
         Option help = new Option("h", "help", false, "Print this help message.");
         options.addOption(help);
 
@@ -29,6 +29,10 @@
 package org.queenlang.transpiler.cli;
 
 import org.apache.commons.cli.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
 
 /**
  * The entry point of queenc.
@@ -37,19 +41,65 @@ import org.apache.commons.cli.*;
  * @since 0.0.1
  */
 public final class Queenc {
-    public static void main(String[] args) throws ParseException {
-        run(
-            new CmdArguments(
+    private static final Logger LOG = LoggerFactory.getLogger(Queenc.class);
+
+    public static void main(String[] args) {
+        final Arguments arguments;
+        try {
+            arguments = new CmdArguments(
                 args.length == 0 ? new String[]{"--version", "--help"} : args
-            )
-        );
+            );
+        } catch (final ParseException ex) {
+            LOG.error("queenc: {} See queenc --help.", ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        final boolean successful = run(arguments);
+        if(!successful) {
+            System.exit(1);
+        }
     }
 
-    public static void run(final Arguments arguments) {
+    /**
+     * Run queenc with the given arguments.
+     * @param arguments Arguments.
+     * @return False if the project could not be transpiled or queenc could not be trained, true otherwise.
+     */
+    public static boolean run(final Arguments arguments) {
+        final Optional<QueencClient> client = arguments.client();
+        if(client.isPresent()) {
+            client.get().execute();
+            return client.get().successful();
+        }
+        boolean successful = true;
         arguments.version().ifPresent(Functionality::execute);
         arguments.help().ifPresent(Functionality::execute);
         arguments.createQueenProject().ifPresent(Functionality::execute);
-        arguments.transpileProject().ifPresent(Functionality::execute);
+        final Optional<TrainQueenc> train = arguments.train();
+        if(train.isPresent()) {
+            train.get().execute();
+            successful = train.get().successful();
+        }
+        final Optional<TranspileStandardInput> standardInput = arguments.standardInput();
+        if(standardInput.isPresent()) {
+            standardInput.get().execute();
+            successful = successful && standardInput.get().successful();
+        }
+        final Optional<TranspileQueenProject> transpile = arguments.transpileProject();
+        if(transpile.isPresent()) {
+            transpile.get().execute();
+            successful = successful && transpile.get().successful();
+        }
+        final Optional<TranspileShard> shard = arguments.shard();
+        if(shard.isPresent()) {
+            shard.get().execute();
+            successful = successful && shard.get().successful();
+        }
+        arguments.profileGrammar().ifPresent(Functionality::execute);
+        arguments.watch().ifPresent(Functionality::execute);
         arguments.output().ifPresent(Functionality::execute);
+        arguments.languageServer().ifPresent(Functionality::execute);
+        arguments.daemon().ifPresent(Functionality::execute);
+        return successful;
     }
 }
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.apache.commons.cli.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Thin queenc, which forwards its arguments to a running {@link QueencDaemon} and prints
+ * the daemon's output. If no daemon is listening, the arguments are run in this JVM.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueencClient implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(QueencClient.class);
+
+    private final int port;
+    private final String[] args;
+
+    /**
+     * File holding the daemon's token.
+     */
+    private final Path tokenFile;
+
+    /**
+     * Did the last execution succeed?
+     */
+    private volatile boolean successful = true;
+
+    public QueencClient(final int port, final String[] args) {
+        this(port, args, QueencDaemon.token(port));
+    }
+
+    /**
+     * Ctor.
+     * @param port Port of the daemon.
+     * @param args Arguments to forward.
+     * @param tokenFile File holding the daemon's token.
+     */
+    public QueencClient(final int port, final String[] args, final Path tokenFile) {
+        this.port = port;
+        this.args = args;
+        this.tokenFile = tokenFile;
+    }
+
+    @Override
+    public void execute() {
+        final String token;
+        try {
+            token = Files.readString(this.tokenFile).trim();
+        } catch (final NoSuchFileException ex) {
+            LOG.warn("queenc: no daemon is running for port {}, running without it.", this.port);
+            this.runLocally();
+            return;
+        } catch (final IOException ex) {
+            LOG.error("queenc: could not read the daemon's token {}: {}", this.tokenFile, ex.getMessage());
+            this.successful = false;
+            return;
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.port)) {
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(token);
+            out.writeUTF(Path.of("").toAbsolutePath().toString());
+            out.writeInt(this.args.length);
+            for(final String arg : this.args) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            for(int length = in.readInt(); length > 0; length = in.readInt()) {
+                System.out.write(in.readNBytes(length));
+            }
+            System.out.flush();
+            this.successful = in.readInt() == 0;
+        } catch (final ConnectException ex) {
+            LOG.warn("queenc: no daemon is listening on port {}, running without it.", this.port);
+            this.runLocally();
+        } catch (final EOFException ex) {
+            LOG.error("queenc: the daemon on port {} closed the connection before the build ended.", this.port);
+            this.successful = false;
+        } catch (final IOException ex) {
+            LOG.error("queenc: could not talk to the daemon on port {}: {}", this.port, ex.getMessage());
+            this.successful = false;
+        }
+    }
+
+    /**
+     * Did the last execution succeed? If not, queenc should exit with a non-zero code.
+     * @return True or false.
+     */
+    public boolean successful() {
+        return this.successful;
+    }
+
+    /**
+     * Run the arguments in this JVM.
+     */
+    private void runLocally() {
+        try {
+            this.successful = Queenc.run(new CmdArguments(this.args));
+        } catch (final ParseException pex) {
+            LOG.error("queenc: {}", pex.getMessage());
+            this.successful = false;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.apache.commons.cli.ParseException;
+import org.queenlang.queen.CachingQueenASTParser;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Long-lived queenc, serving the arguments forwarded by {@link QueencClient}.
+ *
+ * Every build served by the same daemon reuses the JIT-compiled code, the ANTLR DFA cache,
+ * the interned symbols and the ASTs of the files which did not change. The builds are
+ * served one at a time and their output is sent back to the client. The daemon listens
+ * only on the loopback interface and stops if no build is requested for the idle timeout.
+ *
+ * Only the owner of the daemon may use it: at start, the daemon writes a random token
+ * in a file which only its owner can read (see {@link #token(int)}) and it closes,
+ * without running anything, the connections which do not send it first.
+ *
+ * The client sends the token, its working directory, the number of arguments and the
+ * arguments. The daemon answers with the output, in chunks (the length, then the bytes),
+ * followed by an empty chunk and the exit status.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueencDaemon implements Functionality {
+
+    /**
+     * Port on which the daemon listens, if none is specified.
+     */
+    public static final int DEFAULT_PORT = 7447;
+
+    /**
+     * Maximum number of arguments of a build.
+     */
+    static final int MAX_ARGUMENTS = 256;
+
+    /**
+     * How long the daemon waits for a client to send its request.
+     */
+    private static final int READ_TIMEOUT = 10_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueencDaemon.class);
+
+    private final int port;
+    private final Duration idle;
+    private final QueenASTParser parser;
+
+    /**
+     * File in which the token is written.
+     */
+    private final Path tokenFile;
+
+    public QueencDaemon(final int port) {
+        this(port, Duration.ofMinutes(30));
+    }
+
+    public QueencDaemon(final int port, final Duration idle) {
+        this(port, idle, new CachingQueenASTParser(new QueenASTParserANTLR()), QueencDaemon.token(port));
+    }
+
+    /**
+     * Ctor.
+     * @param port Port to listen on.
+     * @param idle Idle time after which the daemon stops.
+     * @param parser Parser shared by the builds.
+     * @param tokenFile File in which the token is written.
+     */
+    public QueencDaemon(final int port, final Duration idle, final QueenASTParser parser, final Path tokenFile) {
+        this.port = port;
+        this.idle = idle;
+        this.parser = parser;
+        this.tokenFile = tokenFile;
+    }
+
+    /**
+     * File holding the token of the daemon listening on the given port.
+     * @param port Port.
+     * @return Path under ~/.queenc.
+     */
+    public static Path token(final int port) {
+        return Path.of(System.getProperty("user.home"), ".queenc", "daemon-" + port + ".token");
+    }
+
+    @Override
+    public void execute() {
+        final byte[] token;
+        try {
+            token = this.writeToken();
+        } catch (final IOException ex) {
+            LOG.error("queenc daemon could not write its token to {}: {}", this.tokenFile, ex.getMessage());
+            return;
+        }
+        try (ServerSocket server = new ServerSocket(this.port, 50, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) this.idle.toMillis());
+            LOG.info("queenc daemon listening on port {}.", server.getLocalPort());
+            while (true) {
+                try (Socket client = server.accept()) {
+                    client.setSoTimeout(READ_TIMEOUT);
+                    this.serve(client, token);
+                } catch (final SocketTimeoutException ex) {
+                    LOG.info("queenc daemon was idle for {}, stopping.", this.idle);
+                    break;
+                } catch (final IOException ex) {
+                    LOG.error("queenc daemon could not serve a client: {}", ex.getMessage());
+                }
+            }
+        } catch (final IOException ex) {
+            LOG.error("queenc daemon could not listen on port {}: {}", this.port, ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(this.tokenFile);
+            } catch (final IOException ex) {
+                LOG.warn("queenc daemon could not delete its token {}: {}", this.tokenFile, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Serve one build.
+     * @param client Client socket.
+     * @param token Token the client has to send.
+     * @throws IOException If the request cannot be read.
+     */
+    private void serve(final Socket client, final byte[] token) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+        final String[] args;
+        final Path workingDirectory;
+        try {
+            if(!MessageDigest.isEqual(token, in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+                LOG.warn("queenc daemon: rejected a client which did not send the token.");
+                return;
+            }
+            workingDirectory = Path.of(in.readUTF());
+            final int count = in.readInt();
+            if(count < 0 || count > MAX_ARGUMENTS) {
+                LOG.warn("queenc daemon: rejected a build with {} arguments (at most {}).", count, MAX_ARGUMENTS);
+                this.respond(client, false);
+                return;
+            }
+            args = new String[count];
+            for(int idx = 0; idx < args.length; ++idx) {
+                args[idx] = in.readUTF();
+            }
+        } catch (final SocketTimeoutException ex) {
+            LOG.warn("queenc daemon: a client did not send its request in {} ms.", READ_TIMEOUT);
+            return;
+        }
+        final PrintStream stdout = System.out;
+        final PrintStream stderr = System.err;
+        final Chunks chunks = new Chunks(client.getOutputStream());
+        final PrintStream out = new PrintStream(chunks, true, StandardCharsets.UTF_8);
+        System.setOut(out);
+        System.setErr(out);
+        final long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            final Arguments arguments = new CmdArguments(args, workingDirectory, this.parser);
+            if(arguments.daemon().isPresent() || arguments.client().isPresent()
+                || arguments.watch().isPresent() || arguments.languageServer().isPresent()
+                || arguments.standardInput().isPresent()) {
+                LOG.warn("queenc daemon: --daemon, --client, --watch, --lsp and --stdin cannot be forwarded to a daemon.");
+            } else {
+                successful = Queenc.run(arguments);
+            }
+        } catch (final ParseException | RuntimeException ex) {
+            LOG.error("queenc daemon: {}", ex.getMessage());
+        } finally {
+            out.flush();
+            System.setOut(stdout);
+            System.setErr(stderr);
+        }
+        chunks.end(successful);
+        LOG.info(
+            "queenc daemon served {} in {} ms.",
+            String.join(" ", args), (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    /**
+     * Answer a build without output.
+     * @param client Client socket.
+     * @param successful Did the build succeed?
+     * @throws IOException If the answer cannot be sent.
+     */
+    private void respond(final Socket client, final boolean successful) throws IOException {
+        new Chunks(client.getOutputStream()).end(successful);
+    }
+
+    /**
+     * Write a new random token in the token file, readable only by its owner.
+     * @return The token.
+     * @throws IOException If the file cannot be written.
+     */
+    private byte[] writeToken() throws IOException {
+        final byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        Files.createDirectories(this.tokenFile.toAbsolutePath().getParent());
+        Files.deleteIfExists(this.tokenFile);
+        if(FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(
+                this.tokenFile,
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+            );
+        } else {
+            Files.createFile(this.tokenFile);
+            this.tokenFile.toFile().setReadable(false, false);
+            this.tokenFile.toFile().setReadable(true, true);
+        }
+        Files.writeString(this.tokenFile, token);
+        return token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Output of a build, sent in chunks so that the exit status can follow it.
+     */
+    private static final class Chunks extends OutputStream {
+
+        private final DataOutputStream out;
+
+        Chunks(final OutputStream out) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            this.write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if(length > 0) {
+                this.out.writeInt(length);
+                this.out.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.out.flush();
+        }
+
+        /**
+         * End the output with an empty chunk and the exit status.
+         * @param successful Did the build succeed?
+         * @throws IOException If they cannot be sent.
+         */
+        void end(final boolean successful) throws IOException {
+            this.out.writeInt(0);
+            this.out.writeInt(successful ? 0 : 1);
+            this.out.flush();
+        }
+    }
+}
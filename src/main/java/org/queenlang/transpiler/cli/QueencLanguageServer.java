@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.launch.LSPLauncher;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.queenlang.transpiler.lsp.QueenLanguageServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Run the Queen language server, speaking LSP over standard input and output.
+ * Standard output belongs to the protocol, so everything else printed by queenc
+ * (e.g. the logs) is sent to standard error while the server runs.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueencLanguageServer implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(QueencLanguageServer.class);
+
+    private final InputStream in;
+    private final PrintStream out;
+
+    /**
+     * Ctor.
+     */
+    public QueencLanguageServer() {
+        this(System.in, System.out);
+    }
+
+    /**
+     * Ctor.
+     * @param in Where the client's messages are read from.
+     * @param out Where the server's messages are written.
+     */
+    public QueencLanguageServer(final InputStream in, final PrintStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public void execute() {
+        final PrintStream stdout = System.out;
+        System.setOut(System.err);
+        try {
+            final QueenLanguageServer server = new QueenLanguageServer();
+            final Launcher<LanguageClient> launcher = LSPLauncher.createServerLauncher(server, this.in, this.out);
+            server.connect(launcher.getRemoteProxy());
+            final Future<Void> listening = launcher.startListening();
+            CompletableFuture.anyOf(
+                server.exited(),
+                CompletableFuture.runAsync(
+                    () -> {
+                        try {
+                            listening.get();
+                        } catch (final InterruptedException | ExecutionException ex) {
+                            LOG.debug("Stopped listening: {}", ex.getMessage());
+                        }
+                    }
+                )
+            ).join();
+            listening.cancel(true);
+            LOG.info("Queen language server stopped (shutdown requested: {}).", server.wasShutdown());
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+}
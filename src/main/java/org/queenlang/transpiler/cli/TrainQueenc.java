@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Create an AppCDS archive for queenc, so its JVM starts faster: the classes of queenc and
+ * its dependencies (AspectJ, ANTLR, JavaParser, logback etc) are loaded from the archive
+ * instead of being read, verified and parsed on every run.
+ *
+ * The archive is created by a new JVM, which transpiles a small Queen project (the one from
+ * the Maven template). On Java 13 or newer it is a dynamic archive, written when that JVM exits.
+ * On Java 11 and 12 the loaded classes are listed first, then the archive is dumped from the list.
+ *
+ * The archive is only valid for the same JVM and the same classpath (the path of queenc.jar),
+ * so it has to be created again after upgrading Java or moving queenc.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class TrainQueenc implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(TrainQueenc.class);
+
+    /**
+     * Name of the archive, which the launchers look for next to queenc.jar.
+     */
+    public static final String ARCHIVE = "queenc.jsa";
+
+    private final Path archive;
+    private final String java;
+    private final String classpath;
+
+    /**
+     * Did the last execution succeed?
+     */
+    private volatile boolean successful = true;
+
+    /**
+     * Ctor. The archive is created next to queenc.jar.
+     */
+    public TrainQueenc() {
+        this(defaultArchive());
+    }
+
+    /**
+     * Ctor.
+     * @param archive Path of the archive.
+     */
+    public TrainQueenc(final Path archive) {
+        this(
+            archive,
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            System.getProperty("java.class.path")
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param archive Path of the archive.
+     * @param java Java executable of the JVM which will use the archive.
+     * @param classpath Classpath of queenc.
+     */
+    public TrainQueenc(final Path archive, final String java, final String classpath) {
+        this.archive = archive.toAbsolutePath();
+        this.java = java;
+        this.classpath = Arrays.stream(classpath.split(File.pathSeparator))
+            .map(entry -> Path.of(entry).toAbsolutePath().toString())
+            .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    @Override
+    public void execute() {
+        LOG.info("Training queenc, the AppCDS archive will be written to [{}]...", this.archive);
+        this.successful = false;
+        Path project = null;
+        try {
+            project = Files.createTempDirectory("queenc-training");
+            this.copyTemplate(project);
+            if(this.archive.getParent() != null) {
+                Files.createDirectories(this.archive.getParent());
+            }
+            Files.deleteIfExists(this.archive);
+            if(Runtime.version().feature() >= 13) {
+                this.run(
+                    "-XX:ArchiveClassesAtExit=" + this.archive,
+                    "-cp", this.classpath, Queenc.class.getName(), "-p", project.toString()
+                );
+            } else {
+                final Path classes = project.resolve("queenc.classlist");
+                this.run(
+                    "-Xshare:off", "-XX:DumpLoadedClassList=" + classes,
+                    "-cp", this.classpath, Queenc.class.getName(), "-p", project.toString()
+                );
+                this.run(
+                    "-Xshare:dump", "-XX:SharedClassListFile=" + classes,
+                    "-XX:SharedArchiveFile=" + this.archive, "-cp", this.classpath
+                );
+            }
+            if(Files.exists(this.archive)) {
+                LOG.info(
+                    "AppCDS archive written to [{}]. Run queenc with -XX:SharedArchiveFile={} "
+                    + "(the queenc launchers do it automatically).",
+                    this.archive, this.archive
+                );
+                this.successful = true;
+            } else {
+                LOG.error("Could not create the AppCDS archive [{}].", this.archive);
+            }
+        } catch (final IOException ex) {
+            LOG.error("IOException while training queenc: {}", ex.getMessage());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while training queenc.");
+        } finally {
+            delete(project);
+        }
+    }
+
+    /**
+     * Did the last execution succeed? It did not if the archive was not created,
+     * so queenc should exit with a non-zero code.
+     * @return True or false.
+     */
+    public boolean successful() {
+        return this.successful;
+    }
+
+    /**
+     * Run a JVM with the given arguments. A failed training transpilation still
+     * loads most of the classes, so its exit code is only reported.
+     * @param arguments Arguments of the JVM.
+     */
+    private void run(final String... arguments) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(this.java);
+        command.addAll(Arrays.asList(arguments));
+        LOG.debug("Running {}", command);
+        final int exit = new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start()
+            .waitFor();
+        if(exit != 0) {
+            LOG.warn("Training JVM exited with code {}: {}", exit, command);
+        }
+    }
+
+    /**
+     * Copy the Queen files of the Maven template in the given project.
+     * @param project Training project.
+     */
+    private void copyTemplate(final Path project) throws IOException {
+        final Path queen = project.resolve("src/main/queen");
+        this.copy("/forMavenTemplate/EntryPoint.queen", queen.resolve("com/example/queen/EntryPoint.queen"));
+        this.copy("/forMavenTemplate/HelloWorld.queen", queen.resolve("org/queenlang/HelloWorld.queen"));
+        this.copy("/forMavenTemplate/QueenHello.queen", queen.resolve("org/queenlang/QueenHello.queen"));
+    }
+
+    private void copy(final String resource, final Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try (final InputStream src = getClass().getResourceAsStream(resource)) {
+            Files.copy(src, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The archive's default location, next to queenc.jar (or next to the classes
+     * directory, if queenc is not running from a jar).
+     * @return Path.
+     */
+    private static Path defaultArchive() {
+        try {
+            return Path.of(
+                Queenc.class.getProtectionDomain().getCodeSource().getLocation().toURI()
+            ).resolveSibling(ARCHIVE);
+        } catch (final URISyntaxException | SecurityException ex) {
+            return Path.of(ARCHIVE);
+        }
+    }
+
+    private static void delete(final Path directory) {
+        if(directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (final IOException ex) {
+            LOG.warn("Could not delete the training project [{}]: {}", directory, ex.getMessage());
+        }
+    }
+}
@@ -28,14 +28,20 @@
  */
 package org.queenlang.transpiler.cli;
 
+import org.queenlang.queen.QueenASTParser;
 import org.queenlang.queen.QueenASTParserANTLR;
 import org.queenlang.queen.QueenTranspilationException;
 import org.queenlang.transpiler.QueenToJavaTranspiler;
 import org.queenlang.transpiler.QueenTranspiler;
+import org.queenlang.transpiler.profile.Profile;
+import org.queenlang.transpiler.profile.ProfiledTranspiler;
+import org.queenlang.transpiler.profile.QueenProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -48,27 +54,99 @@ public final class TranspileQueenProject implements Functionality {
     private final Logger LOG = LoggerFactory.getLogger(TranspileQueenProject.class);
     private final QueenTranspiler queenTranspiler;
 
+    /**
+     * Where to write the profile report. Null if the transpilation should not be profiled.
+     */
+    private final Path profileReport;
+
+    /**
+     * Did the last execution succeed?
+     */
+    private volatile boolean successful = true;
+
     public TranspileQueenProject(final Path queenProjectDirectory, final Path outputDirectory) {
-        this.queenTranspiler = new QueenToJavaTranspiler(
-            new QueenASTParserANTLR(),
-            queenProjectDirectory,
-            outputDirectory
+        this(queenProjectDirectory, outputDirectory, null);
+    }
+
+    public TranspileQueenProject(
+        final Path queenProjectDirectory,
+        final Path outputDirectory,
+        final Path profileReport
+    ) {
+        this(new QueenASTParserANTLR(), queenProjectDirectory, outputDirectory, profileReport);
+    }
+
+    public TranspileQueenProject(
+        final QueenASTParser parser,
+        final Path queenProjectDirectory,
+        final Path outputDirectory,
+        final Path profileReport
+    ) {
+        this(
+            new QueenToJavaTranspiler(
+                parser,
+                queenProjectDirectory,
+                outputDirectory
+            ),
+            profileReport
         );
     }
 
+    public TranspileQueenProject(final QueenTranspiler queenTranspiler, final Path profileReport) {
+        this.queenTranspiler = queenTranspiler;
+        this.profileReport = profileReport;
+    }
+
     @Override
     public void execute() {
         final Path sourceDir = queenTranspiler.sourceDirectory();
         final Path targetDir = queenTranspiler.targetDirectory();
+        final Profile profile;
+        final QueenTranspiler transpiler;
+        if(this.profileReport != null) {
+            profile = new QueenProfile();
+            transpiler = new ProfiledTranspiler(this.queenTranspiler, profile);
+        } else {
+            profile = null;
+            transpiler = this.queenTranspiler;
+        }
         try {
             LOG.debug("Transpiling queen project from [{}] to [{}].", sourceDir, targetDir);
-            this.queenTranspiler.transpile();
+            this.successful = true;
+            transpiler.transpile();
             LOG.debug("Finished transpiling Queen project from [{}] to [{}].", sourceDir, targetDir);
         } catch (QueenTranspilationException | IOException ex) {
+            this.successful = false;
             LOG.error(
                 "Caught {} while transpiling Queen project from [{}] to [{}]: {}",
                 ex.getClass().getSimpleName(), sourceDir, targetDir, ex.getMessage()
             );
+        } finally {
+            if(profile != null) {
+                this.writeReport(profile);
+            }
+        }
+    }
+
+    /**
+     * Did the last execution succeed? If not, queenc should exit with a non-zero code.
+     * @return True or false.
+     */
+    public boolean successful() {
+        return this.successful;
+    }
+
+    private void writeReport(final Profile profile) {
+        try {
+            if(this.profileReport.getParent() != null) {
+                Files.createDirectories(this.profileReport.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(this.profileReport)) {
+                profile.report(writer);
+            }
+            LOG.info("Profile report written to [{}].", this.profileReport);
+        } catch (final IOException ex) {
+            LOG.error("Could not write the profile report to [{}]: {}", this.profileReport, ex.getMessage());
         }
     }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.transpiler.QueenTranspiler;
+import org.queenlang.transpiler.ShardedQueenTranspiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transpile one shard of a project, as a worker of {@link ShardedQueenTranspiler}.
+ * If the transpilation fails, the errors are written in the shard's errors file, where
+ * the coordinating process reads them from.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class TranspileShard implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(TranspileShard.class);
+
+    private final QueenTranspiler transpiler;
+    private final Path shardFile;
+
+    /**
+     * Did the last execution succeed?
+     */
+    private volatile boolean successful = true;
+
+    /**
+     * Ctor.
+     * @param transpiler Transpiler of the shard's files.
+     * @param shardFile Shard file.
+     */
+    public TranspileShard(final QueenTranspiler transpiler, final Path shardFile) {
+        this.transpiler = transpiler;
+        this.shardFile = shardFile;
+    }
+
+    @Override
+    public void execute() {
+        LOG.debug("Transpiling the shard [{}].", this.shardFile);
+        final List<String> errors = new ArrayList<>();
+        try {
+            this.transpiler.transpile();
+        } catch (final QueenTranspilationException ex) {
+            for(final String error : ex.errors()) {
+                errors.add(ex.file() + ": " + error);
+            }
+        } catch (final IOException | RuntimeException ex) {
+            errors.add(ex.getClass().getSimpleName() + " in shard " + this.shardFile + ": " + ex.getMessage());
+        }
+        this.successful = errors.isEmpty();
+        if(!errors.isEmpty()) {
+            LOG.error("Could not transpile the shard [{}]: {}", this.shardFile, errors);
+            try {
+                Files.write(ShardedQueenTranspiler.errors(this.shardFile), errors);
+            } catch (final IOException ex) {
+                LOG.error("Could not write the errors of the shard [{}]: {}", this.shardFile, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Did the last execution succeed? If not, the worker should exit with a non-zero code.
+     * @return True or false.
+     */
+    public boolean successful() {
+        return this.successful;
+    }
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.queenlang.transpiler.Compilation;
+import org.queenlang.transpiler.QueenCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Transpile Queen compilation units read from standard input, without scanning any project:
+ * the imports are resolved only when they are referenced.
+ *
+ * In batch mode, the input is a stream of units and the output a stream of results,
+ * each framed by a header line:
+ * <pre>
+ *     request:  &lt;length&gt; &lt;path&gt;\n&lt;length bytes of Queen code&gt;
+ *     response: &lt;length&gt; ok|error\n&lt;length bytes of Java code or error messages&gt;
+ * </pre>
+ * The lengths are in UTF-8 bytes and the path (e.g. com/example/Car.queen) is optional.
+ * If any unit cannot be transpiled, the execution is not successful, though the other units are still transpiled.
+ * Standard output belongs to the Java code, so everything else printed by queenc (e.g. the logs)
+ * is sent to standard error.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class TranspileStandardInput implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(TranspileStandardInput.class);
+
+    /**
+     * Path of the units which are given without one.
+     */
+    public static final Path DEFAULT_PATH = Path.of("Stdin.queen");
+
+    private final QueenCompiler compiler;
+    private final InputStream in;
+    private final PrintStream out;
+
+    /**
+     * Path of the unit, relative to its sources root.
+     */
+    private final Path path;
+
+    /**
+     * Directory where the Java unit is written. Null if it is written to the output stream.
+     */
+    private final Path output;
+
+    /**
+     * Is the input a stream of framed units?
+     */
+    private final boolean batch;
+
+    /**
+     * Did the last execution succeed?
+     */
+    private volatile boolean successful = true;
+
+    /**
+     * Ctor.
+     * @param compiler Compiler.
+     * @param path Path of the unit, relative to its sources root (e.g. com/example/Car.queen).
+     * @param output Directory where the Java unit is written. Null, if it should be written to standard output.
+     * @param batch Is the input a stream of framed units? The results are always written to standard output.
+     */
+    public TranspileStandardInput(
+        final QueenCompiler compiler,
+        final Path path,
+        final Path output,
+        final boolean batch
+    ) {
+        this(compiler, System.in, System.out, path, output, batch);
+    }
+
+    /**
+     * Ctor.
+     * @param compiler Compiler.
+     * @param in Where the Queen code is read from.
+     * @param out Where the Java code is written.
+     * @param path Path of the unit, relative to its sources root (e.g. com/example/Car.queen).
+     * @param output Directory where the Java unit is written. Null, if it should be written to the out stream.
+     * @param batch Is the input a stream of framed units? The results are always written to the out stream.
+     */
+    public TranspileStandardInput(
+        final QueenCompiler compiler,
+        final InputStream in,
+        final PrintStream out,
+        final Path path,
+        final Path output,
+        final boolean batch
+    ) {
+        this.compiler = compiler;
+        this.in = in;
+        this.out = out;
+        this.path = path;
+        this.output = output;
+        this.batch = batch;
+    }
+
+    @Override
+    public void execute() {
+        final PrintStream stdout = System.out;
+        System.setOut(System.err);
+        this.successful = true;
+        try {
+            if(this.batch) {
+                this.transpileFrames();
+            } else {
+                this.transpileUnit();
+            }
+        } catch (final IOException ex) {
+            LOG.error("queenc: Could not transpile the standard input: {}", ex.getMessage());
+            this.successful = false;
+        } finally {
+            this.out.flush();
+            System.setOut(stdout);
+        }
+    }
+
+    /**
+     * Did the last execution succeed? It did not if the input could not be read or
+     * if any of its units could not be transpiled, so queenc should exit with a non-zero code.
+     * @return True or false.
+     */
+    public boolean successful() {
+        return this.successful;
+    }
+
+    /**
+     * Transpile the whole input, as one unit.
+     * @throws IOException If the input cannot be read or the output cannot be written.
+     */
+    private void transpileUnit() throws IOException {
+        final Compilation compilation = this.compile(
+            this.path, new String(this.in.readAllBytes(), StandardCharsets.UTF_8)
+        );
+        if(!compilation.successful()) {
+            this.problems(compilation).forEach(LOG::error);
+            this.successful = false;
+            return;
+        }
+        for(final Map.Entry<String, String> unit : compilation.javaUnits().entrySet()) {
+            if(this.output == null) {
+                this.out.print(unit.getValue());
+            } else {
+                final Path java = this.output.resolve(unit.getKey().replace('.', '/') + ".java");
+                Files.createDirectories(java.getParent());
+                Files.writeString(java, unit.getValue());
+                LOG.info("Written {}.", java);
+            }
+        }
+    }
+
+    /**
+     * Transpile framed units, until the input ends.
+     * @throws IOException If the input cannot be read or it is not framed correctly.
+     */
+    private void transpileFrames() throws IOException {
+        int units = 0;
+        String header = this.header();
+        while (header != null) {
+            final String[] parts = header.trim().split(" ", 2);
+            final int length;
+            try {
+                length = Integer.parseInt(parts[0]);
+            } catch (final NumberFormatException ex) {
+                throw new IOException("Invalid frame header: " + header, ex);
+            }
+            if(length < 0) {
+                throw new IOException("Invalid frame header: " + header);
+            }
+            final Path unitPath;
+            if(parts.length == 2) {
+                unitPath = Path.of(parts[1].trim());
+            } else {
+                unitPath = this.path;
+            }
+            final byte[] source = this.in.readNBytes(length);
+            if(source.length < length) {
+                throw new EOFException("The input ended inside the frame of " + unitPath + ".");
+            }
+            final Compilation compilation = this.compile(unitPath, new String(source, StandardCharsets.UTF_8));
+            if(compilation.successful()) {
+                this.frame("ok", String.join("\n", compilation.javaUnits().values()));
+            } else {
+                this.frame("error", String.join("\n", this.problems(compilation)));
+                this.successful = false;
+            }
+            units++;
+            header = this.header();
+        }
+        LOG.info("queenc: Transpiled {} units from the standard input.", units);
+    }
+
+    private Compilation compile(final Path unit, final String source) {
+        return this.compiler.compile(Map.of(unit, source));
+    }
+
+    private List<String> problems(final Compilation compilation) {
+        return compilation.diagnostics().values().stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
+    private void frame(final String status, final String body) {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        this.out.print(bytes.length + " " + status + "\n");
+        this.out.write(bytes, 0, bytes.length);
+        this.out.flush();
+    }
+
+    /**
+     * Read the header line of the next frame.
+     * @return The header, without the line break, or null if the input ended.
+     * @throws IOException If the input cannot be read.
+     */
+    private String header() throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int read = this.in.read();
+        while (read != -1) {
+            if(read != '\n') {
+                line.write(read);
+            } else if(!line.toString(StandardCharsets.UTF_8).isBlank()) {
+                break;
+            } else {
+                line.reset();
+            }
+            read = this.in.read();
+        }
+        final String header = line.toString(StandardCharsets.UTF_8);
+        if(header.isBlank()) {
+            return null;
+        }
+        return header;
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.transpiler.QueenTranspiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transpile a Queen project, then keep watching its directory and transpile again the
+ * changed files (and the files depending on them) after every save, until interrupted.
+ *
+ * Bursts of events (e.g. an IDE saving several files at once) are collected until
+ * there is no new event for the debounce period, then transpiled in a single cycle:
+ * the changed files and their dependents are validated and transpiled again, and the Java
+ * files of the deleted or renamed types are deleted. A new directory (or lost events)
+ * triggers a full transpilation.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class WatchQueenProject implements Functionality {
+    private static final Logger LOG = LoggerFactory.getLogger(WatchQueenProject.class);
+
+    private final QueenTranspiler transpiler;
+    private final Duration debounce;
+
+    public WatchQueenProject(final QueenTranspiler transpiler) {
+        this(transpiler, Duration.ofMillis(200));
+    }
+
+    public WatchQueenProject(final QueenTranspiler transpiler, final Duration debounce) {
+        this.transpiler = transpiler;
+        this.debounce = debounce;
+    }
+
+    @Override
+    public void execute() {
+        final Path sourceDir = this.transpiler.sourceDirectory();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            this.register(watcher, sourceDir);
+            this.transpileAll();
+            LOG.info("Watching [{}] for changes.", sourceDir);
+            while (true) {
+                final Cycle cycle = new Cycle();
+                this.collect(watcher, watcher.take(), cycle);
+                WatchKey next;
+                while ((next = watcher.poll(this.debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    this.collect(watcher, next, cycle);
+                }
+                if(cycle.full) {
+                    this.transpileAll();
+                } else if(!cycle.changed.isEmpty() || !cycle.deleted.isEmpty()) {
+                    this.transpileChanged(cycle.changed, cycle.deleted);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            LOG.info("Stopped watching [{}].", sourceDir);
+            Thread.currentThread().interrupt();
+        } catch (final IOException ex) {
+            LOG.error("Could not watch [{}]: {}", sourceDir, ex.getMessage());
+        }
+    }
+
+    private void transpileAll() {
+        final long start = System.nanoTime();
+        try {
+            this.transpiler.transpile();
+            LOG.info("Transpiled the whole project in {} ms.", (System.nanoTime() - start) / 1_000_000);
+        } catch (final QueenTranspilationException | IOException | RuntimeException ex) {
+            LOG.error("Caught {} while transpiling: {}", ex.getClass().getSimpleName(), ex.getMessage());
+        }
+    }
+
+    private void transpileChanged(final Set<Path> changed, final Set<Path> deleted) {
+        long saved = Long.MAX_VALUE;
+        for(final Path file : changed) {
+            try {
+                saved = Math.min(saved, Files.getLastModifiedTime(file).toMillis());
+            } catch (final IOException ex) {
+                LOG.debug("Could not read the last modified time of [{}].", file);
+            }
+        }
+        final long start = System.nanoTime();
+        try {
+            final Set<String> transpiled = this.transpiler.transpile(changed, deleted);
+            LOG.info(
+                "Transpiled {} file(s) ({} changed, {} deleted) in {} ms, {} ms after the save.",
+                transpiled.size(), changed.size(), deleted.size(), (System.nanoTime() - start) / 1_000_000,
+                Math.max(0, System.currentTimeMillis() - saved)
+            );
+        } catch (final QueenTranspilationException | IOException | RuntimeException ex) {
+            LOG.error("Caught {} while transpiling {}: {}", ex.getClass().getSimpleName(), changed, ex.getMessage());
+        }
+    }
+
+    /**
+     * Collect the events of a watch key into the current cycle.
+     * @param watcher Watch service, to register the new directories.
+     * @param key Signalled watch key.
+     * @param cycle Current cycle.
+     * @throws IOException If a new directory cannot be registered.
+     */
+    private void collect(final WatchService watcher, final WatchKey key, final Cycle cycle) throws IOException {
+        final Path dir = (Path) key.watchable();
+        for(final WatchEvent<?> event : key.pollEvents()) {
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                cycle.full = true;
+                continue;
+            }
+            final Path path = dir.resolve((Path) event.context());
+            if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                this.register(watcher, path);
+                cycle.full = true;
+            } else if(path.getFileName().toString().endsWith(".queen")) {
+                if(Files.exists(path)) {
+                    cycle.changed.add(path);
+                    cycle.deleted.remove(path);
+                } else {
+                    cycle.changed.remove(path);
+                    cycle.deleted.add(path);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Register the directory and all its subdirectories, except the output directory.
+     * @param watcher Watch service.
+     * @param root Directory.
+     * @throws IOException If something goes wrong.
+     */
+    private void register(final WatchService watcher, final Path root) throws IOException {
+        final Path output = this.transpiler.targetDirectory().toAbsolutePath().normalize();
+        Files.walkFileTree(
+            root,
+            new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(
+                    final Path dir, final BasicFileAttributes attrs
+                ) throws IOException {
+                    if(dir.toAbsolutePath().normalize().startsWith(output)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    dir.register(
+                        watcher,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                    );
+                    return FileVisitResult.CONTINUE;
+                }
+            }
+        );
+    }
+
+    /**
+     * Changes collected during one debounce period.
+     */
+    private static final class Cycle {
+        private final Set<Path> changed = new LinkedHashSet<>();
+        private final Set<Path> deleted = new LinkedHashSet<>();
+        private boolean full;
+    }
+}
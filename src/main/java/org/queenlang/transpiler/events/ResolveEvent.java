@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every name resolved by a QueenProject.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+@Name("org.queenlang.Resolve")
+@Label("Resolve Queen Name")
+@Description("A name resolved at project level.")
+@Category({"Queen", "Transpiler"})
+public final class ResolveEvent extends Event {
+
+    @Label("Name")
+    private String name;
+
+    @Label("Cached")
+    @Description("Was the name resolved from the already parsed referenced files?")
+    private boolean cached;
+
+    @Label("Disk")
+    @Description("Was the project directory searched for the name?")
+    private boolean disk;
+
+    @Label("Resolved")
+    private boolean resolved;
+
+    /**
+     * Set the name which is being resolved.
+     * @param name Full name.
+     */
+    public void name(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Mark the name as resolved from the cache.
+     */
+    public void cached() {
+        this.cached = true;
+    }
+
+    /**
+     * Mark that the project directory was searched.
+     */
+    public void disk() {
+        this.disk = true;
+    }
+
+    /**
+     * Set whether the name was resolved or not.
+     * @param resolved True or false.
+     */
+    public void resolved(final boolean resolved) {
+        this.resolved = resolved;
+    }
+}
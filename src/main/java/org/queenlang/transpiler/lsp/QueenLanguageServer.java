@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.lsp;
+
+import org.eclipse.lsp4j.InitializeParams;
+import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.ServerInfo;
+import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.lsp4j.services.LanguageClientAware;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.eclipse.lsp4j.services.WorkspaceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Queen language server. It answers diagnostics, go-to-definition and document symbols,
+ * from a {@link QueenWorkspace} which keeps the ASTs of the whole project in memory.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenLanguageServer implements LanguageServer, LanguageClientAware {
+    private static final Logger LOG = LoggerFactory.getLogger(QueenLanguageServer.class);
+
+    private final Function<Path, QueenWorkspace> workspaces;
+    private final QueenTextDocumentService documents;
+    private final QueenWorkspaceService workspace;
+    private final CompletableFuture<Void> exited;
+    private LanguageClient client;
+    private boolean shutdown;
+
+    /**
+     * Ctor.
+     */
+    public QueenLanguageServer() {
+        this(QueenWorkspace::new);
+    }
+
+    /**
+     * Ctor.
+     * @param workspaces Creates the workspace of the given root directory.
+     */
+    public QueenLanguageServer(final Function<Path, QueenWorkspace> workspaces) {
+        this.workspaces = workspaces;
+        this.documents = new QueenTextDocumentService();
+        this.workspace = new QueenWorkspaceService(this.documents);
+        this.exited = new CompletableFuture<>();
+    }
+
+    @Override
+    public CompletableFuture<InitializeResult> initialize(final InitializeParams params) {
+        final Path root;
+        if(params.getWorkspaceFolders() != null && !params.getWorkspaceFolders().isEmpty()) {
+            root = path(params.getWorkspaceFolders().get(0).getUri());
+        } else if(params.getRootUri() != null) {
+            root = path(params.getRootUri());
+        } else {
+            root = Path.of("").toAbsolutePath();
+        }
+        LOG.info("Initializing the Queen language server for project {}.", root);
+        this.documents.connect(this.workspaces.apply(root), this.client);
+        final ServerCapabilities capabilities = new ServerCapabilities();
+        capabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
+        capabilities.setDefinitionProvider(true);
+        capabilities.setDocumentSymbolProvider(true);
+        return CompletableFuture.completedFuture(
+            new InitializeResult(capabilities, new ServerInfo("queenc"))
+        );
+    }
+
+    @Override
+    public CompletableFuture<Object> shutdown() {
+        this.shutdown = true;
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void exit() {
+        LOG.info("Queen language server exiting.");
+        this.exited.complete(null);
+    }
+
+    @Override
+    public TextDocumentService getTextDocumentService() {
+        return this.documents;
+    }
+
+    @Override
+    public WorkspaceService getWorkspaceService() {
+        return this.workspace;
+    }
+
+    @Override
+    public void connect(final LanguageClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Completed when the client sends the exit notification.
+     * @return CompletableFuture.
+     */
+    public CompletableFuture<Void> exited() {
+        return this.exited;
+    }
+
+    /**
+     * Was the server shut down before exiting?
+     * @return True or false.
+     */
+    public boolean wasShutdown() {
+        return this.shutdown;
+    }
+
+    /**
+     * Path of the given file URI.
+     * @param uri URI.
+     * @return Absolute, normalized Path.
+     */
+    static Path path(final String uri) {
+        return Path.of(URI.create(uri)).toAbsolutePath().normalize();
+    }
+}
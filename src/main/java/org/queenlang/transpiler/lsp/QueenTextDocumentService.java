@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.lsp;
+
+import org.eclipse.lsp4j.DefinitionParams;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.LocationLink;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.lsp4j.services.TextDocumentService;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Text document requests and notifications of the Queen language server.
+ * The documents are synchronized incrementally (TextDocumentSyncKind.Incremental): each change
+ * is the edited range and its new text. After each change, the diagnostics of the files which
+ * might have changed are published again.
+ *
+ * The requests are answered synchronously, on the thread reading the messages, so the
+ * {@link QueenWorkspace} is never used concurrently.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+final class QueenTextDocumentService implements TextDocumentService {
+
+    private QueenWorkspace workspace;
+    private LanguageClient client;
+
+    /**
+     * Connect this service to the workspace and the client, once the server is initialized.
+     * @param workspace QueenWorkspace.
+     * @param client LanguageClient, where the diagnostics are published.
+     */
+    void connect(final QueenWorkspace workspace, final LanguageClient client) {
+        this.workspace = workspace;
+        this.client = client;
+    }
+
+    @Override
+    public void didOpen(final DidOpenTextDocumentParams params) {
+        this.publish(
+            this.workspace.change(
+                QueenLanguageServer.path(params.getTextDocument().getUri()),
+                params.getTextDocument().getText()
+            )
+        );
+    }
+
+    @Override
+    public void didChange(final DidChangeTextDocumentParams params) {
+        if(!params.getContentChanges().isEmpty()) {
+            this.publish(
+                this.workspace.change(
+                    QueenLanguageServer.path(params.getTextDocument().getUri()),
+                    params.getContentChanges()
+                )
+            );
+        }
+    }
+
+    @Override
+    public void didClose(final DidCloseTextDocumentParams params) {
+        final Path file = QueenLanguageServer.path(params.getTextDocument().getUri());
+        this.publish(this.workspace.close(file));
+        if(this.client != null) {
+            this.client.publishDiagnostics(new PublishDiagnosticsParams(file.toUri().toString(), new ArrayList<>()));
+        }
+    }
+
+    @Override
+    public void didSave(final DidSaveTextDocumentParams params) {
+        //nothing to do, the content was already synchronized with didChange.
+    }
+
+    @Override
+    public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(
+        final DefinitionParams params
+    ) {
+        return CompletableFuture.completedFuture(
+            Either.forLeft(
+                this.workspace.definition(
+                    QueenLanguageServer.path(params.getTextDocument().getUri()),
+                    params.getPosition()
+                )
+            )
+        );
+    }
+
+    @Override
+    public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(
+        final DocumentSymbolParams params
+    ) {
+        return CompletableFuture.completedFuture(
+            this.workspace.symbols(QueenLanguageServer.path(params.getTextDocument().getUri()))
+                .stream()
+                .map(Either::<SymbolInformation, DocumentSymbol>forRight)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Publish the diagnostics of the given files, if they are open. The diagnostics
+     * of the other files are not computed until they are opened.
+     * @param files Paths.
+     */
+    void publish(final Set<Path> files) {
+        if(this.client != null) {
+            for(final Path file : files) {
+                if(this.workspace.isOpen(file)) {
+                    this.client.publishDiagnostics(
+                        new PublishDiagnosticsParams(file.toUri().toString(), this.workspace.diagnostics(file))
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * The workspace, to which the changes of the files are reported.
+     * @return QueenWorkspace.
+     */
+    QueenWorkspace workspace() {
+        return this.workspace;
+    }
+}
@@ -0,0 +1,656 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.lsp;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.classpath.SourcesClasspath;
+import org.queenlang.queen.CachingQueenASTParser;
+import org.queenlang.queen.IncrementalQueenASTParser;
+import org.queenlang.queen.ParsedFile;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.SemanticProblem;
+import org.queenlang.queen.TextEdit;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.body.ClassDeclarationNode;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.body.ConstructorDeclarationNode;
+import org.queenlang.queen.nodes.body.FieldDeclarationNode;
+import org.queenlang.queen.nodes.body.MethodDeclarationNode;
+import org.queenlang.queen.nodes.body.TypeDeclarationNode;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.project.QueenFileNode;
+import org.queenlang.queen.nodes.project.QueenProject;
+import org.queenlang.queen.visitors.QueenASTSemanticValidationVisitor;
+import org.queenlang.transpiler.aspects.WeaveParents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Queen files of a project, as seen by the language server: the open documents (with
+ * their unsaved content) and all the other files, from disk.
+ *
+ * The whole project is parsed once, when the first answer is needed. After that, an edited
+ * document is parsed again and put in place of its previous version in the same QueenProject;
+ * the other files keep their ASTs. Only the diagnostics of the edited file and of the files which
+ * depend on it are computed again.
+ *
+ * The open documents are parsed with the {@link IncrementalQueenASTParser}: when an edit is inside
+ * a member of the document's type, only that member is parsed again.
+ *
+ * It is not thread-safe, the language server calls it from a single thread.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenWorkspace {
+    private static final Logger LOG = LoggerFactory.getLogger(QueenWorkspace.class);
+
+    /**
+     * Parsing errors, as given by the QueenAntlrErrorListener (file: position line:column: message).
+     */
+    private static final Pattern PARSING_ERROR = Pattern.compile("^.*?: position (\\d+):(\\d+): (.*)$");
+
+    private final Classpath classpath;
+    private final QueenASTParser parser;
+
+    /**
+     * Parser of the open documents. Null, if they are parsed whole with the parser.
+     */
+    private final IncrementalQueenASTParser incremental;
+
+    /**
+     * The open documents, as they were last parsed by the incremental parser.
+     */
+    private final Map<Path, ParsedFile> parsed;
+
+    /**
+     * Content of the open documents, by their path.
+     */
+    private final Map<Path, String> documents;
+
+    /**
+     * Parsing errors of the files which cannot be parsed.
+     */
+    private final Map<Path, List<String>> errors;
+
+    /**
+     * Computed diagnostics, by file. They are removed when they might have changed.
+     */
+    private final Map<Path, List<Diagnostic>> diagnostics;
+
+    /**
+     * Path of each file, by the full name of its type.
+     */
+    private final Map<String, Path> types;
+
+    /**
+     * All the Queen files.
+     */
+    private final Set<Path> files;
+
+    private ProjectNode project;
+
+    /**
+     * Ctor.
+     * @param root Root directory of the Queen project.
+     */
+    public QueenWorkspace(final Path root) {
+        this(
+            new ProjectClasspath(root),
+            new CachingQueenASTParser(new QueenASTParserANTLR()),
+            new IncrementalQueenASTParser()
+        );
+    }
+
+    /**
+     * Ctor. The open documents are parsed whole after every change.
+     * @param classpath Classpath with the Queen files of the project.
+     * @param parser Parser. It should be a CachingQueenASTParser, so each unchanged file is parsed only once.
+     */
+    public QueenWorkspace(final Classpath classpath, final QueenASTParser parser) {
+        this(classpath, parser, null);
+    }
+
+    /**
+     * Ctor.
+     * @param classpath Classpath with the Queen files of the project.
+     * @param parser Parser. It should be a CachingQueenASTParser, so each unchanged file is parsed only once.
+     * @param incremental Parser of the open documents, null if they should be parsed whole with the parser.
+     */
+    public QueenWorkspace(
+        final Classpath classpath,
+        final QueenASTParser parser,
+        final IncrementalQueenASTParser incremental
+    ) {
+        this.classpath = classpath;
+        this.parser = parser;
+        this.incremental = incremental;
+        this.parsed = new HashMap<>();
+        this.documents = new HashMap<>();
+        this.errors = new HashMap<>();
+        this.diagnostics = new HashMap<>();
+        this.types = new HashMap<>();
+        this.files = new LinkedHashSet<>();
+    }
+
+    /**
+     * A document was opened or edited.
+     * @param file Path of the document.
+     * @param text Its whole content.
+     * @return Paths of the files whose diagnostics might have changed.
+     */
+    public Set<Path> change(final Path file, final String text) {
+        this.documents.put(file, text);
+        return this.reload(file);
+    }
+
+    /**
+     * An open document was edited.
+     * @param file Path of the document.
+     * @param changes Changes of its content, in the order in which they happened. A change without
+     *  a range replaces the whole content.
+     * @return Paths of the files whose diagnostics might have changed.
+     */
+    public Set<Path> change(final Path file, final List<TextDocumentContentChangeEvent> changes) {
+        String text = this.documents.getOrDefault(file, "");
+        ParsedFile parsed = this.parsed.remove(file);
+        for(final TextDocumentContentChangeEvent change : changes) {
+            final TextEdit edit;
+            if(change.getRange() == null) {
+                edit = new TextEdit(0, text.length(), change.getText());
+            } else {
+                final int start = offset(text, change.getRange().getStart());
+                edit = new TextEdit(
+                    start,
+                    Math.max(offset(text, change.getRange().getEnd()) - start, 0),
+                    change.getText()
+                );
+            }
+            if(parsed == null) {
+                text = edit.apply(text);
+            } else {
+                try {
+                    parsed = this.incremental.reparse(parsed, edit);
+                    text = parsed.text();
+                } catch (final QueenTranspilationException ex) {
+                    parsed = null;
+                    text = edit.apply(text);
+                }
+            }
+        }
+        if(parsed != null) {
+            this.parsed.put(file, parsed);
+        }
+        this.documents.put(file, text);
+        return this.reload(file);
+    }
+
+    /**
+     * A document was closed, its content is read from disk again.
+     * @param file Path of the document.
+     * @return Paths of the files whose diagnostics might have changed.
+     */
+    public Set<Path> close(final Path file) {
+        this.documents.remove(file);
+        this.parsed.remove(file);
+        if(Files.exists(file)) {
+            return this.reload(file);
+        }
+        return this.delete(file);
+    }
+
+    /**
+     * A file was changed, created or deleted outside the editor. If it is open,
+     * the content from the editor is kept.
+     * @param file Path of the file.
+     * @return Paths of the files whose diagnostics might have changed.
+     */
+    public Set<Path> external(final Path file) {
+        if(this.documents.containsKey(file)) {
+            return Collections.emptySet();
+        }
+        if(Files.exists(file)) {
+            return this.reload(file);
+        }
+        return this.delete(file);
+    }
+
+    /**
+     * Is the given file open in the editor?
+     * @param file Path of the file.
+     * @return True or false.
+     */
+    public boolean isOpen(final Path file) {
+        return this.documents.containsKey(file);
+    }
+
+    /**
+     * A file was deleted.
+     * @param file Path of the file.
+     * @return Paths of the files whose diagnostics might have changed.
+     */
+    public Set<Path> delete(final Path file) {
+        final Set<Path> changed = new HashSet<>();
+        changed.add(file);
+        this.documents.remove(file);
+        this.parsed.remove(file);
+        this.errors.remove(file);
+        this.files.remove(file);
+        if(this.project != null) {
+            final FileNode previous = this.file(file);
+            this.project.remove(file);
+            if(previous != null) {
+                this.types.remove(previous.fullTypeName());
+                changed.addAll(this.invalidate(Set.of(previous.fullTypeName())));
+            }
+        }
+        this.diagnostics.keySet().removeAll(changed);
+        return changed;
+    }
+
+    /**
+     * Diagnostics (parsing errors and semantic problems) of the given file.
+     * @param file Path of the file.
+     * @return List of Diagnostic, empty if there are none.
+     */
+    public List<Diagnostic> diagnostics(final Path file) {
+        this.project();
+        return this.diagnostics.computeIfAbsent(file, this::diagnose);
+    }
+
+    /**
+     * Go to the definition of the name at the given position.
+     * @param file Path of the file.
+     * @param position Position in the file.
+     * @return Location of the definition, if it is in this project.
+     */
+    public List<Location> definition(final Path file, final org.eclipse.lsp4j.Position position) {
+        final FileNode queenFile = this.file(file);
+        if(queenFile == null) {
+            return Collections.emptyList();
+        }
+        NameNode found = null;
+        for(final NameNode name : queenFile.index().nodes(NameNode.class)) {
+            final Position start = name.position();
+            if(start.line() - 1 == position.getLine()
+                && start.column() <= position.getCharacter()
+                && position.getCharacter() <= start.column() + name.name().length()
+                && (found == null || found.position().column() < start.column())) {
+                found = name;
+            }
+        }
+        if(found == null) {
+            return Collections.emptyList();
+        }
+        QueenNode resolved = found.resolve();
+        if(resolved instanceof FileNode) {
+            resolved = ((FileNode) resolved).compilationUnit().typeDeclaration();
+        }
+        QueenNode ancestor = resolved;
+        while (ancestor != null && !(ancestor instanceof FileNode)) {
+            ancestor = ancestor.parent();
+        }
+        if(ancestor == null) {
+            return Collections.emptyList();
+        }
+        final Path definedIn = this.types.get(((FileNode) ancestor).fullTypeName());
+        if(definedIn == null) {
+            return Collections.emptyList();
+        }
+        return List.of(new Location(definedIn.toUri().toString(), range(resolved.position(), name(resolved))));
+    }
+
+    /**
+     * Symbols (types, fields, constructors and methods) of the given file.
+     * @param file Path of the file.
+     * @return List of DocumentSymbol, one for each type, with its members as children.
+     */
+    public List<DocumentSymbol> symbols(final Path file) {
+        final FileNode queenFile = this.file(file);
+        if(queenFile == null) {
+            return Collections.emptyList();
+        }
+        final Map<QueenNode, DocumentSymbol> typeSymbols = new HashMap<>();
+        final List<DocumentSymbol> symbols = new ArrayList<>();
+        for(final TypeDeclarationNode type : queenFile.index().nodes(TypeDeclarationNode.class)) {
+            final DocumentSymbol symbol = symbol(
+                type,
+                type instanceof ClassDeclarationNode ? SymbolKind.Class : SymbolKind.Interface
+            );
+            symbol.setChildren(new ArrayList<>());
+            typeSymbols.put(type, symbol);
+            final DocumentSymbol enclosing = typeSymbols.get(enclosingType(type));
+            if(enclosing == null) {
+                symbols.add(symbol);
+            } else {
+                enclosing.getChildren().add(symbol);
+            }
+        }
+        final List<QueenNode> members = new ArrayList<>();
+        members.addAll(queenFile.index().nodes(FieldDeclarationNode.class));
+        members.addAll(queenFile.index().nodes(ConstructorDeclarationNode.class));
+        members.addAll(queenFile.index().nodes(MethodDeclarationNode.class));
+        for(final QueenNode member : members) {
+            final DocumentSymbol enclosing = typeSymbols.get(enclosingType(member));
+            if(enclosing != null) {
+                final SymbolKind kind;
+                if(member instanceof FieldDeclarationNode) {
+                    kind = SymbolKind.Field;
+                } else if(member instanceof ConstructorDeclarationNode) {
+                    kind = SymbolKind.Constructor;
+                } else {
+                    kind = SymbolKind.Method;
+                }
+                enclosing.getChildren().add(symbol(member, kind));
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Parse the given file again and invalidate the diagnostics which depend on it.
+     * @param file Path of the file.
+     * @return Paths of the files whose diagnostics might have changed.
+     */
+    private Set<Path> reload(final Path file) {
+        final Set<Path> changed = new HashSet<>();
+        changed.add(file);
+        this.files.add(file);
+        if(this.project != null) {
+            final long start = System.nanoTime();
+            final FileNode previous = this.file(file);
+            try {
+                final FileNode reloaded = this.project.reload(file);
+                this.errors.remove(file);
+                final Set<String> types = new HashSet<>();
+                types.add(reloaded.fullTypeName());
+                if(previous != null) {
+                    types.add(previous.fullTypeName());
+                    this.types.remove(previous.fullTypeName());
+                }
+                this.types.put(reloaded.fullTypeName(), file);
+                changed.addAll(this.invalidate(types));
+            } catch (final QueenTranspilationException ex) {
+                this.errors.put(file, ex.errors());
+            } catch (final IOException ex) {
+                this.errors.put(file, List.of(ex.getMessage()));
+            }
+            LOG.debug("Reloaded {} in {} ms.", file, (System.nanoTime() - start) / 1_000_000);
+        }
+        this.diagnostics.keySet().removeAll(changed);
+        return changed;
+    }
+
+    /**
+     * Paths of the files which depend on the given types.
+     * @param types Full names of the types.
+     * @return Set of Path.
+     */
+    private Set<Path> invalidate(final Set<String> types) {
+        final Set<Path> dependents = new HashSet<>();
+        for(final String type : this.project.dependents(types)) {
+            final Path dependent = this.types.get(type);
+            if(dependent != null) {
+                dependents.add(dependent);
+            }
+        }
+        return dependents;
+    }
+
+    private List<Diagnostic> diagnose(final Path file) {
+        final List<Diagnostic> found = new ArrayList<>();
+        final List<String> parsing = this.errors.get(file);
+        if(parsing != null) {
+            for(final String error : parsing) {
+                final Matcher matcher = PARSING_ERROR.matcher(error);
+                if(matcher.matches()) {
+                    final int line = Integer.parseInt(matcher.group(1)) - 1;
+                    final int column = Integer.parseInt(matcher.group(2));
+                    found.add(
+                        new Diagnostic(
+                            new Range(
+                                new org.eclipse.lsp4j.Position(line, column),
+                                new org.eclipse.lsp4j.Position(line, column + 1)
+                            ),
+                            matcher.group(3), DiagnosticSeverity.Error, "queenc"
+                        )
+                    );
+                } else {
+                    found.add(
+                        new Diagnostic(range(new Position.Missing(), ""), error, DiagnosticSeverity.Error, "queenc")
+                    );
+                }
+            }
+            return found;
+        }
+        final FileNode queenFile = this.file(file);
+        if(queenFile != null) {
+            final List<SemanticProblem> problems = new QueenASTSemanticValidationVisitor(this.project)
+                .visitFile(queenFile);
+            for(final SemanticProblem problem : problems) {
+                found.add(
+                    new Diagnostic(
+                        range(problem.position(), ""),
+                        problem.message(),
+                        "error".equalsIgnoreCase(problem.type())
+                            ? DiagnosticSeverity.Error : DiagnosticSeverity.Warning,
+                        "queenc"
+                    )
+                );
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The FileNode of the given path, from the project.
+     * @param file Path.
+     * @return FileNode or null, if the file is not in the project.
+     */
+    private FileNode file(final Path file) {
+        this.project();
+        return this.project.file(file);
+    }
+
+    /**
+     * Parse the whole project, the first time it is needed. The files which cannot be parsed
+     * are left out, with their errors, until they are edited.
+     */
+    private void project() {
+        if(this.project != null) {
+            return;
+        }
+        final long start = System.nanoTime();
+        this.files.addAll(this.classpath.findAll());
+        final QueenASTParser documents = new DocumentsParser();
+        for(final Path file : this.files) {
+            try {
+                final CompilationUnitNode compilationUnit = documents.parse(file);
+                this.types.put(
+                    new QueenFileNode(null, file.getFileName().toString(), compilationUnit).fullTypeName(),
+                    file
+                );
+            } catch (final QueenTranspilationException ex) {
+                this.errors.put(file, ex.errors());
+            } catch (final IOException ex) {
+                this.errors.put(file, List.of(ex.getMessage()));
+            }
+        }
+        try {
+            this.project = this.project(documents);
+        } catch (final QueenTranspilationException | IOException ex) {
+            throw new IllegalStateException("Files parsed once could not be parsed again.", ex);
+        }
+        LOG.info("Loaded {} Queen files in {} ms.", this.types.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * The project of the parsed files. Its classpath is backed by the files of the
+     * known types, so it also finds the files created or fixed after the project was loaded.
+     * @param documents Parser of the documents.
+     * @return ProjectNode.
+     * @throws QueenTranspilationException If a file cannot be parsed.
+     * @throws IOException If a file cannot be read.
+     */
+    @WeaveParents
+    private ProjectNode project(final QueenASTParser documents) throws QueenTranspilationException, IOException {
+        return new QueenProject(documents, new SourcesClasspath(this.types.values()));
+    }
+
+    /**
+     * The given document, parsed. Only the changed members of a document which was parsed
+     * incrementally are parsed again.
+     * @param file Path of the document.
+     * @param text Its content.
+     * @return CompilationUnitNode.
+     * @throws QueenTranspilationException If the document cannot be parsed.
+     */
+    private CompilationUnitNode document(final Path file, final String text) throws QueenTranspilationException {
+        if(this.incremental == null) {
+            return this.parser.parse(file, text);
+        }
+        ParsedFile document = this.parsed.get(file);
+        if(document == null || !document.text().equals(text)) {
+            document = this.incremental.parse(file, text);
+            this.parsed.put(file, document);
+        }
+        return document.compilationUnit();
+    }
+
+    /**
+     * Offset of an LSP position in the given text. Both count UTF-16 chars.
+     * @param text Text.
+     * @param position Position (0-based line and character).
+     * @return Offset, at most the length of the text.
+     */
+    private static int offset(final String text, final org.eclipse.lsp4j.Position position) {
+        int start = 0;
+        for(int line = 0; line < position.getLine(); ++line) {
+            final int newline = text.indexOf('\n', start);
+            if(newline < 0) {
+                return text.length();
+            }
+            start = newline + 1;
+        }
+        final int end = text.indexOf('\n', start);
+        return Math.min(start + position.getCharacter(), end < 0 ? text.length() : end);
+    }
+
+    private static DocumentSymbol symbol(final QueenNode node, final SymbolKind kind) {
+        final Range range = range(node.position(), name(node));
+        return new DocumentSymbol(name(node), kind, range, range);
+    }
+
+    private static QueenNode enclosingType(final QueenNode node) {
+        QueenNode parent = node.parent();
+        while (parent != null && !(parent instanceof TypeDeclarationNode)) {
+            parent = parent.parent();
+        }
+        return parent;
+    }
+
+    private static String name(final QueenNode node) {
+        if(node instanceof TypeDeclarationNode) {
+            return ((TypeDeclarationNode) node).name();
+        } else if(node instanceof ConstructorDeclarationNode) {
+            return ((ConstructorDeclarationNode) node).name();
+        } else if(node instanceof MethodDeclarationNode) {
+            return ((MethodDeclarationNode) node).name();
+        } else if(node instanceof FieldDeclarationNode) {
+            return ((FieldDeclarationNode) node).variable().variableDeclaratorId().name();
+        }
+        return "";
+    }
+
+    private static Range range(final Position position, final String name) {
+        final int line = Math.max(position.line() - 1, 0);
+        return new Range(
+            new org.eclipse.lsp4j.Position(line, position.column()),
+            new org.eclipse.lsp4j.Position(line, position.column() + name.length())
+        );
+    }
+
+    /**
+     * Parser which reads the open documents from memory and all the other files from disk.
+     * The paths resolved by the project may be relative to the root of the packages
+     * (e.g. com/example/Car.queen), they are matched against the files of the project.
+     */
+    private final class DocumentsParser implements QueenASTParser {
+
+        @Override
+        public CompilationUnitNode parse(final Path file) throws IOException, QueenTranspilationException {
+            Path found = file;
+            if(!QueenWorkspace.this.files.contains(file)) {
+                for(final Path candidate : QueenWorkspace.this.files) {
+                    if(candidate.endsWith(file)) {
+                        found = candidate;
+                        break;
+                    }
+                }
+            }
+            final String text = QueenWorkspace.this.documents.get(found);
+            if(text != null) {
+                return QueenWorkspace.this.document(found, text);
+            }
+            return QueenWorkspace.this.parser.parse(found);
+        }
+
+        @Override
+        public CompilationUnitNode parse(final Path file, final CharSequence source) throws QueenTranspilationException {
+            return QueenWorkspace.this.parser.parse(file, source);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import java.util.Locale;
+
+/**
+ * Phases of the transpilation, as they are recorded in a {@link Profile}.
+ * Phases may contain each other: e.g. referenced files are parsed while resolving and
+ * names are resolved while validating.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public enum Phase {
+    /**
+     * Looking for the Queen files of the project.
+     */
+    SCAN,
+
+    /**
+     * Parsing a Queen file into its AST.
+     */
+    PARSE,
+
+    /**
+     * Weaving the parents into the AST nodes.
+     */
+    WEAVE,
+
+    /**
+     * Resolving a reference at project level.
+     */
+    RESOLVE,
+
+    /**
+     * Validating the AST of a file semantically.
+     */
+    VALIDATE,
+
+    /**
+     * Turning the AST of a file into Java.
+     */
+    EMIT,
+
+    /**
+     * Parsing the generated Java code again, as a safety check.
+     */
+    REPARSE,
+
+    /**
+     * Writing a Java file.
+     */
+    WRITE;
+
+    /**
+     * Name of this phase in the report.
+     * @return String.
+     */
+    public String key() {
+        return this.name().toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import java.io.IOException;
+
+/**
+ * Timings and counters of a transpilation.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public interface Profile {
+
+    /**
+     * Record one execution of a phase.
+     * @param phase Phase.
+     * @param file Full name of the type in the file which was being processed, or null if the phase
+     *  does not belong to a single file (e.g. scanning).
+     * @param wallNanos Elapsed wall-clock time.
+     * @param cpuNanos CPU time of the current thread, 0 if not supported by the JVM.
+     * @param allocatedBytes Bytes allocated by the current thread, 0 if not supported by the JVM.
+     */
+    void record(
+        final Phase phase,
+        final String file,
+        final long wallNanos,
+        final long cpuNanos,
+        final long allocatedBytes
+    );
+
+    /**
+     * Record the number of AST nodes of a file.
+     * @param file Full name of the type in the file.
+     * @param nodes Number of nodes.
+     */
+    void nodes(final String file, final int nodes);
+
+    /**
+     * Write the report, as JSON.
+     * @param out Where to write it.
+     * @throws IOException If something goes wrong while writing.
+     */
+    void report(final Appendable out) throws IOException;
+}
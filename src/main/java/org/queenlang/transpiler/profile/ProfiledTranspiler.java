@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.transpiler.QueenTranspiler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Transpiler whose runs are profiled. While one of its transpile methods runs, the phases
+ * executed by the calling thread are recorded into its own Profile, by
+ * {@link org.queenlang.transpiler.aspects.ProfilePhasesAspect}. Transpilations running at the same
+ * time in the same JVM (e.g. in the daemon) are not profiled, or are profiled separately.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ProfiledTranspiler implements QueenTranspiler {
+
+    /**
+     * Profiled transpiler.
+     */
+    private final QueenTranspiler transpiler;
+
+    /**
+     * Profile of the runs.
+     */
+    private final Profile profile;
+
+    /**
+     * Ctor.
+     * @param transpiler Profiled transpiler.
+     * @param profile Profile in which its runs are recorded.
+     */
+    public ProfiledTranspiler(final QueenTranspiler transpiler, final Profile profile) {
+        this.transpiler = transpiler;
+        this.profile = profile;
+    }
+
+    @Override
+    public void transpile() throws QueenTranspilationException, IOException {
+        this.transpiler.transpile();
+    }
+
+    @Override
+    public Set<String> transpile(
+        final Collection<Path> changed,
+        final Collection<Path> deleted
+    ) throws QueenTranspilationException, IOException {
+        return this.transpiler.transpile(changed, deleted);
+    }
+
+    @Override
+    public Path sourceDirectory() {
+        return this.transpiler.sourceDirectory();
+    }
+
+    @Override
+    public Path targetDirectory() {
+        return this.transpiler.targetDirectory();
+    }
+
+    /**
+     * Profile of the runs.
+     * @return Profile.
+     */
+    public Profile profile() {
+        return this.profile;
+    }
+}
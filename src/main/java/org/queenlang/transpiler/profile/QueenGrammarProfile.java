@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.DecisionEventInfo;
+import org.antlr.v4.runtime.atn.DecisionInfo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GrammarProfile which sums up the decisions of all the parsed files. For each decision
+ * it also remembers where its deepest lookahead and its first ambiguity happened,
+ * since those are the places to look at when changing the grammar.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenGrammarProfile implements GrammarProfile {
+
+    /**
+     * How many of the most expensive decisions should be reported?
+     */
+    private final int top;
+
+    /**
+     * Parsed files.
+     */
+    private final Set<String> files;
+
+    /**
+     * Totals, per decision number.
+     */
+    private final Map<Integer, Decision> decisions;
+
+    /**
+     * Ctor, reporting the 25 most expensive decisions.
+     */
+    public QueenGrammarProfile() {
+        this(25);
+    }
+
+    /**
+     * Ctor.
+     * @param top How many of the most expensive decisions should be reported.
+     */
+    public QueenGrammarProfile(final int top) {
+        this.top = top;
+        this.files = new HashSet<>();
+        this.decisions = new HashMap<>();
+    }
+
+    @Override
+    public synchronized void record(final String file, final String rule, final DecisionInfo decision) {
+        this.files.add(file);
+        this.decisions.computeIfAbsent(
+            decision.decision, number -> new Decision(number, rule)
+        ).add(file, decision);
+    }
+
+    @Override
+    public synchronized void report(final Appendable out) throws IOException {
+        final List<Decision> ranked = new ArrayList<>(this.decisions.values());
+        ranked.sort(
+            Comparator.comparingLong((Decision d) -> d.time).reversed()
+                .thenComparing(Comparator.comparingLong((Decision d) -> d.invocations).reversed())
+                .thenComparingInt(d -> d.number)
+        );
+        final Map<String, Decision> rules = new HashMap<>();
+        long time = 0;
+        for(final Decision decision : ranked) {
+            rules.computeIfAbsent(decision.rule, rule -> new Decision(-1, rule)).add(decision);
+            time += decision.time;
+        }
+        final List<Decision> rankedRules = new ArrayList<>(rules.values());
+        rankedRules.sort(
+            Comparator.comparingLong((Decision d) -> d.time).reversed()
+                .thenComparing(d -> d.rule)
+        );
+        out.append("{\n");
+        out.append("  \"files\": ").append(String.valueOf(this.files.size())).append(",\n");
+        out.append("  \"decisions\": ").append(String.valueOf(ranked.size())).append(",\n");
+        out.append("  \"predictionMs\": ").append(millis(time)).append(",\n");
+        out.append("  \"rules\": [");
+        String separator = "\n";
+        for(final Decision rule : rankedRules) {
+            out.append(separator)
+                .append("    {\"rule\": \"").append(escape(rule.rule))
+                .append("\", \"predictionMs\": ").append(millis(rule.time))
+                .append(", \"invocations\": ").append(String.valueOf(rule.invocations))
+                .append(", \"sllAverageLook\": ").append(average(rule.sllLook, rule.invocations))
+                .append(", \"sllMaxLook\": ").append(String.valueOf(rule.sllMaxLook))
+                .append(", \"llFallbacks\": ").append(String.valueOf(rule.llFallbacks))
+                .append(", \"llAverageLook\": ").append(average(rule.llLook, rule.llFallbacks))
+                .append(", \"llMaxLook\": ").append(String.valueOf(rule.llMaxLook))
+                .append(", \"ambiguities\": ").append(String.valueOf(rule.ambiguities));
+            if(rule.maxLookAt != null) {
+                out.append(", \"maxLookAt\": \"").append(escape(rule.maxLookAt)).append('"');
+            }
+            out.append('}');
+            separator = ",\n";
+        }
+        out.append("\n  ],\n");
+        out.append("  \"ranked\": [");
+        separator = "\n";
+        for(final Decision decision : ranked.subList(0, Math.min(this.top, ranked.size()))) {
+            out.append(separator)
+                .append("    {\"decision\": ").append(String.valueOf(decision.number))
+                .append(", \"rule\": \"").append(escape(decision.rule))
+                .append("\", \"predictionMs\": ").append(millis(decision.time))
+                .append(", \"invocations\": ").append(String.valueOf(decision.invocations))
+                .append(", \"sllAverageLook\": ").append(average(decision.sllLook, decision.invocations))
+                .append(", \"sllMaxLook\": ").append(String.valueOf(decision.sllMaxLook))
+                .append(", \"llFallbacks\": ").append(String.valueOf(decision.llFallbacks))
+                .append(", \"llAverageLook\": ").append(average(decision.llLook, decision.llFallbacks))
+                .append(", \"llMaxLook\": ").append(String.valueOf(decision.llMaxLook))
+                .append(", \"ambiguities\": ").append(String.valueOf(decision.ambiguities))
+                .append(", \"contextSensitivities\": ").append(String.valueOf(decision.contextSensitivities))
+                .append(", \"errors\": ").append(String.valueOf(decision.errors));
+            if(decision.maxLookAt != null) {
+                out.append(", \"maxLookAt\": \"").append(escape(decision.maxLookAt)).append('"');
+            }
+            if(decision.ambiguityAt != null) {
+                out.append(", \"ambiguityAt\": \"").append(escape(decision.ambiguityAt)).append('"');
+            }
+            out.append('}');
+            separator = ",\n";
+        }
+        out.append("\n  ]\n");
+        out.append("}\n");
+    }
+
+    /**
+     * Location of the token where a decision event started.
+     * @param file File in which the event happened.
+     * @param event Decision event.
+     * @return String file:line:column or null if the token is not known.
+     */
+    private static String location(final String file, final DecisionEventInfo event) {
+        if(event == null || event.input == null || event.startIndex < 0) {
+            return null;
+        }
+        final Token token = event.input.get(event.startIndex);
+        return file + ":" + token.getLine() + ":" + (token.getCharPositionInLine() + 1);
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String average(final long total, final long count) {
+        if(count == 0) {
+            return "0";
+        }
+        return String.format(Locale.ENGLISH, "%.2f", (double) total / count);
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Totals of a decision (or of a rule, when the decisions are summed up per rule).
+     */
+    private static final class Decision {
+        private final int number;
+        private final String rule;
+        private long invocations;
+        private long time;
+        private long sllLook;
+        private long sllMaxLook;
+        private long llFallbacks;
+        private long llLook;
+        private long llMaxLook;
+        private long ambiguities;
+        private long contextSensitivities;
+        private long errors;
+        private String maxLookAt;
+        private String ambiguityAt;
+
+        private Decision(final int number, final String rule) {
+            this.number = number;
+            this.rule = rule;
+        }
+
+        private void add(final String file, final DecisionInfo info) {
+            this.invocations += info.invocations;
+            this.time += info.timeInPrediction;
+            this.sllLook += info.SLL_TotalLook;
+            this.llFallbacks += info.LL_Fallback;
+            this.llLook += info.LL_TotalLook;
+            this.ambiguities += info.ambiguities.size();
+            this.contextSensitivities += info.contextSensitivities.size();
+            this.errors += info.errors.size();
+            if(Math.max(info.SLL_MaxLook, info.LL_MaxLook) > Math.max(this.sllMaxLook, this.llMaxLook)) {
+                if(info.LL_MaxLook > info.SLL_MaxLook) {
+                    this.maxLookAt = location(file, info.LL_MaxLookEvent);
+                } else {
+                    this.maxLookAt = location(file, info.SLL_MaxLookEvent);
+                }
+            }
+            this.sllMaxLook = Math.max(this.sllMaxLook, info.SLL_MaxLook);
+            this.llMaxLook = Math.max(this.llMaxLook, info.LL_MaxLook);
+            if(this.ambiguityAt == null && !info.ambiguities.isEmpty()) {
+                this.ambiguityAt = location(file, info.ambiguities.get(0));
+            }
+        }
+
+        private void add(final Decision other) {
+            this.invocations += other.invocations;
+            this.time += other.time;
+            this.sllLook += other.sllLook;
+            this.llFallbacks += other.llFallbacks;
+            this.llLook += other.llLook;
+            this.ambiguities += other.ambiguities;
+            this.contextSensitivities += other.contextSensitivities;
+            this.errors += other.errors;
+            if(Math.max(other.sllMaxLook, other.llMaxLook) > Math.max(this.sllMaxLook, this.llMaxLook)) {
+                this.maxLookAt = other.maxLookAt;
+            }
+            this.sllMaxLook = Math.max(this.sllMaxLook, other.sllMaxLook);
+            this.llMaxLook = Math.max(this.llMaxLook, other.llMaxLook);
+        }
+    }
+}
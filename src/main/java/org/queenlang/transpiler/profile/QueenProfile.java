@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Profile, which sums up the recorded phases and files.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenProfile implements Profile {
+
+    /**
+     * Note on the threads whose CPU time and allocations are counted.
+     */
+    private static final String THREADS = "cpuMs and allocatedBytes are measured on the thread which ran the"
+        + " transpilation. The work of other threads, such as the ForkJoinPool workers of the parallel scan,"
+        + " only counts in the wallMs of the phase waiting for it.";
+
+    /**
+     * When did the profiling start (nanos)?
+     */
+    private final long start;
+
+    /**
+     * How many of the slowest files should be reported?
+     */
+    private final int slowest;
+
+    /**
+     * Totals, per phase.
+     */
+    private final Map<Phase, Totals> phases;
+
+    /**
+     * Timings, per file.
+     */
+    private final Map<String, FileTimings> files;
+
+    /**
+     * Ctor, reporting the 10 slowest files.
+     */
+    public QueenProfile() {
+        this(10);
+    }
+
+    /**
+     * Ctor.
+     * @param slowest How many of the slowest files should be reported.
+     */
+    public QueenProfile(final int slowest) {
+        this.start = System.nanoTime();
+        this.slowest = slowest;
+        this.phases = new EnumMap<>(Phase.class);
+        for(final Phase phase : Phase.values()) {
+            this.phases.put(phase, new Totals());
+        }
+        this.files = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void record(
+        final Phase phase,
+        final String file,
+        final long wallNanos,
+        final long cpuNanos,
+        final long allocatedBytes
+    ) {
+        final Totals totals = this.phases.get(phase);
+        totals.count.increment();
+        totals.wall.add(wallNanos);
+        totals.cpu.add(cpuNanos);
+        totals.allocated.add(allocatedBytes);
+        if(file != null) {
+            this.files.computeIfAbsent(file, FileTimings::new).wall.get(phase).add(wallNanos);
+        }
+    }
+
+    @Override
+    public void nodes(final String file, final int nodes) {
+        this.files.computeIfAbsent(file, FileTimings::new).nodes.set(nodes);
+    }
+
+    @Override
+    public void report(final Appendable out) throws IOException {
+        final long wall = System.nanoTime() - this.start;
+        final List<FileTimings> all = new ArrayList<>(this.files.values());
+        all.sort(Comparator.comparing(f -> f.file));
+        long nodes = 0;
+        for(final FileTimings file : all) {
+            nodes += file.nodes.get();
+        }
+        out.append("{\n");
+        out.append("  \"wallMs\": ").append(millis(wall)).append(",\n");
+        out.append("  \"files\": ").append(String.valueOf(all.size())).append(",\n");
+        out.append("  \"nodes\": ").append(String.valueOf(nodes)).append(",\n");
+        out.append("  \"note\": \"").append(THREADS).append("\",\n");
+        out.append("  \"phases\": {");
+        String separator = "\n";
+        for(final Map.Entry<Phase, Totals> phase : this.phases.entrySet()) {
+            final Totals totals = phase.getValue();
+            out.append(separator)
+                .append("    \"").append(phase.getKey().key()).append("\": {")
+                .append("\"count\": ").append(String.valueOf(totals.count.sum()))
+                .append(", \"wallMs\": ").append(millis(totals.wall.sum()))
+                .append(", \"cpuMs\": ").append(millis(totals.cpu.sum()))
+                .append(", \"allocatedBytes\": ").append(String.valueOf(totals.allocated.sum()))
+                .append('}');
+            separator = ",\n";
+        }
+        out.append("\n  },\n");
+        final List<FileTimings> slowestFiles = new ArrayList<>(all);
+        slowestFiles.sort(Comparator.comparingLong(FileTimings::total).reversed());
+        out.append("  \"slowest\": [");
+        separator = "\n";
+        for(final FileTimings file : slowestFiles.subList(0, Math.min(this.slowest, slowestFiles.size()))) {
+            out.append(separator)
+                .append("    {\"file\": \"").append(escape(file.file))
+                .append("\", \"wallMs\": ").append(millis(file.total()))
+                .append('}');
+            separator = ",\n";
+        }
+        out.append("\n  ],\n");
+        out.append("  \"perFile\": [");
+        separator = "\n";
+        for(final FileTimings file : all) {
+            out.append(separator)
+                .append("    {\"file\": \"").append(escape(file.file))
+                .append("\", \"nodes\": ").append(String.valueOf(file.nodes.get()))
+                .append(", \"wallMs\": ").append(millis(file.total()));
+            for(final Map.Entry<Phase, LongAdder> phase : file.wall.entrySet()) {
+                final long phaseWall = phase.getValue().sum();
+                if(phaseWall > 0) {
+                    out.append(", \"").append(phase.getKey().key()).append("Ms\": ").append(millis(phaseWall));
+                }
+            }
+            out.append('}');
+            separator = ",\n";
+        }
+        out.append("\n  ]\n");
+        out.append("}\n");
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Totals of a phase.
+     */
+    private static final class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wall = new LongAdder();
+        private final LongAdder cpu = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+    }
+
+    /**
+     * Timings of a file, per phase.
+     */
+    private static final class FileTimings {
+        private final String file;
+        private final AtomicInteger nodes = new AtomicInteger();
+        private final Map<Phase, LongAdder> wall = new EnumMap<>(Phase.class);
+
+        private FileTimings(final String file) {
+            this.file = file;
+            for(final Phase phase : Phase.values()) {
+                this.wall.put(phase, new LongAdder());
+            }
+        }
+
+        private long total() {
+            long total = 0;
+            for(final LongAdder phase : this.wall.values()) {
+                total += phase.sum();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+@echo off
+rem Launcher of queenc. Put it next to queenc.jar.
+rem If queenc was trained (queenc --train), the JVM loads its classes from the
+rem AppCDS archive queenc.jsa, found next to queenc.jar, and starts faster.
+rem Extra JVM options can be given with QUEENC_OPTS.
+set QUEENC_DIR=%~dp0
+if exist "%QUEENC_DIR%queenc.jsa" (
+    java -XX:SharedArchiveFile="%QUEENC_DIR%queenc.jsa" %QUEENC_OPTS% -jar "%QUEENC_DIR%queenc.jar" %*
+) else (
+    java %QUEENC_OPTS% -jar "%QUEENC_DIR%queenc.jar" %*
+)
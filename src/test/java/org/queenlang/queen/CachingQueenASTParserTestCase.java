@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Unit tests for {@link CachingQueenASTParser}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class CachingQueenASTParserTestCase {
+
+    @Test
+    public void parsesUnchangedFileOnce() throws Exception {
+        final Path file = Files.createTempFile("Cached", ".queen");
+        Files.writeString(file, "public final class Cached {}");
+        final QueenASTParser origin = Mockito.mock(QueenASTParser.class);
+        final CompilationUnitNode compilationUnit = Mockito.mock(CompilationUnitNode.class);
+        Mockito.when(origin.parse(file)).thenReturn(compilationUnit);
+        final CachingQueenASTParser parser = new CachingQueenASTParser(origin);
+        MatcherAssert.assertThat(parser.parse(file), Matchers.is(compilationUnit));
+        MatcherAssert.assertThat(parser.parse(file), Matchers.is(compilationUnit));
+        MatcherAssert.assertThat(parser.size(), Matchers.is(1));
+        Mockito.verify(origin, Mockito.times(1)).parse(file);
+    }
+
+    @Test
+    public void parsesChangedFileAgain() throws Exception {
+        final Path file = Files.createTempFile("Changed", ".queen");
+        Files.writeString(file, "public final class Changed {}");
+        final QueenASTParser origin = Mockito.mock(QueenASTParser.class);
+        final CompilationUnitNode first = Mockito.mock(CompilationUnitNode.class);
+        final CompilationUnitNode second = Mockito.mock(CompilationUnitNode.class);
+        Mockito.when(origin.parse(file)).thenReturn(first, second);
+        final CachingQueenASTParser parser = new CachingQueenASTParser(origin);
+        MatcherAssert.assertThat(parser.parse(file), Matchers.is(first));
+        Files.writeString(file, "public final class Changed { }");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        MatcherAssert.assertThat(parser.parse(file), Matchers.is(second));
+        Mockito.verify(origin, Mockito.times(2)).parse(file);
+    }
+
+    @Test
+    public void parsesSourceAgainOnlyIfChanged() throws Exception {
+        final Path file = Path.of("com", "example", "InMemory.queen");
+        final QueenASTParser origin = Mockito.mock(QueenASTParser.class);
+        final CompilationUnitNode first = Mockito.mock(CompilationUnitNode.class);
+        final CompilationUnitNode second = Mockito.mock(CompilationUnitNode.class);
+        Mockito.when(origin.parse(file, "public final class InMemory {}")).thenReturn(first);
+        Mockito.when(origin.parse(file, "public final class InMemory { }")).thenReturn(second);
+        final CachingQueenASTParser parser = new CachingQueenASTParser(origin);
+        MatcherAssert.assertThat(
+            parser.parse(file, new StringBuilder("public final class InMemory {}")),
+            Matchers.is(first)
+        );
+        MatcherAssert.assertThat(parser.parse(file, "public final class InMemory {}"), Matchers.is(first));
+        MatcherAssert.assertThat(parser.parse(file, "public final class InMemory { }"), Matchers.is(second));
+        Mockito.verify(origin, Mockito.times(1)).parse(file, "public final class InMemory {}");
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.DirectoryClasspath;
+import org.queenlang.classpath.SourcesClasspath;
+import org.queenlang.queen.nodes.names.NameNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for {@link DirectoryClasspath}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class DirectoryClasspathTestCase {
+
+    /**
+     * Names are resolved against the root, to Queen files or packages.
+     */
+    @Test
+    public void findsNamesUnderTheRoot() throws Exception {
+        final Path root = Files.createTempDirectory("queen-sources");
+        final Path car = Files.createDirectories(root.resolve("com/example")).resolve("Car.queen");
+        Files.writeString(car, "package com.example; public interface Car {}");
+        final Classpath classpath = new DirectoryClasspath(root);
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Car")), Matchers.equalTo(car));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example")), Matchers.equalTo(root.resolve("com/example")));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Bike")), Matchers.nullValue());
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.contains(car));
+    }
+
+    /**
+     * The sources are found first, everything else is looked up in the libraries.
+     */
+    @Test
+    public void looksUpTheLibrariesAfterTheSources() throws Exception {
+        final Path root = Files.createTempDirectory("queen-sources");
+        final Path car = Files.createDirectories(root.resolve("com/example")).resolve("Car.queen");
+        Files.writeString(car, "package com.example; public interface Car {}");
+        final Path source = Path.of("com/example/Bike.queen");
+        final Classpath classpath = new SourcesClasspath(List.of(source), new DirectoryClasspath(root));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Bike")), Matchers.equalTo(source));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Car")), Matchers.equalTo(car));
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.contains(source));
+    }
+
+    private NameNode name(final String name) {
+        final NameNode node = Mockito.mock(NameNode.class);
+        Mockito.when(node.name()).thenReturn(name);
+        return node;
+    }
+}
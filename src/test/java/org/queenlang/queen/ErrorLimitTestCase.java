@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for {@link ErrorLimit}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ErrorLimitTestCase {
+
+    /**
+     * Nothing is thrown if no errors were reported.
+     */
+    @Test
+    public void checksNoErrors() throws Exception {
+        final ErrorLimit limit = new ErrorLimit(1);
+        MatcherAssert.assertThat(limit.reached(), Matchers.is(false));
+        limit.check();
+    }
+
+    /**
+     * The limit counts the errors, not the files.
+     */
+    @Test
+    public void reachesTheLimitOfErrors() {
+        final ErrorLimit limit = new ErrorLimit(3);
+        MatcherAssert.assertThat(
+            limit.report(new QueenTranspilationException("Car.queen", List.of("first", "second"))),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            limit.report(new QueenTranspilationException("Bike.queen", List.of("third"))),
+            Matchers.is(true)
+        );
+        final QueenTranspilationException errors = Assertions.assertThrows(
+            QueenTranspilationException.class, limit::check
+        );
+        MatcherAssert.assertThat(errors.file(), Matchers.equalTo("Car.queen, Bike.queen"));
+        MatcherAssert.assertThat(
+            errors.errors(),
+            Matchers.contains(
+                "Car.queen: first", "Car.queen: second", "Bike.queen: third",
+                "Stopped after 3 errors, the maximum is 3."
+            )
+        );
+    }
+
+    /**
+     * The errors of a single file are thrown as they were reported.
+     */
+    @Test
+    public void throwsTheErrorsOfOneFile() {
+        final ErrorLimit limit = new ErrorLimit(1);
+        final QueenTranspilationException reported = new QueenTranspilationException("Car.queen", List.of("first"));
+        MatcherAssert.assertThat(limit.report(reported), Matchers.is(true));
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(QueenTranspilationException.class, limit::check),
+            Matchers.sameInstance(reported)
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ErrorLimit(0));
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.queenlang.queen.nodes.body.ClassBodyDeclarationNode;
+import org.queenlang.queen.nodes.body.ClassDeclarationNode;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Integration tests for {@link IncrementalQueenASTParser}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class IncrementalQueenASTParserITCase {
+
+    private static final String COUNTER = "package com.example;\n\n"
+        + "public final implementation Counter {\n\n"
+        + "    public int count() {\n"
+        + "        return 0;\n"
+        + "    }\n\n"
+        + "    public void increment() {\n"
+        + "        System.out.println(\"increment\");\n"
+        + "    }\n\n"
+        + "    public void reset() {\n"
+        + "        System.out.println(\"reset\");\n"
+        + "    }\n"
+        + "}\n";
+
+    @Test
+    public void parsesOnlyTheEditedMember() throws Exception {
+        final IncrementalQueenASTParser parser = new IncrementalQueenASTParser();
+        final ParsedFile parsed = parser.parse(Path.of("Counter.queen"), COUNTER);
+        final List<ClassBodyDeclarationNode> before = this.members(parsed);
+
+        final int offset = COUNTER.indexOf("        return 0;");
+        final ParsedFile edited = parser.reparse(
+            parsed, new TextEdit(offset, 0, "        System.out.println(\"count\");\n")
+        );
+        final List<ClassBodyDeclarationNode> after = this.members(edited);
+        MatcherAssert.assertThat(after.get(0), Matchers.not(Matchers.sameInstance(before.get(0))));
+        MatcherAssert.assertThat(after.get(1), Matchers.sameInstance(before.get(1)));
+        MatcherAssert.assertThat(after.get(2), Matchers.sameInstance(before.get(2)));
+
+        final List<ClassBodyDeclarationNode> full = this.members(
+            parser.parse(Path.of("Counter.queen"), edited.text())
+        );
+        for(int i = 0; i < full.size(); ++i) {
+            MatcherAssert.assertThat(after.get(i).position().line(), Matchers.is(full.get(i).position().line()));
+            MatcherAssert.assertThat(after.get(i).position().column(), Matchers.is(full.get(i).position().column()));
+        }
+        MatcherAssert.assertThat(after.get(1).position().line(), Matchers.is(10));
+    }
+
+    @Test
+    public void parsesEverythingIfTheEditIsOutsideOfTheMembers() throws Exception {
+        final IncrementalQueenASTParser parser = new IncrementalQueenASTParser();
+        final ParsedFile parsed = parser.parse(Path.of("Counter.queen"), COUNTER);
+        final ParsedFile edited = parser.reparse(
+            parsed,
+            new TextEdit(COUNTER.indexOf("\npublic final"), 0, "\nimport java.util.List;\n")
+        );
+        final List<ClassBodyDeclarationNode> before = this.members(parsed);
+        final List<ClassBodyDeclarationNode> after = this.members(edited);
+        MatcherAssert.assertThat(edited.compilationUnit().importDeclarations(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(after.get(1), Matchers.not(Matchers.sameInstance(before.get(1))));
+        MatcherAssert.assertThat(after.get(1).position().line(), Matchers.is(11));
+    }
+
+    @Test
+    public void parsesEverythingAfterManyShifts() throws Exception {
+        final IncrementalQueenASTParser parser = new IncrementalQueenASTParser();
+        ParsedFile parsed = parser.parse(Path.of("Counter.queen"), COUNTER);
+        for(int edit = 0; edit < 64; ++edit) {
+            parsed = parser.reparse(
+                parsed, new TextEdit(parsed.text().indexOf("        return 0;"), 0, "\n")
+            );
+        }
+        final List<ClassBodyDeclarationNode> before = this.members(parsed);
+        MatcherAssert.assertThat(parsed.shifts().size(), Matchers.is(64));
+        final ParsedFile edited = parser.reparse(
+            parsed, new TextEdit(parsed.text().indexOf("        return 0;"), 0, "\n")
+        );
+        final List<ClassBodyDeclarationNode> after = this.members(edited);
+        MatcherAssert.assertThat(after.get(1), Matchers.not(Matchers.sameInstance(before.get(1))));
+        MatcherAssert.assertThat(edited.shifts().size(), Matchers.is(0));
+        MatcherAssert.assertThat(after.get(1).position().line(), Matchers.is(74));
+    }
+
+    @Test
+    public void reportsTheErrorsOfTheEditedMember() throws Exception {
+        final IncrementalQueenASTParser parser = new IncrementalQueenASTParser();
+        final ParsedFile parsed = parser.parse(Path.of("Counter.queen"), COUNTER);
+        final int offset = COUNTER.indexOf("return 0;");
+        final QueenTranspilationException exception = Assertions.assertThrows(
+            QueenTranspilationException.class,
+            () -> parser.reparse(parsed, new TextEdit(offset, "return 0;".length(), "return 0"))
+        );
+        MatcherAssert.assertThat(exception.errors(), Matchers.not(Matchers.empty()));
+    }
+
+    private List<ClassBodyDeclarationNode> members(final ParsedFile parsed) {
+        return ((ClassDeclarationNode) parsed.compilationUnit().typeDeclaration()).body().classBodyDeclarations();
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.ProjectClasspath;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ProjectClasspath}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ProjectClasspathTestCase {
+
+    /**
+     * All the Queen files are found, sorted, except the ones in the excluded
+     * directories (hidden ones, target and node_modules, at any depth).
+     */
+    @Test
+    public void findsAllQueenFilesSkippingExcludedDirectories() throws Exception {
+        final Path project = Files.createTempDirectory("queen-project");
+        final Path car = this.write(project.resolve("src/main/queen/com/example/Car.queen"));
+        final Path bike = this.write(project.resolve("src/main/queen/com/example/Bike.queen"));
+        final Path root = this.write(project.resolve("Root.queen"));
+        this.write(project.resolve("src/main/queen/com/example/readme.txt"));
+        this.write(project.resolve("target/classes/Copied.queen"));
+        this.write(project.resolve("module/target/classes/Nested.queen"));
+        this.write(project.resolve(".git/objects/Hidden.queen"));
+        this.write(project.resolve("web/node_modules/lib/Module.queen"));
+        final Classpath classpath = new ProjectClasspath(project);
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.contains(root, bike, car));
+        MatcherAssert.assertThat(classpath.find(Path.of("Copied.queen")), Matchers.nullValue());
+        MatcherAssert.assertThat(classpath.find(Path.of("com/example/Car.queen")), Matchers.equalTo(car));
+    }
+
+    /**
+     * The given include and exclude globs replace the default ones.
+     */
+    @Test
+    public void findsQueenFilesMatchingTheGivenGlobs() throws Exception {
+        final Path project = Files.createTempDirectory("queen-project");
+        final Path car = this.write(project.resolve("src/main/queen/com/example/Car.queen"));
+        this.write(project.resolve("src/main/queen/com/example/CarTest.queen"));
+        this.write(project.resolve("src/test/queen/com/example/Bike.queen"));
+        final Path copied = this.write(project.resolve("target/Copied.queen"));
+        final Classpath classpath = new ProjectClasspath(
+            project,
+            List.of("src/main/**.queen", "target/*.queen"),
+            List.of("**Test.queen")
+        );
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.contains(car, copied));
+    }
+
+    /**
+     * Searching a path which is not a directory fails with the path in the message.
+     */
+    @Test
+    public void complainsWhenTheProjectIsNotADirectory() throws Exception {
+        final Path file = Files.createTempFile("queen-project", ".queen");
+        final UncheckedIOException ex = Assertions.assertThrows(
+            UncheckedIOException.class,
+            () -> new ProjectClasspath(file).findAll()
+        );
+        MatcherAssert.assertThat(ex.getMessage(), Matchers.containsString(file.toString()));
+        MatcherAssert.assertThat(ex.getCause(), Matchers.instanceOf(NotDirectoryException.class));
+    }
+
+    private Path write(final Path file) throws Exception {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "");
+    }
+}
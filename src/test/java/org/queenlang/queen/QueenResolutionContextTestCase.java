@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.ResolutionContext;
+import org.queenlang.queen.nodes.types.QueenClassOrInterfaceTypeNode;
+import org.queenlang.queen.util.QueenMockito;
+
+/**
+ * Unit tests for {@link QueenResolutionContext}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenResolutionContextTestCase {
+
+    /**
+     * The visited nodes are remembered by identity: equal nodes are different visits.
+     */
+    @Test
+    public void remembersVisitedNodesByIdentity() {
+        final QueenClassOrInterfaceTypeNode first = new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "Car");
+        final QueenClassOrInterfaceTypeNode second = new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "Car");
+        MatcherAssert.assertThat(first, Matchers.equalTo(second));
+        final ResolutionContext context = new QueenResolutionContext();
+        MatcherAssert.assertThat(context.alreadyVisited(first), Matchers.is(false));
+        MatcherAssert.assertThat(context.visit(first), Matchers.is(true));
+        MatcherAssert.assertThat(context.visit(first), Matchers.is(false));
+        MatcherAssert.assertThat(context.alreadyVisited(first), Matchers.is(true));
+        MatcherAssert.assertThat(context.alreadyVisited(second), Matchers.is(false));
+        context.add(second);
+        MatcherAssert.assertThat(context.alreadyVisited(second), Matchers.is(true));
+    }
+}
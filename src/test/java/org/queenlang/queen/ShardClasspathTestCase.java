@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.ShardClasspath;
+import org.queenlang.classpath.ShardSummary;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.body.QueenCompilationUnitNode;
+import org.queenlang.queen.nodes.body.QueenInterfaceBodyNode;
+import org.queenlang.queen.nodes.body.QueenModifierNode;
+import org.queenlang.queen.nodes.body.QueenNormalInterfaceDeclarationNode;
+import org.queenlang.queen.nodes.body.QueenPackageDeclarationNode;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.project.QueenFileNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link ShardClasspath}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ShardClasspathTestCase {
+
+    private static final Path CAR = Path.of("src", "main", "queen", "com", "example", "Car.queen");
+    private static final Path BIKE = Path.of("src", "main", "queen", "com", "example", "Bike.queen");
+
+    /**
+     * Only the files of the shard are returned, the Queen types of the whole project
+     * are found in the declarations and anything else in the project's classpath.
+     */
+    @Test
+    public void findsTheDeclaredTypes(@TempDir final Path work) throws Exception {
+        final Path shard = this.shards(work);
+        final Path truck = Path.of("com", "example", "Truck.java");
+        final Classpath project = Mockito.mock(Classpath.class);
+        final NameNode truckName = this.name("com.example.Truck");
+        Mockito.when(project.find(truckName)).thenReturn(truck);
+        final Classpath classpath = new ShardClasspath(shard, project);
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.contains(CAR));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Bike")), Matchers.equalTo(BIKE));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example")), Matchers.equalTo(BIKE.getParent()));
+        MatcherAssert.assertThat(classpath.find(truckName), Matchers.equalTo(truck));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Plane")), Matchers.nullValue());
+        MatcherAssert.assertThat(classpath.find(Path.of("com", "example", "Car.queen")), Matchers.equalTo(CAR));
+        Mockito.verify(project, Mockito.never()).findAll();
+    }
+
+    /**
+     * Once the shard's files are parsed, their summary is written and the other shards
+     * read the declarations of their types from it, instead of parsing them.
+     */
+    @Test
+    public void exchangesTheDeclarationsThroughSummaries(@TempDir final Path work) throws Exception {
+        final Path shard = this.shards(work);
+        final ProjectNode bikes = Mockito.mock(ProjectNode.class);
+        Mockito.when(bikes.file(BIKE)).thenReturn(this.bike(bikes));
+        new ShardClasspath(work.resolve("shard-1.txt"), Mockito.mock(Classpath.class)).loaded(bikes);
+        MatcherAssert.assertThat(
+            Files.exists(ShardClasspath.summary(work.resolve("shard-1.txt"))),
+            Matchers.is(true)
+        );
+        final ProjectNode cars = Mockito.mock(ProjectNode.class);
+        final Classpath classpath = new ShardClasspath(shard, Mockito.mock(Classpath.class));
+        final FileNode bike = classpath.declarations(cars, BIKE);
+        MatcherAssert.assertThat(bike.fullTypeName(), Matchers.equalTo("com.example.Bike"));
+        MatcherAssert.assertThat(bike.parent(), Matchers.sameInstance(cars));
+        MatcherAssert.assertThat(classpath.declarations(cars, CAR), Matchers.nullValue());
+    }
+
+    /**
+     * A file missing from the summary of its shard (e.g. one restored from the cache) has no declarations,
+     * so it is parsed.
+     */
+    @Test
+    public void hasNoDeclarationsOfUnsummarizedFiles(@TempDir final Path work) throws Exception {
+        final Path shard = this.shards(work);
+        new ShardSummary(ShardClasspath.summary(work.resolve("shard-1.txt"))).write(Map.of());
+        final Classpath classpath = new ShardClasspath(shard, Mockito.mock(Classpath.class));
+        MatcherAssert.assertThat(
+            classpath.declarations(Mockito.mock(ProjectNode.class), BIKE),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * Write the declarations file and the shard files: Car in shard-0 and Bike in shard-1.
+     * @param work Work directory.
+     * @return The file of shard-0.
+     */
+    private Path shards(final Path work) throws Exception {
+        Files.write(
+            work.resolve(ShardClasspath.DECLARATIONS),
+            List.of("com.example.Bike\t" + BIKE + "\tshard-1.txt", "com.example.Car\t" + CAR + "\tshard-0.txt")
+        );
+        Files.write(work.resolve("shard-1.txt"), List.of(BIKE.toString()));
+        return Files.write(work.resolve("shard-0.txt"), List.of(CAR.toString()));
+    }
+
+    private FileNode bike(final ProjectNode project) {
+        return new QueenFileNode(
+            project,
+            "Bike.queen",
+            new QueenCompilationUnitNode(
+                new Position.Missing(),
+                new QueenPackageDeclarationNode(
+                    new Position.Missing(),
+                    new QueenNameNode(new Position.Missing(), null, null, "com.example")
+                ),
+                new ArrayList<>(),
+                new QueenNormalInterfaceDeclarationNode(
+                    new Position.Missing(),
+                    new ArrayList<>(),
+                    List.of(new QueenModifierNode(new Position.Missing(), "public")),
+                    "Bike",
+                    new ArrayList<>(),
+                    null,
+                    new QueenInterfaceBodyNode(new Position.Missing(), new ArrayList<>())
+                )
+            )
+        );
+    }
+
+    private NameNode name(final String name) {
+        final NameNode node = Mockito.mock(NameNode.class);
+        Mockito.when(node.name()).thenReturn(name);
+        return node;
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.queenlang.classpath.ShardSummary;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.body.*;
+import org.queenlang.queen.nodes.expressions.QueenArrayDimensionNode;
+import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.nodes.project.ProjectNode;
+import org.queenlang.queen.nodes.project.QueenFileNode;
+import org.queenlang.queen.nodes.types.QueenArrayTypeNode;
+import org.queenlang.queen.nodes.types.QueenClassOrInterfaceTypeNode;
+import org.queenlang.queen.nodes.types.QueenPrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenVoidNode;
+import org.queenlang.queen.nodes.types.TypeNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link ShardSummary}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ShardSummaryTestCase {
+
+    /**
+     * The summary keeps the header of the type and the signatures of its members, so
+     * the read declarations resolve like the parsed ones.
+     */
+    @Test
+    public void readsTheWrittenDeclarations(@TempDir final Path work) throws Exception {
+        final Path carPath = Path.of("com", "example", "Car.queen");
+        final Path enginePath = Path.of("com", "example", "Engine.queen");
+        final ParameterList parameters = new QueenParameterList(
+            this.missing(),
+            List.of(
+                this.parameter(
+                    new QueenArrayTypeNode(
+                        this.missing(),
+                        new QueenClassOrInterfaceTypeNode(this.missing(), "String"),
+                        List.of(new QueenArrayDimensionNode(this.missing()))
+                    ),
+                    false
+                ),
+                this.parameter(new QueenClassOrInterfaceTypeNode(this.missing(), "com.example.Road"), true)
+            )
+        );
+        final ProjectNode project = Mockito.mock(ProjectNode.class);
+        final Map<Path, FileNode> files = new LinkedHashMap<>();
+        files.put(
+            carPath,
+            this.file(
+                project,
+                "Car.queen",
+                new QueenClassDeclarationNode(
+                    this.missing(),
+                    new ArrayList<>(),
+                    this.modifiers("public"),
+                    new QueenModifierNode(this.missing(), "abstract"),
+                    "Car",
+                    new ArrayList<>(),
+                    new QueenClassOrInterfaceTypeNode(this.missing(), "Vehicle"),
+                    new QueenInterfaceTypeList(
+                        this.missing(),
+                        List.of(new QueenClassOrInterfaceTypeNode(this.missing(), "Engine"))
+                    ),
+                    new QueenClassBodyNode(
+                        this.missing(),
+                        List.of(
+                            new QueenFieldDeclarationNode(
+                                this.missing(),
+                                new ArrayList<>(),
+                                this.modifiers("private"),
+                                new QueenPrimitiveTypeNode(this.missing(), new ArrayList<>(), "int"),
+                                new QueenVariableDeclaratorNode(
+                                    this.missing(), new QueenVariableDeclaratorId(this.missing(), "wheels"), null
+                                )
+                            ),
+                            new QueenMethodDeclarationNode(
+                                this.missing(),
+                                new ArrayList<>(),
+                                this.modifiers("public", "abstract"),
+                                new QueenVoidNode(this.missing()),
+                                new ArrayList<>(),
+                                "drive",
+                                parameters,
+                                new ArrayList<>(),
+                                null,
+                                false
+                            )
+                        )
+                    )
+                )
+            )
+        );
+        files.put(
+            enginePath,
+            this.file(
+                project,
+                "Engine.queen",
+                new QueenNormalInterfaceDeclarationNode(
+                    this.missing(),
+                    new ArrayList<>(),
+                    this.modifiers("public"),
+                    "Engine",
+                    new ArrayList<>(),
+                    null,
+                    new QueenInterfaceBodyNode(
+                        this.missing(),
+                        List.of(
+                            new QueenMethodDeclarationNode(
+                                this.missing(),
+                                new ArrayList<>(),
+                                new ArrayList<>(),
+                                new QueenPrimitiveTypeNode(this.missing(), new ArrayList<>(), "int"),
+                                new ArrayList<>(),
+                                "power",
+                                new QueenParameterList(this.missing()),
+                                new ArrayList<>(),
+                                null,
+                                true
+                            )
+                        )
+                    )
+                )
+            )
+        );
+        final ShardSummary summary = new ShardSummary(work.resolve("shard-0.summary"));
+        MatcherAssert.assertThat(summary.exists(), Matchers.is(false));
+        summary.write(files);
+        MatcherAssert.assertThat(summary.exists(), Matchers.is(true));
+        final Map<Path, FileNode> read = summary.read(project);
+        MatcherAssert.assertThat(read.keySet(), Matchers.containsInAnyOrder(carPath, enginePath));
+
+        final FileNode car = read.get(carPath);
+        MatcherAssert.assertThat(car.fullTypeName(), Matchers.equalTo("com.example.Car"));
+        MatcherAssert.assertThat(car.compilationUnit().importDeclarations(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(car.compilationUnit().importDeclarations().get(0).asteriskImport(), Matchers.is(true));
+        final ClassDeclarationNode clazz = car.compilationUnit().typeDeclaration().asClassDeclarationNode();
+        MatcherAssert.assertThat(clazz.isAbstract(), Matchers.is(true));
+        MatcherAssert.assertThat(clazz.extendsType().name(), Matchers.equalTo("Vehicle"));
+        MatcherAssert.assertThat(clazz.of().interfaceTypes().get(0).name(), Matchers.equalTo("Engine"));
+        MatcherAssert.assertThat(
+            clazz.body().fieldDeclarations().get(0).variable().variableDeclaratorId().name(),
+            Matchers.equalTo("wheels")
+        );
+        final MethodDeclarationNode drive = clazz.body().methods().get(0);
+        MatcherAssert.assertThat(drive.name(), Matchers.equalTo("drive"));
+        MatcherAssert.assertThat(drive.isAbstract(), Matchers.is(true));
+        MatcherAssert.assertThat(drive.returnType().isVoid(), Matchers.is(true));
+        MatcherAssert.assertThat(drive.parameters(), Matchers.equalTo(parameters));
+        MatcherAssert.assertThat(drive.parameters().parameters().get(1).varArgs(), Matchers.is(true));
+
+        final NormalInterfaceDeclarationNode engine = read.get(enginePath).compilationUnit()
+            .typeDeclaration().asNormalInterfaceDeclaration();
+        MatcherAssert.assertThat(engine.name(), Matchers.equalTo("Engine"));
+        MatcherAssert.assertThat(engine.body().methods().get(0).isAbstract(), Matchers.is(true));
+        MatcherAssert.assertThat(engine.body().methods().get(0).returnType().name(), Matchers.equalTo("int"));
+    }
+
+    private FileNode file(final ProjectNode project, final String name, final TypeDeclarationNode type) {
+        return new QueenFileNode(
+            project,
+            name,
+            new QueenCompilationUnitNode(
+                this.missing(),
+                new QueenPackageDeclarationNode(
+                    this.missing(),
+                    new QueenNameNode(this.missing(), null, null, "com.example")
+                ),
+                List.of(
+                    new QueenImportDeclarationNode(
+                        this.missing(), new QueenNameNode(this.missing(), null, null, "java.util"), true
+                    )
+                ),
+                type
+            )
+        );
+    }
+
+    private ParameterNode parameter(final TypeNode type, final boolean varArgs) {
+        return new QueenParameterNode(
+            this.missing(),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            type,
+            new QueenVariableDeclaratorId(this.missing(), "param"),
+            new ArrayList<>(),
+            varArgs
+        );
+    }
+
+    private List<ModifierNode> modifiers(final String... modifiers) {
+        final List<ModifierNode> nodes = new ArrayList<>();
+        for(final String modifier : modifiers) {
+            nodes.add(new QueenModifierNode(this.missing(), modifier));
+        }
+        return nodes;
+    }
+
+    private Position missing() {
+        return new Position.Missing();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.SourceRootsClasspath;
+import org.queenlang.queen.nodes.names.NameNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for {@link SourceRootsClasspath}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SourceRootsClasspathTestCase {
+
+    /**
+     * Only the source roots are searched, the rest of the project is not.
+     */
+    @Test
+    public void findsQueenFilesOnlyInTheSourceRoots() throws Exception {
+        final Path project = Files.createTempDirectory("queen-roots");
+        final Path main = this.file(project.resolve("src/main/queen/com/example/Car.queen"));
+        final Path test = this.file(project.resolve("src/test/queen/com/example/CarTest.queen"));
+        this.file(project.resolve("target/classes/com/example/Stale.queen"));
+        final Classpath classpath = new SourceRootsClasspath(
+            List.of(
+                project.resolve("src/main/queen"),
+                project.resolve("target/generated-queen"),
+                project.resolve("src/test/queen")
+            )
+        );
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.containsInAnyOrder(main, test));
+    }
+
+    /**
+     * Names are resolved in any source root; the first root wins.
+     */
+    @Test
+    public void resolvesNamesInAllTheSourceRoots() throws Exception {
+        final Path project = Files.createTempDirectory("queen-roots");
+        final Path car = this.file(project.resolve("src/main/queen/com/example/Car.queen"));
+        this.file(project.resolve("src/test/queen/com/example/Car.queen"));
+        final Path test = this.file(project.resolve("src/test/queen/com/example/CarTest.queen"));
+        final Classpath classpath = new SourceRootsClasspath(
+            List.of(project.resolve("src/main/queen"), project.resolve("src/test/queen"))
+        );
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Car")), Matchers.equalTo(car));
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.CarTest")), Matchers.equalTo(test));
+        MatcherAssert.assertThat(
+            classpath.find(this.name("com.example")),
+            Matchers.equalTo(project.resolve("src/main/queen/com/example"))
+        );
+        MatcherAssert.assertThat(classpath.find(this.name("com.example.Bike")), Matchers.nullValue());
+    }
+
+    private Path file(final Path path) throws Exception {
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, "package com.example; public interface Car {}");
+    }
+
+    private NameNode name(final String name) {
+        final NameNode node = Mockito.mock(NameNode.class);
+        Mockito.when(node.name()).thenReturn(name);
+        return node;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.SourcesClasspath;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link SourcesClasspath}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SourcesClasspathTestCase {
+
+    /**
+     * The sources are not copied, so the ones added or removed later are found or not.
+     */
+    @Test
+    public void findsTheSourcesAddedLater() {
+        final Set<Path> sources = new LinkedHashSet<>();
+        final Path car = Path.of("/project/src/com/example/Car.queen");
+        sources.add(car);
+        final Classpath classpath = new SourcesClasspath(sources);
+        final Path engine = Path.of("/project/src/com/example/Engine.queen");
+        MatcherAssert.assertThat(classpath.find(Path.of("com/example/Engine.queen")), Matchers.nullValue());
+        sources.add(engine);
+        MatcherAssert.assertThat(classpath.find(Path.of("com/example/Engine.queen")), Matchers.equalTo(engine));
+        MatcherAssert.assertThat(classpath.findAll(), Matchers.contains(car, engine));
+        sources.remove(car);
+        MatcherAssert.assertThat(classpath.find(Path.of("com/example/Car.queen")), Matchers.nullValue());
+    }
+}
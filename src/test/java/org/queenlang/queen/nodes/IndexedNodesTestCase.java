@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.body.QueenCompilationUnitNode;
+import org.queenlang.queen.nodes.expressions.ArrayDimensionNode;
+import org.queenlang.queen.nodes.expressions.QueenArrayDimensionNode;
+import org.queenlang.queen.nodes.statements.BlockStatements;
+import org.queenlang.queen.nodes.statements.EmptyStatementNode;
+import org.queenlang.queen.nodes.statements.QueenBlockStatements;
+import org.queenlang.queen.nodes.statements.QueenEmptyStatementNode;
+import org.queenlang.queen.nodes.statements.StatementNode;
+import org.queenlang.queen.nodes.types.ArrayTypeNode;
+import org.queenlang.queen.nodes.types.PrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenArrayTypeNode;
+import org.queenlang.queen.nodes.types.QueenPrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenSharedTypes;
+import org.queenlang.queen.nodes.types.SharedTypes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link IndexedNodes}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class IndexedNodesTestCase {
+
+    @Test
+    public void indexesNodesInSourceOrder() {
+        final IndexedNodes nodes = new IndexedNodes();
+        final EmptyStatementNode second = new QueenEmptyStatementNode(this.position(3, 4));
+        nodes.add(second);
+        final BlockStatements inner = new QueenBlockStatements(
+            this.position(2, 0), this.statements(second)
+        );
+        nodes.add(inner);
+        final EmptyStatementNode first = new QueenEmptyStatementNode(this.position(1, 4));
+        nodes.add(first);
+        final BlockStatements outer = new QueenBlockStatements(
+            this.position(1, 0), this.statements(first, inner)
+        );
+        nodes.add(outer);
+        final BlockStatements enclosing = new QueenBlockStatements(
+            this.position(1, 0), this.statements(outer)
+        );
+        nodes.add(enclosing);
+        final NodeIndex index = nodes.index();
+        MatcherAssert.assertThat(index.size(), Matchers.is(5));
+        MatcherAssert.assertThat(
+            index.nodes(EmptyStatementNode.class),
+            Matchers.contains(first, second)
+        );
+        MatcherAssert.assertThat(
+            index.nodes(BlockStatements.class),
+            Matchers.contains(enclosing, outer, inner)
+        );
+    }
+
+    @Test
+    public void doesNotIndexReplacedNodes() {
+        final IndexedNodes nodes = new IndexedNodes();
+        final SharedTypes types = new QueenSharedTypes();
+        final ArrayTypeNode first = this.intArray(nodes, this.position(1, 0));
+        nodes.replace(first, types.share(first));
+        final ArrayTypeNode parsed = this.intArray(nodes, this.position(2, 0));
+        final ArrayTypeNode second = types.share(parsed);
+        nodes.replace(parsed, second);
+        final NodeIndex index = nodes.index();
+        MatcherAssert.assertThat(
+            index.nodes(ArrayTypeNode.class),
+            Matchers.contains(first, second)
+        );
+        MatcherAssert.assertThat(
+            index.nodes(PrimitiveTypeNode.class),
+            Matchers.contains(first.type())
+        );
+        MatcherAssert.assertThat(
+            index.nodes(ArrayDimensionNode.class),
+            Matchers.contains(first.dims().get(0), second.dims().get(0))
+        );
+        MatcherAssert.assertThat(index.size(), Matchers.is(5));
+    }
+
+    @Test
+    public void indexesTheCompilationUnitWithoutWalkingIt() {
+        final IndexedNodes nodes = new IndexedNodes();
+        final Position position = this.position(1, 0);
+        final QueenNode recorded = Mockito.mock(QueenNode.class);
+        Mockito.when(recorded.position()).thenReturn(position);
+        nodes.add(recorded);
+        final CompilationUnitNode compilationUnit = new QueenCompilationUnitNode(
+            position,
+            null,
+            new ArrayList<>(),
+            null,
+            new SharedTypes.None(),
+            nodes
+        );
+        MatcherAssert.assertThat(compilationUnit.index().size(), Matchers.is(2));
+        MatcherAssert.assertThat(
+            compilationUnit.index().nodes(CompilationUnitNode.class),
+            Matchers.contains(compilationUnit)
+        );
+        Mockito.verify(recorded, Mockito.never()).children();
+    }
+
+    private ArrayTypeNode intArray(final IndexedNodes nodes, final Position position) {
+        final PrimitiveTypeNode type = new QueenPrimitiveTypeNode(position, new ArrayList<>(), "int");
+        nodes.add(type);
+        final ArrayDimensionNode dim = new QueenArrayDimensionNode(position);
+        nodes.add(dim);
+        final ArrayTypeNode array = new QueenArrayTypeNode(position, type, Arrays.asList(dim));
+        nodes.add(array);
+        return array;
+    }
+
+    private List<StatementNode> statements(final StatementNode... statements) {
+        return new ArrayList<>(Arrays.asList(statements));
+    }
+
+    private Position position(final int line, final int column) {
+        final Position position = Mockito.mock(Position.class);
+        Mockito.when(position.line()).thenReturn(line);
+        Mockito.when(position.column()).thenReturn(column);
+        return position;
+    }
+}
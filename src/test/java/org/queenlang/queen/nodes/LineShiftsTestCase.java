@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LineShifts}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class LineShiftsTestCase {
+
+    @Test
+    public void shiftsOnlyTheLinesAfterTheEdit() {
+        final LineShifts shifts = new LineShifts();
+        final Position above = shifts.position(3, 4);
+        final Position below = shifts.position(10, 4);
+        shifts.shift(5, 2);
+        MatcherAssert.assertThat(above.line(), Matchers.is(3));
+        MatcherAssert.assertThat(below.line(), Matchers.is(12));
+        MatcherAssert.assertThat(below.column(), Matchers.is(4));
+        shifts.shift(11, -3);
+        MatcherAssert.assertThat(below.line(), Matchers.is(9));
+        MatcherAssert.assertThat(above.line(), Matchers.is(3));
+    }
+
+    @Test
+    public void doesNotShiftPositionsCreatedAfterTheEdit() {
+        final LineShifts shifts = new LineShifts();
+        final Position old = shifts.position(10, 0);
+        shifts.shift(5, 1);
+        final Position created = shifts.position(11, 0);
+        MatcherAssert.assertThat(old.line(), Matchers.is(11));
+        MatcherAssert.assertThat(created.line(), Matchers.is(11));
+        shifts.shift(2, -1);
+        MatcherAssert.assertThat(old.line(), Matchers.is(10));
+        MatcherAssert.assertThat(created.line(), Matchers.is(10));
+    }
+
+    @Test
+    public void countsOnlyTheShiftsWhichMovedLines() {
+        final LineShifts shifts = new LineShifts();
+        shifts.shift(5, 1);
+        shifts.shift(7, 0);
+        shifts.shift(2, -1);
+        MatcherAssert.assertThat(shifts.size(), Matchers.is(2));
+    }
+}
@@ -107,7 +107,7 @@ public final class QueenNameNodeTestCase {
 
         final NameNode qualifier = QueenMockito.mock(NameNode.class);
         final NameNode qualifierDefinition = QueenMockito.mock(NameNode.class);
-        Mockito.when(qualifier.resolve()).thenReturn(qualifierDefinition);
+        Mockito.when(qualifier.resolve(Mockito.any(ResolutionContext.class))).thenReturn(qualifierDefinition);
         final NameNode name = new QueenNameNode(
             QueenMockito.mock(Position.class),
             null,
@@ -149,7 +149,7 @@ public final class QueenNameNodeTestCase {
         );
         final QueenNode resolvedQualifier = QueenMockito.mock(QueenNode.class);
         final QueenNode resolved = QueenMockito.mock(QueenNode.class);
-        Mockito.when(qualifier.resolve()).thenReturn(resolvedQualifier);
+        Mockito.when(qualifier.resolve(Mockito.any(ResolutionContext.class))).thenReturn(resolvedQualifier);
         Mockito.when(resolvedQualifier.resolve(name, false)).thenReturn(resolved);
 
 
@@ -157,7 +157,7 @@ public final class QueenNameNodeTestCase {
             name.resolve(),
             Matchers.is(resolved)
         );
-        Mockito.verify(qualifier, Mockito.times(1)).resolve();
+        Mockito.verify(qualifier, Mockito.times(1)).resolve(Mockito.any(ResolutionContext.class));
         Mockito.verify(resolvedQualifier, Mockito.times(1)).resolve(name, false);
     }
 
@@ -171,13 +171,13 @@ public final class QueenNameNodeTestCase {
             "x"
         );
         final QueenNode resolved = QueenMockito.mock(QueenNode.class);
-        Mockito.when(qualifier.resolve()).thenReturn(null);
+        Mockito.when(qualifier.resolve(Mockito.any(ResolutionContext.class))).thenReturn(null);
 
         MatcherAssert.assertThat(
             name.resolve(),
             Matchers.nullValue()
         );
-        Mockito.verify(qualifier, Mockito.times(1)).resolve();
+        Mockito.verify(qualifier, Mockito.times(1)).resolve(Mockito.any(ResolutionContext.class));
     }
 
 }
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.nodes.expressions.QueenArrayDimensionNode;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.statements.EmptyStatementNode;
+import org.queenlang.queen.nodes.statements.QueenBlockStatements;
+import org.queenlang.queen.nodes.statements.QueenEmptyStatementNode;
+import org.queenlang.queen.nodes.statements.StatementNode;
+import org.queenlang.queen.nodes.types.ArrayTypeNode;
+import org.queenlang.queen.nodes.types.PrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenArrayTypeNode;
+import org.queenlang.queen.nodes.types.QueenPrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenSharedTypes;
+import org.queenlang.queen.nodes.types.SharedTypes;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link QueenNodeIndex}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenNodeIndexTestCase {
+
+    @Test
+    public void indexesAllNodes() {
+        final List<StatementNode> statements = new ArrayList<>();
+        statements.add(new QueenEmptyStatementNode(QueenMockito.mock(Position.class)));
+        statements.add(null);
+        statements.add(new QueenEmptyStatementNode(QueenMockito.mock(Position.class)));
+        final NodeIndex index = new QueenNodeIndex(
+            new QueenBlockStatements(QueenMockito.mock(Position.class), statements)
+        );
+        MatcherAssert.assertThat(index.size(), Matchers.is(3));
+    }
+
+    @Test
+    public void findsNodesByInterface() {
+        final EmptyStatementNode first = new QueenEmptyStatementNode(QueenMockito.mock(Position.class));
+        final EmptyStatementNode second = new QueenEmptyStatementNode(QueenMockito.mock(Position.class));
+        final List<StatementNode> statements = new ArrayList<>();
+        statements.add(first);
+        statements.add(second);
+        final NodeIndex index = new QueenNodeIndex(
+            new QueenBlockStatements(QueenMockito.mock(Position.class), statements)
+        );
+        MatcherAssert.assertThat(
+            index.nodes(EmptyStatementNode.class),
+            Matchers.contains(first, second)
+        );
+        MatcherAssert.assertThat(
+            index.nodes(StatementNode.class),
+            Matchers.iterableWithSize(3)
+        );
+        MatcherAssert.assertThat(
+            index.nodes(QueenNode.class),
+            Matchers.iterableWithSize(3)
+        );
+    }
+
+    @Test
+    public void returnsEmptyListForMissingKind() {
+        final NodeIndex index = new QueenNodeIndex(
+            new QueenNameNode(QueenMockito.mock(Position.class), null, null, "x")
+        );
+        MatcherAssert.assertThat(
+            index.nodes(EmptyStatementNode.class),
+            Matchers.emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            index.nodes(NameNode.class),
+            Matchers.iterableWithSize(1)
+        );
+    }
+
+    @Test
+    public void indexesSharedTypesOnce() {
+        final SharedTypes types = new QueenSharedTypes();
+        final ArrayTypeNode first = types.share(this.intArray());
+        final ArrayTypeNode second = types.share(this.intArray());
+        final List<QueenNode> children = new ArrayList<>();
+        children.add(first);
+        children.add(second);
+        final QueenNode root = Mockito.mock(QueenNode.class);
+        Mockito.when(root.children()).thenReturn(children);
+        final NodeIndex index = new QueenNodeIndex(root);
+        MatcherAssert.assertThat(
+            index.nodes(PrimitiveTypeNode.class),
+            Matchers.contains(first.type())
+        );
+        MatcherAssert.assertThat(index.size(), Matchers.is(6));
+    }
+
+    @Test
+    public void walksTheTreeOnlyOnFirstUse() {
+        final QueenNode root = Mockito.mock(QueenNode.class);
+        Mockito.when(root.children()).thenReturn(new ArrayList<>());
+        final NodeIndex index = new QueenNodeIndex(root);
+        Mockito.verify(root, Mockito.never()).children();
+        MatcherAssert.assertThat(index.size(), Matchers.is(1));
+        MatcherAssert.assertThat(index.nodes(QueenNode.class), Matchers.contains(root));
+        Mockito.verify(root, Mockito.times(1)).children();
+    }
+
+    @Test
+    public void emptyIndexHasNoNodes() {
+        final NodeIndex index = new NodeIndex.Empty();
+        MatcherAssert.assertThat(index.size(), Matchers.is(0));
+        MatcherAssert.assertThat(index.nodes(QueenNode.class), Matchers.emptyIterable());
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> index.nodes(QueenNode.class).add(Mockito.mock(QueenNode.class))
+        );
+    }
+
+    private ArrayTypeNode intArray() {
+        final Position position = QueenMockito.mock(Position.class);
+        return new QueenArrayTypeNode(
+            position,
+            new QueenPrimitiveTypeNode(position, new ArrayList<>(), "int"),
+            Arrays.asList(new QueenArrayDimensionNode(position))
+        );
+    }
+}
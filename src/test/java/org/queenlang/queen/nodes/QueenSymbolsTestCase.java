@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.queenlang.queen.nodes.names.QueenSymbols;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link QueenSymbols}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenSymbolsTestCase {
+
+    @Test
+    public void internsIdentifiers() {
+        final QueenSymbols symbols = new QueenSymbols();
+        final String first = symbols.identifier(new String("Student"));
+        final String second = symbols.identifier(new String("Student"));
+        MatcherAssert.assertThat(first, Matchers.equalTo("Student"));
+        MatcherAssert.assertThat(second, Matchers.sameInstance(first));
+        MatcherAssert.assertThat(symbols.size(), Matchers.is(1));
+    }
+
+    @Test
+    public void internsQualifiedNames() {
+        final QueenSymbols symbols = new QueenSymbols();
+        final String qualified = symbols.qualified("java.util", "List");
+        MatcherAssert.assertThat(qualified, Matchers.equalTo("java.util.List"));
+        MatcherAssert.assertThat(
+            symbols.qualified(new String("java.util"), new String("List")),
+            Matchers.sameInstance(qualified)
+        );
+        MatcherAssert.assertThat(
+            symbols.identifier(new String("java.util.List")),
+            Matchers.sameInstance(qualified)
+        );
+    }
+
+    @Test
+    public void qualifiedWithoutQualifierIsIdentifier() {
+        final QueenSymbols symbols = new QueenSymbols();
+        final String identifier = symbols.identifier("x");
+        MatcherAssert.assertThat(
+            symbols.qualified(null, new String("x")),
+            Matchers.sameInstance(identifier)
+        );
+    }
+
+    @Test
+    public void returnsNullForNullIdentifier() {
+        final QueenSymbols symbols = new QueenSymbols();
+        MatcherAssert.assertThat(symbols.identifier(null), Matchers.nullValue());
+        MatcherAssert.assertThat(symbols.size(), Matchers.is(0));
+    }
+
+    @Test
+    public void forgetsSymbolsWhichAreNoLongerUsed() throws InterruptedException {
+        final QueenSymbols symbols = new QueenSymbols();
+        final String kept = symbols.identifier(new String("Student"));
+        symbols.qualified(new String("com.example"), new String("Teacher"));
+        for(int i = 0; i < 50 && symbols.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        MatcherAssert.assertThat(symbols.size(), Matchers.is(1));
+        MatcherAssert.assertThat(
+            symbols.identifier(new String("Student")),
+            Matchers.sameInstance(kept)
+        );
+    }
+
+    @Test
+    public void internsConcurrently() throws Exception {
+        final QueenSymbols symbols = new QueenSymbols();
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<List<String>>> tasks = new ArrayList<>();
+            for(int task = 0; task < 8; task++) {
+                tasks.add(
+                    () -> {
+                        final List<String> interned = new ArrayList<>();
+                        for(int i = 0; i < 1000; i++) {
+                            interned.add(symbols.qualified(new String("java.util"), new String("List" + i)));
+                        }
+                        return interned;
+                    }
+                );
+            }
+            final List<Future<List<String>>> results = pool.invokeAll(tasks);
+            final List<String> first = results.get(0).get();
+            for(final Future<List<String>> result : results) {
+                final List<String> interned = result.get();
+                for(int i = 0; i < interned.size(); i++) {
+                    MatcherAssert.assertThat(interned.get(i), Matchers.sameInstance(first.get(i)));
+                }
+            }
+            MatcherAssert.assertThat(first.get(7), Matchers.equalTo("java.util.List7"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
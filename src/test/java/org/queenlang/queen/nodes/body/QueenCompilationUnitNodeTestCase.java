@@ -157,4 +157,33 @@ public final class QueenCompilationUnitNodeTestCase {
             Matchers.is(true)
         );
     }
+
+    @Test
+    public void indexesItsNodes() {
+        final PackageDeclarationNode packageDeclaration = QueenMockito.mock(PackageDeclarationNode.class);
+        final List<ImportDeclarationNode> imports = new ArrayList<>();
+        imports.add(QueenMockito.mock(ImportDeclarationNode.class));
+        imports.add(QueenMockito.mock(ImportDeclarationNode.class));
+        final TypeDeclarationNode type = QueenMockito.mock(TypeDeclarationNode.class);
+
+        final CompilationUnitNode compilationUnit = new QueenCompilationUnitNode(
+            QueenMockito.mock(Position.class),
+            packageDeclaration,
+            imports,
+            type
+        );
+
+        MatcherAssert.assertThat(
+            compilationUnit.index().size(),
+            Matchers.is(5)
+        );
+        MatcherAssert.assertThat(
+            compilationUnit.index().nodes(ImportDeclarationNode.class),
+            Matchers.equalTo(imports)
+        );
+        MatcherAssert.assertThat(
+            compilationUnit.index().nodes(CompilationUnitNode.class),
+            Matchers.contains(compilationUnit)
+        );
+    }
 }
@@ -31,9 +31,12 @@ package org.queenlang.queen.nodes.body;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.queenlang.queen.nodes.Position;
 import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.ResolutionContext;
 import org.queenlang.queen.nodes.expressions.AnnotationNode;
+import org.queenlang.queen.nodes.types.ClassOrInterfaceTypeNode;
 import org.queenlang.queen.nodes.types.TypeParameterNode;
 import org.queenlang.queen.util.QueenMockito;
 
@@ -225,4 +228,49 @@ public final class QueenNormalInterfaceDeclarationNodeTestCase {
         );
     }
 
+    @Test
+    public void walksCyclicHierarchiesOnce() {
+        final NormalInterfaceDeclarationNode first = this.interfaceDeclaration();
+        final NormalInterfaceDeclarationNode second = this.interfaceDeclaration();
+        this.extend(first, second);
+        this.extend(second, first);
+        MatcherAssert.assertThat(
+            first.inheritedMethods(),
+            Matchers.equalTo(second.body().methods())
+        );
+        MatcherAssert.assertThat(
+            second.inheritedMethods(),
+            Matchers.equalTo(first.body().methods())
+        );
+    }
+
+    /**
+     * Mock of an interface declaration, with one method and the real inheritedMethods.
+     * @return NormalInterfaceDeclarationNode.
+     */
+    private NormalInterfaceDeclarationNode interfaceDeclaration() {
+        final NormalInterfaceDeclarationNode declaration = Mockito.mock(
+            NormalInterfaceDeclarationNode.class, Mockito.CALLS_REAL_METHODS
+        );
+        final InterfaceBodyNode body = Mockito.mock(InterfaceBodyNode.class);
+        Mockito.doReturn(List.of(Mockito.mock(MethodDeclarationNode.class))).when(body).methods();
+        Mockito.doReturn(body).when(declaration).body();
+        return declaration;
+    }
+
+    /**
+     * The given interface declaration extends the other one.
+     * @param declaration Extending interface.
+     * @param extended Extended interface.
+     */
+    private void extend(
+        final NormalInterfaceDeclarationNode declaration,
+        final NormalInterfaceDeclarationNode extended
+    ) {
+        final ClassOrInterfaceTypeNode type = Mockito.mock(ClassOrInterfaceTypeNode.class);
+        Mockito.doReturn(extended).when(type).resolve(Mockito.any(ResolutionContext.class));
+        final InterfaceTypeList extendsTypes = Mockito.mock(InterfaceTypeList.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn(List.of(type)).when(extendsTypes).interfaceTypes();
+        Mockito.doReturn(extendsTypes).when(declaration).extendsTypes();
+    }
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes.project;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.nodes.NodeIndex;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.types.ClassOrInterfaceTypeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the default methods of {@link ProjectNode}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ProjectNodeTestCase {
+
+    @Test
+    public void findsTransitiveDependents() {
+        final ProjectNode project = Mockito.mock(ProjectNode.class, Mockito.CALLS_REAL_METHODS);
+        final List<QueenNode> files = Arrays.asList(
+            this.file("com.example.Contract"),
+            this.file("com.example.Impl", "Contract"),
+            this.file("com.example.Main", "Impl"),
+            this.file("com.example.Other", "String"),
+            this.file("org.example.Static", "com.example.Main.run")
+        );
+        Mockito.doReturn(files).when(project).children();
+        MatcherAssert.assertThat(
+            project.dependents(Set.of("com.example.Contract")),
+            Matchers.containsInAnyOrder("com.example.Impl", "com.example.Main", "org.example.Static")
+        );
+    }
+
+    @Test
+    public void returnsNoDependentsForUnusedType() {
+        final ProjectNode project = Mockito.mock(ProjectNode.class, Mockito.CALLS_REAL_METHODS);
+        final List<QueenNode> files = Arrays.asList(
+            this.file("com.example.Contract"),
+            this.file("com.example.Impl", "Contract")
+        );
+        Mockito.doReturn(files).when(project).children();
+        MatcherAssert.assertThat(
+            project.dependents(Set.of("com.example.Impl")),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * Mock a FileNode. Mentions containing a dot are names (e.g. a static method call),
+     * the others are simple type names.
+     * @param type Full name of the declared type.
+     * @param mentions Names the file mentions.
+     * @return FileNode.
+     */
+    private FileNode file(final String type, final String... mentions) {
+        final List<ClassOrInterfaceTypeNode> types = new ArrayList<>();
+        final List<NameNode> names = new ArrayList<>();
+        for(final String mention : mentions) {
+            if(mention.contains(".")) {
+                final NameNode name = Mockito.mock(NameNode.class);
+                Mockito.when(name.name()).thenReturn(mention);
+                names.add(name);
+            } else {
+                final ClassOrInterfaceTypeNode typeNode = Mockito.mock(ClassOrInterfaceTypeNode.class);
+                Mockito.when(typeNode.identifier()).thenReturn(mention);
+                types.add(typeNode);
+            }
+        }
+        final NodeIndex index = Mockito.mock(NodeIndex.class);
+        Mockito.when(index.nodes(ClassOrInterfaceTypeNode.class)).thenReturn(types);
+        Mockito.when(index.nodes(NameNode.class)).thenReturn(names);
+        final FileNode file = Mockito.mock(FileNode.class);
+        Mockito.when(file.fullTypeName()).thenReturn(type);
+        Mockito.when(file.index()).thenReturn(index);
+        Mockito.when(file.mentions()).thenCallRealMethod();
+        return file;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes.project;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.classpath.SourceRootsClasspath;
+import org.queenlang.queen.ErrorLimit;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.types.ClassOrInterfaceTypeNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link QueenProject}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenProjectTestCase {
+
+    /**
+     * The test sources resolve the main types to their input files, which are not parsed again.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void resolvesTypesOfOtherSourceRootsWithoutParsingThemAgain() throws Exception {
+        final Path project = Files.createTempDirectory("queen-roots");
+        final Path main = project.resolve("src/main/queen");
+        final Path test = project.resolve("src/test/queen");
+        final Path car = this.source(main, "Car");
+        final Path carTest = this.source(test, "CarTest");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        final CompilationUnitNode carUnit = this.unit("Car");
+        final CompilationUnitNode carTestUnit = this.unit("CarTest");
+        Mockito.when(parser.parse(car)).thenReturn(carUnit);
+        Mockito.when(parser.parse(carTest)).thenReturn(carTestUnit);
+
+        final ProjectNode queenProject = new QueenProject(parser, new SourceRootsClasspath(List.of(main, test)));
+        final NameNode name = Mockito.mock(NameNode.class);
+        Mockito.when(name.name()).thenReturn("com.example.Car");
+        final QueenNode resolved = queenProject.resolve(name, false);
+
+        MatcherAssert.assertThat(resolved, Matchers.instanceOf(FileNode.class));
+        MatcherAssert.assertThat(((FileNode) resolved).compilationUnit(), Matchers.sameInstance(carUnit));
+        MatcherAssert.assertThat(queenProject.children(), Matchers.hasItem(Matchers.sameInstance(resolved)));
+        Mockito.verify(parser, Mockito.times(1)).parse(car);
+        MatcherAssert.assertThat(queenProject.types(main), Matchers.equalTo(Set.of("com.example.Car")));
+        MatcherAssert.assertThat(queenProject.types(test), Matchers.equalTo(Set.of("com.example.CarTest")));
+    }
+
+    /**
+     * A type whose declarations are known by the classpath (e.g. one of another shard) is
+     * resolved to them, without parsing its file. The classpath is told when the input files are parsed.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void resolvesTypesToTheDeclarationsOfTheClasspath() throws Exception {
+        final Path bike = Path.of("com", "example", "Bike.queen");
+        final NameNode name = Mockito.mock(NameNode.class);
+        Mockito.when(name.name()).thenReturn("com.example.Bike");
+        final FileNode declarations = Mockito.mock(FileNode.class);
+        Mockito.when(declarations.fullTypeName()).thenReturn("com.example.Bike");
+        final Classpath classpath = Mockito.mock(Classpath.class);
+        Mockito.when(classpath.findAll()).thenReturn(List.of());
+        Mockito.when(classpath.find(name)).thenReturn(bike);
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+
+        final ProjectNode queenProject = new QueenProject(parser, classpath);
+        Mockito.when(classpath.declarations(queenProject, bike)).thenReturn(declarations);
+        MatcherAssert.assertThat(queenProject.resolve(name, false), Matchers.sameInstance(declarations));
+        MatcherAssert.assertThat(queenProject.resolve(name, false), Matchers.sameInstance(declarations));
+
+        Mockito.verify(classpath).loaded(queenProject);
+        Mockito.verify(classpath, Mockito.times(1)).declarations(queenProject, bike);
+        Mockito.verify(parser, Mockito.never()).parse(Mockito.any(Path.class));
+    }
+
+    /**
+     * The files are parsed until the maximum number of errors is reached, then all
+     * the errors found so far are thrown together.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void stopsParsingAtTheMaximumNumberOfErrors() throws Exception {
+        final Path project = Files.createTempDirectory("queen-errors");
+        final Path main = project.resolve("src/main/queen");
+        final Path bike = this.source(main, "Bike");
+        final Path car = this.source(main, "Car");
+        final Path truck = this.source(main, "Truck");
+        final CompilationUnitNode unit = this.unit("Truck");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        Mockito.when(parser.parse(bike)).thenThrow(
+            new QueenTranspilationException("Bike.queen", List.of("error at [1:1]"))
+        );
+        Mockito.when(parser.parse(car)).thenThrow(
+            new QueenTranspilationException("Car.queen", List.of("error at [2:2]"))
+        );
+        Mockito.when(parser.parse(truck)).thenReturn(unit);
+
+        final QueenTranspilationException failFast = Assertions.assertThrows(
+            QueenTranspilationException.class,
+            () -> new QueenProject(parser, new SourceRootsClasspath(List.of(main)), new ErrorLimit(1))
+        );
+        MatcherAssert.assertThat(failFast.errors(), Matchers.hasSize(1));
+        if("Bike.queen".equals(failFast.file())) {
+            Mockito.verify(parser, Mockito.never()).parse(car);
+        } else {
+            Mockito.verify(parser, Mockito.never()).parse(bike);
+        }
+
+        final QueenTranspilationException all = Assertions.assertThrows(
+            QueenTranspilationException.class,
+            () -> new QueenProject(parser, new SourceRootsClasspath(List.of(main)), new ErrorLimit(100))
+        );
+        MatcherAssert.assertThat(
+            all.errors(),
+            Matchers.containsInAnyOrder("Bike.queen: error at [1:1]", "Car.queen: error at [2:2]")
+        );
+        Mockito.verify(parser, Mockito.atLeastOnce()).parse(truck);
+    }
+
+    /**
+     * The dependency map is kept between calls and the entry of a removed file is dropped.
+     * @param project Project directory.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void keepsTheDependencyMapBetweenCalls(@TempDir final Path project) throws Exception {
+        final Path main = project.resolve("src/main/queen");
+        final Path engine = this.source(main, "Engine");
+        final Path car = this.source(main, "Car");
+        final CompilationUnitNode carUnit = this.unit("Car");
+        final ClassOrInterfaceTypeNode engineType = Mockito.mock(ClassOrInterfaceTypeNode.class);
+        Mockito.when(engineType.identifier()).thenReturn("Engine");
+        Mockito.when(carUnit.index().nodes(ClassOrInterfaceTypeNode.class)).thenReturn(List.of(engineType));
+        final CompilationUnitNode engineUnit = this.unit("Engine");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        Mockito.when(parser.parse(engine)).thenReturn(engineUnit);
+        Mockito.when(parser.parse(car)).thenReturn(carUnit);
+        Mockito.clearInvocations(carUnit);
+
+        final ProjectNode queenProject = new QueenProject(parser, new SourceRootsClasspath(List.of(main)));
+        MatcherAssert.assertThat(
+            queenProject.dependents(Set.of("com.example.Engine")), Matchers.equalTo(Set.of("com.example.Car"))
+        );
+        queenProject.dependents(Set.of("com.example.Engine"));
+        Mockito.verify(carUnit, Mockito.times(2)).index();
+
+        MatcherAssert.assertThat(queenProject.file(car).compilationUnit(), Matchers.sameInstance(carUnit));
+        queenProject.remove(car);
+        MatcherAssert.assertThat(queenProject.file(car), Matchers.nullValue());
+        MatcherAssert.assertThat(queenProject.mentions().keySet(), Matchers.contains("com.example.Engine"));
+        MatcherAssert.assertThat(queenProject.dependents(Set.of("com.example.Engine")), Matchers.empty());
+    }
+
+    private Path source(final Path root, final String type) throws Exception {
+        final Path file = Files.createDirectories(root.resolve("com/example")).resolve(type + ".queen");
+        Files.writeString(file, "package com.example; public interface " + type + " {}");
+        return file;
+    }
+
+    private CompilationUnitNode unit(final String type) {
+        final CompilationUnitNode unit = Mockito.mock(CompilationUnitNode.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(unit.packageDeclaration().packageName().name()).thenReturn("com.example");
+        Mockito.when(unit.typeDeclaration().name()).thenReturn(type);
+        return unit;
+    }
+}
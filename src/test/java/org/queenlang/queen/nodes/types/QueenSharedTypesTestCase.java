@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.nodes.types;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.expressions.AnnotationNode;
+import org.queenlang.queen.nodes.expressions.QueenArrayDimensionNode;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Unit tests for {@link QueenSharedTypes}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenSharedTypesTestCase {
+
+    @Test
+    public void sharesIdenticalClassTypes() {
+        final SharedTypes types = new QueenSharedTypes();
+        final Position first = QueenMockito.mock(Position.class);
+        final Position second = QueenMockito.mock(Position.class);
+        final ClassOrInterfaceTypeNode list = types.share(this.listOfString(first));
+        final ClassOrInterfaceTypeNode other = types.share(this.listOfString(second));
+        MatcherAssert.assertThat(other, Matchers.not(Matchers.sameInstance(list)));
+        MatcherAssert.assertThat(other.position(), Matchers.sameInstance(second));
+        MatcherAssert.assertThat(other.name(), Matchers.equalTo("java.util.List"));
+        MatcherAssert.assertThat(other.qualifier(), Matchers.sameInstance(list.qualifier()));
+        MatcherAssert.assertThat(
+            other.typeArguments().get(0),
+            Matchers.sameInstance(list.typeArguments().get(0))
+        );
+        MatcherAssert.assertThat(types.size(), Matchers.is(1));
+        MatcherAssert.assertThat(
+            types.positions(other),
+            Matchers.contains(first, second)
+        );
+        MatcherAssert.assertThat(
+            types.positions(list),
+            Matchers.contains(first, second)
+        );
+    }
+
+    @Test
+    public void doesNotShareScopeDependentTypes() {
+        final SharedTypes types = new QueenSharedTypes();
+        final ClassOrInterfaceTypeNode variable = new QueenClassOrInterfaceTypeNode(
+            QueenMockito.mock(Position.class), "T"
+        );
+        final ClassOrInterfaceTypeNode member = new QueenClassOrInterfaceTypeNode(
+            QueenMockito.mock(Position.class),
+            new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "Map"),
+            "Entry"
+        );
+        final List<TypeNode> arguments = new ArrayList<>();
+        arguments.add(new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "T"));
+        final ClassOrInterfaceTypeNode generic = new QueenClassOrInterfaceTypeNode(
+            QueenMockito.mock(Position.class),
+            false,
+            new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "java"),
+            new ArrayList<>(),
+            "List",
+            arguments,
+            false
+        );
+        MatcherAssert.assertThat(types.share(variable), Matchers.sameInstance(variable));
+        MatcherAssert.assertThat(types.share(member), Matchers.sameInstance(member));
+        MatcherAssert.assertThat(types.share(generic), Matchers.sameInstance(generic));
+        MatcherAssert.assertThat(types.size(), Matchers.is(0));
+        MatcherAssert.assertThat(types.positions(variable), Matchers.contains(variable.position()));
+    }
+
+    @Test
+    public void sharesSimpleNamesResolvedThroughTheUnit() {
+        final SharedTypes types = new QueenSharedTypes(
+            "com.example", Arrays.asList("java.util.List"), new HashSet<>()
+        );
+        final Position first = QueenMockito.mock(Position.class);
+        final Position second = QueenMockito.mock(Position.class);
+        final ClassOrInterfaceTypeNode list = types.share(this.simpleListOfString(first));
+        final ClassOrInterfaceTypeNode other = types.share(this.simpleListOfString(second));
+        MatcherAssert.assertThat(other, Matchers.not(Matchers.sameInstance(list)));
+        MatcherAssert.assertThat(other.position(), Matchers.sameInstance(second));
+        MatcherAssert.assertThat(other.name(), Matchers.equalTo("List"));
+        MatcherAssert.assertThat(other.typeArguments(), Matchers.sameInstance(list.typeArguments()));
+        MatcherAssert.assertThat(types.positions(other), Matchers.contains(first, second));
+        final ClassOrInterfaceTypeNode qualified = types.share(
+            this.listOfString(QueenMockito.mock(Position.class))
+        );
+        MatcherAssert.assertThat(qualified.qualifier().name(), Matchers.equalTo("java.util"));
+        MatcherAssert.assertThat(types.size(), Matchers.is(2));
+    }
+
+    @Test
+    public void doesNotShareNamesDeclaredInTheUnit() {
+        final SharedTypes types = new QueenSharedTypes(
+            "com.example", new ArrayList<>(), new HashSet<>(Arrays.asList("T", "Entry"))
+        );
+        final ClassOrInterfaceTypeNode variable = new QueenClassOrInterfaceTypeNode(
+            QueenMockito.mock(Position.class), "T"
+        );
+        final ClassOrInterfaceTypeNode member = new QueenClassOrInterfaceTypeNode(
+            QueenMockito.mock(Position.class), "Entry"
+        );
+        final ClassOrInterfaceTypeNode entry = new QueenClassOrInterfaceTypeNode(
+            QueenMockito.mock(Position.class),
+            new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "Map"),
+            "Entry"
+        );
+        MatcherAssert.assertThat(types.share(variable), Matchers.sameInstance(variable));
+        MatcherAssert.assertThat(types.share(member), Matchers.sameInstance(member));
+        MatcherAssert.assertThat(types.share(entry), Matchers.sameInstance(entry));
+        MatcherAssert.assertThat(types.size(), Matchers.is(1));
+    }
+
+    @Test
+    public void sharesPrimitiveTypesAsSingletons() {
+        final SharedTypes types = new QueenSharedTypes();
+        final PrimitiveTypeNode first = types.share(
+            new QueenPrimitiveTypeNode(QueenMockito.mock(Position.class), new ArrayList<>(), "int")
+        );
+        final PrimitiveTypeNode second = types.share(
+            new QueenPrimitiveTypeNode(QueenMockito.mock(Position.class), new ArrayList<>(), "int")
+        );
+        MatcherAssert.assertThat(second, Matchers.sameInstance(first));
+        MatcherAssert.assertThat(types.positions(second), Matchers.contains(first.position()));
+        MatcherAssert.assertThat(types.size(), Matchers.is(1));
+    }
+
+    @Test
+    public void doesNotShareDifferentTypes() {
+        final SharedTypes types = new QueenSharedTypes();
+        final TypeNode list = types.share(this.listOfString(QueenMockito.mock(Position.class)));
+        final TypeNode string = types.share(
+            new QueenClassOrInterfaceTypeNode(
+                QueenMockito.mock(Position.class),
+                new QueenClassOrInterfaceTypeNode(
+                    QueenMockito.mock(Position.class),
+                    new QueenClassOrInterfaceTypeNode(QueenMockito.mock(Position.class), "java"),
+                    "lang"
+                ),
+                "String"
+            )
+        );
+        final TypeNode integer = types.share(
+            new QueenPrimitiveTypeNode(QueenMockito.mock(Position.class), new ArrayList<>(), "int")
+        );
+        MatcherAssert.assertThat(list, Matchers.not(Matchers.sameInstance(string)));
+        MatcherAssert.assertThat(types.size(), Matchers.is(3));
+        MatcherAssert.assertThat(types.positions(integer), Matchers.iterableWithSize(1));
+    }
+
+    @Test
+    public void sharesArrayTypes() {
+        final SharedTypes types = new QueenSharedTypes();
+        final ArrayTypeNode first = types.share(this.intArray());
+        final ArrayTypeNode array = this.intArray();
+        final ArrayTypeNode second = types.share(array);
+        MatcherAssert.assertThat(second, Matchers.not(Matchers.sameInstance(first)));
+        MatcherAssert.assertThat(second.position(), Matchers.sameInstance(array.position()));
+        MatcherAssert.assertThat(second.type(), Matchers.sameInstance(first.type()));
+        MatcherAssert.assertThat(second.dims(), Matchers.sameInstance(array.dims()));
+        MatcherAssert.assertThat(types.positions(second), Matchers.iterableWithSize(2));
+    }
+
+    @Test
+    public void doesNotShareAnnotatedTypes() {
+        final SharedTypes types = new QueenSharedTypes();
+        final List<AnnotationNode> annotations = Arrays.asList(
+            QueenMockito.mock(AnnotationNode.class)
+        );
+        final PrimitiveTypeNode first = types.share(
+            new QueenPrimitiveTypeNode(QueenMockito.mock(Position.class), annotations, "int")
+        );
+        final PrimitiveTypeNode second = types.share(
+            new QueenPrimitiveTypeNode(QueenMockito.mock(Position.class), annotations, "int")
+        );
+        MatcherAssert.assertThat(second, Matchers.not(Matchers.sameInstance(first)));
+        MatcherAssert.assertThat(types.size(), Matchers.is(0));
+    }
+
+    @Test
+    public void noneSharesNothing() {
+        final SharedTypes types = new SharedTypes.None();
+        final Position position = QueenMockito.mock(Position.class);
+        final ClassOrInterfaceTypeNode list = this.listOfString(position);
+        MatcherAssert.assertThat(types.share(list), Matchers.sameInstance(list));
+        MatcherAssert.assertThat(types.positions(list), Matchers.contains(position));
+        MatcherAssert.assertThat(types.size(), Matchers.is(0));
+    }
+
+    private ClassOrInterfaceTypeNode listOfString(final Position position) {
+        final List<TypeNode> arguments = new ArrayList<>();
+        arguments.add(
+            new QueenClassOrInterfaceTypeNode(
+                position,
+                new QueenClassOrInterfaceTypeNode(
+                    position,
+                    new QueenClassOrInterfaceTypeNode(position, "java"),
+                    "lang"
+                ),
+                "String"
+            )
+        );
+        return new QueenClassOrInterfaceTypeNode(
+            position,
+            false,
+            new QueenClassOrInterfaceTypeNode(
+                position,
+                new QueenClassOrInterfaceTypeNode(position, "java"),
+                "util"
+            ),
+            new ArrayList<>(),
+            "List",
+            arguments,
+            false
+        );
+    }
+
+    private ClassOrInterfaceTypeNode simpleListOfString(final Position position) {
+        final List<TypeNode> arguments = new ArrayList<>();
+        arguments.add(new QueenClassOrInterfaceTypeNode(position, "String"));
+        return new QueenClassOrInterfaceTypeNode(
+            position,
+            false,
+            null,
+            new ArrayList<>(),
+            "List",
+            arguments,
+            false
+        );
+    }
+
+    private ArrayTypeNode intArray() {
+        final Position position = QueenMockito.mock(Position.class);
+        return new QueenArrayTypeNode(
+            position,
+            new QueenPrimitiveTypeNode(position, new ArrayList<>(), "int"),
+            Arrays.asList(new QueenArrayDimensionNode(position))
+        );
+    }
+}
@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generator of synthetic Queen projects, for scale testing and benchmarks.
+ * The output is deterministic: the same seed and sizes always produce the same files.
+ *
+ * The project consists of interfaces (Contract0, Contract1...) and implementations
+ * (Impl0, Impl1...), spread over a number of packages. The implementations form inheritance
+ * chains of the given depth: the first one in a chain implements an interface, the next ones
+ * extend it and the last one, which is final, implements the interface's methods.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SyntheticQueenProject {
+
+    /**
+     * Root package of the generated types.
+     */
+    private static final String ROOT = "org.queenlang.synthetic";
+
+    private final long seed;
+    private final int packages;
+    private final int interfaces;
+    private final int implementations;
+    private final int depth;
+    private final int fanOut;
+    private final int statements;
+
+    /**
+     * Ctor with default proportions: a quarter of the files are interfaces, there are
+     * about 50 files per package, inheritance depth 3, 5 extra imports per implementation
+     * and 10 statements per method.
+     * @param seed Seed of the generator.
+     * @param files Total number of files.
+     */
+    public SyntheticQueenProject(final long seed, final int files) {
+        this(
+            seed,
+            Math.max(1, files / 50),
+            Math.max(1, files / 4),
+            Math.max(1, files - Math.max(1, files / 4)),
+            3,
+            5,
+            10
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param seed Seed of the generator.
+     * @param packages Number of packages.
+     * @param interfaces Number of interfaces.
+     * @param implementations Number of implementations.
+     * @param depth Length of the implementations' inheritance chains.
+     * @param fanOut Number of extra imports in every implementation.
+     * @param statements Number of statements in every method body.
+     */
+    public SyntheticQueenProject(
+        final long seed,
+        final int packages,
+        final int interfaces,
+        final int implementations,
+        final int depth,
+        final int fanOut,
+        final int statements
+    ) {
+        if(packages < 1 || interfaces < 1 || implementations < 0 || depth < 1 || fanOut < 0 || statements < 0) {
+            throw new IllegalArgumentException(
+                "There should be at least one package, one interface and inheritance depth 1."
+            );
+        }
+        this.seed = seed;
+        this.packages = packages;
+        this.interfaces = interfaces;
+        this.implementations = implementations;
+        this.depth = depth;
+        this.fanOut = fanOut;
+        this.statements = statements;
+    }
+
+    /**
+     * Generate the files of the project.
+     * @return Content of each file, by its path, relative to the project's directory.
+     */
+    public Map<Path, String> files() {
+        final Random random = new Random(this.seed);
+        final Map<Path, String> files = new LinkedHashMap<>();
+        for(int idx = 0; idx < this.interfaces; ++idx) {
+            files.put(
+                this.path(this.interfacePackage(idx), "Contract" + idx),
+                this.contract(idx)
+            );
+        }
+        for(int idx = 0; idx < this.implementations; ++idx) {
+            files.put(
+                this.path(this.implementationPackage(idx), "Impl" + idx),
+                this.implementation(idx, random)
+            );
+        }
+        return files;
+    }
+
+    /**
+     * Write the project in the given directory.
+     * @param directory Project directory.
+     * @return Paths of the written files.
+     * @throws IOException If the files cannot be written.
+     */
+    public List<Path> writeTo(final Path directory) throws IOException {
+        final List<Path> written = new ArrayList<>();
+        for(final Map.Entry<Path, String> file : this.files().entrySet()) {
+            final Path path = directory.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            written.add(Files.writeString(path, file.getValue()));
+        }
+        return written;
+    }
+
+    private String contract(final int idx) {
+        final StringBuilder queen = new StringBuilder();
+        queen.append("package ").append(this.interfacePackage(idx)).append(";\n\n");
+        queen.append("public interface Contract").append(idx).append(" {\n\n");
+        queen.append("    public int compute").append(idx).append("(int value);\n\n");
+        queen.append("    public String describe").append(idx).append("(String prefix);\n");
+        queen.append("}\n");
+        return queen.toString();
+    }
+
+    private String implementation(final int idx, final Random random) {
+        final int level = idx % this.depth;
+        final boolean last = level == this.depth - 1 || idx == this.implementations - 1;
+        final int contract = (idx - level) / this.depth % this.interfaces;
+        final String pack = this.implementationPackage(idx);
+        final Set<String> imports = new LinkedHashSet<>();
+        if(!this.interfacePackage(contract).equals(pack)) {
+            imports.add(this.interfacePackage(contract) + ".Contract" + contract);
+        }
+        for(int imp = 0; imp < this.fanOut; ++imp) {
+            final int other = random.nextInt(this.interfaces);
+            if(!this.interfacePackage(other).equals(pack)) {
+                imports.add(this.interfacePackage(other) + ".Contract" + other);
+            }
+        }
+        final StringBuilder queen = new StringBuilder();
+        queen.append("package ").append(pack).append(";\n\n");
+        for(final String imported : imports) {
+            queen.append("import ").append(imported).append(";\n");
+        }
+        if(!imports.isEmpty()) {
+            queen.append('\n');
+        }
+        queen.append("public ");
+        if(last) {
+            queen.append("final ");
+        } else {
+            queen.append("abstract ");
+        }
+        queen.append("implementation Impl").append(idx);
+        if(level == 0) {
+            queen.append(" of Contract").append(contract);
+        } else {
+            queen.append(" extends Impl").append(idx - 1);
+        }
+        queen.append(" {\n\n");
+        queen.append("    private final int seed = ").append(random.nextInt(1000)).append(";\n\n");
+        queen.append("    private int mix(int first, int second) {\n");
+        queen.append("        return first * 31 + second + this.seed;\n");
+        queen.append("    }\n");
+        if(last) {
+            queen.append('\n');
+            queen.append("    @Override\n");
+            queen.append("    public int compute").append(contract).append("(int value) {\n");
+            queen.append("        int result = value;\n");
+            for(int stmt = 0; stmt < this.statements; ++stmt) {
+                queen.append(this.statement(stmt, random));
+            }
+            queen.append("        return result;\n");
+            queen.append("    }\n\n");
+            queen.append("    @Override\n");
+            queen.append("    public String describe").append(contract).append("(String prefix) {\n");
+            queen.append("        return prefix + \"-\" + this.compute").append(contract)
+                .append("(").append(random.nextInt(100)).append(");\n");
+            queen.append("    }\n");
+        }
+        queen.append("}\n");
+        return queen.toString();
+    }
+
+    private String statement(final int stmt, final Random random) {
+        final String statement;
+        final int constant = random.nextInt(100) + 1;
+        switch (random.nextInt(4)) {
+            case 0:
+                statement = "        result = this.mix(result, " + constant + ");\n";
+                break;
+            case 1:
+                statement = "        if (result > " + constant * 10 + ") {\n"
+                    + "            result = result % " + constant + ";\n"
+                    + "        } else {\n"
+                    + "            result = result + " + constant + ";\n"
+                    + "        }\n";
+                break;
+            case 2:
+                statement = "        for (int i" + stmt + " = 0; i" + stmt + " < " + constant % 5 + "; ++i" + stmt + ") {\n"
+                    + "            result = result ^ i" + stmt + ";\n"
+                    + "        }\n";
+                break;
+            default:
+                statement = "        int local" + stmt + " = result * " + constant + ";\n"
+                    + "        result = local" + stmt + " - result;\n";
+                break;
+        }
+        return statement;
+    }
+
+    private String interfacePackage(final int idx) {
+        return ROOT + ".p" + idx % this.packages;
+    }
+
+    private String implementationPackage(final int idx) {
+        return ROOT + ".p" + idx / this.depth % this.packages;
+    }
+
+    private Path path(final String pack, final String type) {
+        return Path.of(pack.replace('.', '/'), type + ".queen");
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.util;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.queenlang.classpath.ProjectClasspath;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link SyntheticQueenProject}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class SyntheticQueenProjectTestCase {
+
+    @Test
+    public void generatesTheGivenNumberOfFiles() {
+        final Map<Path, String> files = new SyntheticQueenProject(42L, 3, 4, 10, 3, 2, 5).files();
+        MatcherAssert.assertThat(files.size(), Matchers.is(14));
+        MatcherAssert.assertThat(
+            files.keySet(),
+            Matchers.hasItems(
+                Path.of("org/queenlang/synthetic/p0/Contract0.queen"),
+                Path.of("org/queenlang/synthetic/p1/Impl3.queen")
+            )
+        );
+    }
+
+    @Test
+    public void isDeterministic() {
+        MatcherAssert.assertThat(
+            new SyntheticQueenProject(7L, 200).files(),
+            Matchers.equalTo(new SyntheticQueenProject(7L, 200).files())
+        );
+        MatcherAssert.assertThat(
+            new SyntheticQueenProject(7L, 200).files(),
+            Matchers.not(Matchers.equalTo(new SyntheticQueenProject(8L, 200).files()))
+        );
+    }
+
+    @Test
+    public void generatesInheritanceChains() {
+        final Map<Path, String> files = new SyntheticQueenProject(1L, 1, 1, 3, 3, 0, 2).files();
+        final String first = files.get(Path.of("org/queenlang/synthetic/p0/Impl0.queen"));
+        final String second = files.get(Path.of("org/queenlang/synthetic/p0/Impl1.queen"));
+        final String last = files.get(Path.of("org/queenlang/synthetic/p0/Impl2.queen"));
+        MatcherAssert.assertThat(
+            first,
+            Matchers.containsString("public abstract implementation Impl0 of Contract0 {")
+        );
+        MatcherAssert.assertThat(
+            second,
+            Matchers.containsString("public abstract implementation Impl1 extends Impl0 {")
+        );
+        MatcherAssert.assertThat(
+            last,
+            Matchers.containsString("public final implementation Impl2 extends Impl1 {")
+        );
+        MatcherAssert.assertThat(last, Matchers.containsString("public int compute0(int value) {"));
+        MatcherAssert.assertThat(last, Matchers.containsString("public String describe0(String prefix) {"));
+    }
+
+    @Test
+    public void writesFilesFoundByTheClasspath(@TempDir final Path directory) throws Exception {
+        new SyntheticQueenProject(42L, 100).writeTo(directory);
+        MatcherAssert.assertThat(
+            new ProjectClasspath(directory).findAll(),
+            Matchers.iterableWithSize(100)
+        );
+    }
+
+    @Test
+    public void rejectsEmptyProjects() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new SyntheticQueenProject(42L, 0, 1, 1, 1, 0, 0)
+        );
+    }
+}
@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import com.github.javaparser.ast.stmt.BlockStmt;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.body.*;
+import org.queenlang.queen.nodes.expressions.*;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.statements.*;
+import org.queenlang.queen.nodes.types.QueenClassOrInterfaceTypeNode;
+import org.queenlang.queen.nodes.types.QueenPrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.TypeNode;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ConstantExpressionVisitor} and the folding done by {@link QueenToJavaVisitor}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ConstantExpressionVisitorTestCase {
+
+    @Test
+    public void computesLiteralExpressions() {
+        final ExpressionNode hour = this.binary(this.binary(this.integer("60"), "*", this.integer("60")), "*", this.integer("1_000"));
+        final ExpressionNode name = this.binary(this.binary(this.string("queen"), "+", this.character("'c'")), "+", this.integer("1"));
+        final ExpressionNode overflow = this.binary(this.integer("0xFFFFFFFF"), "+", this.integer("1"));
+        final ExpressionNode shift = this.binary(this.longLiteral("1L"), "<<", this.integer("40"));
+        final ExpressionNode character = this.binary(this.character("'a'"), "+", this.integer("1"));
+        final ExpressionNode division = this.binary(this.integer("7"), "/", this.integer("0"));
+        final ExpressionNode comparison = this.binary(this.bracketed(this.binary(this.integer("2"), "-", this.integer("3"))), "<", this.integer("0"));
+        final ExpressionNode tooBig = this.integer("2147483648");
+        final ConstantExpressionVisitor constants = new ConstantExpressionVisitor(
+            this.unit(this.method("sizes", hour, name, overflow, shift, character, division, comparison, tooBig))
+        );
+        MatcherAssert.assertThat(constants.value(hour), Matchers.equalTo(3600000));
+        MatcherAssert.assertThat(constants.value(name), Matchers.equalTo("queenc1"));
+        MatcherAssert.assertThat(constants.value(overflow), Matchers.equalTo(0));
+        MatcherAssert.assertThat(constants.value(shift), Matchers.equalTo(1L << 40));
+        MatcherAssert.assertThat(constants.value(character), Matchers.equalTo(98));
+        MatcherAssert.assertThat(constants.value(division), Matchers.nullValue());
+        MatcherAssert.assertThat(constants.value(comparison), Matchers.equalTo(true));
+        MatcherAssert.assertThat(constants.value(tooBig), Matchers.nullValue());
+    }
+
+    @Test
+    public void computesInterfaceConstants() {
+        final ExpressionNode debug = this.name(null, "DEBUG");
+        final ExpressionNode twoMinutes = this.binary(this.name(null, "MINUTE"), "*", this.integer("2"));
+        final ExpressionNode qualified = this.binary(this.name(this.name(null, "Flags"), "LETTER"), "+", this.string("!"));
+        final ExpressionNode unknown = this.binary(this.name(null, "UNKNOWN"), "+", this.integer("1"));
+        final ConstantExpressionVisitor constants = new ConstantExpressionVisitor(
+            this.unit(this.method("values", debug, twoMinutes, qualified, unknown))
+        );
+        MatcherAssert.assertThat(constants.value(debug), Matchers.equalTo(false));
+        MatcherAssert.assertThat(constants.value(twoMinutes), Matchers.equalTo(120000L));
+        MatcherAssert.assertThat(constants.value(qualified), Matchers.equalTo("q!"));
+        MatcherAssert.assertThat(constants.value(unknown), Matchers.nullValue());
+    }
+
+    @Test
+    public void doesNotComputeShadowedConstants() {
+        final ExpressionNode debug = this.name(null, "DEBUG");
+        final LocalVariableDeclarationNode local = new QueenLocalVariableDeclarationNode(
+            this.position(),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            this.primitive("boolean"),
+            List.of(
+                new QueenVariableDeclaratorNode(
+                    this.position(), new QueenVariableDeclaratorId(this.position(), "DEBUG"), this.bool(true)
+                )
+            )
+        );
+        final List<StatementNode> statements = new ArrayList<>();
+        statements.add(local);
+        statements.add(new QueenExpressionStatementNode(this.position(), debug));
+        final ConstantExpressionVisitor constants = new ConstantExpressionVisitor(
+            this.unit(this.method("shadowing", statements))
+        );
+        MatcherAssert.assertThat(constants.value(debug), Matchers.nullValue());
+    }
+
+    @Test
+    public void knowsShortCircuitedConditions() {
+        final ExpressionNode and = this.binary(this.name(null, "DEBUG"), "&&", this.call("verbose"));
+        final ExpressionNode or = this.binary(this.unary("!", this.name(null, "DEBUG")), "||", this.call("verbose"));
+        final ExpressionNode unknown = this.binary(this.call("verbose"), "&&", this.name(null, "DEBUG"));
+        final ConstantExpressionVisitor constants = new ConstantExpressionVisitor(
+            this.unit(this.method("conditions", and, or, unknown))
+        );
+        MatcherAssert.assertThat(constants.value(and), Matchers.nullValue());
+        MatcherAssert.assertThat(constants.condition(and), Matchers.equalTo(false));
+        MatcherAssert.assertThat(constants.condition(or), Matchers.equalTo(true));
+        MatcherAssert.assertThat(constants.condition(unknown), Matchers.nullValue());
+    }
+
+    @Test
+    public void foldsExpressionsAndEliminatesDeadBranches() {
+        final List<StatementNode> statements = new ArrayList<>();
+        statements.add(this.ifStatement(this.name(null, "DEBUG"), this.block(this.invoke("log")), null));
+        statements.add(
+            this.ifStatement(
+                this.binary(this.name(null, "DEBUG"), "&&", this.call("verbose")),
+                this.block(this.invoke("log")),
+                this.block(this.invoke("run", this.binary(this.name(null, "MINUTE"), "*", this.integer("2"))))
+            )
+        );
+        statements.add(
+            this.ifStatement(
+                this.unary("!", this.name(null, "DEBUG")),
+                this.block(new QueenReturnStatementNode(this.position())),
+                this.block(this.invoke("log"))
+            )
+        );
+        statements.add(new QueenWhileStatementNode(this.position(), this.bool(false), this.block(this.invoke("log"))));
+        statements.add(
+            new QueenWhileStatementNode(
+                this.position(),
+                this.bool(true),
+                this.block(
+                    this.ifStatement(this.name(null, "DEBUG"), new QueenBreakStatementNode(this.position(), null), null)
+                )
+            )
+        );
+        statements.add(this.invoke("run", this.binary(this.integer("0"), "-", this.integer("5"))));
+        final BlockStatements block = new QueenBlockStatements(this.position(), statements);
+        final CompilationUnitNode unit = this.unit(this.method("run", List.of(block)));
+        MatcherAssert.assertThat(
+            new QueenToJavaVisitor(new ConstantExpressionVisitor(unit)).visitBlockStatements(block).toString(),
+            Matchers.equalTo(
+                new BlockStmt()
+                    .addStatement("{ run(120000L); }")
+                    .addStatement("if (true) { return; }")
+                    .addStatement("while (true) { if (DEBUG) break; }")
+                    .addStatement("run((-5));")
+                    .toString()
+            )
+        );
+        MatcherAssert.assertThat(
+            new QueenToJavaVisitor().visitBlockStatements(block).getStatements(),
+            Matchers.iterableWithSize(6)
+        );
+    }
+
+    /**
+     * Compilation unit of the interface Flags, with the given member:
+     * <pre>
+     * interface Flags {
+     *     boolean DEBUG = false;
+     *     long MINUTE = 60 * 1000;
+     *     char LETTER = 'q';
+     *     (member)
+     * }
+     * </pre>
+     */
+    private CompilationUnitNode unit(final InterfaceMemberDeclarationNode member) {
+        final List<InterfaceMemberDeclarationNode> members = new ArrayList<>();
+        members.add(this.constant(this.primitive("boolean"), "DEBUG", this.bool(false)));
+        members.add(
+            this.constant(this.primitive("long"), "MINUTE", this.binary(this.integer("60"), "*", this.integer("1000")))
+        );
+        members.add(this.constant(this.primitive("char"), "LETTER", this.character("'q'")));
+        members.add(member);
+        return new QueenCompilationUnitNode(
+            this.position(),
+            null,
+            new ArrayList<>(),
+            new QueenNormalInterfaceDeclarationNode(
+                this.position(),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                "Flags",
+                new ArrayList<>(),
+                null,
+                new QueenInterfaceBodyNode(this.position(), members)
+            )
+        );
+    }
+
+    private ConstantDeclarationNode constant(final TypeNode type, final String name, final ExpressionNode value) {
+        return new QueenConstantDeclarationNode(
+            this.position(),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            type,
+            new QueenVariableDeclaratorNode(this.position(), new QueenVariableDeclaratorId(this.position(), name), value)
+        );
+    }
+
+    /**
+     * Default method evaluating the given expressions.
+     */
+    private MethodDeclarationNode method(final String name, final ExpressionNode... expressions) {
+        final List<StatementNode> statements = new ArrayList<>();
+        for(final ExpressionNode expression : expressions) {
+            statements.add(new QueenExpressionStatementNode(this.position(), expression));
+        }
+        return this.method(name, statements);
+    }
+
+    private MethodDeclarationNode method(final String name, final List<StatementNode> statements) {
+        return new QueenMethodDeclarationNode(
+            this.position(),
+            new ArrayList<>(),
+            List.of(new QueenModifierNode(this.position(), "default")),
+            new QueenClassOrInterfaceTypeNode(this.position(), "Object"),
+            new ArrayList<>(),
+            name,
+            new QueenParameterList(this.position()),
+            new ArrayList<>(),
+            new QueenBlockStatements(this.position(), statements),
+            true
+        );
+    }
+
+    private StatementNode ifStatement(final ExpressionNode condition, final StatementNode then, final StatementNode otherwise) {
+        return new QueenIfStatementNode(this.position(), condition, then, otherwise);
+    }
+
+    private StatementNode block(final StatementNode statement) {
+        return new QueenBlockStatements(this.position(), List.of(statement));
+    }
+
+    private StatementNode invoke(final String method, final ExpressionNode... arguments) {
+        return new QueenExpressionStatementNode(
+            this.position(),
+            new QueenMethodInvocationExpressionNode(this.position(), null, new ArrayList<>(), method, List.of(arguments))
+        );
+    }
+
+    private ExpressionNode call(final String method) {
+        return new QueenMethodInvocationExpressionNode(this.position(), null, new ArrayList<>(), method, new ArrayList<>());
+    }
+
+    private ExpressionNode binary(final ExpressionNode left, final String operator, final ExpressionNode right) {
+        return new QueenBinaryExpressionNode(this.position(), left, operator, right);
+    }
+
+    private ExpressionNode unary(final String operator, final ExpressionNode expression) {
+        return new QueenUnaryExpressionNode(this.position(), operator, true, expression);
+    }
+
+    private ExpressionNode bracketed(final ExpressionNode expression) {
+        return new QueenBracketedExpressionNode(this.position(), expression);
+    }
+
+    private NameNode name(final NameNode qualifier, final String identifier) {
+        return new QueenNameNode(this.position(), null, qualifier, identifier);
+    }
+
+    private ExpressionNode integer(final String value) {
+        return new QueenIntegerLiteralExpressionNode(this.position(), value);
+    }
+
+    private ExpressionNode longLiteral(final String value) {
+        return new QueenLongLiteralExpressionNode(this.position(), value);
+    }
+
+    private ExpressionNode character(final String value) {
+        return new QueenCharLiteralExpressionNode(this.position(), value);
+    }
+
+    private ExpressionNode string(final String value) {
+        return new QueenStringLiteralExpressionNode(this.position(), value);
+    }
+
+    private ExpressionNode bool(final boolean value) {
+        return new QueenBooleanLiteralExpressionNode(this.position(), value);
+    }
+
+    private TypeNode primitive(final String name) {
+        return new QueenPrimitiveTypeNode(this.position(), new ArrayList<>(), name);
+    }
+
+    private Position position() {
+        return QueenMockito.mock(Position.class);
+    }
+}
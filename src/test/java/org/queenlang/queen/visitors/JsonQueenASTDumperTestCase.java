@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.names.QueenNameNode;
+import org.queenlang.queen.nodes.statements.QueenBlockStatements;
+import org.queenlang.queen.nodes.statements.QueenEmptyStatementNode;
+import org.queenlang.queen.nodes.statements.StatementNode;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link JsonQueenASTDumper}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class JsonQueenASTDumperTestCase {
+
+    @Test
+    public void dumpsTreeAsJson() throws Exception {
+        final List<StatementNode> statements = new ArrayList<>();
+        statements.add(new QueenEmptyStatementNode(this.position(2, 4)));
+        statements.add(null);
+        statements.add(new QueenEmptyStatementNode(this.position(3, 4)));
+        final StringBuilder output = new StringBuilder();
+        new JsonQueenASTDumper(output).dump(
+            new QueenBlockStatements(this.position(1, 0), statements)
+        );
+        MatcherAssert.assertThat(
+            output.toString(),
+            Matchers.equalTo(
+                "{\"kind\":\"QueenBlockStatements\",\"line\":1,\"column\":0,\"children\":["
+                + "{\"kind\":\"QueenEmptyStatementNode\",\"line\":2,\"column\":4,\"children\":[]},"
+                + "{\"kind\":\"QueenEmptyStatementNode\",\"line\":3,\"column\":4,\"children\":[]}"
+                + "]}"
+            )
+        );
+    }
+
+    @Test
+    public void escapesNames() throws Exception {
+        final StringBuilder output = new StringBuilder();
+        new JsonQueenASTDumper(output).dump(
+            new QueenNameNode(this.position(1, 1), null, null, "a\"b\\c")
+        );
+        MatcherAssert.assertThat(
+            output.toString(),
+            Matchers.equalTo(
+                "{\"kind\":\"QueenNameNode\",\"line\":1,\"column\":1,\"name\":\"a\\\"b\\\\c\",\"children\":[]}"
+            )
+        );
+    }
+
+    private Position position(final int line, final int column) {
+        final Position position = QueenMockito.mock(Position.class);
+        Mockito.when(position.line()).thenReturn(line);
+        Mockito.when(position.column()).thenReturn(column);
+        return position;
+    }
+}
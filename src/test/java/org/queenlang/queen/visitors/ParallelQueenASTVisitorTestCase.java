@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.queen.visitors;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.body.*;
+import org.queenlang.queen.nodes.statements.EmptyStatementNode;
+import org.queenlang.queen.nodes.statements.QueenBlockStatements;
+import org.queenlang.queen.nodes.statements.QueenEmptyStatementNode;
+import org.queenlang.queen.nodes.statements.StatementNode;
+import org.queenlang.queen.nodes.types.NodeWithTypeParameters;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for {@link ParallelQueenASTVisitor}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ParallelQueenASTVisitorTestCase {
+
+    @Test
+    public void visitsAllSubtrees() {
+        final ClassBodyNode body = this.classBody(10, 25);
+        final Set<EmptyStatementNode> visited = ConcurrentHashMap.newKeySet();
+        final Integer count = body.accept(new CountEmptyStatements(visited, 2));
+        MatcherAssert.assertThat(count, Matchers.is(250));
+        MatcherAssert.assertThat(visited, Matchers.iterableWithSize(250));
+    }
+
+    @Test
+    public void returnsSameResultBelowThreshold() {
+        final ClassBodyNode body = this.classBody(3, 3);
+        final Set<EmptyStatementNode> visited = ConcurrentHashMap.newKeySet();
+        final Integer count = body.accept(new CountEmptyStatements(visited, 100));
+        MatcherAssert.assertThat(count, Matchers.is(9));
+        MatcherAssert.assertThat(visited, Matchers.iterableWithSize(9));
+    }
+
+    @Test
+    public void returnsDefaultResultForEmptyBody() {
+        final ClassBodyNode body = this.classBody(0, 0);
+        final Integer count = body.accept(new CountEmptyStatements(ConcurrentHashMap.newKeySet(), 2));
+        MatcherAssert.assertThat(count, Matchers.is(0));
+    }
+
+    /**
+     * Class body with the given number of initializers, each containing the given
+     * number of empty statements.
+     */
+    private ClassBodyNode classBody(final int initializers, final int statements) {
+        final List<ClassBodyDeclarationNode> declarations = new ArrayList<>();
+        for(int i = 0; i < initializers; i++) {
+            final List<StatementNode> block = new ArrayList<>();
+            for(int j = 0; j < statements; j++) {
+                block.add(new QueenEmptyStatementNode(QueenMockito.mock(Position.class)));
+            }
+            declarations.add(
+                new QueenInstanceInitializerNode(
+                    QueenMockito.mock(Position.class),
+                    new QueenBlockStatements(QueenMockito.mock(Position.class), block)
+                )
+            );
+        }
+        return new QueenClassBodyNode(QueenMockito.mock(Position.class), declarations);
+    }
+
+    /**
+     * Parallel visitor counting the empty statements.
+     */
+    private static final class CountEmptyStatements implements ParallelQueenASTVisitor<Integer> {
+
+        private final Set<EmptyStatementNode> visited;
+        private final int threshold;
+
+        CountEmptyStatements(final Set<EmptyStatementNode> visited, final int threshold) {
+            this.visited = visited;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public int threshold() {
+            return this.threshold;
+        }
+
+        @Override
+        public Integer visitEmptyStatementNode(final EmptyStatementNode node) {
+            this.visited.add(node);
+            return 1;
+        }
+
+        @Override
+        public Integer visitNodeWithParameters(final NodeWithParameters node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithTypeParameters(final NodeWithTypeParameters node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithTypeArguments(final NodeWithTypeArguments node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithFieldDeclarations(final NodeWithFieldDeclarations node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithTypeDeclarations(final NodeWithTypeDeclarations node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithConstructors(final NodeWithConstructors node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithConstantDeclarations(final NodeWithConstantDeclarations node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithMethodDeclarations(final NodeWithMethodDeclarations node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithThrows(final NodeWithThrows node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithModifiers(final NodeWithModifiers node) {
+            return 0;
+        }
+
+        @Override
+        public Integer visitNodeWithAnnotations(final NodeWithAnnotations node) {
+            return 0;
+        }
+
+        @Override
+        public Integer defaultResult() {
+            return 0;
+        }
+
+        @Override
+        public Integer aggregateResult(final Integer aggregate, final Integer nextResult) {
+            return aggregate + nextResult;
+        }
+    }
+}
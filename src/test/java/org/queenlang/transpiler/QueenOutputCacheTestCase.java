@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenTranspilationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for {@link QueenOutputCache}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenOutputCacheTestCase {
+
+    /**
+     * The key depends on the content and name of the file and on the queenc version,
+     * not on the file's location.
+     */
+    @Test
+    public void keysTheContent() throws Exception {
+        final Path first = Files.createTempDirectory("checkout");
+        final Path second = Files.createTempDirectory("checkout");
+        final Path car = Files.writeString(first.resolve("Car.queen"), "public interface Car {}");
+        final Path copy = Files.writeString(second.resolve("Car.queen"), "public interface Car {}");
+        final Path bike = Files.writeString(second.resolve("Bike.queen"), "public interface Car {}");
+        final QueenOutputCache cache = new QueenOutputCache(Files.createTempDirectory("cache"), 1024, "0.0.1");
+        MatcherAssert.assertThat(cache.key(car), Matchers.equalTo(cache.key(copy)));
+        MatcherAssert.assertThat(cache.key(car), Matchers.not(Matchers.equalTo(cache.key(bike))));
+        MatcherAssert.assertThat(
+            cache.key(car),
+            Matchers.not(Matchers.equalTo(new QueenOutputCache(Files.createTempDirectory("cache"), 1024, "0.0.2").key(car)))
+        );
+    }
+
+    /**
+     * A Java file is restored in any output directory, the cached errors are thrown.
+     */
+    @Test
+    public void restoresJavaFilesAndErrors() throws Exception {
+        final QueenOutputCache cache = new QueenOutputCache(Files.createTempDirectory("cache"), 1024, "0.0.1");
+        final Path output = Files.createTempDirectory("output");
+        MatcherAssert.assertThat(cache.restore("ab01", output), Matchers.is(false));
+        cache.storeJava("ab01", "com/example/Car.java", "package com.example;\n\npublic interface Car {\n}\n");
+        MatcherAssert.assertThat(cache.restore("ab01", output), Matchers.is(true));
+        MatcherAssert.assertThat(
+            Files.readString(output.resolve("com/example/Car.java")),
+            Matchers.equalTo("package com.example;\n\npublic interface Car {\n}\n")
+        );
+        cache.storeErrors("cd02", new QueenTranspilationException("Broken.queen", List.of("error at [1:26]")));
+        final QueenTranspilationException errors = Assertions.assertThrows(
+            QueenTranspilationException.class, () -> cache.restore("cd02", output)
+        );
+        MatcherAssert.assertThat(errors.file(), Matchers.equalTo("Broken.queen"));
+        MatcherAssert.assertThat(errors.errors(), Matchers.contains("error at [1:26]"));
+    }
+
+    /**
+     * The least recently used entries are evicted first.
+     */
+    @Test
+    public void evictsTheLeastRecentlyUsedEntries() throws Exception {
+        final Path directory = Files.createTempDirectory("cache");
+        final QueenOutputCache cache = new QueenOutputCache(directory, 200, "0.0.1");
+        final String java = "x".repeat(100);
+        cache.storeJava("aa01", "A.java", java);
+        cache.storeJava("bb02", "B.java", java);
+        cache.storeJava("cc03", "C.java", java);
+        Files.setLastModifiedTime(directory.resolve("aa/aa01"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(directory.resolve("bb/bb02"), FileTime.fromMillis(3000));
+        Files.setLastModifiedTime(directory.resolve("cc/cc03"), FileTime.fromMillis(2000));
+        cache.evict();
+        final Path output = Files.createTempDirectory("output");
+        MatcherAssert.assertThat(cache.restore("aa01", output), Matchers.is(false));
+        MatcherAssert.assertThat(cache.restore("cc03", output), Matchers.is(false));
+        MatcherAssert.assertThat(cache.restore("bb02", output), Matchers.is(true));
+    }
+
+    /**
+     * The transpiler does not parse the cached Queen files, it restores their Java files.
+     */
+    @Test
+    public void transpilerRestoresTheCachedFiles() throws Exception {
+        final Path project = Files.createTempDirectory("checkout");
+        final Path car = Files.createDirectories(project.resolve("com/example")).resolve("Car.queen");
+        Files.writeString(car, "package com.example; public interface Car {}");
+        final Path output = Files.createTempDirectory("output");
+        final QueenOutputCache cache = new QueenOutputCache(Files.createTempDirectory("cache"), 1024, "0.0.1");
+        cache.storeJava(cache.key(car), "com/example/Car.java", "package com.example;\n\npublic interface Car {\n}\n");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        new QueenToJavaTranspiler(
+            parser,
+            project,
+            List.of(new SourceRoot(project, output)),
+            new ProjectClasspath(project),
+            cache
+        ).transpile();
+        Mockito.verifyNoInteractions(parser);
+        try (Stream<Path> files = Files.walk(output)) {
+            MatcherAssert.assertThat(files.filter(Files::isRegularFile).count(), Matchers.is(1L));
+        }
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Car.java")), Matchers.is(true));
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for {@link QueenShards}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenShardsTestCase {
+
+    /**
+     * The types are declared by their package and file name, the files are not parsed.
+     */
+    @Test
+    public void readsTheDeclarations() throws Exception {
+        final Path root = Files.createTempDirectory("queen-shards");
+        final Path car = this.write(root, "com/example/Car.queen", "package com.example;", "public interface Car {}");
+        final Path main = this.write(root, "Main.queen", "public final class Main {}");
+        final QueenShards shards = new QueenShards(List.of(car, main));
+        MatcherAssert.assertThat(
+            shards.declarations().keySet(),
+            Matchers.contains("Main", "com.example.Car")
+        );
+        MatcherAssert.assertThat(shards.declarations().get("com.example.Car"), Matchers.equalTo(car));
+    }
+
+    /**
+     * Packages which import each other stay in the same shard, the independent ones are
+     * spread between the shards.
+     */
+    @Test
+    public void keepsImportingPackagesTogether() throws Exception {
+        final Path root = Files.createTempDirectory("queen-shards");
+        final Path car = this.write(root, "com/cars/Car.queen", "package com.cars;", "import com.engines.*;", "public interface Car {}");
+        final Path engine = this.write(root, "com/engines/Engine.queen", "package com.engines;", "import com.cars.Car;", "public interface Engine {}");
+        final Path bike = this.write(root, "com/bikes/Bike.queen", "package com.bikes;", "import static com.wheels.Wheel.ROUND;", "public interface Bike {}");
+        final Path wheel = this.write(root, "com/wheels/Wheel.queen", "package com.wheels;", "import java.util.List;", "import com.bikes.*;", "public interface Wheel {}");
+        final List<List<Path>> split = new QueenShards(List.of(bike, car, engine, wheel)).split(2);
+        MatcherAssert.assertThat(split, Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+            split,
+            Matchers.containsInAnyOrder(List.of(car, engine), List.of(bike, wheel))
+        );
+    }
+
+    /**
+     * A package which only imports another one, without being imported back, is not
+     * kept together with it, so the shards can still be balanced.
+     */
+    @Test
+    public void separatesPackagesImportedOneWay() throws Exception {
+        final Path root = Files.createTempDirectory("queen-shards");
+        final Path first = this.write(root, "com/a/A.queen", "package com.a;", "import com.b.B;", "public interface A {}");
+        final Path second = this.write(root, "com/b/B.queen", "package com.b;", "import com.x.X;", "public interface B {}");
+        final Path third = this.write(root, "com/c/C.queen", "package com.c;", "import com.d.D;", "public interface C {}");
+        final Path fourth = this.write(root, "com/d/D.queen", "package com.d;", "import com.x.X;", "public interface D {}");
+        MatcherAssert.assertThat(
+            new QueenShards(List.of(first, second, third, fourth)).split(2),
+            Matchers.containsInAnyOrder(List.of(first, third), List.of(second, fourth))
+        );
+    }
+
+    /**
+     * There are never empty shards and every file is in exactly one shard.
+     */
+    @Test
+    public void splitsInAtMostTheGivenShards() throws Exception {
+        final Path root = Files.createTempDirectory("queen-shards");
+        final Path car = this.write(root, "com/example/Car.queen", "package com.example;", "public interface Car {}");
+        final Path bike = this.write(root, "com/example/Bike.queen", "package com.example;", "public interface Bike {}");
+        final QueenShards shards = new QueenShards(List.of(car, bike));
+        MatcherAssert.assertThat(shards.split(4), Matchers.contains(List.of(bike, car)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> shards.split(0));
+    }
+
+    private Path write(final Path root, final String file, final String... lines) throws Exception {
+        final Path path = root.resolve(file);
+        Files.createDirectories(path.getParent());
+        return Files.write(path, List.of(lines));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Integration tests for {@link QueenToJavaCompiler}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenToJavaCompilerITCase {
+
+    @Test
+    public void compilesSourcesInMemory() {
+        final QueenCompiler compiler = new QueenToJavaCompiler();
+        final Compilation compilation = compiler.compile(
+            Map.of(
+                Path.of("org/queenlang/HelloWorld.queen"),
+                "package org.queenlang;\npublic interface HelloWorld {\n    public String sayHello();\n}",
+                Path.of("com/example/EntryPoint.queen"),
+                "package com.example;\nimport org.queenlang.HelloWorld;\n"
+                + "public final implementation EntryPoint {\n"
+                + "    public static void hello(HelloWorld queen) {\n        queen.sayHello();\n    }\n}"
+            )
+        );
+        MatcherAssert.assertThat(compilation.successful(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            compilation.javaUnits().keySet(),
+            Matchers.containsInAnyOrder("org.queenlang.HelloWorld", "com.example.EntryPoint")
+        );
+        MatcherAssert.assertThat(
+            compilation.javaUnits().get("com.example.EntryPoint"),
+            Matchers.containsString("class EntryPoint")
+        );
+    }
+
+    @Test
+    public void reportsSyntaxErrorsAndKeepsCompiling() {
+        final QueenCompiler compiler = new QueenToJavaCompiler();
+        final Path broken = Path.of("com/example/Broken.queen");
+        final Compilation compilation = compiler.compile(
+            Map.of(
+                broken, "package com.example;\npublic final implementation Broken {",
+                Path.of("com/example/Fine.queen"), "package com.example;\npublic final implementation Fine {}"
+            )
+        );
+        MatcherAssert.assertThat(compilation.successful(), Matchers.is(false));
+        MatcherAssert.assertThat(compilation.diagnostics().get(broken), Matchers.not(Matchers.empty()));
+        MatcherAssert.assertThat(compilation.javaUnits().keySet(), Matchers.contains("com.example.Fine"));
+    }
+}
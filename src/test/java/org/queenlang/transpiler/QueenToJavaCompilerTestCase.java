@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.nodes.body.CompilationUnitNode;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link QueenToJavaCompiler}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenToJavaCompilerTestCase {
+
+    @Test
+    public void reportsParsingErrors() throws Exception {
+        final Path file = Path.of("com", "example", "Broken.queen");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        Mockito.when(parser.parse(file, "public final class Broken {")).thenThrow(
+            new QueenTranspilationException("Broken.queen", List.of("error at [1:26]: missing '}'"))
+        );
+        final Compilation compilation = new QueenToJavaCompiler(parser).compile(
+            Map.of(file, "public final class Broken {")
+        );
+        MatcherAssert.assertThat(compilation.successful(), Matchers.is(false));
+        MatcherAssert.assertThat(compilation.javaUnits().isEmpty(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            compilation.diagnostics().get(file),
+            Matchers.contains("error at [1:26]: missing '}'")
+        );
+    }
+
+    @Test
+    public void compilesNothing() {
+        final Compilation compilation = new QueenToJavaCompiler(
+            Mockito.mock(QueenASTParser.class)
+        ).compile(Map.of());
+        MatcherAssert.assertThat(compilation.successful(), Matchers.is(true));
+        MatcherAssert.assertThat(compilation.javaUnits().isEmpty(), Matchers.is(true));
+        MatcherAssert.assertThat(compilation.diagnostics().isEmpty(), Matchers.is(true));
+    }
+
+    @Test
+    public void reusesTheAstsOfUnchangedSources() throws Exception {
+        final Path file = Path.of("com", "example", "Car.queen");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        final CompilationUnitNode car = this.unit("Car");
+        final CompilationUnitNode changed = this.unit("Car");
+        Mockito.when(parser.parse(file, "v1")).thenReturn(car);
+        Mockito.when(parser.parse(file, "v2")).thenReturn(changed);
+        final QueenCompiler compiler = new QueenToJavaCompiler(parser);
+        compiler.compile(Map.of(file, "v1"));
+        compiler.compile(Map.of(file, "v1"));
+        Mockito.verify(parser, Mockito.times(1)).parse(file, "v1");
+        compiler.compile(Map.of(file, "v2"));
+        compiler.compile(Map.of(file, "v1"));
+        Mockito.verify(parser, Mockito.times(2)).parse(file, "v1");
+        Mockito.verify(parser, Mockito.times(1)).parse(file, "v2");
+    }
+
+    @Test
+    public void reportsErrorsUnderTheSourcePath() throws Exception {
+        final Path file = Path.of("com", "example", "Car.queen");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        final CompilationUnitNode car = this.unit("Car");
+        Mockito.when(parser.parse(file, "source")).thenReturn(car);
+        final Compilation compilation = new QueenToJavaCompiler(parser).compile(Map.of(file, "source"));
+        MatcherAssert.assertThat(compilation.successful(), Matchers.is(false));
+        MatcherAssert.assertThat(compilation.diagnostics().keySet(), Matchers.contains(file));
+        MatcherAssert.assertThat(compilation.diagnostics().get(file), Matchers.contains(Matchers.startsWith("error: ")));
+    }
+
+    private CompilationUnitNode unit(final String type) {
+        final CompilationUnitNode unit = Mockito.mock(CompilationUnitNode.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(unit.packageDeclaration().packageName().name()).thenReturn("com.example");
+        Mockito.when(unit.typeDeclaration().name()).thenReturn(type);
+        return unit;
+    }
+}
@@ -28,10 +28,21 @@
  */
 package org.queenlang.transpiler;
 
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.queen.CachingQueenASTParser;
 import org.queenlang.queen.QueenASTParserANTLR;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.queen.util.SyntheticQueenProject;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
 
 final class QueenToJavaTranspilerITCase {
 
@@ -45,4 +56,96 @@ final class QueenToJavaTranspilerITCase {
         transpiler.transpile();
         //TODO make assertions!
     }
+
+    @Test
+    void testSyntheticProjectTranspilation(@TempDir final Path project) throws Exception{
+        final List<Path> queenFiles = new SyntheticQueenProject(42L, 200).writeTo(project);
+        final Path output = project.resolve("target");
+        QueenTranspiler transpiler = new QueenToJavaTranspiler(
+            new QueenASTParserANTLR(),
+            project,
+            output
+        );
+        transpiler.transpile();
+        try (Stream<Path> javaFiles = Files.walk(output)) {
+            MatcherAssert.assertThat(
+                javaFiles.filter(f -> f.toString().endsWith(".java")).count(),
+                Matchers.is((long) queenFiles.size())
+            );
+        }
+    }
+
+    @Test
+    void retranspilesTheDependentsAndDeletesTheOutputOfRemovedTypes(@TempDir final Path project) throws Exception {
+        final Path sources = Files.createDirectories(project.resolve("com/example"));
+        Files.writeString(
+            sources.resolve("Engine.queen"),
+            "package com.example;\n\npublic interface Engine {\n    public void start();\n}"
+        );
+        Files.writeString(
+            sources.resolve("Vehicle.queen"),
+            "package com.example;\n\npublic interface Vehicle {\n    public void drive(Engine engine);\n}"
+        );
+        Files.writeString(
+            sources.resolve("Car.queen"),
+            "package com.example;\n\npublic implementation Car of Vehicle {\n"
+            + "    public void drive(Engine engine) {\n        engine.start();\n    }\n}"
+        );
+        Files.writeString(sources.resolve("Road.queen"), "package com.example;\n\npublic implementation Road {\n}");
+        final Path output = project.resolve("target");
+        final QueenTranspiler transpiler = new QueenToJavaTranspiler(
+            new CachingQueenASTParser(new QueenASTParserANTLR()),
+            project,
+            output
+        );
+        transpiler.transpile();
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Engine.java")), Matchers.is(true));
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Car.java")), Matchers.is(true));
+        Files.delete(sources.resolve("Engine.queen"));
+        Files.writeString(
+            sources.resolve("Motor.queen"),
+            "package com.example;\n\npublic interface Motor {\n    public void start();\n}"
+        );
+        Files.writeString(
+            sources.resolve("Vehicle.queen"),
+            "package com.example;\n\npublic interface Vehicle {\n    public void drive(Motor motor);\n}"
+        );
+        Files.writeString(
+            sources.resolve("Car.queen"),
+            "package com.example;\n\npublic implementation Car of Vehicle {\n"
+            + "    public void drive(Motor motor) {\n        motor.start();\n    }\n}"
+        );
+        MatcherAssert.assertThat(
+            transpiler.transpile(
+                List.of(sources.resolve("Motor.queen"), sources.resolve("Vehicle.queen"), sources.resolve("Car.queen")),
+                List.of(sources.resolve("Engine.queen"))
+            ),
+            Matchers.containsInAnyOrder("com.example.Motor", "com.example.Vehicle", "com.example.Car")
+        );
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Motor.java")), Matchers.is(true));
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Engine.java")), Matchers.is(false));
+    }
+
+    @Test
+    void transpilesOnlyTheValidFiles(@TempDir final Path project) throws Exception {
+        final Path sources = Files.createDirectories(project.resolve("com/example"));
+        Files.writeString(
+            sources.resolve("Car.queen"),
+            "package com.example;\n\npublic implementation Car {\n"
+            + "    public void drive(Engine engine) {\n        engine.start();\n    }\n}"
+        );
+        Files.writeString(sources.resolve("Road.queen"), "package com.example;\n\npublic implementation Road {\n}");
+        final Path output = project.resolve("target");
+        final QueenTranspiler transpiler = new QueenToJavaTranspiler(
+            new QueenASTParserANTLR(),
+            project,
+            List.of(new SourceRoot(project, output)),
+            new ProjectClasspath(project),
+            null,
+            10
+        );
+        Assertions.assertThrows(QueenTranspilationException.class, transpiler::transpile);
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Road.java")), Matchers.is(true));
+        MatcherAssert.assertThat(Files.exists(output.resolve("com/example/Car.java")), Matchers.is(false));
+    }
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.aspects;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.classpath.ProjectClasspath;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.project.FileNode;
+import org.queenlang.queen.visitors.QueenASTSemanticValidationVisitor;
+import org.queenlang.transpiler.QueenTranspiler;
+import org.queenlang.transpiler.profile.Profile;
+import org.queenlang.transpiler.profile.ProfiledTranspiler;
+import org.queenlang.transpiler.profile.QueenProfile;
+
+import java.nio.file.Path;
+
+/**
+ * Unit tests for {@link ProfilePhasesAspect}. The aspect is woven by the
+ * aspectj-maven-plugin at compile time.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ProfilePhasesAspectTestCase {
+
+    @Test
+    public void recordsPhaseWhileProfiling() throws Exception {
+        final Profile profile = new QueenProfile();
+        new ProfiledTranspiler(this.scanning(), profile).transpile();
+        MatcherAssert.assertThat(
+            this.report(profile),
+            Matchers.containsString("\"scan\": {\"count\": 1,")
+        );
+    }
+
+    @Test
+    public void recordsNothingOutsideTheProfiledRun() throws Exception {
+        final Profile profile = new QueenProfile();
+        new ProfiledTranspiler(this.scanning(), profile).transpile();
+        this.scanning().transpile();
+        final Thread other = new Thread(
+            () -> new ProjectClasspath(Path.of("src/test/resources/queen-project")).findAll()
+        );
+        other.start();
+        other.join();
+        MatcherAssert.assertThat(
+            this.report(profile),
+            Matchers.containsString("\"scan\": {\"count\": 1,")
+        );
+    }
+
+    @Test
+    public void recordsValidation() throws Exception {
+        final Profile profile = new QueenProfile();
+        final QueenTranspiler transpiler = Mockito.mock(QueenTranspiler.class);
+        Mockito.doAnswer(
+            invocation -> {
+                final FileNode file = Mockito.mock(FileNode.class);
+                Mockito.when(file.fullTypeName()).thenReturn("com.example.Car");
+                Assertions.assertThrows(
+                    NullPointerException.class,
+                    () -> new QueenASTSemanticValidationVisitor(Mockito.mock(QueenNode.class)).visitFile(file)
+                );
+                return null;
+            }
+        ).when(transpiler).transpile();
+        new ProfiledTranspiler(transpiler, profile).transpile();
+        MatcherAssert.assertThat(
+            this.report(profile),
+            Matchers.containsString("\"validate\": {\"count\": 1,")
+        );
+        MatcherAssert.assertThat(
+            this.report(profile),
+            Matchers.containsString("{\"file\": \"com.example.Car\"")
+        );
+    }
+
+    /**
+     * Transpiler which only scans the test Queen project.
+     * @return QueenTranspiler.
+     * @throws Exception If something goes wrong.
+     */
+    private QueenTranspiler scanning() throws Exception {
+        final QueenTranspiler transpiler = Mockito.mock(QueenTranspiler.class);
+        Mockito.doAnswer(
+            invocation -> new ProjectClasspath(Path.of("src/test/resources/queen-project")).findAll()
+        ).when(transpiler).transpile();
+        return transpiler;
+    }
+
+    private String report(final Profile profile) throws Exception {
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        return report.toString();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.aspects;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.queen.nodes.Position;
+import org.queenlang.queen.nodes.QueenNode;
+import org.queenlang.queen.nodes.expressions.QueenArrayDimensionNode;
+import org.queenlang.queen.nodes.types.ArrayTypeNode;
+import org.queenlang.queen.nodes.types.QueenArrayTypeNode;
+import org.queenlang.queen.nodes.types.QueenPrimitiveTypeNode;
+import org.queenlang.queen.nodes.types.QueenSharedTypes;
+import org.queenlang.queen.nodes.types.SharedTypes;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link WeaveParentsAspect}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class WeaveParentsAspectTestCase {
+
+    @Test
+    public void weavesTheParents() {
+        final ArrayTypeNode array = this.intArray();
+        final QueenNode root = this.root(array);
+        new WeaveParentsAspect().traverse(root);
+        MatcherAssert.assertThat(array.parent(), Matchers.sameInstance(root));
+        MatcherAssert.assertThat(array.type().parent(), Matchers.sameInstance(array));
+        MatcherAssert.assertThat(array.dims().get(0).parent(), Matchers.sameInstance(array));
+    }
+
+    @Test
+    public void sharedTypesKeepTheFirstOccurrenceAsParent() {
+        final SharedTypes types = new QueenSharedTypes();
+        final ArrayTypeNode first = types.share(this.intArray());
+        final ArrayTypeNode second = types.share(this.intArray());
+        final QueenNode root = this.root(first, second);
+        new WeaveParentsAspect().traverse(root);
+        MatcherAssert.assertThat(first.parent(), Matchers.sameInstance(root));
+        MatcherAssert.assertThat(second.parent(), Matchers.sameInstance(root));
+        MatcherAssert.assertThat(second.type().parent(), Matchers.sameInstance(first));
+        MatcherAssert.assertThat(second.dims().get(0).parent(), Matchers.sameInstance(second));
+    }
+
+    private QueenNode root(final QueenNode... children) {
+        final List<QueenNode> list = new ArrayList<>(Arrays.asList(children));
+        final QueenNode root = Mockito.mock(QueenNode.class);
+        Mockito.when(root.children()).thenReturn(list);
+        return root;
+    }
+
+    private ArrayTypeNode intArray() {
+        final Position position = QueenMockito.mock(Position.class);
+        return new QueenArrayTypeNode(
+            position,
+            new QueenPrimitiveTypeNode(position, new ArrayList<>(), "int"),
+            Arrays.asList(new QueenArrayDimensionNode(position))
+        );
+    }
+}
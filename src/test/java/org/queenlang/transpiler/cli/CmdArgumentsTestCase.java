@@ -31,6 +31,7 @@ package org.queenlang.transpiler.cli;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.apache.commons.cli.MissingArgumentException;
+import org.apache.commons.cli.ParseException;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
@@ -105,6 +106,36 @@ final class CmdArgumentsTestCase {
         );
     }
 
+    /**
+     * It can return the '-p' Functionality, with profiling.
+     * @throws Exception, if something goes wrong.
+     */
+    @Test
+    void returnsTheProfiledTranspileProjectFunctionality() throws Exception {
+        final Arguments arguments = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--profile", "/projects/profile.json"}
+        );
+        assertThat(
+            arguments.transpileProject().isPresent(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * The '--profile' option does not require an argument.
+     * @throws Exception, if something goes wrong.
+     */
+    @Test
+    void acceptsProfileWithoutArgument() throws Exception {
+        final Arguments arguments = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--profile"}
+        );
+        assertThat(
+            arguments.transpileProject().isPresent(),
+            Matchers.is(true)
+        );
+    }
+
     /**
      * It throws an Exception if '-p' is missing the required argument.,
      */
@@ -139,4 +170,241 @@ final class CmdArgumentsTestCase {
             () -> new CmdArguments(new String[]{"-o"})
         );
     }
+
+    /**
+     * CmdArguments returns the grammar profiling functionality instead of the transpilation.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void returnsTheProfileGrammarFunctionality() throws Exception {
+        final Arguments arguments = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--profile-grammar"}
+        );
+        assertThat(
+            arguments.profileGrammar().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            arguments.transpileProject().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments does not profile the grammar if the option is missing.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void doesNotProfileGrammarByDefault() throws Exception {
+        final Arguments arguments = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--profile"}
+        );
+        assertThat(
+            arguments.profileGrammar().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments returns the daemon on the default port.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void returnsTheDaemonFunctionality() throws Exception {
+        final Arguments arguments = new CmdArguments(new String[] {"--daemon"});
+        assertThat(
+            arguments.daemon().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            arguments.client().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments returns the client, which forwards the other arguments.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void returnsTheClientFunctionality() throws Exception {
+        final Arguments arguments = new CmdArguments(
+            new String[] {"--client", "7448", "-p", "/projects/queen-project"}
+        );
+        assertThat(
+            arguments.client().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            arguments.daemon().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments returns the watch functionality instead of the one-off transpilation.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void returnsTheWatchFunctionality() throws Exception {
+        final Arguments arguments = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--watch"}
+        );
+        assertThat(
+            arguments.watch().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            arguments.transpileProject().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments returns the train functionality, with or without the archive's path.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void returnsTheTrainFunctionality() throws Exception {
+        assertThat(
+            new CmdArguments(new String[] {"--train"}).train().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            new CmdArguments(new String[] {"--train", "/tmp/queenc.jsa"}).train().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            new CmdArguments(new String[] {"-p", "/projects/queen-project"}).train().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments returns the stdin functionality, which takes precedence over
+     * the project transpilation (-p is only the root against which the imports are resolved).
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void returnsTheStandardInputFunctionality() throws Exception {
+        final CmdArguments arguments = new CmdArguments(
+            new String[] {"--stdin", "com/example/Car.queen", "-p", "/projects/queen-project", "-o", "/tmp/out"}
+        );
+        assertThat(arguments.standardInput().isPresent(), Matchers.is(true));
+        assertThat(arguments.transpileProject().isPresent(), Matchers.is(false));
+        assertThat(arguments.output().isPresent(), Matchers.is(false));
+        assertThat(
+            new CmdArguments(new String[] {"--stdin", "--batch"}).standardInput().isPresent(),
+            Matchers.is(true)
+        );
+        assertThat(
+            new CmdArguments(new String[] {"-p", "/projects/queen-project"}).standardInput().isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * CmdArguments accepts more source roots for the project transpilation.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void acceptsMoreSourceRoots() throws Exception {
+        final CmdArguments arguments = new CmdArguments(
+            new String[] {
+                "-p", "/projects/queen-project",
+                "--source-root", "src/main/queen",
+                "--source-root", "src/test/queen=target/generated-test-sources/queen/java"
+            }
+        );
+        assertThat(arguments.transpileProject().isPresent(), Matchers.is(true));
+    }
+
+    /**
+     * The project is transpiled by the coordinator of the shards, while
+     * a shard worker transpiles only its shard.
+     */
+    @Test
+    void returnsTheShardFunctionalities() throws Exception {
+        final CmdArguments coordinator = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--shards", "4", "--worker-heap", "256m"}
+        );
+        assertThat(coordinator.transpileProject().isPresent(), Matchers.is(true));
+        assertThat(coordinator.shard().isPresent(), Matchers.is(false));
+        final CmdArguments worker = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--shard-file", "target/queenc-shards/shard-0.txt"}
+        );
+        assertThat(worker.transpileProject().isPresent(), Matchers.is(false));
+        assertThat(worker.shard().isPresent(), Matchers.is(true));
+    }
+
+    @Test
+    void acceptsTheErrorLimits() throws Exception {
+        final CmdArguments failFast = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--fail-fast"}
+        );
+        assertThat(failFast.transpileProject().isPresent(), Matchers.is(true));
+        final CmdArguments maxErrors = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--max-errors", "10"}
+        );
+        assertThat(maxErrors.transpileProject().isPresent(), Matchers.is(true));
+    }
+
+    /**
+     * A maximum number of errors which is not a number or which is smaller than 1 is a usage error.
+     */
+    @Test
+    void rejectsInvalidErrorLimits() {
+        for(final String limit : new String[] {"0", "-3", "x", "3000000000"}) {
+            final ParseException ex = assertThrows(
+                ParseException.class,
+                () -> new CmdArguments(new String[] {"-p", "/projects/queen-project", "--max-errors", limit})
+            );
+            assertThat(ex.getMessage(), Matchers.containsString("--max-errors"));
+        }
+    }
+
+    /**
+     * A cache size which is not a number or which is negative is a usage error.
+     */
+    @Test
+    void rejectsInvalidCacheSizes() throws Exception {
+        for(final String size : new String[] {"x", "-1", "1.5", "99999999999999999999"}) {
+            final ParseException ex = assertThrows(
+                ParseException.class,
+                () -> new CmdArguments(new String[] {"-p", "/projects/queen-project", "--cache", "--cache-size", size})
+            );
+            assertThat(ex.getMessage(), Matchers.containsString("--cache-size"));
+        }
+        final CmdArguments arguments = new CmdArguments(
+            new String[] {"-p", "/projects/queen-project", "--cache", "/tmp/queenc-cache", "--cache-size", "0"}
+        );
+        assertThat(arguments.transpileProject().isPresent(), Matchers.is(true));
+    }
+
+    /**
+     * A number of shards smaller than 1 or a port outside of 1..65535 is a usage error.
+     */
+    @Test
+    void rejectsInvalidShardsAndPorts() throws Exception {
+        for(final String shards : new String[] {"abc", "0", "-2", "3000000000"}) {
+            final ParseException ex = assertThrows(
+                ParseException.class,
+                () -> new CmdArguments(new String[] {"-p", "/projects/queen-project", "--shards", shards})
+            );
+            assertThat(ex.getMessage(), Matchers.containsString("--shards"));
+        }
+        for(final String option : new String[] {"--daemon", "--client"}) {
+            for(final String port : new String[] {"x", "0", "65536"}) {
+                final ParseException ex = assertThrows(
+                    ParseException.class,
+                    () -> new CmdArguments(new String[] {option, port})
+                );
+                assertThat(ex.getMessage(), Matchers.containsString(option));
+            }
+        }
+        assertThat(
+            new CmdArguments(new String[] {"--daemon", "65535"}).daemon().isPresent(),
+            Matchers.is(true)
+        );
+    }
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenTranspilationException;
+import org.queenlang.transpiler.profile.QueenGrammarProfile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ProfileQueenGrammar}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ProfileQueenGrammarTestCase {
+
+    @Test
+    public void parsesEveryFileAndWritesTheReport(@TempDir final Path directory) throws Exception {
+        final Path first = Path.of("A.queen");
+        final Path second = Path.of("B.queen");
+        final Classpath classpath = Mockito.mock(Classpath.class);
+        Mockito.when(classpath.findAll()).thenReturn(List.of(first, second));
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        Mockito.when(parser.parse(first)).thenThrow(
+            new QueenTranspilationException("A.queen", List.of("syntax error"))
+        );
+        final Path report = directory.resolve("target/grammar.json");
+        new ProfileQueenGrammar(classpath, parser, new QueenGrammarProfile(), report).execute();
+        Mockito.verify(parser).parse(first);
+        Mockito.verify(parser).parse(second);
+        MatcherAssert.assertThat(Files.exists(report), Matchers.is(true));
+        MatcherAssert.assertThat(
+            Files.readString(report),
+            Matchers.containsString("\"ranked\": [")
+        );
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Unit tests for {@link QueencClient}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueencClientTestCase {
+
+    @Test
+    public void sendsTheTokenAndReturnsTheDaemonsStatus(@TempDir final Path home) throws Exception {
+        final Path token = home.resolve("daemon.token");
+        Files.writeString(token, "secret\n");
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final CompletableFuture<List<String>> request = CompletableFuture.supplyAsync(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        final DataInputStream in = new DataInputStream(socket.getInputStream());
+                        final List<String> received = new ArrayList<>();
+                        received.add(in.readUTF());
+                        in.readUTF();
+                        for(int idx = in.readInt(); idx > 0; --idx) {
+                            received.add(in.readUTF());
+                        }
+                        final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                        out.writeInt(0);
+                        out.writeInt(1);
+                        out.flush();
+                        return received;
+                    } catch (final Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            );
+            final QueencClient client = new QueencClient(
+                server.getLocalPort(), new String[] {"-p", "project"}, token
+            );
+            client.execute();
+            MatcherAssert.assertThat(request.get(), Matchers.contains("secret", "-p", "project"));
+            MatcherAssert.assertThat(client.successful(), Matchers.is(false));
+        }
+    }
+
+    @Test
+    public void failsIfTheDaemonClosesTheConnection(@TempDir final Path home) throws Exception {
+        final Path token = home.resolve("daemon.token");
+        Files.writeString(token, "stale");
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final CompletableFuture<Void> rejected = CompletableFuture.runAsync(
+                () -> {
+                    try (Socket socket = server.accept()) {
+                        new DataInputStream(socket.getInputStream()).readUTF();
+                    } catch (final Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            );
+            final QueencClient client = new QueencClient(
+                server.getLocalPort(), new String[] {"--version"}, token
+            );
+            client.execute();
+            rejected.get();
+            MatcherAssert.assertThat(client.successful(), Matchers.is(false));
+        }
+    }
+
+    @Test
+    public void runsLocallyIfNoDaemonIsRunning(@TempDir final Path home) {
+        final QueencClient client = new QueencClient(
+            QueencDaemon.DEFAULT_PORT, new String[] {"--version"}, home.resolve("daemon.token")
+        );
+        client.execute();
+        MatcherAssert.assertThat(client.successful(), Matchers.is(true));
+    }
+}
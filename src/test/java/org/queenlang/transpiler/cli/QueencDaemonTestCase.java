@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.queenlang.queen.QueenASTParser;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+
+/**
+ * Unit tests for {@link QueencDaemon}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueencDaemonTestCase {
+
+    @Test
+    public void servesForwardedArgumentsAndStopsWhenIdle(@TempDir final Path home) throws Exception {
+        final int port = this.freePort();
+        final Path token = home.resolve("daemon.token");
+        final Thread daemon = this.start(port, token);
+        final DataInputStream in;
+        try (Socket socket = this.connect(port, token)) {
+            this.send(socket, Files.readString(token), "--version");
+            in = new DataInputStream(socket.getInputStream());
+            MatcherAssert.assertThat(this.output(in), Matchers.containsString("queenc version"));
+            MatcherAssert.assertThat(in.readInt(), Matchers.is(0));
+        }
+        daemon.join(10_000);
+        MatcherAssert.assertThat(daemon.isAlive(), Matchers.is(false));
+        MatcherAssert.assertThat(Files.exists(token), Matchers.is(false));
+    }
+
+    @Test
+    public void writesATokenOnlyItsOwnerCanRead(@TempDir final Path home) throws Exception {
+        final int port = this.freePort();
+        final Path token = home.resolve("queenc").resolve("daemon.token");
+        final Thread daemon = this.start(port, token);
+        this.connect(port, token).close();
+        MatcherAssert.assertThat(
+            PosixFilePermissions.toString(Files.getPosixFilePermissions(token)),
+            Matchers.equalTo("rw-------")
+        );
+        MatcherAssert.assertThat(Files.readString(token).length(), Matchers.greaterThanOrEqualTo(32));
+        daemon.join(10_000);
+    }
+
+    @Test
+    public void rejectsClientsWithoutTheToken(@TempDir final Path home) throws Exception {
+        final int port = this.freePort();
+        final Path token = home.resolve("daemon.token");
+        final Thread daemon = this.start(port, token);
+        try (Socket socket = this.connect(port, token)) {
+            final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF("guessed");
+            out.flush();
+            MatcherAssert.assertThat(socket.getInputStream().readAllBytes().length, Matchers.is(0));
+        }
+        try (Socket socket = this.connect(port, token)) {
+            this.send(socket, Files.readString(token), "--version");
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            MatcherAssert.assertThat(this.output(in), Matchers.containsString("queenc version"));
+            MatcherAssert.assertThat(in.readInt(), Matchers.is(0));
+        }
+        daemon.join(10_000);
+    }
+
+    @Test
+    public void rejectsInvalidArgumentCounts(@TempDir final Path home) throws Exception {
+        final int port = this.freePort();
+        final Path token = home.resolve("daemon.token");
+        final Thread daemon = this.start(port, token);
+        for(final int count : new int[] {-1, QueencDaemon.MAX_ARGUMENTS + 1, Integer.MAX_VALUE}) {
+            try (Socket socket = this.connect(port, token)) {
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out.writeUTF(Files.readString(token));
+                out.writeUTF(Path.of("").toAbsolutePath().toString());
+                out.writeInt(count);
+                out.flush();
+                final DataInputStream in = new DataInputStream(socket.getInputStream());
+                MatcherAssert.assertThat(this.output(in), Matchers.isEmptyString());
+                MatcherAssert.assertThat(in.readInt(), Matchers.is(1));
+            }
+        }
+        daemon.join(10_000);
+        MatcherAssert.assertThat(daemon.isAlive(), Matchers.is(false));
+    }
+
+    @Test
+    public void answersRejectedBuildsWithAFailure(@TempDir final Path home) throws Exception {
+        final int port = this.freePort();
+        final Path token = home.resolve("daemon.token");
+        final Thread daemon = this.start(port, token);
+        try (Socket socket = this.connect(port, token)) {
+            this.send(socket, Files.readString(token), "--stdin");
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            this.output(in);
+            MatcherAssert.assertThat(in.readInt(), Matchers.is(1));
+        }
+        daemon.join(10_000);
+    }
+
+    private Thread start(final int port, final Path token) {
+        final Thread daemon = new Thread(
+            new QueencDaemon(port, Duration.ofSeconds(2), Mockito.mock(QueenASTParser.class), token)::execute
+        );
+        daemon.start();
+        return daemon;
+    }
+
+    private void send(final Socket socket, final String token, final String... args) throws Exception {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.writeUTF(token);
+        out.writeUTF(Path.of("").toAbsolutePath().toString());
+        out.writeInt(args.length);
+        for(final String arg : args) {
+            out.writeUTF(arg);
+        }
+        out.flush();
+    }
+
+    private String output(final DataInputStream in) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for(int length = in.readInt(); length > 0; length = in.readInt()) {
+            output.write(in.readNBytes(length));
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private int freePort() throws Exception {
+        try (ServerSocket free = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return free.getLocalPort();
+        }
+    }
+
+    private Socket connect(final int port, final Path token) throws Exception {
+        for(int attempt = 0; attempt < 50; ++attempt) {
+            try {
+                if(Files.exists(token)) {
+                    return new Socket(InetAddress.getLoopbackAddress(), port);
+                }
+            } catch (final ConnectException ex) {
+                // not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("The daemon did not start on port " + port);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Unit tests for {@link QueencLanguageServer}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueencLanguageServerTestCase {
+
+    @Test
+    public void initializesAndExits() throws Exception {
+        final Path project = Files.createTempDirectory("queen-lsp-project");
+        final String messages = message(
+            "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{\"rootUri\":\""
+            + project.toUri() + "\",\"capabilities\":{}}}"
+        ) + message("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"shutdown\"}")
+            + message("{\"jsonrpc\":\"2.0\",\"method\":\"exit\"}");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new QueencLanguageServer(
+            new ByteArrayInputStream(messages.getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(out, true, StandardCharsets.UTF_8)
+        ).execute();
+        final String responses = out.toString(StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(responses, Matchers.containsString("\"definitionProvider\":true"));
+        MatcherAssert.assertThat(responses, Matchers.containsString("\"documentSymbolProvider\":true"));
+        MatcherAssert.assertThat(responses, Matchers.containsString("\"name\":\"queenc\""));
+        MatcherAssert.assertThat(responses, Matchers.containsString("\"id\":2,\"result\":null"));
+    }
+
+    /**
+     * Frame the given JSON-RPC message, as LSP requires.
+     * @param json Message.
+     * @return Framed message.
+     */
+    private static String message(final String json) {
+        return "Content-Length: " + json.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + json;
+    }
+}
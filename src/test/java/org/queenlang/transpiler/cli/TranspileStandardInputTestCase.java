@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.transpiler.Compilation;
+import org.queenlang.transpiler.QueenCompiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link TranspileStandardInput}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class TranspileStandardInputTestCase {
+
+    @Test
+    public void transpilesOneUnitToTheOutputStream() {
+        final QueenCompiler compiler = Mockito.mock(QueenCompiler.class);
+        final Compilation compilation = this.compilation(true, Map.of("com.example.Car", "class Car {}"), Map.of());
+        Mockito.when(
+            compiler.compile(Map.of(Path.of("com/example/Car.queen"), "public interface Car {}"))
+        ).thenReturn(compilation);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TranspileStandardInput(
+            compiler,
+            new ByteArrayInputStream("public interface Car {}".getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            Path.of("com/example/Car.queen"),
+            null,
+            false
+        ).execute();
+        MatcherAssert.assertThat(out.toString(StandardCharsets.UTF_8), Matchers.equalTo("class Car {}"));
+    }
+
+    @Test
+    public void writesTheUnitToTheOutputDirectory() throws Exception {
+        final QueenCompiler compiler = Mockito.mock(QueenCompiler.class);
+        final Compilation compilation = this.compilation(true, Map.of("com.example.Car", "class Car {}"), Map.of());
+        Mockito.when(compiler.compile(Mockito.anyMap())).thenReturn(compilation);
+        final Path output = Files.createTempDirectory("queenc-stdin");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TranspileStandardInput(
+            compiler,
+            new ByteArrayInputStream("public interface Car {}".getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            TranspileStandardInput.DEFAULT_PATH,
+            output,
+            false
+        ).execute();
+        MatcherAssert.assertThat(
+            Files.readString(output.resolve("com/example/Car.java")), Matchers.equalTo("class Car {}")
+        );
+        MatcherAssert.assertThat(out.size(), Matchers.is(0));
+    }
+
+    @Test
+    public void transpilesFramedUnits() {
+        final QueenCompiler compiler = Mockito.mock(QueenCompiler.class);
+        final Compilation car = this.compilation(true, Map.of("com.example.Car", "class Cär {}"), Map.of());
+        final Compilation broken = this.compilation(
+            false, Map.of(), Map.of(TranspileStandardInput.DEFAULT_PATH, List.of("first", "second"))
+        );
+        Mockito.when(
+            compiler.compile(Map.of(Path.of("com/example/Car.queen"), "interface Cär {}"))
+        ).thenReturn(car);
+        Mockito.when(
+            compiler.compile(Map.of(TranspileStandardInput.DEFAULT_PATH, "broken"))
+        ).thenReturn(broken);
+        final String frames = "17 com/example/Car.queen\ninterface Cär {}\n6\nbroken";
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final TranspileStandardInput functionality = new TranspileStandardInput(
+            compiler,
+            new ByteArrayInputStream(frames.getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            TranspileStandardInput.DEFAULT_PATH,
+            null,
+            true
+        );
+        functionality.execute();
+        MatcherAssert.assertThat(
+            out.toString(StandardCharsets.UTF_8),
+            Matchers.equalTo("13 ok\nclass Cär {}12 error\nfirst\nsecond")
+        );
+        MatcherAssert.assertThat(functionality.successful(), Matchers.is(false));
+    }
+
+    /**
+     * A unit which cannot be transpiled makes the execution fail, so queenc exits with a non-zero code.
+     */
+    @Test
+    public void failsIfTheUnitCannotBeTranspiled() {
+        final QueenCompiler compiler = Mockito.mock(QueenCompiler.class);
+        final Compilation broken = this.compilation(
+            false, Map.of(), Map.of(TranspileStandardInput.DEFAULT_PATH, List.of("error"))
+        );
+        Mockito.when(compiler.compile(Mockito.anyMap())).thenReturn(broken);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final TranspileStandardInput functionality = new TranspileStandardInput(
+            compiler,
+            new ByteArrayInputStream("broken".getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            TranspileStandardInput.DEFAULT_PATH,
+            null,
+            false
+        );
+        functionality.execute();
+        MatcherAssert.assertThat(functionality.successful(), Matchers.is(false));
+        MatcherAssert.assertThat(out.size(), Matchers.is(0));
+    }
+
+    /**
+     * A frame header with a negative length makes the execution fail, without transpiling anything.
+     */
+    @Test
+    public void failsOnNegativeFrameLengths() {
+        final QueenCompiler compiler = Mockito.mock(QueenCompiler.class);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final TranspileStandardInput functionality = new TranspileStandardInput(
+            compiler,
+            new ByteArrayInputStream("-5 Foo.queen\nclass".getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            TranspileStandardInput.DEFAULT_PATH,
+            null,
+            true
+        );
+        functionality.execute();
+        MatcherAssert.assertThat(functionality.successful(), Matchers.is(false));
+        MatcherAssert.assertThat(out.size(), Matchers.is(0));
+        Mockito.verifyNoInteractions(compiler);
+    }
+
+    private Compilation compilation(
+        final boolean successful,
+        final Map<String, String> javaUnits,
+        final Map<Path, List<String>> diagnostics
+    ) {
+        final Compilation compilation = Mockito.mock(Compilation.class);
+        Mockito.when(compilation.successful()).thenReturn(successful);
+        Mockito.when(compilation.javaUnits()).thenReturn(javaUnits);
+        Mockito.when(compilation.diagnostics()).thenReturn(diagnostics);
+        return compilation;
+    }
+}
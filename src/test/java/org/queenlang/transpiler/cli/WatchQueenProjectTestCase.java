@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.queenlang.transpiler.QueenTranspiler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link WatchQueenProject}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class WatchQueenProjectTestCase {
+
+    @Test
+    public void transpilesOnlyTheChangedFiles(@TempDir final Path project) throws Exception {
+        final Path file = Files.createDirectories(project.resolve("com/example")).resolve("Watched.queen");
+        Files.writeString(file, "package com.example; public final class Watched {}");
+        final QueenTranspiler transpiler = Mockito.mock(QueenTranspiler.class);
+        Mockito.when(transpiler.sourceDirectory()).thenReturn(project);
+        Mockito.when(transpiler.targetDirectory()).thenReturn(project.resolve("target"));
+        Mockito.when(transpiler.transpile(ArgumentMatchers.anyCollection(), ArgumentMatchers.anyCollection()))
+            .thenReturn(Set.of("com.example.Watched"));
+        final Thread watch = new Thread(new WatchQueenProject(transpiler, Duration.ofMillis(50))::execute);
+        watch.start();
+        try {
+            Mockito.verify(transpiler, Mockito.timeout(10_000)).transpile();
+            Files.writeString(file, "package com.example; public final class Watched { }");
+            Mockito.verify(transpiler, Mockito.timeout(10_000)).transpile(
+                ArgumentMatchers.argThat(changed -> changed.contains(file)),
+                ArgumentMatchers.argThat(Collection::isEmpty)
+            );
+        } finally {
+            watch.interrupt();
+            watch.join(10_000);
+        }
+        Mockito.verify(transpiler, Mockito.times(1)).transpile();
+    }
+
+    @Test
+    public void transpilesTheDeletedFilesWithoutAFullTranspilation(@TempDir final Path project) throws Exception {
+        final Path file = Files.createDirectories(project.resolve("com/example")).resolve("Deleted.queen");
+        Files.writeString(file, "package com.example; public final class Deleted {}");
+        final QueenTranspiler transpiler = Mockito.mock(QueenTranspiler.class);
+        Mockito.when(transpiler.sourceDirectory()).thenReturn(project);
+        Mockito.when(transpiler.targetDirectory()).thenReturn(project.resolve("target"));
+        Mockito.when(transpiler.transpile(ArgumentMatchers.anyCollection(), ArgumentMatchers.anyCollection()))
+            .thenReturn(Set.of());
+        final Thread watch = new Thread(new WatchQueenProject(transpiler, Duration.ofMillis(50))::execute);
+        watch.start();
+        try {
+            Mockito.verify(transpiler, Mockito.timeout(10_000)).transpile();
+            Files.delete(file);
+            Mockito.verify(transpiler, Mockito.timeout(10_000)).transpile(
+                ArgumentMatchers.argThat(Collection::isEmpty),
+                ArgumentMatchers.argThat(deleted -> deleted.contains(file))
+            );
+        } finally {
+            watch.interrupt();
+            watch.join(10_000);
+        }
+        Mockito.verify(transpiler, Mockito.times(1)).transpile();
+    }
+}
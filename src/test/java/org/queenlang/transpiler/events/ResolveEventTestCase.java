@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.classpath.Classpath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.nodes.names.NameNode;
+import org.queenlang.queen.nodes.project.QueenProject;
+import org.queenlang.queen.util.QueenMockito;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link ResolveEvent}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class ResolveEventTestCase {
+
+    @Test
+    public void isRecordedByTheProject() throws Exception {
+        final Classpath classpath = Mockito.mock(Classpath.class);
+        Mockito.when(classpath.findAll()).thenReturn(new ArrayList<>());
+        final QueenProject project = new QueenProject(
+            Mockito.mock(QueenASTParser.class),
+            classpath
+        );
+        final NameNode name = QueenMockito.mock(NameNode.class);
+        Mockito.when(name.name()).thenReturn("java.lang.String");
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("org.queenlang.Resolve");
+            recording.start();
+            project.resolve(name, true);
+            recording.stop();
+            final Path dump = Files.createTempFile("queen-resolve", ".jfr");
+            recording.dump(dump);
+            events = RecordingFile.readAllEvents(dump).stream().filter(
+                e -> e.getEventType().getName().equals("org.queenlang.Resolve")
+            ).collect(Collectors.toList());
+            Files.delete(dump);
+        }
+        MatcherAssert.assertThat(events, Matchers.iterableWithSize(1));
+        final RecordedEvent event = events.get(0);
+        MatcherAssert.assertThat(event.getString("name"), Matchers.equalTo("java.lang.String"));
+        MatcherAssert.assertThat(event.getBoolean("cached"), Matchers.is(false));
+        MatcherAssert.assertThat(event.getBoolean("disk"), Matchers.is(true));
+        MatcherAssert.assertThat(event.getBoolean("resolved"), Matchers.is(true));
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.lsp;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.queenlang.classpath.SourcesClasspath;
+import org.queenlang.queen.QueenASTParser;
+import org.queenlang.queen.QueenTranspilationException;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for {@link QueenWorkspace}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenWorkspaceTestCase {
+
+    @Test
+    public void reportsParsingErrorsOfEditedDocument() throws Exception {
+        final Path file = Path.of("/projects/queen-project/src/main/queen/com/example/Broken.queen");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        Mockito.when(parser.parse(file, "public final class Broken {")).thenThrow(
+            new QueenTranspilationException(
+                "Broken.queen", List.of("Broken.queen: position 1:26: missing '}' at '<EOF>'")
+            )
+        );
+        final QueenWorkspace workspace = new QueenWorkspace(new SourcesClasspath(List.of()), parser);
+        MatcherAssert.assertThat(
+            workspace.change(file, "public final class Broken {"),
+            Matchers.contains(file)
+        );
+        MatcherAssert.assertThat(workspace.isOpen(file), Matchers.is(true));
+        final List<Diagnostic> diagnostics = workspace.diagnostics(file);
+        MatcherAssert.assertThat(diagnostics, Matchers.hasSize(1));
+        MatcherAssert.assertThat(diagnostics.get(0).getMessage(), Matchers.is("missing '}' at '<EOF>'"));
+        MatcherAssert.assertThat(diagnostics.get(0).getSeverity(), Matchers.is(DiagnosticSeverity.Error));
+        MatcherAssert.assertThat(diagnostics.get(0).getRange().getStart().getLine(), Matchers.is(0));
+        MatcherAssert.assertThat(diagnostics.get(0).getRange().getStart().getCharacter(), Matchers.is(26));
+        MatcherAssert.assertThat(workspace.symbols(file), Matchers.empty());
+    }
+
+    @Test
+    public void keepsOpenDocumentsOnExternalChanges() {
+        final Path file = Path.of("/projects/queen-project/src/main/queen/com/example/Open.queen");
+        final QueenWorkspace workspace = new QueenWorkspace(
+            new SourcesClasspath(List.of()), Mockito.mock(QueenASTParser.class)
+        );
+        workspace.change(file, "public final class Open {}");
+        MatcherAssert.assertThat(workspace.external(file), Matchers.empty());
+        MatcherAssert.assertThat(workspace.isOpen(file), Matchers.is(true));
+    }
+
+    @Test
+    public void appliesTheChangedRanges() throws Exception {
+        final Path file = Path.of("/projects/queen-project/src/main/queen/com/example/Open.queen");
+        final QueenASTParser parser = Mockito.mock(QueenASTParser.class);
+        Mockito.when(parser.parse(Mockito.eq(file), Mockito.any(CharSequence.class))).thenThrow(
+            new QueenTranspilationException("Open.queen", List.of("Open.queen: position 1:0: error"))
+        );
+        final QueenWorkspace workspace = new QueenWorkspace(new SourcesClasspath(List.of()), parser);
+        workspace.change(file, "public final class Open {\n}\n");
+        MatcherAssert.assertThat(workspace.diagnostics(file), Matchers.hasSize(1));
+        workspace.change(
+            file,
+            List.of(
+                new TextDocumentContentChangeEvent(new Range(new Position(0, 19), new Position(0, 23)), "Shut"),
+                new TextDocumentContentChangeEvent(new Range(new Position(1, 0), new Position(1, 0)), "    int x;\n"),
+                new TextDocumentContentChangeEvent(new Range(new Position(2, 1), new Position(5, 0)), " ")
+            )
+        );
+        Mockito.verify(parser).parse(file, "public final class Shut {\n    int x;\n} ");
+    }
+}
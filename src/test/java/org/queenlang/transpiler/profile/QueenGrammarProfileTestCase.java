@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.DecisionInfo;
+import org.antlr.v4.runtime.atn.LookaheadEventInfo;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link QueenGrammarProfile}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenGrammarProfileTestCase {
+
+    @Test
+    public void ranksTheDecisionsByPredictionTime() throws Exception {
+        final GrammarProfile profile = new QueenGrammarProfile();
+        profile.record("A.queen", "statement", this.decision(1, 10, 1_000_000, 0));
+        profile.record("A.queen", "expression", this.decision(2, 5, 3_000_000, 0));
+        profile.record("B.queen", "statement", this.decision(1, 10, 1_500_000, 0));
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.stringContainsInOrder(
+                Arrays.asList(
+                    "\"files\": 2",
+                    "\"decisions\": 2",
+                    "\"predictionMs\": 5.500",
+                    "\"rules\": [",
+                    "{\"rule\": \"expression\", \"predictionMs\": 3.000, \"invocations\": 5",
+                    "{\"rule\": \"statement\", \"predictionMs\": 2.500, \"invocations\": 20",
+                    "\"ranked\": [",
+                    "{\"decision\": 2, \"rule\": \"expression\"",
+                    "{\"decision\": 1, \"rule\": \"statement\""
+                )
+            )
+        );
+    }
+
+    @Test
+    public void pointsAtTheDeepestLookahead() throws Exception {
+        final GrammarProfile profile = new QueenGrammarProfile();
+        profile.record("A.queen", "statement", this.decision(1, 4, 1_000, 2));
+        profile.record("B.queen", "statement", this.decision(1, 4, 1_000, 7));
+        profile.record("C.queen", "statement", this.decision(1, 4, 1_000, 3));
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString(
+                "\"llFallbacks\": 3, \"llAverageLook\": 4.00, \"llMaxLook\": 7"
+            )
+        );
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString("\"maxLookAt\": \"B.queen:7:3\"")
+        );
+    }
+
+    @Test
+    public void reportsTheLookaheadOfEachRule() throws Exception {
+        final GrammarProfile profile = new QueenGrammarProfile();
+        profile.record("A.queen", "statement", this.decision(1, 4, 1_000, 0));
+        profile.record("A.queen", "statement", this.decision(2, 4, 1_000, 6));
+        profile.record("A.queen", "expression", this.decision(3, 2, 500, 0));
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString(
+                "{\"rule\": \"statement\", \"predictionMs\": 0.002, \"invocations\": 8,"
+                    + " \"sllAverageLook\": 1.00, \"sllMaxLook\": 1,"
+                    + " \"llFallbacks\": 1, \"llAverageLook\": 4.00, \"llMaxLook\": 6,"
+                    + " \"ambiguities\": 0, \"maxLookAt\": \"A.queen:6:3\"}"
+            )
+        );
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString(
+                "{\"rule\": \"expression\", \"predictionMs\": 0.001, \"invocations\": 2,"
+                    + " \"sllAverageLook\": 1.00, \"sllMaxLook\": 1,"
+                    + " \"llFallbacks\": 0, \"llAverageLook\": 0, \"llMaxLook\": 0,"
+                    + " \"ambiguities\": 0}"
+            )
+        );
+    }
+
+    @Test
+    public void reportsOnlyTheTopDecisions() throws Exception {
+        final GrammarProfile profile = new QueenGrammarProfile(1);
+        profile.record("A.queen", "statement", this.decision(1, 1, 1_000, 0));
+        profile.record("A.queen", "expression", this.decision(2, 1, 2_000, 0));
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString("{\"decision\": 2,")
+        );
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.not(Matchers.containsString("{\"decision\": 1,"))
+        );
+    }
+
+    /**
+     * Statistics of a decision. If it fell back to full-context prediction, the
+     * deepest lookahead is on line llMaxLook, column 3.
+     * @param number Decision number.
+     * @param invocations Invocations.
+     * @param nanos Time spent in prediction.
+     * @param llMaxLook Deepest full-context lookahead or 0, if there was no fallback.
+     * @return DecisionInfo.
+     */
+    private DecisionInfo decision(
+        final int number,
+        final long invocations,
+        final long nanos,
+        final long llMaxLook
+    ) {
+        final DecisionInfo decision = new DecisionInfo(number);
+        decision.invocations = invocations;
+        decision.timeInPrediction = nanos;
+        decision.SLL_TotalLook = invocations;
+        decision.SLL_MaxLook = 1;
+        if(llMaxLook > 0) {
+            final List<Token> tokens = new ArrayList<>();
+            final CommonToken token = new CommonToken(Token.MIN_USER_TOKEN_TYPE, "x");
+            token.setLine((int) llMaxLook);
+            token.setCharPositionInLine(2);
+            tokens.add(token);
+            final CommonTokenStream input = new CommonTokenStream(new ListTokenSource(tokens));
+            input.fill();
+            decision.LL_Fallback = 1;
+            decision.LL_TotalLook = 4;
+            decision.LL_MaxLook = llMaxLook;
+            decision.LL_MaxLookEvent = new LookaheadEventInfo(
+                number, null, 1, input, 0, 0, true
+            );
+        }
+        return decision;
+    }
+}
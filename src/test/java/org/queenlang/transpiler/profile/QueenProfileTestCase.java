@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2022-2032, Extremely Distributed Technologies S.R.L. Romania,
+ *                          Silvia Maxima et Co.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package org.queenlang.transpiler.profile;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for {@link QueenProfile}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.1
+ */
+public final class QueenProfileTestCase {
+
+    @Test
+    public void reportsThePhases() throws Exception {
+        final Profile profile = new QueenProfile();
+        profile.record(Phase.PARSE, "com.example.A", 2_000_000, 1_000_000, 1024);
+        profile.record(Phase.PARSE, "com.example.B", 1_000_000, 500_000, 512);
+        profile.record(Phase.SCAN, null, 3_000_000, 0, 0);
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString(
+                "\"parse\": {\"count\": 2, \"wallMs\": 3.000, \"cpuMs\": 1.500, \"allocatedBytes\": 1536}"
+            )
+        );
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString(
+                "\"scan\": {\"count\": 1, \"wallMs\": 3.000, \"cpuMs\": 0.000, \"allocatedBytes\": 0}"
+            )
+        );
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString("\"emit\": {\"count\": 0")
+        );
+        MatcherAssert.assertThat(report.toString(), Matchers.containsString("\"files\": 2,"));
+    }
+
+    @Test
+    public void reportsTheSlowestFiles() throws Exception {
+        final Profile profile = new QueenProfile(2);
+        profile.record(Phase.PARSE, "com.example.Fast", 1_000_000, 0, 0);
+        profile.record(Phase.PARSE, "com.example.Slow", 5_000_000, 0, 0);
+        profile.record(Phase.PARSE, "com.example.Medium", 2_000_000, 0, 0);
+        profile.record(Phase.WRITE, "com.example.Medium", 2_000_000, 0, 0);
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        final String slowest = report.substring(
+            report.indexOf("\"slowest\""), report.indexOf("\"perFile\"")
+        );
+        MatcherAssert.assertThat(
+            slowest,
+            Matchers.stringContainsInOrder(
+                Arrays.asList("com.example.Slow", "com.example.Medium")
+            )
+        );
+        MatcherAssert.assertThat(slowest, Matchers.not(Matchers.containsString("Fast")));
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString(
+                "{\"file\": \"com.example.Medium\", \"nodes\": 0, \"wallMs\": 4.000, \"parseMs\": 2.000, \"writeMs\": 2.000}"
+            )
+        );
+    }
+
+    @Test
+    public void reportsTheNodes() throws Exception {
+        final Profile profile = new QueenProfile();
+        profile.nodes("com.example.A", 100);
+        profile.nodes("com.example.B", 23);
+        final StringBuilder report = new StringBuilder();
+        profile.report(report);
+        MatcherAssert.assertThat(report.toString(), Matchers.containsString("\"nodes\": 123,"));
+        MatcherAssert.assertThat(
+            report.toString(),
+            Matchers.containsString("{\"file\": \"com.example.A\", \"nodes\": 100, \"wallMs\": 0.000}")
+        );
+    }
+}